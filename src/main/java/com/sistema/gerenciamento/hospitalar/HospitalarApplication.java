@@ -2,7 +2,9 @@ package com.sistema.gerenciamento.hospitalar;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+@EnableScheduling // Habilita as rotinas agendadas (cache da agenda, lista de espera, outbox, partições e arquivamento das consultas)
 @SpringBootApplication
 public class HospitalarApplication {
 
@@ -0,0 +1,72 @@
+package com.sistema.gerenciamento.hospitalar.cliente;
+
+import java.time.Clock;
+
+/**
+ * Disjuntor (circuit breaker) para chamadas a um serviço externo.
+ *
+ * Fechado, deixa passar todas as chamadas. Depois de falhasParaAbrir falhas seguidas abre e recusa as chamadas por
+ * esperaMs; passado esse tempo, fica meio aberto e deixa passar uma única chamada de teste, que fecha o disjuntor se
+ * tiver sucesso ou o abre de novo se falhar.
+ */
+final class Disjuntor {
+
+    enum Estado { FECHADO, ABERTO, MEIO_ABERTO }
+
+    private final int falhasParaAbrir;
+    private final long esperaMs;
+    private final Clock clock;
+
+    private Estado estado = Estado.FECHADO;
+    private int falhasSeguidas;
+    private long abertoAte;
+    private boolean testeEmAndamento;
+
+    Disjuntor(int falhasParaAbrir, long esperaMs, Clock clock) {
+        this.falhasParaAbrir = falhasParaAbrir;
+        this.esperaMs = esperaMs;
+        this.clock = clock;
+    }
+
+    // Indica se a chamada pode seguir; com o disjuntor meio aberto, só a chamada de teste segue
+    synchronized boolean permitir() {
+        if (estado == Estado.FECHADO) {
+            return true;
+        }
+        if (estado == Estado.ABERTO) {
+            if (clock.millis() < abertoAte) {
+                return false;
+            }
+            estado = Estado.MEIO_ABERTO;
+        }
+        if (testeEmAndamento) {
+            return false;
+        }
+        testeEmAndamento = true;
+        return true;
+    }
+
+    synchronized void registrarSucesso() {
+        estado = Estado.FECHADO;
+        falhasSeguidas = 0;
+        testeEmAndamento = false;
+    }
+
+    synchronized void registrarFalha() {
+        testeEmAndamento = false;
+        if (estado == Estado.MEIO_ABERTO || ++falhasSeguidas >= falhasParaAbrir) {
+            estado = Estado.ABERTO;
+            abertoAte = clock.millis() + esperaMs;
+            falhasSeguidas = 0;
+        }
+    }
+
+    // Chamada permitida que terminou sem resultado (cancelada ou recusada depois): libera a vaga da chamada de teste
+    synchronized void liberar() {
+        testeEmAndamento = false;
+    }
+
+    synchronized Estado estado() {
+        return estado;
+    }
+}
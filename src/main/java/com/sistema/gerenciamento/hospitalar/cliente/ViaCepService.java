@@ -2,58 +2,126 @@ package com.sistema.gerenciamento.hospitalar.cliente;
 
 import com.sistema.gerenciamento.hospitalar.dtos.EnderecoRecordDto;
 import com.sistema.gerenciamento.hospitalar.exceptions.NotFoundException;
+import com.sistema.gerenciamento.hospitalar.exceptions.ServicoIndisponivelException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Clock;
+import java.util.concurrent.Semaphore;
 
 
 /**
  * Classe responsável por realizar a consulta de um endereço via API do ViaCEP.
  * Utiliza o WebClient do Spring WebFlux para fazer chamadas HTTP de forma assíncrona.
+ *
+ * O tempo de cada consulta é limitado: o WebClient (ViaCepConfig) tem tempo máximo de conexão e de resposta, no máximo
+ * viacep.max-chamadas-simultaneas consultas ficam em andamento ao mesmo tempo e um disjuntor deixa de chamar a API
+ * depois de falhas seguidas. Nos dois últimos casos a consulta falha na hora com ServicoIndisponivelException, e quem
+ * chama decide a resposta degradada (CepServiceImpl responde com o endereço vencido do cache).
  */
 @Service
 public class ViaCepService {
+    static final String INDISPONIVEL = "SERVIÇO DE CEP INDISPONÍVEL, TENTE NOVAMENTE EM INSTANTES";
+
     // Instância do WebClient para realizar requisições à API ViaCEP
     private final WebClient webClient;
+    // Limite de consultas simultâneas (bulkhead): as excedentes são recusadas em vez de esperar
+    private final Semaphore chamadas;
+    private final Disjuntor disjuntor;
+
+    private final Counter recusadasDisjuntor;
+    private final Counter recusadasLimite;
 
     /**
-     * Construtor que inicializa o WebClient com a URL base do serviço ViaCEP.
+     * Construtor que recebe o WebClient do ViaCEP, com URL base, timeouts e pool de conexões definidos em ViaCepConfig.
      *
-     * @param webClientBuilder O WebClient.Builder fornecido pelo Spring para configurar o WebClient.
+     * @param viaCepWebClient O WebClient configurado para a API ViaCEP.
+     * @param maxChamadasSimultaneas Quantidade máxima de consultas em andamento ao mesmo tempo.
+     * @param falhasParaAbrir Falhas seguidas (timeout, erro 5xx ou de conexão) que abrem o disjuntor.
+     * @param esperaDisjuntorMs Tempo que o disjuntor fica aberto antes da chamada de teste.
      */
-    public ViaCepService(WebClient.Builder webClientBuilder) {
-        // Configura a URL base para as requisições
-        this.webClient = webClientBuilder.baseUrl("https://viacep.com.br/ws").build();
+    public ViaCepService(WebClient viaCepWebClient, Clock clock, MeterRegistry meterRegistry,
+                         @Value("${viacep.max-chamadas-simultaneas:20}") int maxChamadasSimultaneas,
+                         @Value("${viacep.disjuntor.falhas-para-abrir:5}") int falhasParaAbrir,
+                         @Value("${viacep.disjuntor.espera-ms:30000}") long esperaDisjuntorMs) {
+        this.webClient = viaCepWebClient;
+        this.chamadas = new Semaphore(maxChamadasSimultaneas);
+        this.disjuntor = new Disjuntor(falhasParaAbrir, esperaDisjuntorMs, clock);
+        this.recusadasDisjuntor = Counter.builder("cep.viacep.recusadas").tag("motivo", "disjuntor").register(meterRegistry);
+        this.recusadasLimite = Counter.builder("cep.viacep.recusadas").tag("motivo", "limite").register(meterRegistry);
+        Gauge.builder("cep.viacep.disjuntor.aberto", disjuntor, d -> d.estado() == Disjuntor.Estado.FECHADO ? 0 : 1)
+                .register(meterRegistry);
     }
 
     /**
      * Realiza a consulta de um endereço pelo CEP via API do ViaCEP.
      *
      * @param cep O CEP que será consultado.
-     * @return Mono<EnderecoRecordDto> Um Mono contendo os dados do endereço ou um erro caso ocorra.
+     * @return Mono<EnderecoRecordDto> Um Mono contendo os dados do endereço, NotFoundException para CEPs inválidos ou
+     * inexistentes, ou ServicoIndisponivelException caso a comunicação com a API falhe ou a consulta seja recusada.
      */
     public Mono<EnderecoRecordDto> consultarCep(String cep) {
+        return Mono.defer(() -> {
+            if (!disjuntor.permitir()) {
+                recusadasDisjuntor.increment();
+                return Mono.error(new ServicoIndisponivelException(INDISPONIVEL));
+            }
+            if (!chamadas.tryAcquire()) {
+                disjuntor.liberar();
+                recusadasLimite.increment();
+                return Mono.error(new ServicoIndisponivelException(INDISPONIVEL));
+            }
+            return requisitar(cep)
+                    // CEP inválido ou inexistente é uma resposta normal da API e não conta como falha
+                    .doOnEach(sinal -> {
+                        if (sinal.isOnComplete() || sinal.isOnError() && sinal.getThrowable() instanceof NotFoundException) {
+                            disjuntor.registrarSucesso();
+                        } else if (sinal.isOnError()) {
+                            disjuntor.registrarFalha();
+                        }
+                    })
+                    .doFinally(sinal -> {
+                        if (sinal == SignalType.CANCEL) {
+                            disjuntor.liberar();
+                        }
+                        chamadas.release();
+                    });
+        });
+    }
+
+    private Mono<EnderecoRecordDto> requisitar(String cep) {
         // Realiza uma requisição GET para a URL '/{cep}/json/', substituindo o {cep} pelo valor fornecido.
         return webClient.get()
                 .uri("/{cep}/json/", cep) // URI dinâmica para o CEP
                 .retrieve() // Executa a requisição
-                // Verifica se o status da resposta é de erro (status >= 400)
-                .onStatus(status -> status.isError(), clientResponse -> {
+                // A API responde 400 para CEPs com formato inválido
+                .onStatus(HttpStatusCode::is4xxClientError, clientResponse -> {
                     // Caso haja erro, retorna um Mono com uma exceção personalizada.
                     return Mono.error(new NotFoundException("CEP INVÁLIDO"));
                 })
                 // Mapeia o corpo da resposta para o DTO EnderecoRecordDto
                 .bodyToMono(EnderecoRecordDto.class)
+                // CEP válido, mas inexistente: a API responde 200 com {"erro": true}, sem os campos do endereço
+                .flatMap(endereco -> endereco.cep() == null
+                        ? Mono.error(new NotFoundException("CEP NÃO ENCONTRADO"))
+                        : Mono.just(endereco))
                 // Se ocorrer erro específico da API ViaCEP, trata com uma exceção customizada
                 .onErrorResume(WebClientResponseException.class, ex -> {
                     // Retorna um Mono com uma mensagem de erro para falhas específicas da API ViaCEP
-                    return Mono.error(new RuntimeException("Erro na comunicação com a API ViaCep: " + ex.getMessage()));
+                    return Mono.error(new ServicoIndisponivelException("Erro na comunicação com a API ViaCep: " + ex.getMessage()));
                 })
-                // Se ocorrer qualquer outro tipo de erro, trata de forma genérica
-                .onErrorResume(Exception.class, ex -> {
+                // Se ocorrer qualquer outro tipo de erro (timeout, conexão recusada), trata de forma genérica
+                .onErrorResume(ex -> !(ex instanceof NotFoundException) && !(ex instanceof ServicoIndisponivelException), ex -> {
                     // Retorna um Mono com uma exceção genérica
-                    return Mono.error(new RuntimeException("" + ex.getMessage()));
+                    return Mono.error(new ServicoIndisponivelException("Erro na comunicação com a API ViaCep: " + ex));
                 });
     }
 }
\ No newline at end of file
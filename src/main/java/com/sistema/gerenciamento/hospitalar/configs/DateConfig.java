@@ -5,6 +5,8 @@ import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilde
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Clock;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 
 @Configuration
@@ -20,4 +22,12 @@ public class DateConfig {
             builder.serializers(new LocalDateTimeSerializer(DateTimeFormatter.ofPattern(DATETIME_FORMAT)));
         };
     }
+
+    /*
+    Relógio da aplicação no fuso de Recife, compartilhado pelas regras que dependem do horário atual.
+    */
+    @Bean
+    public Clock clock() {
+        return Clock.system(ZoneId.of("America/Recife"));
+    }
 }
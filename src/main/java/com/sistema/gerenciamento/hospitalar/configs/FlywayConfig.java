@@ -0,0 +1,23 @@
+package com.sistema.gerenciamento.hospitalar.configs;
+
+import org.flywaydb.core.internal.database.postgresql.PostgreSQLConfigurationExtension;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FlywayConfig {
+    /*
+    Aplica a propriedade spring.flyway.postgresql.transactional-lock no Flyway 9 usado pelo projeto: o Spring Boot só a
+    repassa para a extensão do Flyway 10. Com o lock transacional o Flyway mantém uma transação aberta durante a migração,
+    e o CREATE INDEX CONCURRENTLY fica esperando por ela indefinidamente.
+    */
+    @Bean
+    public FlywayConfigurationCustomizer flywayTransactionalLockCustomizer(
+            @Value("${spring.flyway.postgresql.transactional-lock:true}") boolean transactionalLock) {
+        return configuration -> configuration.getPluginRegister()
+                .getPlugin(PostgreSQLConfigurationExtension.class)
+                .setTransactionalLock(transactionalLock);
+    }
+}
@@ -0,0 +1,20 @@
+package com.sistema.gerenciamento.hospitalar.configs;
+
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class HibernateJsonConfig {
+    /*
+    Permite serializar entidades associadas por referência (proxies ainda não carregados), como as da consulta
+    recém-agendada: nesse caso apenas o ID da entidade é escrito, sem disparar consultas ao banco.
+    */
+    @Bean
+    public Hibernate6Module hibernate6Module() {
+        var module = new Hibernate6Module();
+        module.enable(Hibernate6Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS);
+        module.disable(Hibernate6Module.Feature.USE_TRANSIENT_ANNOTATION);
+        return module;
+    }
+}
@@ -0,0 +1,56 @@
+package com.sistema.gerenciamento.hospitalar.configs;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+public class ViaCepConfig {
+    /*
+    Conexões com o ViaCEP, separadas das demais chamadas HTTP da aplicação. As conexões são reaproveitadas (keep-alive)
+    e descartadas quando ociosas antes de o servidor fechá-las; com todas em uso, a consulta espera uma conexão livre no
+    máximo viacep.pool.espera-conexao-ms, em uma fila limitada, em vez de acumular requisições.
+    */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider viaCepConexoes(@Value("${viacep.pool.max-conexoes:20}") int maxConexoes,
+                                             @Value("${viacep.pool.espera-conexao-ms:500}") long esperaConexaoMs,
+                                             @Value("${viacep.pool.max-ociosa-ms:20000}") long maxOciosaMs) {
+        return ConnectionProvider.builder("viacep")
+                .maxConnections(maxConexoes)
+                .pendingAcquireMaxCount(maxConexoes * 2)
+                .pendingAcquireTimeout(Duration.ofMillis(esperaConexaoMs))
+                .maxIdleTime(Duration.ofMillis(maxOciosaMs))
+                .maxLifeTime(Duration.ofMinutes(5))
+                .evictInBackground(Duration.ofMillis(maxOciosaMs))
+                .lifo()
+                .metrics(true)
+                .build();
+    }
+
+    /*
+    WebClient do ViaCEP com tempo máximo para abrir a conexão e para cada leitura da resposta, para que um ViaCEP lento
+    libere a consulta em vez de prendê-la indefinidamente.
+    */
+    @Bean
+    public WebClient viaCepWebClient(WebClient.Builder webClientBuilder, ConnectionProvider viaCepConexoes,
+                                     @Value("${viacep.url:https://viacep.com.br/ws}") String url,
+                                     @Value("${viacep.timeout-conexao-ms:1000}") int timeoutConexaoMs,
+                                     @Value("${viacep.timeout-resposta-ms:2000}") long timeoutRespostaMs) {
+        var httpClient = HttpClient.create(viaCepConexoes)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, timeoutConexaoMs)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(Duration.ofMillis(timeoutRespostaMs));
+        return webClientBuilder.clone()
+                .baseUrl(url)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.sistema.gerenciamento.hospitalar.configs.security;
+
+import com.sistema.gerenciamento.hospitalar.repositorys.MedicoRepository;
+import com.sistema.gerenciamento.hospitalar.services.CalendarioMedicoService;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Regra de acesso às agendas de um médico (/medico/{medicoId}/...).
+ *
+ * ADMIN e SECRETARIA acessam a agenda de qualquer médico; um usuário MEDICO acessa apenas a própria agenda,
+ * identificada pelo funcionário vinculado ao seu usuário. O calendário (agenda.ics) também é acessível sem
+ * autenticação pelo token de assinatura do médico, informado no parâmetro 'token', para os aplicativos de calendário.
+ */
+@Component
+public class AcessoAgendaMedico {
+
+    private static final Set<String> PERFIS_GESTAO = Set.of("ROLE_ADMIN", "ROLE_SECRETARIA");
+
+    final MedicoRepository medicoRepository;
+    final CalendarioMedicoService calendarioMedicoService;
+
+    public AcessoAgendaMedico(MedicoRepository medicoRepository, CalendarioMedicoService calendarioMedicoService) {
+        this.medicoRepository = medicoRepository;
+        this.calendarioMedicoService = calendarioMedicoService;
+    }
+
+    /**
+     * Verifica se o usuário autenticado pode acessar a agenda do médico informado no caminho da requisição.
+     *
+     * @param autenticacao Autenticação do usuário.
+     * @param contexto Requisição, com a variável medicoId do caminho.
+     * @return AuthorizationDecision Acesso concedido ou negado.
+     */
+    public AuthorizationDecision verificarAgenda(Supplier<Authentication> autenticacao, RequestAuthorizationContext contexto) {
+        var authentication = autenticacao.get();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return new AuthorizationDecision(false);
+        }
+        var perfis = authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+        if (perfis.stream().anyMatch(PERFIS_GESTAO::contains)) {
+            return new AuthorizationDecision(true);
+        }
+        if (!perfis.contains("ROLE_MEDICO") || !(authentication.getPrincipal() instanceof UsuarioDetailsImpl usuario)) {
+            return new AuthorizationDecision(false);
+        }
+        var medicoId = medicoDoCaminho(contexto);
+        return new AuthorizationDecision(medicoId != null && medicoRepository.findMedicoIdByUsuarioId(usuario.getUsuarioId())
+                .map(medicoId::equals)
+                .orElse(false));
+    }
+
+    /**
+     * Verifica o acesso ao calendário do médico: pelo token de assinatura, quando informado, ou pelas mesmas regras da agenda.
+     *
+     * @param autenticacao Autenticação do usuário.
+     * @param contexto Requisição, com a variável medicoId do caminho e o parâmetro token.
+     * @return AuthorizationDecision Acesso concedido ou negado.
+     */
+    public AuthorizationDecision verificarCalendario(Supplier<Authentication> autenticacao, RequestAuthorizationContext contexto) {
+        var token = contexto.getRequest().getParameter("token");
+        if (token != null) {
+            var medicoId = medicoDoCaminho(contexto);
+            return new AuthorizationDecision(medicoId != null && calendarioMedicoService.tokenAssinaturaValido(medicoId, token));
+        }
+        return verificarAgenda(autenticacao, contexto);
+    }
+
+    // ID do médico informado no caminho; nulo quando não é um UUID válido
+    static UUID medicoDoCaminho(RequestAuthorizationContext contexto) {
+        try {
+            return UUID.fromString(contexto.getVariables().get("medicoId"));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.sistema.gerenciamento.hospitalar.configs.security;
 import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -41,13 +42,16 @@ public class WebSecurityConfigurations {
     private final AutenticacaoEntryPointImpl autenticacaoEntryPoint;
     private final TokenJwt tokenJwt;
     private final AccessDeniedHandlerImpl accessDeniedHandler;
+    private final AcessoAgendaMedico acessoAgendaMedico;
 
     //Construtor para injeção das dependências necessárias para a segurança.
-    public WebSecurityConfigurations(UsuarioDetailsServiceImpl usuarioDetailsService, AutenticacaoEntryPointImpl authenticationEntryPoint, TokenJwt tokenJwt, AccessDeniedHandlerImpl accessDeniedHandler) {
+    public WebSecurityConfigurations(UsuarioDetailsServiceImpl usuarioDetailsService, AutenticacaoEntryPointImpl authenticationEntryPoint, TokenJwt tokenJwt, AccessDeniedHandlerImpl accessDeniedHandler,
+                                     AcessoAgendaMedico acessoAgendaMedico) {
         this.usuarioDetailsService = usuarioDetailsService;
         this.autenticacaoEntryPoint = authenticationEntryPoint;
         this.tokenJwt = tokenJwt;
         this.accessDeniedHandler = accessDeniedHandler;
+        this.acessoAgendaMedico = acessoAgendaMedico;
     }
 
     /**
@@ -72,16 +76,23 @@ public class WebSecurityConfigurations {
                 // Definição das regras de autorização
                 .authorizeHttpRequests(authorizeRequests -> authorizeRequests
                         .dispatcherTypeMatchers(DispatcherType.ERROR).permitAll() // Permite acesso a páginas de erro
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // Conclusão de respostas assíncronas (streaming) já autorizadas na requisição original
                         .requestMatchers(LISTA_AUTENTICADOS).permitAll() // Endpoints permitidos sem autenticação
                         .requestMatchers("/usuario/**").hasAnyRole("ADMIN", "SECRETARIA")
                         .requestMatchers("/autenticacao/registro").hasAnyRole("ADMIN", "SECRETARIA")
                         .requestMatchers("/paciente/**").hasAnyRole("ADMIN", "SECRETARIA", "MEDICO")
                         .requestMatchers("/funcionario/**").hasAnyRole("ADMIN", "USUARIO")
                         .requestMatchers("/endereco/**").hasAnyRole("ADMIN", "SECRETARIA")
+                        .requestMatchers(HttpMethod.GET, "/medico/{medicoId}/agenda").access(acessoAgendaMedico::verificarAgenda) // Médicos acessam apenas a própria agenda
+                        .requestMatchers(HttpMethod.GET, "/medico/{medicoId}/agenda.ics").access(acessoAgendaMedico::verificarCalendario) // Token de assinatura ou o próprio médico
+                        .requestMatchers("/medico/{medicoId}/agenda.ics/token").access(acessoAgendaMedico::verificarAgenda)
                         .requestMatchers("/medico/**").hasAnyRole("ADMIN", "SECRETARIA")
                         .requestMatchers("/consulta/**").hasAnyRole("ADMIN", "SECRETARIA")
+                        .requestMatchers("/lista-espera/**").hasAnyRole("ADMIN", "SECRETARIA")
+                        .requestMatchers("/relatorios/**").hasAnyRole("ADMIN")
                         .requestMatchers("/medico/{consultaId}/atendimento").hasAnyRole("MEDICO")
                         .requestMatchers("/clinica/**").hasAnyRole("ADMIN", "SECRETARIA")
+                        .requestMatchers("/busca/**").hasAnyRole("ADMIN", "SECRETARIA")
                         .anyRequest().authenticated() // Todas as demais requisições precisam de autenticação
 
                         //.requestMatchers(HttpMethod.GET, "/usuario").hasAnyRole("ADMIN", "SECRETARIA") // requestMatchers com o uso do HttpMethod
@@ -69,26 +69,7 @@ public class AutenticacaoUsuarioController {
             @JsonView(UsuarioRecordDto.UsuarioView.RegistroUsuarioPost.class) UsuarioRecordDto usuarioRecordDto,
             @PathVariable(value = "funcionarioId") UUID funcionarioId) {
 
-        // Verifica se o nome de usuário já existe no sistema
-        if (usuarioService.existByNome(usuarioRecordDto.nome())) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("ERRO, USUARIO JÁ EXISTENTE!");
-        }
-
-        // Verifica se o código do usuário já está cadastrado
-        if (usuarioService.existByCodigoUsuario(usuarioRecordDto.codigoUsuario())) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("ERRO, ESSE CÓDIGO JÁ ESTÁ CADASTRADO!");
-        }
-
-        // Verifica se a senha informada já está em uso
-        if (usuarioService.existBySenha(usuarioRecordDto.senha())) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("ERRO, ESSA SENHA JÁ ESTÁ EM USO!");
-        }
-
-        // Verifica se o funcionário já está associado a um usuário
-        if (usuarioService.existsByFuncionarioUsuarioFuncionarioId(funcionarioId)) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("ERRO, ESSE FUNCIONARIO JÁ ESTÁ ASSOCIADO A UM USUÁRIO!");
-        }
-
+        // Nome, código e funcionário já usados por outro usuário são recusados pelas restrições únicas do banco de dados
         // Log de depuração
         logger.debug("POST: Registro de usuário {}", usuarioRecordDto);
 
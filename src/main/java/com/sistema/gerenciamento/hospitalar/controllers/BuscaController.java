@@ -0,0 +1,44 @@
+package com.sistema.gerenciamento.hospitalar.controllers;
+
+import com.sistema.gerenciamento.hospitalar.dtos.PessoaBuscaRecordDto;
+import com.sistema.gerenciamento.hospitalar.services.BuscaPessoaService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controlador das buscas rápidas usadas pela recepção.
+ */
+@RestController
+@RequestMapping("/busca")
+public class BuscaController {
+    Logger logger = LogManager.getLogger(BuscaController.class);
+
+    private final BuscaPessoaService buscaPessoaService;
+
+    public BuscaController(BuscaPessoaService buscaPessoaService) {
+        this.buscaPessoaService = buscaPessoaService;
+    }
+
+    /**
+     * Busca pacientes, funcionários e médicos pelo nome, para o autocompletar.
+     * Vêm primeiro os nomes que começam pelo termo, depois os que têm outra palavra começando por ele e, por fim,
+     * os parecidos (erros de digitação e acentos são ignorados).
+     * @param q Nome ou parte do nome (ao menos 2 caracteres; com menos, a lista vem vazia).
+     * @param limit Quantidade máxima de pessoas (padrão 10, máximo 50).
+     * @return Pessoas encontradas, em ordem de relevância.
+     */
+    @GetMapping("/pessoas")
+    public ResponseEntity<List<PessoaBuscaRecordDto>> getPessoas(@RequestParam(value = "q") String q,
+                                                                 @RequestParam(value = "limit", defaultValue = "10") int limit){
+        logger.debug("GET: Busca de pessoas por \"{}\"", q);
+        return ResponseEntity.status(HttpStatus.OK).body(buscaPessoaService.buscar(q, limit));
+    }
+}
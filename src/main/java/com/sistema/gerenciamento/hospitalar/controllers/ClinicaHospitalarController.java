@@ -2,6 +2,7 @@ package com.sistema.gerenciamento.hospitalar.controllers;
 
 import com.fasterxml.jackson.annotation.JsonView;
 import com.sistema.gerenciamento.hospitalar.dtos.ClinicaHospitalarRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.PaginaCursorRecordDto;
 import com.sistema.gerenciamento.hospitalar.models.ClinicaHospitalarModel;
 import com.sistema.gerenciamento.hospitalar.services.ClinicaHospitalarService;
 import com.sistema.gerenciamento.hospitalar.services.ConsultaService;
@@ -44,20 +45,6 @@ public class ClinicaHospitalarController {
     public ResponseEntity<Object> saveClinicaHospitalar(@RequestBody @Validated(ClinicaHospitalarRecordDto.ClinicaView.ClinicaPost.class)
                                                         @JsonView(ClinicaHospitalarRecordDto.ClinicaView.ClinicaPost.class)
                                                         ClinicaHospitalarRecordDto clinicaHospitalarRecordDto){
-
-        // Verifica se já existe uma clínica com o mesmo nome
-        if (clinicaHospitalarService.existByNome(clinicaHospitalarRecordDto.nome())){
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("ERRO, Esse nome já existe!");
-        }
-        // Verifica se o CNPJ já está cadastrado
-        if (clinicaHospitalarService.existByCnpj(clinicaHospitalarRecordDto.cnpj())){
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("ERRO, Esse CNPJ já está em uso!");
-        }
-        // Verifica se o email já está cadastrado
-        if (clinicaHospitalarService.existByEmail(clinicaHospitalarRecordDto.email())){
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("ERRO, Esse E-mail já está em uso!");
-        }
-
         logger.debug("POST: Registro de clínica {}", clinicaHospitalarRecordDto);
         return ResponseEntity.status(HttpStatus.CREATED).body(clinicaHospitalarService.saveClinicaHospitalar(clinicaHospitalarRecordDto));
     }
@@ -72,6 +59,22 @@ public class ClinicaHospitalarController {
         return ResponseEntity.status(HttpStatus.OK).body(clinicaHospitalarModels);
     }
 
+    /**
+     * Lista clínicas hospitalares por cursor: ativado quando 'limit' é informado. As páginas seguem a ordem de cadastro
+     * e não executam contagem total, então o custo não cresce com a profundidade da listagem.
+     * @param spec Especificações para filtragem.
+     * @param cursor Valor 'nextCursor' da página anterior; omitido na primeira página.
+     * @param limit Quantidade de itens por página.
+     * @return Itens da página e o cursor da próxima, nulo quando não houver mais registros.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<PaginaCursorRecordDto<ClinicaHospitalarModel>> getAllClinicaCursor(SpecificationsTemplate.ClinicaSpec spec,
+                                                                                             @RequestParam(required = false) String cursor,
+                                                                                             @RequestParam int limit){
+        PaginaCursorRecordDto<ClinicaHospitalarModel> pagina = clinicaHospitalarService.findAllCursor(spec, cursor, limit);
+        return ResponseEntity.status(HttpStatus.OK).body(pagina);
+    }
+
     /**
      * Endpoint para buscar uma clínica hospitalar específica pelo ID.
      */
@@ -1,22 +1,40 @@
 package com.sistema.gerenciamento.hospitalar.controllers;
 
 import com.fasterxml.jackson.annotation.JsonView;
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaListaRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaLoteRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaLoteResultadoRecordDto;
 import com.sistema.gerenciamento.hospitalar.dtos.ConsultaRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaResumoRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaSerieRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaSerieResultadoRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.PaginaCursorRecordDto;
+import com.sistema.gerenciamento.hospitalar.enums.FormatoExportacao;
+import com.sistema.gerenciamento.hospitalar.exceptions.NotFoundException;
 import com.sistema.gerenciamento.hospitalar.models.ConsultaModel;
-import com.sistema.gerenciamento.hospitalar.services.ClinicaHospitalarService;
+import com.sistema.gerenciamento.hospitalar.services.ConsultaLoteService;
+import com.sistema.gerenciamento.hospitalar.services.ConsultaSerieService;
 import com.sistema.gerenciamento.hospitalar.services.ConsultaService;
-import com.sistema.gerenciamento.hospitalar.services.MedicoService;
-import com.sistema.gerenciamento.hospitalar.services.PacienteService;
+import com.sistema.gerenciamento.hospitalar.services.ExportacaoConsultaService;
 import com.sistema.gerenciamento.hospitalar.specifications.SpecificationsTemplate;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 /**
@@ -28,15 +46,16 @@ public class ConsultaController {
     Logger logger = LogManager.getLogger(ConsultaController.class);
 
     private final ConsultaService consultaService;
-    private final MedicoService medicoService;
-    private final PacienteService pacienteService;
-    private final ClinicaHospitalarService clinicaHospitalarService;
+    private final ConsultaLoteService consultaLoteService;
+    private final ConsultaSerieService consultaSerieService;
+    private final ExportacaoConsultaService exportacaoConsultaService;
 
-    public ConsultaController(ConsultaService consultaService, MedicoService medicoService, PacienteService pacienteService, ClinicaHospitalarService clinicaHospitalarService) {
+    public ConsultaController(ConsultaService consultaService, ConsultaLoteService consultaLoteService,
+                              ConsultaSerieService consultaSerieService, ExportacaoConsultaService exportacaoConsultaService) {
         this.consultaService = consultaService;
-        this.medicoService = medicoService;
-        this.pacienteService = pacienteService;
-        this.clinicaHospitalarService = clinicaHospitalarService;
+        this.consultaLoteService = consultaLoteService;
+        this.consultaSerieService = consultaSerieService;
+        this.exportacaoConsultaService = exportacaoConsultaService;
     }
 
     /**
@@ -45,7 +64,8 @@ public class ConsultaController {
      * @param medicoId ID do médico responsável.
      * @param pacienteId ID do paciente atendido.
      * @param clinicaId ID da clínica onde ocorrerá a consulta.
-     * @return ResponseEntity contendo a consulta registrada.
+     * @return ResponseEntity contendo a consulta registrada; médico, paciente e clínica não são carregados no
+     * agendamento e vêm apenas com o ID (medicoConsulta, pacienteConsulta e clinicaConsulta).
      */
     @PostMapping("medico/{medicoId}/paciente/{pacienteId}/clinica/{clinicaId}")
     public ResponseEntity<Object> registroConsulta(@RequestBody @Validated(ConsultaRecordDto.ConsultaView.ConsultaPost.class)
@@ -56,25 +76,116 @@ public class ConsultaController {
                                                    @PathVariable(value = "clinicaId") UUID clinicaId){
         logger.debug("POST: Registro de consulta {}", consultaRecordDto);
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(consultaService.saveConsulta(consultaRecordDto,
-                        medicoService.findById(medicoId).get(),
-                        pacienteService.findById(pacienteId).get(),
-                        clinicaHospitalarService.findById(clinicaId).get()));
+                .body(consultaService.saveConsulta(consultaRecordDto, medicoId, pacienteId, clinicaId));
     }
 
     /**
-     * Obtém todas as consultas médicas com filtros opcionais.
+     * Registra um lote de consultas médicas.
+     * Cada item é validado individualmente; os itens válidos são agendados e os demais retornam o motivo da recusa.
+     * @param consultaLoteRecordDto Lote de consultas com médico, paciente e clínica de cada item.
+     * @return ResponseEntity contendo o resultado de cada item, na ordem do lote.
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<List<ConsultaLoteResultadoRecordDto>> registroConsultaLote(@RequestBody @Validated ConsultaLoteRecordDto consultaLoteRecordDto){
+        logger.debug("POST: Registro de lote com {} consultas", consultaLoteRecordDto.consultas().size());
+        return ResponseEntity.status(HttpStatus.OK).body(consultaLoteService.agendarLote(consultaLoteRecordDto));
+    }
+
+    /**
+     * Registra uma série de consultas recorrentes (semanal ou quinzenal) com o mesmo médico, paciente e clínica.
+     * A série é agendada por completo ou recusada, retornando neste caso as datas em conflito.
+     * @param consultaSerieRecordDto Dados da série de consultas.
+     * @return ResponseEntity com as consultas agendadas (201) ou as datas em conflito (409).
+     */
+    @PostMapping("/serie")
+    public ResponseEntity<ConsultaSerieResultadoRecordDto> registroConsultaSerie(@RequestBody @Validated ConsultaSerieRecordDto consultaSerieRecordDto){
+        logger.debug("POST: Registro de série {} com {} consultas", consultaSerieRecordDto.frequencia(), consultaSerieRecordDto.ocorrencias());
+        var resultado = consultaSerieService.agendarSerie(consultaSerieRecordDto);
+        return ResponseEntity.status(resultado.agendada() ? HttpStatus.CREATED : HttpStatus.CONFLICT).body(resultado);
+    }
+
+    /**
+     * Obtém todas as consultas médicas com filtros opcionais, com apenas os dados exibidos na listagem
+     * (IDs e nomes de médico, paciente e clínica, data e status).
      * @param spec Especificações para filtragem.
      * @param pageable Paginação.
      * @return Lista paginada de consultas médicas.
      */
     @GetMapping
-    public ResponseEntity<Page<ConsultaModel>> getAllConsulta(SpecificationsTemplate.ConsultaSpec spec,
-                                                              Pageable pageable){
-        Page<ConsultaModel> consultaModel = consultaService.fidAll(spec, pageable);
+    public ResponseEntity<Page<ConsultaListaRecordDto>> getAllConsulta(SpecificationsTemplate.ConsultaSpec spec,
+                                                                       Pageable pageable){
+        Page<ConsultaListaRecordDto> consultas = consultaService.findListagem(spec, pageable);
+        return ResponseEntity.status(HttpStatus.OK).body(consultas);
+    }
+
+    /**
+     * Obtém todas as consultas médicas completas, carregando os relacionamentos pedidos em 'expand'.
+     * Os relacionamentos não pedidos são retornados apenas com o ID.
+     * @param spec Especificações para filtragem.
+     * @param expand Relacionamentos a carregar: medico, paciente e/ou clinica (separados por vírgula).
+     * @param pageable Paginação.
+     * @return Lista paginada de consultas médicas.
+     */
+    @GetMapping(params = {"expand", "!limit"})
+    public ResponseEntity<Page<ConsultaModel>> getAllConsultaExpandida(SpecificationsTemplate.ConsultaSpec spec,
+                                                                       @RequestParam List<String> expand,
+                                                                       Pageable pageable){
+        Page<ConsultaModel> consultaModel = consultaService.fidAll(spec, pageable, expand);
         return ResponseEntity.status(HttpStatus.OK).body(consultaModel);
     }
 
+    /**
+     * Lista consultas médicas por cursor: ativado quando 'limit' é informado. As páginas seguem a ordem de cadastro
+     * e não executam contagem total, então o custo não cresce com a profundidade da listagem.
+     * @param spec Especificações para filtragem.
+     * @param cursor Valor 'nextCursor' da página anterior; omitido na primeira página.
+     * @param limit Quantidade de itens por página.
+     * @param expand Relacionamentos a carregar (medico, paciente, clinica); os demais são retornados apenas com o ID.
+     * @return Itens da página e o cursor da próxima, nulo quando não houver mais registros.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<PaginaCursorRecordDto<ConsultaModel>> getAllConsultaCursor(SpecificationsTemplate.ConsultaSpec spec,
+                                                                                     @RequestParam(required = false) String cursor,
+                                                                                     @RequestParam int limit,
+                                                                                     @RequestParam(required = false) List<String> expand){
+        PaginaCursorRecordDto<ConsultaModel> pagina = consultaService.findAllCursor(spec, cursor, limit, expand);
+        return ResponseEntity.status(HttpStatus.OK).body(pagina);
+    }
+
+    /**
+     * Exporta as consultas do período em CSV ou NDJSON. O arquivo é transmitido à medida que as consultas são lidas
+     * do banco de dados, sem paginação, então a memória usada não depende do tamanho do período.
+     * @param de Primeiro dia do período (yyyy-MM-dd).
+     * @param ate Último dia do período, inclusive (yyyy-MM-dd).
+     * @param formato csv (padrão) ou ndjson.
+     * @return ResponseEntity com o arquivo exportado.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportarConsultas(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+                                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+                                                                   @RequestParam(defaultValue = "csv") String formato){
+        if (ate.isBefore(de)) {
+            throw new NotFoundException("Informe um período válido: a data final é anterior à inicial");
+        }
+        FormatoExportacao formatoExportacao;
+        try {
+            formatoExportacao = FormatoExportacao.valueOf(formato.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new NotFoundException("Formato de exportação inválido: use csv ou ndjson");
+        }
+        logger.debug("GET: Exportação {} das consultas de {} a {}", formatoExportacao, de, ate);
+
+        var tipoConteudo = formatoExportacao == FormatoExportacao.NDJSON
+                ? new MediaType("application", "x-ndjson", StandardCharsets.UTF_8)
+                : new MediaType("text", "csv", StandardCharsets.UTF_8);
+        var nomeArquivo = "consultas-" + de + "-" + ate + "." + formatoExportacao.name().toLowerCase(Locale.ROOT);
+        StreamingResponseBody corpo = saida -> exportacaoConsultaService.exportar(de, ate, formatoExportacao, saida);
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(tipoConteudo)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(nomeArquivo).build().toString())
+                .body(corpo);
+    }
+
     /**
      * Obtém uma consulta médica pelo ID.
      * @param consultaId ID da consulta.
@@ -83,7 +194,18 @@ public class ConsultaController {
     @GetMapping("/{consultaId}")
     public ResponseEntity<Object> getOnConsultaMedica(@PathVariable(value = "consultaId") UUID consultaId){
         logger.debug("GET ONE: Consulta médica!");
-        return ResponseEntity.status(HttpStatus.OK).body(consultaService.findById(consultaId));
+        return ResponseEntity.status(HttpStatus.OK).body(consultaService.findByIdIncluindoArquivo(consultaId));
+    }
+
+    /**
+     * Obtém o histórico de consultas do paciente, incluindo as consultas arquivadas.
+     * @param pacienteId ID do paciente.
+     * @return Consultas do paciente, da mais recente para a mais antiga.
+     */
+    @GetMapping("/paciente/{pacienteId}/historico")
+    public ResponseEntity<List<ConsultaResumoRecordDto>> getHistoricoPaciente(@PathVariable(value = "pacienteId") UUID pacienteId){
+        logger.debug("GET: Histórico de consultas do paciente {}", pacienteId);
+        return ResponseEntity.status(HttpStatus.OK).body(consultaService.findHistoricoByPacienteId(pacienteId));
     }
 
     /**
@@ -114,6 +236,23 @@ public class ConsultaController {
         return ResponseEntity.status(HttpStatus.OK).body(consultaService.atualizarConsultaMedica(consultaRecordDto, consultaService.findById(consultaId).get()));
     }
 
+    /**
+     * Cancela uma consulta médica, liberando o horário para a lista de espera.
+     * @param consultaId ID da consulta a ser cancelada.
+     * @param consultaRecordDto Motivo do cancelamento.
+     * @return Consulta cancelada.
+     */
+    @PutMapping("/{consultaId}/cancelamento")
+    public ResponseEntity<Object> cancelarConsultaMedica(@PathVariable(value = "consultaId") UUID consultaId,
+                                                         @RequestBody @Validated(ConsultaRecordDto.ConsultaView.cancelarConsulta.class)
+                                                         @JsonView(ConsultaRecordDto.ConsultaView.cancelarConsulta.class)
+                                                         ConsultaRecordDto consultaRecordDto){
+        logger.debug("PUT: Cancelamento da consulta {} ({})", consultaId, consultaRecordDto.motivoCancelamento());
+        var consultaModel = consultaService.findById(consultaId)
+                .orElseThrow(() -> new NotFoundException("Consulta não encontrada!"));
+        return ResponseEntity.status(HttpStatus.OK).body(consultaService.cancelarConsultaMedica(consultaRecordDto, consultaModel));
+    }
+
     /**
      * Exclui uma consulta médica pelo ID.
      * @param consultaId ID da consulta a ser excluída.
@@ -1,9 +1,13 @@
 package com.sistema.gerenciamento.hospitalar.controllers;
 
 import com.fasterxml.jackson.annotation.JsonView;
-import com.sistema.gerenciamento.hospitalar.cliente.ViaCepService;
+import com.sistema.gerenciamento.hospitalar.dtos.CepLoteResultadoRecordDto;
 import com.sistema.gerenciamento.hospitalar.dtos.EnderecoRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.PaginaCursorRecordDto;
+import com.sistema.gerenciamento.hospitalar.exceptions.NotFoundException;
+import com.sistema.gerenciamento.hospitalar.exceptions.ServicoIndisponivelException;
 import com.sistema.gerenciamento.hospitalar.models.EnderecoModel;
+import com.sistema.gerenciamento.hospitalar.services.CepService;
 import com.sistema.gerenciamento.hospitalar.services.EnderecoService;
 import com.sistema.gerenciamento.hospitalar.services.FuncionarioService;
 import com.sistema.gerenciamento.hospitalar.services.PacienteService;
@@ -13,11 +17,14 @@ import org.apache.logging.log4j.Logger;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.UUID;
 /**
  * Controlador para gerenciar operações relacionadas a endereços de funcionários e pacientes.
@@ -31,14 +38,14 @@ public class EnderecoController {
     final EnderecoService enderecoService;
     final FuncionarioService funcionarioService;
     final PacienteService pacienteService;
-    final ViaCepService viaCepService;
+    final CepService cepService;
 
     public EnderecoController(EnderecoService enderecoService, FuncionarioService funcionarioService,
-                              PacienteService pacienteService, ViaCepService viaCepService) {
+                              PacienteService pacienteService, CepService cepService) {
         this.enderecoService = enderecoService;
         this.funcionarioService = funcionarioService;
         this.pacienteService = pacienteService;
-        this.viaCepService = viaCepService;
+        this.cepService = cepService;
     }
 
     /**
@@ -70,20 +77,28 @@ public class EnderecoController {
     }
 
     /**
-     * Busca informações de um endereço a partir de um CEP.
+     * Busca informações de um endereço a partir de um CEP (com cache dos CEPs já consultados).
      */
     @GetMapping("/{cep}/cep")
     public Mono<ResponseEntity<?>> buscarCep(@PathVariable String cep) {
-        return viaCepService.consultarCep(cep)
-                .flatMap(endereco -> {
-                    if (endereco == null) {
-                        return Mono.just(ResponseEntity.status(404).body("CEP não encontrado."));
-                    }
-                    return Mono.just(ResponseEntity.ok(endereco));
-                })
+        return cepService.consultarCep(cep)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(NotFoundException.class, ex -> Mono.just(ResponseEntity.status(404).body(ex.getMessage())))
+                .onErrorResume(ServicoIndisponivelException.class, ex -> Mono.just(ResponseEntity.status(503).body(ex.getMessage())))
                 .onErrorResume(ex -> Mono.just(ResponseEntity.status(500).body("ERRO: " + ex.getMessage())));
     }
 
+    /**
+     * Consulta vários CEPs de uma vez (ex.: importação de pacientes). Os CEPs repetidos são consultados uma única vez e
+     * cada resultado é enviado em uma linha NDJSON assim que fica pronto: primeiro os que estão em cache, depois os
+     * consultados no ViaCEP, na ordem em que terminam.
+     */
+    @PostMapping(value = "/ceps", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CepLoteResultadoRecordDto> buscarCeps(@RequestBody List<String> ceps) {
+        logger.debug("POST: Consulta de {} CEPs em lote", ceps.size());
+        return cepService.consultarCeps(ceps);
+    }
+
     /**
      * Retorna uma lista paginada de endereços com filtros opcionais.
      */
@@ -94,6 +109,22 @@ public class EnderecoController {
         return ResponseEntity.status(HttpStatus.OK).body(enderecoModel);
     }
 
+    /**
+     * Lista endereços por cursor: ativado quando 'limit' é informado. As páginas seguem a ordem de cadastro
+     * e não executam contagem total, então o custo não cresce com a profundidade da listagem.
+     * @param spec Especificações para filtragem.
+     * @param cursor Valor 'nextCursor' da página anterior; omitido na primeira página.
+     * @param limit Quantidade de itens por página.
+     * @return Itens da página e o cursor da próxima, nulo quando não houver mais registros.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<PaginaCursorRecordDto<EnderecoModel>> getAllEnderecoCursor(SpecificationsTemplate.EnderecoSpec spec,
+                                                                                     @RequestParam(required = false) String cursor,
+                                                                                     @RequestParam int limit){
+        PaginaCursorRecordDto<EnderecoModel> pagina = enderecoService.findAllCursor(spec, cursor, limit);
+        return ResponseEntity.status(HttpStatus.OK).body(pagina);
+    }
+
     /**
      * Retorna informações detalhadas de um endereço específico pelo ID.
      */
@@ -2,6 +2,7 @@ package com.sistema.gerenciamento.hospitalar.controllers;
 
 import com.fasterxml.jackson.annotation.JsonView;
 import com.sistema.gerenciamento.hospitalar.dtos.FuncionarioRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.PaginaCursorRecordDto;
 import com.sistema.gerenciamento.hospitalar.models.FuncionarioModel;
 import com.sistema.gerenciamento.hospitalar.services.ConsultaService;
 import com.sistema.gerenciamento.hospitalar.services.EnderecoService;
@@ -49,15 +50,6 @@ public class FuncionarioController {
     public ResponseEntity<Object> registroFuncionario(@RequestBody @Validated(FuncionarioRecordDto.FuncionarioView.RegistroFuncionarioPost.class)
                                                       @JsonView(FuncionarioRecordDto.FuncionarioView.RegistroFuncionarioPost.class)
                                                       FuncionarioRecordDto funcionarioRecordDto){
-        if (funcionarioService.existByNomeCompleto(funcionarioRecordDto.nomeCompleto())){
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("ERRO, FUNCIONARIO JÁ EXISTENTE!");
-        }
-        if (funcionarioService.existByCpf(funcionarioRecordDto.cpf())){
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("ERRO, ESSE CPF JÁ ESTÁ EM USO!");
-        }
-        if (funcionarioService.existByRg(funcionarioRecordDto.rg())){
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("ERRO, ESSE RG JÁ EXISTE!");
-        }
         logger.debug("POST: Registro de funcionario {}", funcionarioRecordDto);
         return ResponseEntity.status(HttpStatus.CREATED).body(funcionarioService.saveFuncionario(funcionarioRecordDto));
     }
@@ -76,6 +68,23 @@ public class FuncionarioController {
         return ResponseEntity.status(HttpStatus.OK).body(funcionarioModel);
     }
 
+    /**
+     * Lista funcionários por cursor: ativado quando 'limit' é informado. As páginas seguem a ordem de cadastro
+     * e não executam contagem total, então o custo não cresce com a profundidade da listagem.
+     * @param spec Especificações para filtragem.
+     * @param cursor Valor 'nextCursor' da página anterior; omitido na primeira página.
+     * @param limit Quantidade de itens por página.
+     * @return Itens da página e o cursor da próxima, nulo quando não houver mais registros.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<PaginaCursorRecordDto<FuncionarioModel>> getAllFuncionarioCursor(SpecificationsTemplate.FuncionarioSpec spec,
+                                                                                           @RequestParam(required = false) String cursor,
+                                                                                           @RequestParam int limit){
+        PaginaCursorRecordDto<FuncionarioModel> pagina = funcionarioService.findAllCursor(spec, cursor, limit);
+        logger.debug("GET: Consulta de funcionarios por cursor");
+        return ResponseEntity.status(HttpStatus.OK).body(pagina);
+    }
+
     /**
      * Obtém os detalhes de um funcionário específico.
      * @param funcionarioId ID do funcionário.
@@ -0,0 +1,87 @@
+package com.sistema.gerenciamento.hospitalar.controllers;
+
+import com.sistema.gerenciamento.hospitalar.dtos.ListaEsperaRecordDto;
+import com.sistema.gerenciamento.hospitalar.exceptions.NotFoundException;
+import com.sistema.gerenciamento.hospitalar.models.ListaEsperaModel;
+import com.sistema.gerenciamento.hospitalar.services.ListaEsperaService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * Controlador para gerenciar a lista de espera por horários de consulta.
+ */
+@RestController
+@RequestMapping("/lista-espera")
+public class ListaEsperaController {
+    Logger logger = LogManager.getLogger(ListaEsperaController.class);
+
+    private final ListaEsperaService listaEsperaService;
+
+    public ListaEsperaController(ListaEsperaService listaEsperaService) {
+        this.listaEsperaService = listaEsperaService;
+    }
+
+    /**
+     * Inclui um paciente na lista de espera.
+     * @param listaEsperaRecordDto Especialidade, médico (opcional) e dia desejados.
+     * @param pacienteId ID do paciente.
+     * @return ResponseEntity contendo a entrada criada na lista de espera.
+     */
+    @PostMapping("/paciente/{pacienteId}")
+    public ResponseEntity<Object> registroListaEspera(@RequestBody @Validated ListaEsperaRecordDto listaEsperaRecordDto,
+                                                      @PathVariable(value = "pacienteId") UUID pacienteId){
+        logger.debug("POST: Paciente {} na lista de espera {}", pacienteId, listaEsperaRecordDto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(listaEsperaService.cadastrar(listaEsperaRecordDto, pacienteId));
+    }
+
+    /**
+     * Obtém todas as entradas da lista de espera.
+     * @param pageable Paginação.
+     * @return Lista paginada das entradas da lista de espera.
+     */
+    @GetMapping
+    public ResponseEntity<Page<ListaEsperaModel>> getAllListaEspera(Pageable pageable){
+        return ResponseEntity.status(HttpStatus.OK).body(listaEsperaService.findAll(pageable));
+    }
+
+    /**
+     * Obtém uma entrada da lista de espera pelo ID.
+     * @param listaEsperaId ID da entrada.
+     * @return Entrada da lista de espera correspondente ao ID fornecido.
+     */
+    @GetMapping("/{listaEsperaId}")
+    public ResponseEntity<Object> getOneListaEspera(@PathVariable(value = "listaEsperaId") UUID listaEsperaId){
+        return ResponseEntity.status(HttpStatus.OK).body(listaEsperaService.findById(listaEsperaId)
+                .orElseThrow(() -> new NotFoundException("Entrada da lista de espera não encontrada!")));
+    }
+
+    /**
+     * Aceita o horário ofertado ao paciente, agendando a consulta.
+     * @param listaEsperaId ID da entrada.
+     * @return ResponseEntity contendo a consulta agendada.
+     */
+    @PostMapping("/{listaEsperaId}/aceite")
+    public ResponseEntity<Object> aceitarOferta(@PathVariable(value = "listaEsperaId") UUID listaEsperaId){
+        logger.debug("POST: Aceite da oferta da lista de espera {}", listaEsperaId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(listaEsperaService.aceitarOferta(listaEsperaId));
+    }
+
+    /**
+     * Retira o paciente da lista de espera.
+     * @param listaEsperaId ID da entrada.
+     * @return Mensagem de sucesso.
+     */
+    @DeleteMapping("/{listaEsperaId}")
+    public ResponseEntity<Object> desistirListaEspera(@PathVariable(value = "listaEsperaId") UUID listaEsperaId){
+        listaEsperaService.desistir(listaEsperaId);
+        return ResponseEntity.status(HttpStatus.OK).body("PACIENTE RETIRADO DA LISTA DE ESPERA COM SUCESSO!");
+    }
+}
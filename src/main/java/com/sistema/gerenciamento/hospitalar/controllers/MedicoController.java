@@ -1,8 +1,15 @@
 package com.sistema.gerenciamento.hospitalar.controllers;
 
 import com.fasterxml.jackson.annotation.JsonView;
+import com.sistema.gerenciamento.hospitalar.dtos.AgendaDiaRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.HorarioLivreRecordDto;
 import com.sistema.gerenciamento.hospitalar.dtos.MedicoRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.PaginaCursorRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.TokenCalendarioRecordDto;
+import com.sistema.gerenciamento.hospitalar.enums.Especialidade;
 import com.sistema.gerenciamento.hospitalar.models.MedicoModel;
+import com.sistema.gerenciamento.hospitalar.services.AgendaMedicaService;
+import com.sistema.gerenciamento.hospitalar.services.CalendarioMedicoService;
 import com.sistema.gerenciamento.hospitalar.services.ConsultaService;
 import com.sistema.gerenciamento.hospitalar.services.FuncionarioService;
 import com.sistema.gerenciamento.hospitalar.services.MedicoService;
@@ -11,11 +18,20 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 /**
  * Controlador REST para gerenciar médicos dentro do sistema hospitalar.
@@ -32,14 +48,21 @@ public class MedicoController {
     final MedicoService medicoService;
     final FuncionarioService funcionarioService;
     final ConsultaService consultaService;
+    final AgendaMedicaService agendaMedicaService;
+    final CalendarioMedicoService calendarioMedicoService;
+    final Clock clock;
 
     /**
      * Construtor para injeção de dependências.
      */
-    public MedicoController(MedicoService medicoService, FuncionarioService funcionarioService, ConsultaService consultaService) {
+    public MedicoController(MedicoService medicoService, FuncionarioService funcionarioService, ConsultaService consultaService,
+                            AgendaMedicaService agendaMedicaService, CalendarioMedicoService calendarioMedicoService, Clock clock) {
         this.medicoService = medicoService;
         this.funcionarioService = funcionarioService;
         this.consultaService = consultaService;
+        this.agendaMedicaService = agendaMedicaService;
+        this.calendarioMedicoService = calendarioMedicoService;
+        this.clock = clock;
     }
 
     /**
@@ -54,17 +77,7 @@ public class MedicoController {
                                                  @JsonView(MedicoRecordDto.MedicoView.MedicoPost.class)
                                                  MedicoRecordDto medicoRecordDto,
                                                  @PathVariable(value = "funcionarioId") UUID funcionarioId) {
-        // Validações para evitar cadastros duplicados
-        if (medicoService.existByCrm(medicoRecordDto.crm())) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("ERRO, CRM JÁ EXISTENTE!");
-        }
-        if (medicoService.existByCns(medicoRecordDto.cns())) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("ERRO, ESSE CNS JÁ ESTÁ CADASTRADO!");
-        }
-        if (medicoService.existsByFuncionarioMedicoFuncionarioId(funcionarioId)) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("ERRO, ESSE MÉDICO JÁ ESTÁ ASSOCIADO A UM USUÁRIO!");
-        }
-
+        // CRM, CNS e funcionário já vinculados a outro médico são recusados pelas restrições únicas do banco de dados
         logger.debug("POST: Cadastro de médico {}", medicoRecordDto);
         return ResponseEntity.status(HttpStatus.CREATED).body(medicoService.saveMedico(medicoRecordDto, funcionarioService.findById(funcionarioId).get()));
     }
@@ -96,6 +109,132 @@ public class MedicoController {
         return ResponseEntity.status(HttpStatus.OK).body(medicoModelPage);
     }
 
+    /**
+     * Lista médicos por cursor: ativado quando 'limit' é informado. As páginas seguem a ordem de cadastro
+     * e não executam contagem total, então o custo não cresce com a profundidade da listagem.
+     * @param spec Especificações para filtragem.
+     * @param cursor Valor 'nextCursor' da página anterior; omitido na primeira página.
+     * @param limit Quantidade de itens por página.
+     * @return Itens da página e o cursor da próxima, nulo quando não houver mais registros.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<PaginaCursorRecordDto<MedicoModel>> getAllMedicoCursor(SpecificationsTemplate.MedicoSpec spec,
+                                                                                 @RequestParam(required = false) String cursor,
+                                                                                 @RequestParam int limit){
+        PaginaCursorRecordDto<MedicoModel> pagina = medicoService.findAllCursor(spec, cursor, limit);
+        logger.debug("GET: getAllMedicoCursor, Consulta de médicos por cursor");
+        return ResponseEntity.status(HttpStatus.OK).body(pagina);
+    }
+
+    /**
+     * Obtém a agenda do dia de um médico. A resposta vem de um cache invalidado a cada alteração
+     * de consulta do médico no dia, permitindo consultas frequentes sem acesso ao banco de dados.
+     *
+     * @param medicoId ID do médico.
+     * @param dia Dia da agenda (yyyy-MM-dd); quando omitido, o dia atual.
+     * @return ResponseEntity com as consultas do dia em ordem de horário.
+     */
+    @GetMapping("/{medicoId}/agenda")
+    public ResponseEntity<AgendaDiaRecordDto> getAgendaMedico(@PathVariable(value = "medicoId") UUID medicoId,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dia) {
+        var diaAgenda = dia != null ? dia : LocalDate.now(clock);
+        logger.debug("GET: getAgendaMedico, médico: {} dia: {}", medicoId, diaAgenda);
+        return ResponseEntity.status(HttpStatus.OK).body(agendaMedicaService.buscarAgendaDoDia(medicoId, diaAgenda));
+    }
+
+    /**
+     * Disponibiliza as consultas do médico no formato iCalendar, para assinatura em aplicativos de calendário.
+     * Além da autenticação JWT, aceita o token de assinatura do médico no parâmetro 'token'. O conteúdo é transmitido à medida que é lido do banco de dados; quando o cliente já possui a versão atual
+     * (If-None-Match igual ao ETag), a resposta é 304 sem corpo.
+     *
+     * @param medicoId ID do médico.
+     * @param webRequest Requisição, usada para a verificação do ETag.
+     * @return ResponseEntity com o calendário do médico.
+     */
+    @GetMapping("/{medicoId}/agenda.ics")
+    public ResponseEntity<StreamingResponseBody> getCalendarioMedico(@PathVariable(value = "medicoId") UUID medicoId,
+                                                                     WebRequest webRequest) {
+        var etag = calendarioMedicoService.calcularEtag(medicoId);
+        if (webRequest.checkNotModified(etag)) {
+            logger.debug("GET: getCalendarioMedico, médico: {} sem alterações", medicoId);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        logger.debug("GET: getCalendarioMedico, médico: {}", medicoId);
+        StreamingResponseBody corpo = saida -> calendarioMedicoService.escreverCalendario(medicoId, saida);
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(etag)
+                .contentType(new MediaType("text", "calendar", StandardCharsets.UTF_8))
+                .body(corpo);
+    }
+
+    /**
+     * Gera o token de assinatura do calendário do médico, para os aplicativos de calendário que não enviam o token JWT.
+     * Um novo token invalida o anterior.
+     *
+     * @param medicoId ID do médico.
+     * @return ResponseEntity com o token e a URL do calendário a cadastrar no aplicativo.
+     */
+    @PostMapping("/{medicoId}/agenda.ics/token")
+    public ResponseEntity<TokenCalendarioRecordDto> gerarTokenCalendario(@PathVariable(value = "medicoId") UUID medicoId) {
+        var token = calendarioMedicoService.gerarTokenAssinatura(medicoId);
+        var url = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/medico/{medicoId}/agenda.ics")
+                .queryParam("token", token)
+                .buildAndExpand(medicoId)
+                .toUriString();
+        logger.debug("POST: gerarTokenCalendario, médico: {}", medicoId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(new TokenCalendarioRecordDto(token, url));
+    }
+
+    /**
+     * Revoga o token de assinatura do calendário do médico; as assinaturas existentes deixam de ser atualizadas.
+     *
+     * @param medicoId ID do médico.
+     * @return ResponseEntity com a mensagem de sucesso.
+     */
+    @DeleteMapping("/{medicoId}/agenda.ics/token")
+    public ResponseEntity<Object> revogarTokenCalendario(@PathVariable(value = "medicoId") UUID medicoId) {
+        calendarioMedicoService.revogarTokenAssinatura(medicoId);
+        logger.debug("DELETE: revogarTokenCalendario, médico: {}", medicoId);
+        return ResponseEntity.status(HttpStatus.OK).body("Token de assinatura do calendário revogado com sucesso!");
+    }
+
+    /**
+     * Lista os horários livres de um médico no período informado.
+     *
+     * @param medicoId ID do médico.
+     * @param de Primeiro dia da busca (yyyy-MM-dd).
+     * @param ate Último dia da busca, inclusive (yyyy-MM-dd).
+     * @param limite Quantidade máxima de horários retornados.
+     * @return ResponseEntity com os horários livres em ordem cronológica.
+     */
+    @GetMapping("/{medicoId}/horarios-livres")
+    public ResponseEntity<List<HorarioLivreRecordDto>> getHorariosLivresMedico(@PathVariable(value = "medicoId") UUID medicoId,
+                                                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+                                                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+                                                                               @RequestParam(defaultValue = "50") int limite) {
+        logger.debug("GET: getHorariosLivresMedico, médico: {} de {} até {}", medicoId, de, ate);
+        return ResponseEntity.status(HttpStatus.OK).body(agendaMedicaService.buscarHorariosLivres(medicoId, de, ate, limite));
+    }
+
+    /**
+     * Lista os próximos horários livres entre todos os médicos de uma especialidade.
+     *
+     * @param especialidade Especialidade desejada.
+     * @param de Primeiro dia da busca (yyyy-MM-dd).
+     * @param ate Último dia da busca, inclusive (yyyy-MM-dd).
+     * @param limite Quantidade máxima de horários retornados.
+     * @return ResponseEntity com os horários livres, dos mais próximos para os mais distantes.
+     */
+    @GetMapping("/horarios-livres")
+    public ResponseEntity<List<HorarioLivreRecordDto>> getHorariosLivresEspecialidade(@RequestParam Especialidade especialidade,
+                                                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+                                                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+                                                                                      @RequestParam(defaultValue = "20") int limite) {
+        logger.debug("GET: getHorariosLivresEspecialidade, especialidade: {} de {} até {}", especialidade, de, ate);
+        return ResponseEntity.status(HttpStatus.OK).body(agendaMedicaService.buscarHorariosLivresPorEspecialidade(especialidade, de, ate, limite));
+    }
+
     /**
      * Atualiza os dados de um médico específico.
      *
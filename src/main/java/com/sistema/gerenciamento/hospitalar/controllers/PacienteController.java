@@ -2,6 +2,7 @@ package com.sistema.gerenciamento.hospitalar.controllers;
 
 import com.fasterxml.jackson.annotation.JsonView;
 import com.sistema.gerenciamento.hospitalar.dtos.PacienteRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.PaginaCursorRecordDto;
 import com.sistema.gerenciamento.hospitalar.models.PacienteModel;
 import com.sistema.gerenciamento.hospitalar.services.ConsultaService;
 import com.sistema.gerenciamento.hospitalar.services.PacienteService;
@@ -34,7 +35,8 @@ public class PacienteController {
 
     /**
      * Endpoint para cadastrar um novo paciente.
-     * Verifica se o paciente já está cadastrado pelo nome, CNS, CPF, RG ou telefone celular.
+     * Nome, CNS, CPF, RG e telefone celular duplicados são recusados pelas restrições únicas do banco de dados,
+     * traduzidas em conflito pelo GlobalExceptionHandler.
      * @param pacienteRecordDto DTO contendo os dados do paciente.
      * @return ResponseEntity com status de criação ou conflito em caso de duplicidade.
      */
@@ -42,27 +44,6 @@ public class PacienteController {
     public ResponseEntity<Object> savePaciente (@RequestBody @Validated(PacienteRecordDto.PacienteView.RegistroPacientePost.class)
                                                 @JsonView(PacienteRecordDto.PacienteView.RegistroPacientePost.class)
                                                 PacienteRecordDto pacienteRecordDto){
-        // Verifica se o paciente já possui cadastro
-        if (pacienteService.existByNomeCompleto(pacienteRecordDto.nomeCompleto())){
-            logger.warn("ESTE PACIENTE JÁ ESTÁ CADASTRADO");
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("ESTE PACIENTE JÁ ESTÁ CADASTRADO");
-        }
-        if (pacienteService.existByCns(pacienteRecordDto.cns())){
-            logger.warn("ESTE CNS JÁ ESTÁ CADASTRADO");
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("ESTE CNS JÁ ESTÁ CADASTRADO");
-        }
-        if (pacienteService.existByCpf(pacienteRecordDto.cpf())){
-            logger.warn("ESTE CPF JÁ ESTÁ VINCULADO A UM PACIENTE");
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("ESTE CPF JÁ ESTÁ VINCULADO A UM PACIENTE");
-        }
-        if (pacienteService.existByRg(pacienteRecordDto.rg())){
-            logger.warn("ESTE RG JÁ ESTÁ VINCULADO A UM PACIENTE");
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("ESTE RG JÁ ESTÁ VINCULADO A UM PACIENTE");
-        }
-        if (pacienteService.existByTelefoneCelular(pacienteRecordDto.telefoneCelular())){
-            logger.warn("ESTE TELEFONE CELULAR JÁ ESTÁ SENDO USADO");
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("ESTE TELEFONE CELULAR JÁ ESTÁ SENDO USADO");
-        }
         logger.debug("PACIENTE CADASTRADO COM SUCESSO!");
         return ResponseEntity.status(HttpStatus.CREATED).body(pacienteService.savePaciente(pacienteRecordDto));
     }
@@ -81,6 +62,22 @@ public class PacienteController {
         return ResponseEntity.status(HttpStatus.OK).body(pacienteModel);
     }
 
+    /**
+     * Lista pacientes por cursor: ativado quando 'limit' é informado. As páginas seguem a ordem de cadastro
+     * e não executam contagem total, então o custo não cresce com a profundidade da listagem.
+     * @param spec Especificações para filtragem.
+     * @param cursor Valor 'nextCursor' da página anterior; omitido na primeira página.
+     * @param limit Quantidade de itens por página.
+     * @return Itens da página e o cursor da próxima, nulo quando não houver mais registros.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<PaginaCursorRecordDto<PacienteModel>> getAllPacienteCursor(SpecificationsTemplate.PacienteSpec spec,
+                                                                                     @RequestParam(required = false) String cursor,
+                                                                                     @RequestParam int limit){
+        PaginaCursorRecordDto<PacienteModel> pagina = pacienteService.findAllCursor(spec, cursor, limit);
+        return ResponseEntity.status(HttpStatus.OK).body(pagina);
+    }
+
     /**
      * Endpoint para buscar um paciente específico pelo ID.
      * @param pacienteId ID do paciente.
@@ -0,0 +1,51 @@
+package com.sistema.gerenciamento.hospitalar.controllers;
+
+import com.sistema.gerenciamento.hospitalar.dtos.FaturamentoRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.RecalculoFaturamentoRecordDto;
+import com.sistema.gerenciamento.hospitalar.services.RelatorioFaturamentoService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.UUID;
+
+/**
+ * Controlador dos relatórios gerenciais, respondidos a partir dos consolidados mensais.
+ */
+@RestController
+@RequestMapping("/relatorios")
+public class RelatorioController {
+    Logger logger = LogManager.getLogger(RelatorioController.class);
+
+    private final RelatorioFaturamentoService relatorioFaturamentoService;
+
+    public RelatorioController(RelatorioFaturamentoService relatorioFaturamentoService) {
+        this.relatorioFaturamentoService = relatorioFaturamentoService;
+    }
+
+    /**
+     * Obtém o faturamento e o volume de consultas do mês, no total, por médico e por especialidade.
+     * @param clinicaId ID da clínica (opcional; sem ele, todas as clínicas).
+     * @param mes Mês do relatório (AAAA-MM).
+     * @return Relatório de faturamento do mês.
+     */
+    @GetMapping("/faturamento")
+    public ResponseEntity<FaturamentoRecordDto> getFaturamento(@RequestParam(value = "clinicaId", required = false) UUID clinicaId,
+                                                               @RequestParam(value = "mes") YearMonth mes){
+        logger.debug("GET: Faturamento da clínica {} em {}", clinicaId, mes);
+        return ResponseEntity.status(HttpStatus.OK).body(relatorioFaturamentoService.faturamento(clinicaId, mes));
+    }
+
+    /**
+     * Recalcula o consolidado de faturamento a partir das consultas, em paralelo por clínica.
+     * @return Quantidade de clínicas e linhas recalculadas e a duração do recálculo.
+     */
+    @PostMapping("/faturamento/recalculo")
+    public ResponseEntity<RecalculoFaturamentoRecordDto> recalcularFaturamento(){
+        logger.info("POST: Recálculo do consolidado de faturamento");
+        return ResponseEntity.status(HttpStatus.OK).body(relatorioFaturamentoService.recalcular());
+    }
+}
@@ -1,6 +1,7 @@
 package com.sistema.gerenciamento.hospitalar.controllers;
 
 import com.fasterxml.jackson.annotation.JsonView;
+import com.sistema.gerenciamento.hospitalar.dtos.PaginaCursorRecordDto;
 import com.sistema.gerenciamento.hospitalar.dtos.UsuarioRecordDto;
 import com.sistema.gerenciamento.hospitalar.models.UsuarioModel;
 import com.sistema.gerenciamento.hospitalar.services.UsuarioService;
@@ -51,6 +52,25 @@ public class UsuarioController {
         return ResponseEntity.status(HttpStatus.OK).body(usuarioModelPageSpec);
     }
 
+    /**
+     * Lista usuários por cursor: ativado quando 'limit' é informado. As páginas seguem a ordem de cadastro
+     * e não executam contagem total, então o custo não cresce com a profundidade da listagem.
+     * @param spec Especificações para filtragem.
+     * @param cursor Valor 'nextCursor' da página anterior; omitido na primeira página.
+     * @param limit Quantidade de itens por página.
+     * @return Itens da página e o cursor da próxima, nulo quando não houver mais registros.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<PaginaCursorRecordDto<UsuarioModel>> getAllUsuariosCursor(SpecificationsTemplate.UsuarioSpec spec,
+                                                                                    @RequestParam(required = false) String cursor,
+                                                                                    @RequestParam int limit){
+        PaginaCursorRecordDto<UsuarioModel> pagina = usuarioService.findAllCursor(spec, cursor, limit);
+        for (UsuarioModel usuario : pagina.content()) {
+            usuario.add(linkTo(methodOn(UsuarioController.class).getOnUsuario(usuario.getUsuarioId())).withSelfRel());
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(pagina);
+    }
+
     /**
      * Busca um usuário específico pelo ID.
      *
@@ -0,0 +1,25 @@
+package com.sistema.gerenciamento.hospitalar.dtos;
+
+import com.sistema.gerenciamento.hospitalar.enums.MotivoCancelamento;
+import com.sistema.gerenciamento.hospitalar.enums.StatusAtendimento;
+import com.sistema.gerenciamento.hospitalar.enums.TipoAtendimento;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record AgendaDiaRecordDto(UUID medicoId,
+                                 LocalDate dia,
+                                 List<ConsultaAgenda> consultas){
+
+    public record ConsultaAgenda(UUID consultaId,
+                                 LocalDateTime dataConsulta,
+                                 UUID pacienteId,
+                                 String nomePaciente,
+                                 TipoAtendimento tipoAtendimento,
+                                 StatusAtendimento statusAtendimento,
+                                 String local,
+                                 MotivoCancelamento motivoCancelamento){
+    }
+}
@@ -0,0 +1,19 @@
+package com.sistema.gerenciamento.hospitalar.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Resultado de um CEP na consulta em lote: cep tem apenas os dígitos (ou o valor enviado, se não for um CEP válido)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CepLoteResultadoRecordDto(String cep,
+                                        boolean encontrado,
+                                        EnderecoRecordDto endereco,
+                                        String mensagem) {
+
+    public static CepLoteResultadoRecordDto encontrado(String cep, EnderecoRecordDto endereco) {
+        return new CepLoteResultadoRecordDto(cep, true, endereco, null);
+    }
+
+    public static CepLoteResultadoRecordDto naoEncontrado(String cep, String mensagem) {
+        return new CepLoteResultadoRecordDto(cep, false, null, mensagem);
+    }
+}
@@ -0,0 +1,25 @@
+package com.sistema.gerenciamento.hospitalar.dtos;
+
+import com.sistema.gerenciamento.hospitalar.enums.Especialidade;
+import com.sistema.gerenciamento.hospitalar.enums.MotivoCancelamento;
+import com.sistema.gerenciamento.hospitalar.enums.StatusAtendimento;
+import com.sistema.gerenciamento.hospitalar.enums.TipoAtendimento;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ConsultaExportacaoRecordDto(UUID consultaId,
+                                          LocalDateTime dataConsulta,
+                                          TipoAtendimento tipoAtendimento,
+                                          StatusAtendimento statusAtendimento,
+                                          MotivoCancelamento motivoCancelamento,
+                                          float valorConsulta,
+                                          String local,
+                                          UUID medicoId,
+                                          String nomeMedico,
+                                          Especialidade especialidade,
+                                          UUID pacienteId,
+                                          String nomePaciente,
+                                          UUID clinicaId,
+                                          String nomeClinica){
+}
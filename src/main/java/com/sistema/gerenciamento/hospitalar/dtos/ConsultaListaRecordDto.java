@@ -0,0 +1,19 @@
+package com.sistema.gerenciamento.hospitalar.dtos;
+
+import com.sistema.gerenciamento.hospitalar.enums.StatusAtendimento;
+import com.sistema.gerenciamento.hospitalar.enums.TipoAtendimento;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ConsultaListaRecordDto(UUID consultaId,
+                                     LocalDateTime dataConsulta,
+                                     TipoAtendimento tipoAtendimento,
+                                     StatusAtendimento statusAtendimento,
+                                     UUID medicoId,
+                                     String medicoNome,
+                                     UUID pacienteId,
+                                     String pacienteNome,
+                                     UUID clinicaId,
+                                     String clinicaNome){
+}
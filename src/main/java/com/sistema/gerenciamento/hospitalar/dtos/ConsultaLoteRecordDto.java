@@ -0,0 +1,44 @@
+package com.sistema.gerenciamento.hospitalar.dtos;
+
+import com.sistema.gerenciamento.hospitalar.enums.TipoAtendimento;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record ConsultaLoteRecordDto(@NotEmpty(message = "Informe ao menos uma consulta!")
+                                    @Size(max = 1000, message = "O lote deve conter no máximo 1000 consultas")
+                                    @Valid
+                                    List<ItemConsulta> consultas){
+
+    public record ItemConsulta(@NotNull(message = "O campo médico é obrigatorio!")
+                               UUID medicoId,
+
+                               @NotNull(message = "O campo paciente é obrigatorio!")
+                               UUID pacienteId,
+
+                               @NotNull(message = "O campo clínica é obrigatorio!")
+                               UUID clinicaId,
+
+                               @NotNull(message = "O campo data é obrigatorio!")
+                               LocalDateTime dataConsulta,
+
+                               @NotNull(message = "O campo nome tipo atendimento é obrigatorio!")
+                               TipoAtendimento tipoAtendimento,
+
+                               float valorConsulta,
+
+                               @NotBlank(message = "O campo local da consulta é obrigatorio!")
+                               String local){
+
+        // Converte o item no DTO utilizado pelos validadores de agendamento
+        public ConsultaRecordDto paraConsultaRecordDto() {
+            return new ConsultaRecordDto(dataConsulta, tipoAtendimento, valorConsulta, local, null, null, null, null);
+        }
+    }
+}
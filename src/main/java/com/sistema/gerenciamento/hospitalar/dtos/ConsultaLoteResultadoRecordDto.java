@@ -0,0 +1,20 @@
+package com.sistema.gerenciamento.hospitalar.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ConsultaLoteResultadoRecordDto(int indice,
+                                             boolean agendada,
+                                             UUID consultaId,
+                                             String mensagem){
+
+    public static ConsultaLoteResultadoRecordDto agendada(int indice, UUID consultaId) {
+        return new ConsultaLoteResultadoRecordDto(indice, true, consultaId, null);
+    }
+
+    public static ConsultaLoteResultadoRecordDto recusada(int indice, String mensagem) {
+        return new ConsultaLoteResultadoRecordDto(indice, false, null, mensagem);
+    }
+}
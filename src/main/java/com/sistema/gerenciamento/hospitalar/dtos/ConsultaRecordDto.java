@@ -1,6 +1,7 @@
 package com.sistema.gerenciamento.hospitalar.dtos;
 
 import com.fasterxml.jackson.annotation.JsonView;
+import com.sistema.gerenciamento.hospitalar.enums.MotivoCancelamento;
 import com.sistema.gerenciamento.hospitalar.enums.StatusAtendimento;
 import com.sistema.gerenciamento.hospitalar.enums.TipoAtendimento;
 import jakarta.validation.constraints.NotBlank;
@@ -32,10 +33,15 @@ public record ConsultaRecordDto(@NotNull(groups = ConsultaView.ConsultaPost.clas
                                 String observacao,
 
                                 @JsonView(ConsultaView.finalizarConsulta.class)
-                                String resultadoConsulta){
+                                String resultadoConsulta,
+
+                                @NotNull(groups = ConsultaView.cancelarConsulta.class, message = "Informe o motivo do cancelamento!")
+                                @JsonView(ConsultaView.cancelarConsulta.class)
+                                MotivoCancelamento motivoCancelamento){
     public interface ConsultaView {
         interface ConsultaPost {}
         interface ConsultaPut {}
         interface finalizarConsulta{}
+        interface cancelarConsulta{}
     }
 }
\ No newline at end of file
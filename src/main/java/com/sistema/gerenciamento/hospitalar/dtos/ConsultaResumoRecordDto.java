@@ -0,0 +1,20 @@
+package com.sistema.gerenciamento.hospitalar.dtos;
+
+import com.sistema.gerenciamento.hospitalar.enums.MotivoCancelamento;
+import com.sistema.gerenciamento.hospitalar.enums.StatusAtendimento;
+import com.sistema.gerenciamento.hospitalar.enums.TipoAtendimento;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ConsultaResumoRecordDto(UUID consultaId,
+                                      LocalDateTime dataConsulta,
+                                      TipoAtendimento tipoAtendimento,
+                                      StatusAtendimento statusAtendimento,
+                                      MotivoCancelamento motivoCancelamento,
+                                      float valorConsulta,
+                                      String local,
+                                      UUID medicoId,
+                                      UUID clinicaId,
+                                      boolean arquivada){
+}
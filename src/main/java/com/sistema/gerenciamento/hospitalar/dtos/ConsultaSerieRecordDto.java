@@ -0,0 +1,56 @@
+package com.sistema.gerenciamento.hospitalar.dtos;
+
+import com.sistema.gerenciamento.hospitalar.enums.FrequenciaSerie;
+import com.sistema.gerenciamento.hospitalar.enums.TipoAtendimento;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public record ConsultaSerieRecordDto(@NotNull(message = "O campo médico é obrigatorio!")
+                                     UUID medicoId,
+
+                                     @NotNull(message = "O campo paciente é obrigatorio!")
+                                     UUID pacienteId,
+
+                                     @NotNull(message = "O campo clínica é obrigatorio!")
+                                     UUID clinicaId,
+
+                                     @NotNull(message = "O campo data da primeira consulta é obrigatorio!")
+                                     LocalDateTime primeiraConsulta,
+
+                                     @NotNull(message = "O campo frequência é obrigatorio!")
+                                     FrequenciaSerie frequencia,
+
+                                     @Min(value = 2, message = "A série deve ter ao menos 2 consultas")
+                                     @Max(value = 52, message = "A série deve ter no máximo 52 consultas")
+                                     int ocorrencias,
+
+                                     @NotNull(message = "O campo nome tipo atendimento é obrigatorio!")
+                                     TipoAtendimento tipoAtendimento,
+
+                                     float valorConsulta,
+
+                                     @NotBlank(message = "O campo local da consulta é obrigatorio!")
+                                     String local){
+
+    // Expande a série nas datas de cada consulta, mantendo o mesmo dia da semana e horário da primeira
+    public List<LocalDateTime> datas() {
+        var intervaloSemanas = frequencia == FrequenciaSerie.QUINZENAL ? 2 : 1;
+        var datas = new ArrayList<LocalDateTime>(ocorrencias);
+        for (int i = 0; i < ocorrencias; i++) {
+            datas.add(primeiraConsulta.plusWeeks((long) i * intervaloSemanas));
+        }
+        return datas;
+    }
+
+    // Converte uma ocorrência da série no DTO utilizado pelos validadores de agendamento
+    public ConsultaRecordDto paraConsultaRecordDto(LocalDateTime dataConsulta) {
+        return new ConsultaRecordDto(dataConsulta, tipoAtendimento, valorConsulta, local, null, null, null, null);
+    }
+}
@@ -0,0 +1,24 @@
+package com.sistema.gerenciamento.hospitalar.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record ConsultaSerieResultadoRecordDto(boolean agendada,
+                                              List<UUID> consultaIds,
+                                              List<Conflito> conflitos){
+
+    public record Conflito(LocalDateTime dataConsulta, String mensagem) {
+    }
+
+    public static ConsultaSerieResultadoRecordDto agendada(List<UUID> consultaIds) {
+        return new ConsultaSerieResultadoRecordDto(true, consultaIds, List.of());
+    }
+
+    public static ConsultaSerieResultadoRecordDto recusada(List<Conflito> conflitos) {
+        return new ConsultaSerieResultadoRecordDto(false, List.of(), conflitos);
+    }
+}
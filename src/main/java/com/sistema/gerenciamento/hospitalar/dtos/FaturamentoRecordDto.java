@@ -0,0 +1,31 @@
+package com.sistema.gerenciamento.hospitalar.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.sistema.gerenciamento.hospitalar.enums.Especialidade;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record FaturamentoRecordDto(UUID clinicaId,
+                                   YearMonth mes,
+                                   Totais total,
+                                   List<PorMedico> medicos,
+                                   List<PorEspecialidade> especialidades){
+
+    // Quantidade de consultas por status e valores: faturamento das realizadas e previsão das ainda marcadas
+    public record Totais(long marcadas,
+                         long realizadas,
+                         long canceladas,
+                         BigDecimal faturamento,
+                         BigDecimal faturamentoPrevisto) {
+    }
+
+    public record PorMedico(UUID medicoId, Especialidade especialidade, Totais totais) {
+    }
+
+    public record PorEspecialidade(Especialidade especialidade, Totais totais) {
+    }
+}
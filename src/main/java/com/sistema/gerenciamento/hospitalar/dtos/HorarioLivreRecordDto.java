@@ -0,0 +1,8 @@
+package com.sistema.gerenciamento.hospitalar.dtos;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record HorarioLivreRecordDto(UUID medicoId,
+                                    LocalDateTime horario){
+}
@@ -0,0 +1,15 @@
+package com.sistema.gerenciamento.hospitalar.dtos;
+
+import com.sistema.gerenciamento.hospitalar.enums.Especialidade;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record ListaEsperaRecordDto(Especialidade especialidade,
+
+                                   UUID medicoId,
+
+                                   @NotNull(message = "Informe o dia desejado!")
+                                   LocalDate dia){
+}
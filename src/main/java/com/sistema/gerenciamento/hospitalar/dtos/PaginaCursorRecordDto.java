@@ -0,0 +1,12 @@
+package com.sistema.gerenciamento.hospitalar.dtos;
+
+import java.util.List;
+
+/**
+ * Página de uma listagem por cursor: traz os itens, o limite aplicado e o cursor opaco da próxima página
+ * (nulo quando não há mais registros). Não há total de elementos, pois nenhuma contagem é executada.
+ */
+public record PaginaCursorRecordDto<T>(List<T> content,
+                                       int limit,
+                                       String nextCursor){
+}
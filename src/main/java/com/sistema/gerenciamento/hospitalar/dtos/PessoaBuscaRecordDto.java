@@ -0,0 +1,18 @@
+package com.sistema.gerenciamento.hospitalar.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.sistema.gerenciamento.hospitalar.enums.Especialidade;
+import com.sistema.gerenciamento.hospitalar.enums.TipoPessoa;
+
+import java.util.UUID;
+
+// Resultado da busca de pessoas por nome. Para médicos, id é o ID do funcionário e medicoId o do cadastro de médico.
+// relevancia é a fração (0 a 1) dos trigramas do termo encontrados no nome.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PessoaBuscaRecordDto(TipoPessoa tipo,
+                                   UUID id,
+                                   String nomeCompleto,
+                                   UUID medicoId,
+                                   Especialidade especialidade,
+                                   double relevancia) {
+}
@@ -0,0 +1,6 @@
+package com.sistema.gerenciamento.hospitalar.dtos;
+
+public record RecalculoFaturamentoRecordDto(int clinicas,
+                                            int linhas,
+                                            long duracaoMs){
+}
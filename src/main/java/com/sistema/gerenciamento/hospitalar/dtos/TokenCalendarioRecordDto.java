@@ -0,0 +1,6 @@
+package com.sistema.gerenciamento.hospitalar.dtos;
+
+// Token de assinatura do calendário do médico e a URL do calendário com o token, para cadastrar no aplicativo
+public record TokenCalendarioRecordDto(String token,
+                                       String url) {
+}
@@ -0,0 +1,6 @@
+package com.sistema.gerenciamento.hospitalar.enums;
+
+public enum FormatoExportacao {
+    CSV,
+    NDJSON
+}
@@ -0,0 +1,9 @@
+package com.sistema.gerenciamento.hospitalar.enums;
+
+public enum StatusListaEspera {
+    AGUARDANDO,
+    OFERTADA,
+    ATENDIDA,
+    EXPIRADA,
+    DESISTIU
+}
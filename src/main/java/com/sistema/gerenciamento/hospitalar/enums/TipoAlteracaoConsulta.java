@@ -0,0 +1,9 @@
+package com.sistema.gerenciamento.hospitalar.enums;
+
+public enum TipoAlteracaoConsulta {
+    CRIADA,
+    ATUALIZADA,
+    FINALIZADA,
+    CANCELADA,
+    REMOVIDA
+}
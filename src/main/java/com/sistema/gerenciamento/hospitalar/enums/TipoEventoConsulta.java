@@ -0,0 +1,10 @@
+package com.sistema.gerenciamento.hospitalar.enums;
+
+public enum TipoEventoConsulta {
+    AGENDADA,
+    REMARCADA,
+    REALIZADA,
+    CANCELADA,
+    ALTERADA,
+    REMOVIDA
+}
@@ -0,0 +1,7 @@
+package com.sistema.gerenciamento.hospitalar.enums;
+
+public enum TipoPessoa {
+    PACIENTE,
+    FUNCIONARIO,
+    MEDICO
+}
@@ -0,0 +1,61 @@
+package com.sistema.gerenciamento.hospitalar.events;
+
+import com.sistema.gerenciamento.hospitalar.enums.MotivoCancelamento;
+import com.sistema.gerenciamento.hospitalar.enums.StatusAtendimento;
+import com.sistema.gerenciamento.hospitalar.enums.TipoAlteracaoConsulta;
+import com.sistema.gerenciamento.hospitalar.models.ConsultaModel;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Evento publicado sempre que uma consulta médica é criada, alterada ou removida.
+ * Carrega o estado da consulta antes e depois da alteração, permitindo que os ouvintes
+ * (cache da agenda, relatórios, lista de espera) se atualizem sem consultar o banco de dados.
+ *
+ * @param tipo Tipo da alteração realizada.
+ * @param anterior Estado da consulta antes da alteração (nulo quando a consulta foi criada).
+ * @param atual Estado da consulta após a alteração (nulo quando a consulta foi removida).
+ */
+public record ConsultaAlteradaEvent(TipoAlteracaoConsulta tipo,
+                                    Estado anterior,
+                                    Estado atual) {
+
+    /**
+     * Fotografia compacta dos campos de uma consulta relevantes para os ouvintes do evento.
+     */
+    public record Estado(UUID consultaId,
+                         UUID medicoId,
+                         UUID pacienteId,
+                         UUID clinicaId,
+                         LocalDateTime dataConsulta,
+                         StatusAtendimento statusAtendimento,
+                         MotivoCancelamento motivoCancelamento,
+                         float valorConsulta) {
+
+        /**
+         * Cria o estado a partir do modelo da consulta.
+         *
+         * @param consultaModel Consulta de origem.
+         * @return Estado com os identificadores e dados de agenda da consulta.
+         */
+        public static Estado de(ConsultaModel consultaModel) {
+            return new Estado(consultaModel.getConsultaId(),
+                    consultaModel.getMedicoConsulta() != null ? consultaModel.getMedicoConsulta().getMedicoId() : null,
+                    consultaModel.getPacienteConsulta() != null ? consultaModel.getPacienteConsulta().getPacienteId() : null,
+                    consultaModel.getClinicaConsulta() != null ? consultaModel.getClinicaConsulta().getClinicaHospitlarId() : null,
+                    consultaModel.getDataConsulta(),
+                    consultaModel.getStatusAtendimento(),
+                    consultaModel.getMotivoCancelamento(),
+                    consultaModel.getValorConsulta());
+        }
+    }
+
+    public static ConsultaAlteradaEvent criada(ConsultaModel consultaModel) {
+        return new ConsultaAlteradaEvent(TipoAlteracaoConsulta.CRIADA, null, Estado.de(consultaModel));
+    }
+
+    public static ConsultaAlteradaEvent removida(ConsultaModel consultaModel) {
+        return new ConsultaAlteradaEvent(TipoAlteracaoConsulta.REMOVIDA, Estado.de(consultaModel), null);
+    }
+}
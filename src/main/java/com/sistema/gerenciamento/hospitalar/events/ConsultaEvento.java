@@ -0,0 +1,73 @@
+package com.sistema.gerenciamento.hospitalar.events;
+
+import com.sistema.gerenciamento.hospitalar.enums.MotivoCancelamento;
+import com.sistema.gerenciamento.hospitalar.enums.StatusAtendimento;
+import com.sistema.gerenciamento.hospitalar.enums.TipoAlteracaoConsulta;
+import com.sistema.gerenciamento.hospitalar.enums.TipoEventoConsulta;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Registro compacto de uma transição do ciclo de vida de uma consulta, gravado no outbox (TB_CONSULTA_EVENTO)
+ * e entregue aos sistemas externos (faturamento) pelo relay.
+ *
+ * @param eventoId Sequencial do evento no outbox (nulo antes da gravação).
+ * @param tipo Transição ocorrida.
+ * @param ocorridoEm Momento da alteração.
+ */
+public record ConsultaEvento(Long eventoId,
+                             TipoEventoConsulta tipo,
+                             UUID consultaId,
+                             UUID medicoId,
+                             UUID pacienteId,
+                             UUID clinicaId,
+                             LocalDateTime dataConsultaAnterior,
+                             LocalDateTime dataConsulta,
+                             StatusAtendimento statusAnterior,
+                             StatusAtendimento statusAtendimento,
+                             MotivoCancelamento motivoCancelamento,
+                             Float valorConsulta,
+                             LocalDateTime ocorridoEm) {
+
+    /**
+     * Converte a alteração de uma consulta na transição correspondente do ciclo de vida.
+     *
+     * @param evento Alteração publicada pelo serviço de consultas.
+     * @param ocorridoEm Momento da alteração.
+     * @return ConsultaEvento Evento a ser gravado no outbox.
+     */
+    public static ConsultaEvento de(ConsultaAlteradaEvent evento, LocalDateTime ocorridoEm) {
+        var anterior = evento.anterior();
+        var atual = evento.atual() != null ? evento.atual() : anterior;
+        return new ConsultaEvento(null, tipo(evento), atual.consultaId(), atual.medicoId(), atual.pacienteId(), atual.clinicaId(),
+                anterior != null ? anterior.dataConsulta() : null, atual.dataConsulta(),
+                anterior != null ? anterior.statusAtendimento() : null, atual.statusAtendimento(),
+                atual.motivoCancelamento(), atual.valorConsulta(), ocorridoEm);
+    }
+
+    // Identifica a transição: mudanças de status têm prioridade sobre a remarcação, que tem prioridade sobre as demais alterações
+    private static TipoEventoConsulta tipo(ConsultaAlteradaEvent evento) {
+        if (evento.tipo() == TipoAlteracaoConsulta.CRIADA) {
+            return TipoEventoConsulta.AGENDADA;
+        }
+        if (evento.tipo() == TipoAlteracaoConsulta.REMOVIDA) {
+            return TipoEventoConsulta.REMOVIDA;
+        }
+        var anterior = evento.anterior();
+        var atual = evento.atual();
+        var cancelada = atual.statusAtendimento() == StatusAtendimento.CANCELADO
+                || (atual.motivoCancelamento() != null && anterior.motivoCancelamento() == null);
+        if (cancelada && anterior.statusAtendimento() != StatusAtendimento.CANCELADO) {
+            return TipoEventoConsulta.CANCELADA;
+        }
+        if (atual.statusAtendimento() == StatusAtendimento.REALIZADO && anterior.statusAtendimento() != StatusAtendimento.REALIZADO) {
+            return TipoEventoConsulta.REALIZADA;
+        }
+        if (!Objects.equals(anterior.dataConsulta(), atual.dataConsulta())) {
+            return TipoEventoConsulta.REMARCADA;
+        }
+        return TipoEventoConsulta.ALTERADA;
+    }
+}
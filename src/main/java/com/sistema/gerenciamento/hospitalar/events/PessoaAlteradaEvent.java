@@ -0,0 +1,45 @@
+package com.sistema.gerenciamento.hospitalar.events;
+
+import com.sistema.gerenciamento.hospitalar.enums.Especialidade;
+import com.sistema.gerenciamento.hospitalar.enums.TipoPessoa;
+import com.sistema.gerenciamento.hospitalar.models.FuncionarioModel;
+import com.sistema.gerenciamento.hospitalar.models.MedicoModel;
+import com.sistema.gerenciamento.hospitalar.models.PacienteModel;
+
+import java.util.UUID;
+
+/**
+ * Evento publicado sempre que um paciente, funcionário ou médico é gravado ou removido, usado para manter o índice
+ * em memória da busca de pessoas sem consultar o banco de dados.
+ *
+ * @param tipo PACIENTE, FUNCIONARIO ou MEDICO (alteração do cadastro de médico de um funcionário).
+ * @param id ID do paciente ou do funcionário (também para MEDICO).
+ * @param nomeCompleto Nome da pessoa (nulo para MEDICO, cujo nome é o do funcionário).
+ * @param medicoId ID do cadastro de médico (apenas para MEDICO).
+ * @param especialidade Especialidade do médico (apenas para MEDICO).
+ * @param removida Indica que o cadastro foi excluído.
+ */
+public record PessoaAlteradaEvent(TipoPessoa tipo,
+                                  UUID id,
+                                  String nomeCompleto,
+                                  UUID medicoId,
+                                  Especialidade especialidade,
+                                  boolean removida) {
+
+    public static PessoaAlteradaEvent de(PacienteModel pacienteModel, boolean removida) {
+        return new PessoaAlteradaEvent(TipoPessoa.PACIENTE, pacienteModel.getPacienteId(), pacienteModel.getNomeCompleto(),
+                null, null, removida);
+    }
+
+    public static PessoaAlteradaEvent de(FuncionarioModel funcionarioModel, boolean removida) {
+        return new PessoaAlteradaEvent(TipoPessoa.FUNCIONARIO, funcionarioModel.getFuncionarioId(),
+                funcionarioModel.getNomeCompleto(), null, null, removida);
+    }
+
+    // O funcionário é lido apenas pelo ID, sem inicializar a associação
+    public static PessoaAlteradaEvent de(MedicoModel medicoModel, boolean removida) {
+        var funcionario = medicoModel.getFuncionarioMedico();
+        return new PessoaAlteradaEvent(TipoPessoa.MEDICO, funcionario != null ? funcionario.getFuncionarioId() : null,
+                null, medicoModel.getMedicoId(), medicoModel.getEspecialidade(), removida);
+    }
+}
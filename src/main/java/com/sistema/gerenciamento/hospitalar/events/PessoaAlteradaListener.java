@@ -0,0 +1,44 @@
+package com.sistema.gerenciamento.hospitalar.events;
+
+import com.sistema.gerenciamento.hospitalar.models.FuncionarioModel;
+import com.sistema.gerenciamento.hospitalar.models.MedicoModel;
+import com.sistema.gerenciamento.hospitalar.models.PacienteModel;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Ouvinte JPA de PacienteModel, FuncionarioModel e MedicoModel que publica um {@link PessoaAlteradaEvent} a cada
+ * inclusão, alteração ou exclusão gravada no banco de dados. Os ouvintes transacionais do evento só o recebem após a
+ * confirmação da transação. Instanciado pelo Hibernate por meio do contêiner de beans do Spring.
+ */
+public class PessoaAlteradaListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PessoaAlteradaListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void aoGravar(Object entidade) {
+        publicar(entidade, false);
+    }
+
+    @PostRemove
+    public void aoRemover(Object entidade) {
+        publicar(entidade, true);
+    }
+
+    private void publicar(Object entidade, boolean removida) {
+        if (entidade instanceof PacienteModel pacienteModel) {
+            eventPublisher.publishEvent(PessoaAlteradaEvent.de(pacienteModel, removida));
+        } else if (entidade instanceof FuncionarioModel funcionarioModel) {
+            eventPublisher.publishEvent(PessoaAlteradaEvent.de(funcionarioModel, removida));
+        } else if (entidade instanceof MedicoModel medicoModel) {
+            eventPublisher.publishEvent(PessoaAlteradaEvent.de(medicoModel, removida));
+        }
+    }
+}
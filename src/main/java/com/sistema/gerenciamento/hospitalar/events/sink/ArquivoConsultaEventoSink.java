@@ -0,0 +1,53 @@
+package com.sistema.gerenciamento.hospitalar.events.sink;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sistema.gerenciamento.hospitalar.events.ConsultaEvento;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Destino local dos eventos de consulta: acrescenta cada lote em um arquivo NDJSON (um evento JSON por linha).
+// Usado em testes e em ambientes de desenvolvimento sem integração com o faturamento.
+@Component
+@ConditionalOnProperty(name = "consulta.outbox.sink", havingValue = "arquivo")
+public class ArquivoConsultaEventoSink implements ConsultaEventoSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path arquivo;
+
+    public ArquivoConsultaEventoSink(ObjectMapper objectMapper,
+                                     @Value("${consulta.outbox.arquivo:consulta-eventos.ndjson}") Path arquivo) {
+        this.objectMapper = objectMapper;
+        this.arquivo = arquivo;
+    }
+
+    @Override
+    public synchronized void publicar(List<ConsultaEvento> eventos) {
+        var linhas = new StringBuilder();
+        for (var evento : eventos) {
+            try {
+                linhas.append(objectMapper.writeValueAsString(evento)).append('\n');
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        try {
+            if (arquivo.getParent() != null) {
+                Files.createDirectories(arquivo.getParent());
+            }
+            Files.writeString(arquivo, linhas, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
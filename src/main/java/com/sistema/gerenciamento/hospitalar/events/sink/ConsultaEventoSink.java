@@ -0,0 +1,14 @@
+package com.sistema.gerenciamento.hospitalar.events.sink;
+
+import com.sistema.gerenciamento.hospitalar.events.ConsultaEvento;
+
+import java.util.List;
+
+// A interface ConsultaEventoSink define o destino dos eventos de consulta drenados do outbox.
+// A implementação ativa é escolhida pela propriedade consulta.outbox.sink (log ou arquivo).
+public interface ConsultaEventoSink {
+
+    // Entrega um lote de eventos, em ordem de gravação. Uma exceção faz o lote ser reenviado no próximo ciclo
+    // do relay, portanto a entrega é "pelo menos uma vez" e o destino deve tolerar eventos repetidos (eventoId).
+    void publicar(List<ConsultaEvento> eventos);
+}
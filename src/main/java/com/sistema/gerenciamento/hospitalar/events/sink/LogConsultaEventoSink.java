@@ -0,0 +1,22 @@
+package com.sistema.gerenciamento.hospitalar.events.sink;
+
+import com.sistema.gerenciamento.hospitalar.events.ConsultaEvento;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Destino padrão dos eventos de consulta: apenas registra cada evento no log da aplicação.
+@Component
+@ConditionalOnProperty(name = "consulta.outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LogConsultaEventoSink implements ConsultaEventoSink {
+
+    Logger logger = LogManager.getLogger(LogConsultaEventoSink.class);
+
+    @Override
+    public void publicar(List<ConsultaEvento> eventos) {
+        eventos.forEach(evento -> logger.info("Evento de consulta: {}", evento));
+    }
+}
@@ -1,7 +1,13 @@
 package com.sistema.gerenciamento.hospitalar.exceptions;
 
+import com.sistema.gerenciamento.hospitalar.repositorys.ClinicaHospitalarRepository;
+import com.sistema.gerenciamento.hospitalar.repositorys.FuncionarioRepository;
+import com.sistema.gerenciamento.hospitalar.repositorys.MedicoRepository;
+import com.sistema.gerenciamento.hospitalar.repositorys.PacienteRepository;
+import com.sistema.gerenciamento.hospitalar.repositorys.UsuarioRepository;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -25,6 +31,27 @@ public class GlobalExceptionHandler {
     // Logger para registrar mensagens de erro e advertência.
     Logger logger = LogManager.getLogger(GlobalExceptionHandler.class);
 
+    // Mensagem de conflito de cada restrição única dos cadastros (as mesmas das antigas verificações nos controladores)
+    private static final Map<String, String> MENSAGENS_RESTRICOES_UNICAS = Map.ofEntries(
+            Map.entry(PacienteRepository.UK_NOME_COMPLETO, "ESTE PACIENTE JÁ ESTÁ CADASTRADO"),
+            Map.entry(PacienteRepository.UK_CNS, "ESTE CNS JÁ ESTÁ CADASTRADO"),
+            Map.entry(PacienteRepository.UK_CPF, "ESTE CPF JÁ ESTÁ VINCULADO A UM PACIENTE"),
+            Map.entry(PacienteRepository.UK_RG, "ESTE RG JÁ ESTÁ VINCULADO A UM PACIENTE"),
+            Map.entry(PacienteRepository.UK_TELEFONE_CELULAR, "ESTE TELEFONE CELULAR JÁ ESTÁ SENDO USADO"),
+            Map.entry(FuncionarioRepository.UK_NOME_COMPLETO, "ERRO, FUNCIONARIO JÁ EXISTENTE!"),
+            Map.entry(FuncionarioRepository.UK_CPF, "ERRO, ESSE CPF JÁ ESTÁ EM USO!"),
+            Map.entry(FuncionarioRepository.UK_RG, "ERRO, ESSE RG JÁ EXISTE!"),
+            Map.entry(MedicoRepository.UK_CRM, "ERRO, CRM JÁ EXISTENTE!"),
+            Map.entry(MedicoRepository.UK_CNS, "ERRO, ESSE CNS JÁ ESTÁ CADASTRADO!"),
+            Map.entry(MedicoRepository.UK_FUNCIONARIO, "ERRO, ESSE MÉDICO JÁ ESTÁ ASSOCIADO A UM USUÁRIO!"),
+            Map.entry(ClinicaHospitalarRepository.UK_NOME, "ERRO, Esse nome já existe!"),
+            Map.entry(ClinicaHospitalarRepository.UK_CNPJ, "ERRO, Esse CNPJ já está em uso!"),
+            Map.entry(ClinicaHospitalarRepository.UK_EMAIL, "ERRO, Esse E-mail já está em uso!"),
+            Map.entry(UsuarioRepository.UK_NOME, "ERRO, USUARIO JÁ EXISTENTE!"),
+            Map.entry(UsuarioRepository.UK_CODIGO_USUARIO, "ERRO, ESSE CÓDIGO JÁ ESTÁ CADASTRADO!"),
+            Map.entry(UsuarioRepository.UK_SENHA, "ERRO, ESSA SENHA JÁ ESTÁ EM USO!"),
+            Map.entry(UsuarioRepository.UK_FUNCIONARIO, "ERRO, ESSE FUNCIONARIO JÁ ESTÁ ASSOCIADO A UM USUÁRIO!"));
+
     /**
      * Trata exceções do tipo NotFoundException.
      * Retorna uma resposta com o código de erro 404 (NOT_FOUND) e a mensagem da exceção.
@@ -98,4 +125,26 @@ public class GlobalExceptionHandler {
         // Retorna a resposta com o status HTTP 400 (Bad Request) e a mensagem explicativa
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Erro: O corpo da requisição está ausente ou mal formatado.");
     }
+
+    /**
+     * Trata as violações de integridade do banco de dados, como um CPF ou CRM já cadastrado.
+     * Os cadastros gravam diretamente, sem consultar a duplicidade antes; a restrição única violada é identificada
+     * pelo nome e traduzida na mensagem do campo, com o código 409 (CONFLICT).
+     *
+     * @param ex A exceção de integridade capturada.
+     * @return ResponseEntity com o código de erro e a mensagem do campo duplicado.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<String> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        for (var restricao : MENSAGENS_RESTRICOES_UNICAS.entrySet()) {
+            if (ViolacaoRestricao.envolve(ex, restricao.getKey())) {
+                logger.warn(restricao.getValue());
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(restricao.getValue());
+            }
+        }
+
+        // Outras restrições (chaves estrangeiras, campos obrigatórios) não têm mensagem própria
+        logger.error("ERRO DE INTEGRIDADE: {}", ex.getMostSpecificCause().getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("ERRO, O REGISTRO VIOLA UMA RESTRIÇÃO DO BANCO DE DADOS!");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.sistema.gerenciamento.hospitalar.exceptions;
+
+/**
+ * Exceção lançada quando um serviço externo (como o ViaCEP) não responde a tempo, responde com erro ou está
+ * temporariamente bloqueado pela aplicação para não acumular chamadas. Corresponde ao status 503.
+ */
+public class ServicoIndisponivelException extends RuntimeException {
+
+    public ServicoIndisponivelException(String message) {
+        super(message);
+    }
+}
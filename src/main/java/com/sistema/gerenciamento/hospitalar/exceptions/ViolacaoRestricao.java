@@ -0,0 +1,48 @@
+package com.sistema.gerenciamento.hospitalar.exceptions;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.postgresql.util.PSQLException;
+
+import java.sql.SQLException;
+
+/**
+ * Utilitário para identificar qual restrição do banco de dados causou uma falha de integridade,
+ * permitindo traduzir a violação para a mesma mensagem de erro das validações da aplicação.
+ */
+public final class ViolacaoRestricao {
+
+    private ViolacaoRestricao() {
+    }
+
+    /**
+     * Verifica se a exceção (ou alguma de suas causas) foi provocada pela restrição informada.
+     *
+     * @param exception A exceção capturada.
+     * @param nomeRestricao Nome da restrição ou índice único no banco de dados.
+     * @return boolean Retorna verdadeiro se a restrição violada for a informada.
+     */
+    public static boolean envolve(Throwable exception, String nomeRestricao) {
+        for (var causa = exception; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacao
+                    && nomeRestricao.equalsIgnoreCase(violacao.getConstraintName())) {
+                return true;
+            }
+            // Em lotes JDBC o erro do PostgreSQL fica encadeado em getNextException()
+            for (var sql = causa instanceof SQLException s ? s : null; sql != null; sql = sql.getNextException()) {
+                if (violou(sql, nomeRestricao)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // O PostgreSQL informa a restrição violada em um campo próprio do erro; a mensagem também traz o detalhe com os
+    // valores gravados, por isso, sem esse campo, só vale o nome completo entre aspas
+    private static boolean violou(SQLException sql, String nomeRestricao) {
+        if (sql instanceof PSQLException psql && psql.getServerErrorMessage() != null) {
+            return nomeRestricao.equalsIgnoreCase(psql.getServerErrorMessage().getConstraint());
+        }
+        return sql.getMessage() != null && sql.getMessage().contains("\"" + nomeRestricao + "\"");
+    }
+}
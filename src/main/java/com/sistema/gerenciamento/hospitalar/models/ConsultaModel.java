@@ -39,7 +39,8 @@ public class ConsultaModel  implements Serializable {
     @Column(nullable = false)
     private float valorConsulta;
 
-    @Column(length = 10)
+    // Coluna de particionamento da TB_CONSULTA_MEDICA (partições mensais, ver V4)
+    @Column(nullable = false, length = 10)
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy")
     private LocalDateTime dataConsulta;
 
@@ -64,17 +65,17 @@ public class ConsultaModel  implements Serializable {
     @Column(length = 255)
     private String observacao;
 
-    // Relacionamentos
-    @ManyToOne
+    // Relacionamentos carregados sob demanda: as listagens usam projeção e só buscam as entidades com ?expand=
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "medico_id")
     private MedicoModel medicoConsulta;
 
     // Relacionamentos
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "paciente_id")
     private PacienteModel pacienteConsulta;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "clinica_id")
     private ClinicaHospitalarModel clinicaConsulta;
 
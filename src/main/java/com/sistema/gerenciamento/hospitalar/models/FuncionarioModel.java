@@ -6,6 +6,7 @@ import com.sistema.gerenciamento.hospitalar.enums.Especialidade;
 import com.sistema.gerenciamento.hospitalar.enums.Funcao;
 import com.sistema.gerenciamento.hospitalar.enums.Genero;
 import com.sistema.gerenciamento.hospitalar.enums.StatusFuncionario;
+import com.sistema.gerenciamento.hospitalar.events.PessoaAlteradaListener;
 import jakarta.persistence.*;
 
 import java.io.Serial;
@@ -22,6 +23,7 @@ import java.util.UUID;
 @JsonInclude(JsonInclude.Include.NON_NULL) // Iclua apenas valores que não sejam nulos
 @Entity
 @Table(name = "TB_FUNCIONARIO")
+@EntityListeners(PessoaAlteradaListener.class)
 public class FuncionarioModel implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
@@ -0,0 +1,151 @@
+package com.sistema.gerenciamento.hospitalar.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.sistema.gerenciamento.hospitalar.enums.Especialidade;
+import com.sistema.gerenciamento.hospitalar.enums.StatusListaEspera;
+import jakarta.persistence.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Classe que representa o modelo da entidade "Lista de Espera".
+ * Esta classe é mapeada para a tabela "TB_LISTA_ESPERA" no banco de dados.
+ * Cada registro é um paciente aguardando um horário em um dia, para uma especialidade e, opcionalmente, um médico específico.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Entity
+@Table(name = "TB_LISTA_ESPERA", indexes = @Index(name = "idx_lista_espera_status_dia", columnList = "status_lista_espera, dia"))
+public class ListaEsperaModel implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID listaEsperaId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "paciente_id", nullable = false)
+    private PacienteModel pacienteEspera;
+
+    // Médico desejado; quando nulo, qualquer médico da especialidade atende
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "medico_id")
+    private MedicoModel medicoEspera;
+
+    @Column(nullable = false, length = 50)
+    @Enumerated(EnumType.STRING)
+    private Especialidade especialidade;
+
+    @Column(nullable = false)
+    private LocalDate dia;
+
+    @Column(name = "status_lista_espera", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private StatusListaEspera statusListaEspera;
+
+    // Consulta cancelada cujo horário foi ofertado ao paciente
+    private UUID consultaOfertadaId;
+
+    private LocalDateTime validadeOferta;
+
+    // Consulta agendada quando o paciente aceita a oferta
+    private UUID consultaAgendadaId;
+
+    @Column(nullable = false)
+    private LocalDateTime dataCadastro;
+
+    @Column(nullable = false)
+    private LocalDateTime dataAtualizacao;
+
+    public UUID getListaEsperaId() {
+        return listaEsperaId;
+    }
+
+    public void setListaEsperaId(UUID listaEsperaId) {
+        this.listaEsperaId = listaEsperaId;
+    }
+
+    public PacienteModel getPacienteEspera() {
+        return pacienteEspera;
+    }
+
+    public void setPacienteEspera(PacienteModel pacienteEspera) {
+        this.pacienteEspera = pacienteEspera;
+    }
+
+    public MedicoModel getMedicoEspera() {
+        return medicoEspera;
+    }
+
+    public void setMedicoEspera(MedicoModel medicoEspera) {
+        this.medicoEspera = medicoEspera;
+    }
+
+    public Especialidade getEspecialidade() {
+        return especialidade;
+    }
+
+    public void setEspecialidade(Especialidade especialidade) {
+        this.especialidade = especialidade;
+    }
+
+    public LocalDate getDia() {
+        return dia;
+    }
+
+    public void setDia(LocalDate dia) {
+        this.dia = dia;
+    }
+
+    public StatusListaEspera getStatusListaEspera() {
+        return statusListaEspera;
+    }
+
+    public void setStatusListaEspera(StatusListaEspera statusListaEspera) {
+        this.statusListaEspera = statusListaEspera;
+    }
+
+    public UUID getConsultaOfertadaId() {
+        return consultaOfertadaId;
+    }
+
+    public void setConsultaOfertadaId(UUID consultaOfertadaId) {
+        this.consultaOfertadaId = consultaOfertadaId;
+    }
+
+    public LocalDateTime getValidadeOferta() {
+        return validadeOferta;
+    }
+
+    public void setValidadeOferta(LocalDateTime validadeOferta) {
+        this.validadeOferta = validadeOferta;
+    }
+
+    public UUID getConsultaAgendadaId() {
+        return consultaAgendadaId;
+    }
+
+    public void setConsultaAgendadaId(UUID consultaAgendadaId) {
+        this.consultaAgendadaId = consultaAgendadaId;
+    }
+
+    public LocalDateTime getDataCadastro() {
+        return dataCadastro;
+    }
+
+    public void setDataCadastro(LocalDateTime dataCadastro) {
+        this.dataCadastro = dataCadastro;
+    }
+
+    public LocalDateTime getDataAtualizacao() {
+        return dataAtualizacao;
+    }
+
+    public void setDataAtualizacao(LocalDateTime dataAtualizacao) {
+        this.dataAtualizacao = dataAtualizacao;
+    }
+}
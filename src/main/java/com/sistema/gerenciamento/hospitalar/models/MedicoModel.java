@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.sistema.gerenciamento.hospitalar.enums.Especialidade;
+import com.sistema.gerenciamento.hospitalar.events.PessoaAlteradaListener;
 import jakarta.persistence.*;
 
 import java.io.Serial;
@@ -20,6 +21,7 @@ import java.util.UUID;
 @JsonInclude(JsonInclude.Include.NON_NULL) // Iclua apenas valores que não sejam nulos
 @Entity
 @Table(name = "TB_MEDICO")
+@EntityListeners(PessoaAlteradaListener.class)
 public class MedicoModel implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
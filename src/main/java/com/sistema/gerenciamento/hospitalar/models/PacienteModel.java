@@ -6,6 +6,7 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.sistema.gerenciamento.hospitalar.enums.Genero;
 import com.sistema.gerenciamento.hospitalar.enums.StatusPaciente;
 import com.sistema.gerenciamento.hospitalar.enums.TipoSanguineo;
+import com.sistema.gerenciamento.hospitalar.events.PessoaAlteradaListener;
 import jakarta.persistence.*;
 
 import java.io.Serial;
@@ -23,6 +24,7 @@ import java.util.UUID;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @Entity
 @Table(name = "TB_PACIENTE")
+@EntityListeners(PessoaAlteradaListener.class)
 public class PacienteModel implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
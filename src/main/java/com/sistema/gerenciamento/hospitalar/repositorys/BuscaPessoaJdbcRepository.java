@@ -0,0 +1,70 @@
+package com.sistema.gerenciamento.hospitalar.repositorys;
+
+import com.sistema.gerenciamento.hospitalar.enums.Especialidade;
+import com.sistema.gerenciamento.hospitalar.enums.TipoPessoa;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+// Repositório JDBC que lê os nomes de pacientes e funcionários para o índice em memória da busca de pessoas
+@Repository
+public class BuscaPessoaJdbcRepository {
+
+    // Quantidade de linhas trazidas do banco de dados a cada ida do cursor
+    private static final int TAMANHO_FETCH = 1000;
+
+    private static final String SELECT_PACIENTES = "SELECT p.paciente_id, p.nome_completo FROM tb_paciente p";
+
+    private static final String SELECT_FUNCIONARIOS = """
+            SELECT f.funcionario_id, f.nome_completo, m.medico_id, m.especialidade
+            FROM tb_funcionario f
+            LEFT JOIN tb_medico m ON m.funcionario_id = f.funcionario_id
+            """;
+
+    // Pessoa como indexada na busca. Para médicos, id é o ID do funcionário e medicoId o do cadastro de médico.
+    public record Pessoa(TipoPessoa tipo,
+                         UUID id,
+                         String nomeCompleto,
+                         UUID medicoId,
+                         Especialidade especialidade) {
+    }
+
+    final JdbcTemplate jdbcTemplate;
+
+    public BuscaPessoaJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Percorre todos os pacientes e funcionários (com o cadastro de médico, quando houver) com cursores somente-avanço.
+     * Transacional (somente leitura) para que o PostgreSQL respeite o fetch size; a memória usada não depende da quantidade de linhas.
+     *
+     * @param consumidor Recebe cada pessoa lida.
+     */
+    @Transactional(readOnly = true)
+    public void percorrerPessoas(Consumer<Pessoa> consumidor) {
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(SELECT_PACIENTES, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(TAMANHO_FETCH);
+            return ps;
+        }, rs -> {
+            consumidor.accept(new Pessoa(TipoPessoa.PACIENTE, rs.getObject("paciente_id", UUID.class),
+                    rs.getString("nome_completo"), null, null));
+        });
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(SELECT_FUNCIONARIOS, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(TAMANHO_FETCH);
+            return ps;
+        }, rs -> {
+            var medicoId = rs.getObject("medico_id", UUID.class);
+            var especialidade = rs.getString("especialidade");
+            consumidor.accept(new Pessoa(medicoId == null ? TipoPessoa.FUNCIONARIO : TipoPessoa.MEDICO,
+                    rs.getObject("funcionario_id", UUID.class), rs.getString("nome_completo"), medicoId,
+                    especialidade == null ? null : Especialidade.valueOf(especialidade)));
+        });
+    }
+}
@@ -3,18 +3,21 @@ package com.sistema.gerenciamento.hospitalar.repositorys;
 import com.sistema.gerenciamento.hospitalar.models.ClinicaHospitalarModel;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.Set;
 import java.util.UUID;
 
 // Define a interface do repositório para a entidade ClinicaHospitalarModel
 public interface ClinicaHospitalarRepository extends JpaRepository<ClinicaHospitalarModel, UUID>, JpaSpecificationExecutor<ClinicaHospitalarModel> {
 
-    // Método para verificar se já existe uma clínica hospitalar com o nome fornecido
-    boolean existsByNome(String nome);
+    // Nomes das restrições únicas da tabela (V12)
+    String UK_NOME = "uk_clinica_nome";
+    String UK_CNPJ = "uk_clinica_cnpj";
+    String UK_EMAIL = "uk_clinica_email";
 
-    // Método para verificar se já existe uma clínica hospitalar com o CNPJ fornecido
-    boolean existsByCnpj(String cnpj);
-
-    // Método para verificar se já existe uma clínica hospitalar com o e-mail fornecido
-    boolean existsByEmail(String email);
+    // Método para buscar, em uma única consulta, quais dos IDs informados pertencem a clínicas cadastradas
+    @Query("SELECT c.clinicaHospitlarId FROM ClinicaHospitalarModel c WHERE c.clinicaHospitlarId IN :clinicaIds")
+    Set<UUID> findClinicaIdsExistentes(Collection<UUID> clinicaIds);
 }
\ No newline at end of file
@@ -0,0 +1,394 @@
+package com.sistema.gerenciamento.hospitalar.repositorys;
+
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaExportacaoRecordDto;
+import com.sistema.gerenciamento.hospitalar.enums.Especialidade;
+import com.sistema.gerenciamento.hospitalar.enums.MotivoCancelamento;
+import com.sistema.gerenciamento.hospitalar.enums.StatusAtendimento;
+import com.sistema.gerenciamento.hospitalar.enums.TipoAtendimento;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.io.*;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Repositório JDBC do arquivo frio de consultas (TB_CONSULTA_ARQUIVO e TB_CONSULTA_ARQUIVO_SEGMENTO)
+@Repository
+public class ConsultaArquivoJdbcRepository {
+
+    // Versão do formato binário dos segmentos, gravada no início de cada segmento
+    static final int VERSAO_SEGMENTO = 1;
+
+    // Quantidade de linhas enviadas ao banco de dados em cada batch
+    private static final int TAMANHO_BATCH = 500;
+
+    // Consultas finalizadas antes do corte, em ordem de (data_consulta, consulta_id) a partir do último lote (keyset).
+    // As linhas bloqueadas por uma alteração em andamento são puladas e ficam para a próxima execução.
+    private static final String SELECT_PARA_ARQUIVAR = """
+            SELECT c.consulta_id, c.tipo_atendimento, c.status_atendimento, c.valor_consulta, c.data_consulta, c.data_cadastro,
+                   c.data_atualizacao, c.local, c.motivo_cancelamento, c.resultado_consulta, c.observacao,
+                   c.medico_id, c.paciente_id, c.clinica_id
+            FROM tb_consulta_medica c
+            WHERE c.data_consulta < ?
+              AND c.status_atendimento IN ('REALIZADO', 'CANCELADO')
+              AND (c.data_consulta, c.consulta_id) > (?, ?)
+            ORDER BY c.data_consulta, c.consulta_id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String INSERT_SEGMENTO = """
+            INSERT INTO tb_consulta_arquivo_segmento (quantidade, primeira_data, ultima_data, arquivado_em, dados)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_ARQUIVO = """
+            INSERT INTO tb_consulta_arquivo (consulta_id, data_consulta, medico_id, paciente_id, clinica_id, segmento_id)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    // A data_consulta permite ao PostgreSQL remover a linha percorrendo apenas a partição do mês
+    private static final String DELETE_CONSULTA = "DELETE FROM tb_consulta_medica WHERE consulta_id = ? AND data_consulta = ?";
+
+    private static final String SELECT_SEGMENTO_DA_CONSULTA = """
+            SELECT s.dados FROM tb_consulta_arquivo a
+            JOIN tb_consulta_arquivo_segmento s ON s.segmento_id = a.segmento_id
+            WHERE a.consulta_id = ?
+            """;
+
+    private static final String SELECT_SEGMENTOS_DO_PACIENTE = """
+            SELECT s.dados FROM tb_consulta_arquivo_segmento s
+            WHERE s.segmento_id IN (SELECT DISTINCT a.segmento_id FROM tb_consulta_arquivo a WHERE a.paciente_id = ?)
+            """;
+
+    private static final String SELECT_SEGMENTOS_DA_CLINICA = """
+            SELECT s.dados FROM tb_consulta_arquivo_segmento s
+            WHERE s.segmento_id IN (SELECT DISTINCT a.segmento_id FROM tb_consulta_arquivo a WHERE a.clinica_id = ?)
+            """;
+
+    // Segmentos com alguma consulta no intervalo [inicio, fim)
+    private static final String SELECT_SEGMENTOS_DO_PERIODO = """
+            SELECT s.dados FROM tb_consulta_arquivo_segmento s
+            WHERE s.primeira_data < ? AND s.ultima_data >= ?
+            """;
+
+    // Completa as consultas arquivadas (enviadas como arrays paralelos) com os nomes atuais, nas mesmas colunas e na
+    // mesma ordem da exportação das consultas da TB_CONSULTA_MEDICA
+    private static final String SELECT_EXPORTACAO = """
+            SELECT a.consulta_id::uuid AS consulta_id, a.data_consulta::timestamp AS data_consulta, a.tipo_atendimento,
+                   a.status_atendimento, a.motivo_cancelamento, a.valor_consulta::real AS valor_consulta, a.local,
+                   m.medico_id, f.nome_completo AS nome_medico, m.especialidade, p.paciente_id, p.nome_completo AS nome_paciente,
+                   cl.clinica_hospitlar_id AS clinica_id, cl.nome AS nome_clinica
+            FROM unnest(?::text[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[])
+                 AS a(consulta_id, data_consulta, tipo_atendimento, status_atendimento, motivo_cancelamento, valor_consulta,
+                      local, medico_id, paciente_id, clinica_id)
+            LEFT JOIN tb_medico m ON m.medico_id = a.medico_id::uuid
+            LEFT JOIN tb_funcionario f ON f.funcionario_id = m.funcionario_id
+            LEFT JOIN tb_paciente p ON p.paciente_id = a.paciente_id::uuid
+            LEFT JOIN tb_clinica_hospitalar cl ON cl.clinica_hospitlar_id = a.clinica_id::uuid
+            ORDER BY 2, 1
+            """;
+
+    // Consulta como guardada no arquivo: as colunas da TB_CONSULTA_MEDICA, com as relações apenas pelos IDs
+    public record ConsultaArquivada(UUID consultaId,
+                                    String tipoAtendimento,
+                                    String statusAtendimento,
+                                    float valorConsulta,
+                                    LocalDateTime dataConsulta,
+                                    LocalDateTime dataCadastro,
+                                    LocalDateTime dataAtualizacao,
+                                    String local,
+                                    String motivoCancelamento,
+                                    String resultadoConsulta,
+                                    String observacao,
+                                    UUID medicoId,
+                                    UUID pacienteId,
+                                    UUID clinicaId) {
+    }
+
+    final JdbcTemplate jdbcTemplate;
+
+    public ConsultaArquivoJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Busca o próximo lote de consultas a arquivar, bloqueando as linhas até o fim da transação.
+     *
+     * @param corte Apenas consultas com data anterior ao corte são arquivadas.
+     * @param ultimaData Data da última consulta do lote anterior.
+     * @param ultimoId ID da última consulta do lote anterior.
+     * @param limite Tamanho máximo do lote.
+     * @return Consultas do lote, em ordem de data e ID.
+     */
+    public List<ConsultaArquivada> buscarParaArquivar(LocalDateTime corte, LocalDateTime ultimaData, UUID ultimoId, int limite) {
+        return jdbcTemplate.query(SELECT_PARA_ARQUIVAR, (rs, i) -> new ConsultaArquivada(
+                rs.getObject("consulta_id", UUID.class),
+                rs.getString("tipo_atendimento"),
+                rs.getString("status_atendimento"),
+                rs.getFloat("valor_consulta"),
+                rs.getObject("data_consulta", LocalDateTime.class),
+                rs.getObject("data_cadastro", LocalDateTime.class),
+                rs.getObject("data_atualizacao", LocalDateTime.class),
+                rs.getString("local"),
+                rs.getString("motivo_cancelamento"),
+                rs.getString("resultado_consulta"),
+                rs.getString("observacao"),
+                rs.getObject("medico_id", UUID.class),
+                rs.getObject("paciente_id", UUID.class),
+                rs.getObject("clinica_id", UUID.class)), corte, ultimaData, ultimoId, limite);
+    }
+
+    /**
+     * Grava as consultas em um novo segmento comprimido, indexa cada uma e as remove da TB_CONSULTA_MEDICA.
+     * Deve ser executado na mesma transação de {@link #buscarParaArquivar}.
+     *
+     * @param consultas Consultas do lote, em ordem de data.
+     * @param arquivadoEm Data e hora do arquivamento.
+     * @return Tamanho do segmento comprimido, em bytes.
+     */
+    public int arquivar(List<ConsultaArquivada> consultas, LocalDateTime arquivadoEm) {
+        var dados = comprimir(consultas);
+        var chave = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT_SEGMENTO, new String[]{"segmento_id"});
+            ps.setInt(1, consultas.size());
+            ps.setObject(2, consultas.get(0).dataConsulta());
+            ps.setObject(3, consultas.get(consultas.size() - 1).dataConsulta());
+            ps.setObject(4, arquivadoEm);
+            ps.setBytes(5, dados);
+            return ps;
+        }, chave);
+        var segmentoId = Objects.requireNonNull(chave.getKey()).longValue();
+
+        jdbcTemplate.batchUpdate(INSERT_ARQUIVO, consultas, TAMANHO_BATCH, (ps, consulta) -> {
+            ps.setObject(1, consulta.consultaId());
+            ps.setObject(2, consulta.dataConsulta());
+            ps.setObject(3, consulta.medicoId());
+            ps.setObject(4, consulta.pacienteId());
+            ps.setObject(5, consulta.clinicaId());
+            ps.setLong(6, segmentoId);
+        });
+        jdbcTemplate.batchUpdate(DELETE_CONSULTA, consultas, TAMANHO_BATCH, (ps, consulta) -> {
+            ps.setObject(1, consulta.consultaId());
+            ps.setObject(2, consulta.dataConsulta());
+        });
+        return dados.length;
+    }
+
+    /**
+     * Busca uma consulta arquivada pelo ID.
+     *
+     * @param consultaId ID da consulta.
+     * @return Optional<ConsultaArquivada> Consulta arquivada, se existir.
+     */
+    public Optional<ConsultaArquivada> buscarPorId(UUID consultaId) {
+        return jdbcTemplate.query(SELECT_SEGMENTO_DA_CONSULTA, this::lerSegmentos, consultaId).stream()
+                .filter(consulta -> consulta.consultaId().equals(consultaId))
+                .findFirst();
+    }
+
+    /**
+     * Busca as consultas arquivadas do paciente.
+     *
+     * @param pacienteId ID do paciente.
+     * @return Consultas arquivadas do paciente.
+     */
+    public List<ConsultaArquivada> buscarPorPaciente(UUID pacienteId) {
+        return jdbcTemplate.query(SELECT_SEGMENTOS_DO_PACIENTE, this::lerSegmentos, pacienteId).stream()
+                .filter(consulta -> pacienteId.equals(consulta.pacienteId()))
+                .toList();
+    }
+
+    /**
+     * Busca as consultas arquivadas da clínica.
+     *
+     * @param clinicaId ID da clínica.
+     * @return Consultas arquivadas da clínica.
+     */
+    public List<ConsultaArquivada> buscarPorClinica(UUID clinicaId) {
+        return jdbcTemplate.query(SELECT_SEGMENTOS_DA_CLINICA, this::lerSegmentos, clinicaId).stream()
+                .filter(consulta -> clinicaId.equals(consulta.clinicaId()))
+                .toList();
+    }
+
+    /**
+     * Busca as consultas arquivadas do intervalo como linhas da exportação, com os nomes atuais do médico, do paciente
+     * e da clínica, em ordem de data e ID (a mesma de {@link ConsultaRepository#streamExportacao}).
+     *
+     * @param inicio Início do intervalo, inclusive.
+     * @param fim Fim do intervalo, exclusive.
+     * @return Consultas arquivadas do intervalo.
+     */
+    public List<ConsultaExportacaoRecordDto> buscarParaExportacao(LocalDateTime inicio, LocalDateTime fim) {
+        var consultas = jdbcTemplate.query(SELECT_SEGMENTOS_DO_PERIODO, this::lerSegmentos, fim, inicio).stream()
+                .filter(consulta -> !consulta.dataConsulta().isBefore(inicio) && consulta.dataConsulta().isBefore(fim))
+                .toList();
+        if (consultas.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_EXPORTACAO);
+            ps.setArray(1, con.createArrayOf("text", coluna(consultas, ConsultaArquivada::consultaId)));
+            ps.setArray(2, con.createArrayOf("text", coluna(consultas, ConsultaArquivada::dataConsulta)));
+            ps.setArray(3, con.createArrayOf("text", coluna(consultas, ConsultaArquivada::tipoAtendimento)));
+            ps.setArray(4, con.createArrayOf("text", coluna(consultas, ConsultaArquivada::statusAtendimento)));
+            ps.setArray(5, con.createArrayOf("text", coluna(consultas, ConsultaArquivada::motivoCancelamento)));
+            ps.setArray(6, con.createArrayOf("text", coluna(consultas, ConsultaArquivada::valorConsulta)));
+            ps.setArray(7, con.createArrayOf("text", coluna(consultas, ConsultaArquivada::local)));
+            ps.setArray(8, con.createArrayOf("text", coluna(consultas, ConsultaArquivada::medicoId)));
+            ps.setArray(9, con.createArrayOf("text", coluna(consultas, ConsultaArquivada::pacienteId)));
+            ps.setArray(10, con.createArrayOf("text", coluna(consultas, ConsultaArquivada::clinicaId)));
+            return ps;
+        }, (rs, i) -> new ConsultaExportacaoRecordDto(
+                rs.getObject("consulta_id", UUID.class),
+                rs.getObject("data_consulta", LocalDateTime.class),
+                TipoAtendimento.valueOf(rs.getString("tipo_atendimento")),
+                StatusAtendimento.valueOf(rs.getString("status_atendimento")),
+                rs.getString("motivo_cancelamento") == null ? null : MotivoCancelamento.valueOf(rs.getString("motivo_cancelamento")),
+                rs.getFloat("valor_consulta"),
+                rs.getString("local"),
+                rs.getObject("medico_id", UUID.class),
+                rs.getString("nome_medico"),
+                rs.getString("especialidade") == null ? null : Especialidade.valueOf(rs.getString("especialidade")),
+                rs.getObject("paciente_id", UUID.class),
+                rs.getString("nome_paciente"),
+                rs.getObject("clinica_id", UUID.class),
+                rs.getString("nome_clinica")));
+    }
+
+    // Valores de uma coluna das consultas como texto, convertidos de volta ao tipo da coluna pelo SELECT_EXPORTACAO
+    private static String[] coluna(List<ConsultaArquivada> consultas, Function<ConsultaArquivada, Object> valor) {
+        return consultas.stream().map(valor).map(v -> v == null ? null : v.toString()).toArray(String[]::new);
+    }
+
+    // Métodos para verificar se há consultas arquivadas do médico, do paciente ou da clínica
+    public boolean existePorMedico(UUID medicoId) {
+        return existe("SELECT EXISTS (SELECT 1 FROM tb_consulta_arquivo WHERE medico_id = ?)", medicoId);
+    }
+
+    public boolean existePorPaciente(UUID pacienteId) {
+        return existe("SELECT EXISTS (SELECT 1 FROM tb_consulta_arquivo WHERE paciente_id = ?)", pacienteId);
+    }
+
+    public boolean existePorClinica(UUID clinicaId) {
+        return existe("SELECT EXISTS (SELECT 1 FROM tb_consulta_arquivo WHERE clinica_id = ?)", clinicaId);
+    }
+
+    private boolean existe(String sql, UUID id) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(sql, Boolean.class, id));
+    }
+
+    private List<ConsultaArquivada> lerSegmentos(ResultSet rs) throws SQLException {
+        var consultas = new ArrayList<ConsultaArquivada>();
+        while (rs.next()) {
+            consultas.addAll(descomprimir(rs.getBytes("dados")));
+        }
+        return consultas;
+    }
+
+    /**
+     * Serializa as consultas em formato binário compacto e comprime com gzip.
+     *
+     * @param consultas Consultas do segmento.
+     * @return Segmento comprimido.
+     */
+    static byte[] comprimir(List<ConsultaArquivada> consultas) {
+        var bytes = new ByteArrayOutputStream();
+        try (var saida = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            saida.writeInt(VERSAO_SEGMENTO);
+            saida.writeInt(consultas.size());
+            for (var consulta : consultas) {
+                escreverUuid(saida, consulta.consultaId());
+                escreverTexto(saida, consulta.tipoAtendimento());
+                escreverTexto(saida, consulta.statusAtendimento());
+                saida.writeFloat(consulta.valorConsulta());
+                escreverDataHora(saida, consulta.dataConsulta());
+                escreverDataHora(saida, consulta.dataCadastro());
+                escreverDataHora(saida, consulta.dataAtualizacao());
+                escreverTexto(saida, consulta.local());
+                escreverTexto(saida, consulta.motivoCancelamento());
+                escreverTexto(saida, consulta.resultadoConsulta());
+                escreverTexto(saida, consulta.observacao());
+                escreverUuid(saida, consulta.medicoId());
+                escreverUuid(saida, consulta.pacienteId());
+                escreverUuid(saida, consulta.clinicaId());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Descomprime um segmento gravado por {@link #comprimir}.
+     *
+     * @param dados Segmento comprimido.
+     * @return Consultas do segmento, na ordem em que foram gravadas.
+     */
+    static List<ConsultaArquivada> descomprimir(byte[] dados) {
+        try (var entrada = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(dados)))) {
+            var versao = entrada.readInt();
+            if (versao != VERSAO_SEGMENTO) {
+                throw new IllegalStateException("Versão de segmento do arquivo de consultas não suportada: " + versao);
+            }
+            var quantidade = entrada.readInt();
+            var consultas = new ArrayList<ConsultaArquivada>(quantidade);
+            for (int i = 0; i < quantidade; i++) {
+                consultas.add(new ConsultaArquivada(lerUuid(entrada), lerTexto(entrada), lerTexto(entrada), entrada.readFloat(),
+                        lerDataHora(entrada), lerDataHora(entrada), lerDataHora(entrada), lerTexto(entrada), lerTexto(entrada),
+                        lerTexto(entrada), lerTexto(entrada), lerUuid(entrada), lerUuid(entrada), lerUuid(entrada)));
+            }
+            return consultas;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void escreverUuid(DataOutputStream saida, UUID valor) throws IOException {
+        saida.writeBoolean(valor != null);
+        if (valor != null) {
+            saida.writeLong(valor.getMostSignificantBits());
+            saida.writeLong(valor.getLeastSignificantBits());
+        }
+    }
+
+    private static UUID lerUuid(DataInputStream entrada) throws IOException {
+        return entrada.readBoolean() ? new UUID(entrada.readLong(), entrada.readLong()) : null;
+    }
+
+    private static void escreverTexto(DataOutputStream saida, String valor) throws IOException {
+        saida.writeBoolean(valor != null);
+        if (valor != null) {
+            saida.writeUTF(valor);
+        }
+    }
+
+    private static String lerTexto(DataInputStream entrada) throws IOException {
+        return entrada.readBoolean() ? entrada.readUTF() : null;
+    }
+
+    private static void escreverDataHora(DataOutputStream saida, LocalDateTime valor) throws IOException {
+        saida.writeBoolean(valor != null);
+        if (valor != null) {
+            saida.writeLong(valor.toEpochSecond(ZoneOffset.UTC));
+            saida.writeInt(valor.getNano());
+        }
+    }
+
+    private static LocalDateTime lerDataHora(DataInputStream entrada) throws IOException {
+        if (!entrada.readBoolean()) {
+            return null;
+        }
+        var segundos = entrada.readLong();
+        return LocalDateTime.ofEpochSecond(segundos, entrada.readInt(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,111 @@
+package com.sistema.gerenciamento.hospitalar.repositorys;
+
+import com.sistema.gerenciamento.hospitalar.enums.MotivoCancelamento;
+import com.sistema.gerenciamento.hospitalar.enums.StatusAtendimento;
+import com.sistema.gerenciamento.hospitalar.enums.TipoEventoConsulta;
+import com.sistema.gerenciamento.hospitalar.events.ConsultaEvento;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// Repositório JDBC do outbox de eventos de consulta (TB_CONSULTA_EVENTO)
+@Repository
+public class ConsultaEventoJdbcRepository {
+
+    private static final String INSERT_EVENTO = """
+            INSERT INTO tb_consulta_evento (tipo, consulta_id, medico_id, paciente_id, clinica_id, data_consulta_anterior,
+                                            data_consulta, status_anterior, status_atendimento, motivo_cancelamento,
+                                            valor_consulta, ocorrido_em)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    // Bloqueia o lote para este relay; outras instâncias pulam as linhas bloqueadas e drenam o restante em paralelo
+    private static final String SELECT_PENDENTES = """
+            SELECT evento_id, tipo, consulta_id, medico_id, paciente_id, clinica_id, data_consulta_anterior, data_consulta,
+                   status_anterior, status_atendimento, motivo_cancelamento, valor_consulta, ocorrido_em
+            FROM tb_consulta_evento
+            WHERE publicado_em IS NULL
+            ORDER BY evento_id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String UPDATE_PUBLICADO = "UPDATE tb_consulta_evento SET publicado_em = ? WHERE evento_id = ?";
+
+    private static final RowMapper<ConsultaEvento> MAPEADOR = (rs, linha) -> new ConsultaEvento(
+            rs.getLong("evento_id"),
+            TipoEventoConsulta.valueOf(rs.getString("tipo")),
+            rs.getObject("consulta_id", UUID.class),
+            rs.getObject("medico_id", UUID.class),
+            rs.getObject("paciente_id", UUID.class),
+            rs.getObject("clinica_id", UUID.class),
+            rs.getObject("data_consulta_anterior", LocalDateTime.class),
+            rs.getObject("data_consulta", LocalDateTime.class),
+            enumOuNulo(StatusAtendimento.class, rs.getString("status_anterior")),
+            enumOuNulo(StatusAtendimento.class, rs.getString("status_atendimento")),
+            enumOuNulo(MotivoCancelamento.class, rs.getString("motivo_cancelamento")),
+            rs.getObject("valor_consulta") == null ? null : rs.getFloat("valor_consulta"),
+            rs.getObject("ocorrido_em", LocalDateTime.class));
+
+    final JdbcTemplate jdbcTemplate;
+
+    public ConsultaEventoJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Grava o evento no outbox, na transação corrente.
+     *
+     * @param evento Evento a ser gravado.
+     */
+    public void inserir(ConsultaEvento evento) {
+        jdbcTemplate.update(INSERT_EVENTO,
+                evento.tipo().name(),
+                evento.consultaId(),
+                evento.medicoId(),
+                evento.pacienteId(),
+                evento.clinicaId(),
+                evento.dataConsultaAnterior(),
+                evento.dataConsulta(),
+                nomeOuNulo(evento.statusAnterior()),
+                nomeOuNulo(evento.statusAtendimento()),
+                nomeOuNulo(evento.motivoCancelamento()),
+                evento.valorConsulta(),
+                evento.ocorridoEm());
+    }
+
+    /**
+     * Bloqueia e retorna o próximo lote de eventos pendentes. Deve ser chamado dentro de uma transação.
+     *
+     * @param limite Quantidade máxima de eventos.
+     * @return List<ConsultaEvento> Eventos pendentes, em ordem de gravação.
+     */
+    public List<ConsultaEvento> bloquearPendentes(int limite) {
+        return jdbcTemplate.query(SELECT_PENDENTES, MAPEADOR, limite);
+    }
+
+    /**
+     * Marca os eventos como publicados.
+     *
+     * @param eventos Eventos entregues ao destino.
+     * @param publicadoEm Momento da publicação.
+     */
+    public void marcarPublicados(List<ConsultaEvento> eventos, LocalDateTime publicadoEm) {
+        jdbcTemplate.batchUpdate(UPDATE_PUBLICADO, eventos, eventos.size(), (ps, evento) -> {
+            ps.setObject(1, publicadoEm);
+            ps.setLong(2, evento.eventoId());
+        });
+    }
+
+    private static String nomeOuNulo(Enum<?> valor) {
+        return valor == null ? null : valor.name();
+    }
+
+    private static <E extends Enum<E>> E enumOuNulo(Class<E> tipo, String nome) {
+        return nome == null ? null : Enum.valueOf(tipo, nome);
+    }
+}
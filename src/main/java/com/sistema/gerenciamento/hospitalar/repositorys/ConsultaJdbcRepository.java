@@ -0,0 +1,169 @@
+package com.sistema.gerenciamento.hospitalar.repositorys;
+
+import com.sistema.gerenciamento.hospitalar.models.ConsultaModel;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Repositório JDBC para operações em massa na tabela TB_CONSULTA_MEDICA, sem o custo do contexto de persistência do JPA
+@Repository
+public class ConsultaJdbcRepository {
+
+    // Insere as consultas recebidas como arrays (uma posição por consulta) em um único comando. As que violarem o índice
+    // único do horário do médico (uk_consulta_medico_horario_ativo) são descartadas sem abortar a transação, e o comando
+    // retorna os IDs das consultas efetivamente inseridas
+    private static final String INSERT_CONSULTAS_SEM_CONFLITO = """
+            INSERT INTO tb_consulta_medica (consulta_id, tipo_atendimento, status_atendimento, valor_consulta, data_consulta,
+                                            data_cadastro, data_atualizacao, local, medico_id, paciente_id, clinica_id)
+            SELECT * FROM unnest(?::uuid[], ?::varchar[], ?::varchar[], ?::real[], ?::timestamp[], ?::timestamp[], ?::timestamp[],
+                                 ?::varchar[], ?::uuid[], ?::uuid[], ?::uuid[])
+            ON CONFLICT DO NOTHING
+            RETURNING consulta_id
+            """;
+
+    // Quantidade de linhas trazidas do banco de dados a cada ida do cursor
+    private static final int TAMANHO_FETCH = 500;
+
+    private static final String SELECT_CALENDARIO_MEDICO = """
+            SELECT c.consulta_id, c.data_consulta, c.data_atualizacao, c.tipo_atendimento, c.status_atendimento,
+                   c.motivo_cancelamento, c.local, p.nome_completo, ch.nome AS nome_clinica
+            FROM tb_consulta_medica c
+            JOIN tb_paciente p ON p.paciente_id = c.paciente_id
+            LEFT JOIN tb_clinica_hospitalar ch ON ch.clinica_hospitlar_id = c.clinica_id
+            WHERE c.medico_id = ?
+            """;
+
+    private static final String SELECT_VERSAO_CALENDARIO_MEDICO = """
+            SELECT count(*) AS quantidade, max(c.data_atualizacao) AS ultima_atualizacao
+            FROM tb_consulta_medica c
+            WHERE c.medico_id = ?
+            """;
+
+    private static final String CRIAR_PARTICOES = "SELECT criar_particoes_consulta(?, ?)";
+
+    // Consulta do médico como exibida no calendário (iCalendar)
+    public record ConsultaCalendario(UUID consultaId,
+                                     LocalDateTime dataConsulta,
+                                     LocalDateTime dataAtualizacao,
+                                     String tipoAtendimento,
+                                     String statusAtendimento,
+                                     String motivoCancelamento,
+                                     String local,
+                                     String nomePaciente,
+                                     String nomeClinica) {
+    }
+
+    // Versão do calendário do médico: muda sempre que uma consulta é criada, alterada ou removida
+    public record VersaoCalendario(long quantidade, LocalDateTime ultimaAtualizacao) {
+    }
+
+    final JdbcTemplate jdbcTemplate;
+
+    public ConsultaJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insere as consultas em um único comando, descartando as que encontrarem o horário do médico já ocupado por
+     * um agendamento concorrente. As consultas já devem possuir o ID gerado e as referências de médico, paciente e
+     * clínica preenchidas.
+     *
+     * @param consultas Consultas a serem inseridas.
+     * @return Set<UUID> IDs das consultas inseridas; as ausentes tiveram o horário ocupado.
+     */
+    public Set<UUID> inserirEmLoteSemConflito(List<ConsultaModel> consultas) {
+        if (consultas.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(INSERT_CONSULTAS_SEM_CONFLITO);
+            ps.setArray(1, array(con, "uuid", consultas, ConsultaModel::getConsultaId));
+            ps.setArray(2, array(con, "varchar", consultas, consulta -> consulta.getTipoAtendimento().name()));
+            ps.setArray(3, array(con, "varchar", consultas, consulta -> consulta.getStatusAtendimento().name()));
+            ps.setArray(4, array(con, "float4", consultas, ConsultaModel::getValorConsulta));
+            ps.setArray(5, array(con, "varchar", consultas, consulta -> consulta.getDataConsulta().toString()));
+            ps.setArray(6, array(con, "varchar", consultas, consulta -> consulta.getDataCadastro().toString()));
+            ps.setArray(7, array(con, "varchar", consultas, consulta -> consulta.getDataAtualizacao().toString()));
+            ps.setArray(8, array(con, "varchar", consultas, ConsultaModel::getLocal));
+            ps.setArray(9, array(con, "uuid", consultas, consulta -> consulta.getMedicoConsulta().getMedicoId()));
+            ps.setArray(10, array(con, "uuid", consultas, consulta -> consulta.getPacienteConsulta().getPacienteId()));
+            ps.setArray(11, array(con, "uuid", consultas, consulta -> consulta.getClinicaConsulta().getClinicaHospitlarId()));
+            return ps;
+        }, (rs, linha) -> rs.getObject("consulta_id", UUID.class)));
+    }
+
+    // Array SQL com o campo de cada consulta, na ordem da lista (as datas vão como texto ISO e são convertidas pelo banco)
+    private static Array array(Connection con, String tipo, List<ConsultaModel> consultas, Function<ConsultaModel, Object> campo) throws SQLException {
+        return con.createArrayOf(tipo, consultas.stream().map(campo).toArray());
+    }
+
+    /**
+     * Percorre todas as consultas do médico com um cursor somente-avanço, entregando uma linha por vez ao consumidor.
+     * O PostgreSQL só respeita o fetch size dentro de uma transação, por isso o método é transacional (somente leitura);
+     * a memória utilizada não depende da quantidade de consultas.
+     *
+     * @param medicoId ID do médico.
+     * @param consumidor Recebe cada consulta lida.
+     */
+    @Transactional(readOnly = true)
+    public void percorrerCalendarioDoMedico(UUID medicoId, Consumer<ConsultaCalendario> consumidor) {
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(SELECT_CALENDARIO_MEDICO, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(TAMANHO_FETCH);
+            ps.setObject(1, medicoId);
+            return ps;
+        }, rs -> {
+            consumidor.accept(new ConsultaCalendario(
+                    rs.getObject("consulta_id", UUID.class),
+                    rs.getObject("data_consulta", LocalDateTime.class),
+                    rs.getObject("data_atualizacao", LocalDateTime.class),
+                    rs.getString("tipo_atendimento"),
+                    rs.getString("status_atendimento"),
+                    rs.getString("motivo_cancelamento"),
+                    rs.getString("local"),
+                    rs.getString("nome_completo"),
+                    rs.getString("nome_clinica")));
+        });
+    }
+
+    /**
+     * Retorna a quantidade de consultas do médico e a data da última atualização, usadas como versão (ETag) do calendário.
+     *
+     * @param medicoId ID do médico.
+     * @return VersaoCalendario Versão atual do calendário do médico.
+     */
+    public VersaoCalendario versaoCalendarioDoMedico(UUID medicoId) {
+        return jdbcTemplate.queryForObject(SELECT_VERSAO_CALENDARIO_MEDICO, (rs, linha) -> {
+            Timestamp ultimaAtualizacao = rs.getTimestamp("ultima_atualizacao");
+            return new VersaoCalendario(rs.getLong("quantidade"),
+                    ultimaAtualizacao == null ? null : ultimaAtualizacao.toLocalDateTime());
+        }, medicoId);
+    }
+
+    /**
+     * Cria as partições mensais da TB_CONSULTA_MEDICA que ainda não existirem no intervalo [inicio, fim),
+     * movendo para elas as consultas que estiverem na partição padrão.
+     *
+     * @param inicio Primeiro mês (qualquer dia do mês).
+     * @param fim Limite exclusivo.
+     * @return Quantidade de partições criadas.
+     */
+    public int criarParticoes(LocalDate inicio, LocalDate fim) {
+        var criadas = jdbcTemplate.queryForObject(CRIAR_PARTICOES, Integer.class, inicio, fim);
+        return criadas == null ? 0 : criadas;
+    }
+}
@@ -1,20 +1,40 @@
 package com.sistema.gerenciamento.hospitalar.repositorys;
 
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaExportacaoRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaResumoRecordDto;
+import com.sistema.gerenciamento.hospitalar.enums.MotivoCancelamento;
+import com.sistema.gerenciamento.hospitalar.enums.StatusAtendimento;
+import com.sistema.gerenciamento.hospitalar.enums.TipoAtendimento;
 import com.sistema.gerenciamento.hospitalar.models.ConsultaModel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 // Define a interface do repositório para a entidade ConsultaModel
-public interface ConsultaRepository extends JpaRepository<ConsultaModel, UUID>, JpaSpecificationExecutor<ConsultaModel> {
+public interface ConsultaRepository extends JpaRepository<ConsultaModel, UUID>, JpaSpecificationExecutor<ConsultaModel>, ConsultaRepositoryCustom {
 
-    // Método para verificar se já existe uma consulta agendada com o médico, na data fornecida, e sem motivo de cancelamento
-    boolean existsByMedicoConsultaMedicoIdAndDataConsultaAndMotivoCancelamentoIsNull(UUID medicoId, LocalDateTime dataConsulta);
+    // Índice único parcial (V2) que impede duas consultas ativas do mesmo médico no mesmo horário
+    String UK_MEDICO_HORARIO_ATIVO = "uk_consulta_medico_horario_ativo";
 
-    // Método para verificar se já existe uma consulta agendada com o paciente no intervalo de horários fornecido
-    boolean existsByPacienteConsultaPacienteIdAndDataConsultaBetween(UUID pacienteId, LocalDateTime primeiroHorario, LocalDateTime ultimoHorario);
+    // Mensagem retornada quando o médico já possui consulta no horário
+    String MENSAGEM_MEDICO_HORARIO_OCUPADO = "Esse médico já possui uma consulta agendada para esse mesmo dia e horário";
+
+    // Busca uma consulta com médico, paciente e clínica na mesma consulta SQL; os relacionamentos são LAZY,
+    // mas quem busca uma consulta pelo ID (detalhe, cancelamento, lista de espera) sempre usa os três
+    @Override
+    @EntityGraph(attributePaths = {"medicoConsulta", "pacienteConsulta", "clinicaConsulta"})
+    Optional<ConsultaModel> findById(UUID consultaId);
 
     // Método para verificar se já existe uma consulta agendada com o médico fornecido
     boolean existsByMedicoConsultaMedicoId(UUID medicoId);
@@ -24,4 +44,136 @@ public interface ConsultaRepository extends JpaRepository<ConsultaModel, UUID>,
 
     // Método para verificar se já existe uma consulta agendada na clínica fornecida
     boolean existsByClinicaConsultaClinicaHospitlarId(UUID clinicaId);
+
+    // Projeção com tudo o que o agendamento precisa verificar antes de gravar a consulta
+    interface VerificacaoAgendamento {
+        boolean getMedicoExiste();
+        String getEspecialidade();
+        boolean getPacienteExiste();
+        String getStatusPaciente();
+        boolean getClinicaExiste();
+        boolean getPacientePossuiConsultaNoDia();
+        boolean getMedicoPossuiConsultaNoHorario();
+    }
+
+    // Verifica, em um único comando, a existência do médico, do paciente e da clínica e os conflitos de agenda de ambos
+    @Query(nativeQuery = true, value = """
+            WITH medico AS (SELECT m.medico_id, m.especialidade FROM tb_medico m WHERE m.medico_id = :medicoId),
+                 paciente AS (SELECT p.paciente_id, p.status_paciente FROM tb_paciente p WHERE p.paciente_id = :pacienteId),
+                 clinica AS (SELECT ch.clinica_hospitlar_id FROM tb_clinica_hospitalar ch WHERE ch.clinica_hospitlar_id = :clinicaId)
+            SELECT EXISTS (SELECT 1 FROM medico) AS "medicoExiste",
+                   (SELECT especialidade FROM medico) AS "especialidade",
+                   EXISTS (SELECT 1 FROM paciente) AS "pacienteExiste",
+                   (SELECT status_paciente FROM paciente) AS "statusPaciente",
+                   EXISTS (SELECT 1 FROM clinica) AS "clinicaExiste",
+                   EXISTS (SELECT 1 FROM tb_consulta_medica c
+                           WHERE c.paciente_id = :pacienteId
+                             AND c.data_consulta BETWEEN :primeiroHorario AND :ultimoHorario
+                             AND c.motivo_cancelamento IS NULL) AS "pacientePossuiConsultaNoDia",
+                   EXISTS (SELECT 1 FROM tb_consulta_medica c
+                           WHERE c.medico_id = :medicoId
+                             AND c.data_consulta = :dataConsulta
+                             AND c.motivo_cancelamento IS NULL) AS "medicoPossuiConsultaNoHorario"
+            """)
+    VerificacaoAgendamento verificarAgendamento(UUID medicoId, UUID pacienteId, UUID clinicaId, LocalDateTime dataConsulta,
+                                                LocalDateTime primeiroHorario, LocalDateTime ultimoHorario);
+
+    // Projeção de um horário ocupado na agenda de um médico ou paciente
+    interface HorarioOcupado {
+        UUID getId();
+        LocalDateTime getDataConsulta();
+    }
+
+    // Retorna, em uma única consulta, os horários não cancelados de um conjunto de médicos no intervalo [inicio, fim]
+    @Query("""
+            SELECT c.medicoConsulta.medicoId AS id, c.dataConsulta AS dataConsulta FROM ConsultaModel c
+            WHERE c.medicoConsulta.medicoId IN :medicoIds
+              AND c.dataConsulta BETWEEN :inicio AND :fim
+              AND c.motivoCancelamento IS NULL
+            """)
+    List<HorarioOcupado> findHorariosAtivosDosMedicos(Collection<UUID> medicoIds, LocalDateTime inicio, LocalDateTime fim);
+
+    // Retorna, em uma única consulta, os horários não cancelados de um conjunto de pacientes no intervalo [inicio, fim]
+    @Query("""
+            SELECT c.pacienteConsulta.pacienteId AS id, c.dataConsulta AS dataConsulta FROM ConsultaModel c
+            WHERE c.pacienteConsulta.pacienteId IN :pacienteIds
+              AND c.dataConsulta BETWEEN :inicio AND :fim
+              AND c.motivoCancelamento IS NULL
+            """)
+    List<HorarioOcupado> findHorariosDosPacientes(Collection<UUID> pacienteIds, LocalDateTime inicio, LocalDateTime fim);
+
+    // Projeção de um horário ocupado na agenda do médico e/ou do paciente de uma série de consultas
+    interface HorarioSerie {
+        LocalDateTime getDataConsulta();
+        boolean getDoMedico();
+        boolean getDoPaciente();
+    }
+
+    // Retorna, em uma única consulta, os horários não cancelados do médico e do paciente no intervalo [inicio, fim)
+    @Query(nativeQuery = true, value = """
+            SELECT c.data_consulta AS "dataConsulta",
+                   c.medico_id = :medicoId AS "doMedico",
+                   c.paciente_id = :pacienteId AS "doPaciente"
+            FROM tb_consulta_medica c
+            WHERE (c.medico_id = :medicoId OR c.paciente_id = :pacienteId)
+              AND c.data_consulta >= :inicio AND c.data_consulta < :fim
+              AND c.motivo_cancelamento IS NULL
+            """)
+    List<HorarioSerie> findHorariosDaSerie(UUID medicoId, UUID pacienteId, LocalDateTime inicio, LocalDateTime fim);
+
+    // Projeção de uma consulta na agenda do dia de um médico
+    interface ItemAgendaMedico {
+        UUID getMedicoId();
+        UUID getConsultaId();
+        LocalDateTime getDataConsulta();
+        UUID getPacienteId();
+        String getNomePaciente();
+        TipoAtendimento getTipoAtendimento();
+        StatusAtendimento getStatusAtendimento();
+        String getLocalConsulta();
+        MotivoCancelamento getMotivoCancelamento();
+    }
+
+    // Retorna, em uma única consulta, as consultas de um conjunto de médicos no intervalo [inicio, fim), em ordem de horário
+    @Query("""
+            SELECT c.medicoConsulta.medicoId AS medicoId, c.consultaId AS consultaId, c.dataConsulta AS dataConsulta,
+                   p.pacienteId AS pacienteId, p.nomeCompleto AS nomePaciente, c.tipoAtendimento AS tipoAtendimento,
+                   c.statusAtendimento AS statusAtendimento, c.local AS localConsulta, c.motivoCancelamento AS motivoCancelamento
+            FROM ConsultaModel c JOIN c.pacienteConsulta p
+            WHERE c.medicoConsulta.medicoId IN :medicoIds
+              AND c.dataConsulta >= :inicio AND c.dataConsulta < :fim
+            ORDER BY c.dataConsulta
+            """)
+    List<ItemAgendaMedico> findAgendaDosMedicos(Collection<UUID> medicoIds, LocalDateTime inicio, LocalDateTime fim);
+
+    // Retorna o resumo das consultas do paciente (as consultas arquivadas ficam no ArquivoConsultaService)
+    @Query("""
+            SELECT new com.sistema.gerenciamento.hospitalar.dtos.ConsultaResumoRecordDto(c.consultaId, c.dataConsulta, c.tipoAtendimento,
+                   c.statusAtendimento, c.motivoCancelamento, c.valorConsulta, c.local, c.medicoConsulta.medicoId,
+                   c.clinicaConsulta.clinicaHospitlarId, false)
+            FROM ConsultaModel c
+            WHERE c.pacienteConsulta.pacienteId = :pacienteId
+            """)
+    List<ConsultaResumoRecordDto> findResumoByPacienteId(UUID pacienteId);
+
+    // Percorre as consultas do intervalo [inicio, fim) como linhas planas, sem carregar entidades nem contar o total.
+    // Deve ser consumido dentro de uma transação (o PostgreSQL só respeita o fetch size com o autocommit desligado).
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            SELECT new com.sistema.gerenciamento.hospitalar.dtos.ConsultaExportacaoRecordDto(c.consultaId, c.dataConsulta,
+                   c.tipoAtendimento, c.statusAtendimento, c.motivoCancelamento, c.valorConsulta, c.local,
+                   m.medicoId, f.nomeCompleto, m.especialidade, p.pacienteId, p.nomeCompleto, cl.clinicaHospitlarId, cl.nome)
+            FROM ConsultaModel c
+            LEFT JOIN c.medicoConsulta m
+            LEFT JOIN m.funcionarioMedico f
+            LEFT JOIN c.pacienteConsulta p
+            LEFT JOIN c.clinicaConsulta cl
+            WHERE c.dataConsulta >= :inicio AND c.dataConsulta < :fim
+            ORDER BY c.dataConsulta, c.consultaId
+            """)
+    Stream<ConsultaExportacaoRecordDto> streamExportacao(LocalDateTime inicio, LocalDateTime fim);
 }
@@ -0,0 +1,14 @@
+package com.sistema.gerenciamento.hospitalar.repositorys;
+
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaListaRecordDto;
+import com.sistema.gerenciamento.hospitalar.models.ConsultaModel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+// Consultas do ConsultaRepository montadas com a Criteria API (implementadas em ConsultaRepositoryCustomImpl)
+public interface ConsultaRepositoryCustom {
+
+    // Retorna a listagem de consultas já projetada em DTO, com os nomes de médico, paciente e clínica lidos na mesma consulta
+    Page<ConsultaListaRecordDto> findListagem(Specification<ConsultaModel> spec, Pageable pageable);
+}
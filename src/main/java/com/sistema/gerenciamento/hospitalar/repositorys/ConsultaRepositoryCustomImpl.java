@@ -0,0 +1,86 @@
+package com.sistema.gerenciamento.hospitalar.repositorys;
+
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaListaRecordDto;
+import com.sistema.gerenciamento.hospitalar.models.ClinicaHospitalarModel;
+import com.sistema.gerenciamento.hospitalar.models.ConsultaModel;
+import com.sistema.gerenciamento.hospitalar.models.FuncionarioModel;
+import com.sistema.gerenciamento.hospitalar.models.MedicoModel;
+import com.sistema.gerenciamento.hospitalar.models.PacienteModel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+/**
+ * Implementação das consultas customizadas do {@link ConsultaRepository}.
+ *
+ * A listagem seleciona apenas as colunas exibidas (IDs, nomes, data e status) em uma única consulta com LEFT JOINs,
+ * em vez de carregar e serializar as entidades de médico, paciente e clínica de cada linha.
+ */
+public class ConsultaRepositoryCustomImpl implements ConsultaRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    public ConsultaRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<ConsultaListaRecordDto> findListagem(Specification<ConsultaModel> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<ConsultaListaRecordDto> query = cb.createQuery(ConsultaListaRecordDto.class);
+        Root<ConsultaModel> consulta = query.from(ConsultaModel.class);
+        Join<ConsultaModel, MedicoModel> medico = consulta.join("medicoConsulta", JoinType.LEFT);
+        Join<MedicoModel, FuncionarioModel> funcionario = medico.join("funcionarioMedico", JoinType.LEFT);
+        Join<ConsultaModel, PacienteModel> paciente = consulta.join("pacienteConsulta", JoinType.LEFT);
+        Join<ConsultaModel, ClinicaHospitalarModel> clinica = consulta.join("clinicaConsulta", JoinType.LEFT);
+
+        query.select(cb.construct(ConsultaListaRecordDto.class,
+                consulta.get("consultaId"), consulta.get("dataConsulta"),
+                consulta.get("tipoAtendimento"), consulta.get("statusAtendimento"),
+                medico.get("medicoId"), funcionario.get("nomeCompleto"),
+                paciente.get("pacienteId"), paciente.get("nomeCompleto"),
+                clinica.get("clinicaHospitlarId"), clinica.get("nome")));
+        Predicate filtro = filtro(spec, consulta, query, cb);
+        if (filtro != null) {
+            query.where(filtro);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), consulta, cb));
+        }
+
+        var typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        // A contagem só é executada quando não dá para deduzir o total a partir da própria página
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, () -> contar(spec));
+    }
+
+    private long contar(Specification<ConsultaModel> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<ConsultaModel> consulta = query.from(ConsultaModel.class);
+        query.select(cb.count(consulta));
+        Predicate filtro = filtro(spec, consulta, query, cb);
+        if (filtro != null) {
+            query.where(filtro);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static Predicate filtro(Specification<ConsultaModel> spec, Root<ConsultaModel> consulta,
+                                    CriteriaQuery<?> query, CriteriaBuilder cb) {
+        return spec == null ? null : spec.toPredicate(consulta, query, cb);
+    }
+}
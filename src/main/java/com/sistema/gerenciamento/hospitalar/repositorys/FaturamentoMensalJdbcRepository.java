@@ -0,0 +1,165 @@
+package com.sistema.gerenciamento.hospitalar.repositorys;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+// Repositório JDBC do consolidado mensal de consultas (TB_FATURAMENTO_MENSAL)
+@Repository
+public class FaturamentoMensalJdbcRepository {
+
+    // Primeira chave dos advisory locks do consolidado; a segunda é derivada da clínica
+    private static final int NAMESPACE_LOCK = 14;
+
+    // Quantidade de linhas enviadas ao banco de dados em cada batch
+    private static final int TAMANHO_BATCH = 500;
+
+    private static final String UPSERT_DELTA = """
+            INSERT INTO tb_faturamento_mensal AS f (clinica_id, medico_id, mes, status_atendimento, quantidade, valor_total)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (clinica_id, mes, medico_id, status_atendimento)
+            DO UPDATE SET quantidade = f.quantidade + excluded.quantidade, valor_total = f.valor_total + excluded.valor_total
+            """;
+
+    private static final String INSERT_LINHA = """
+            INSERT INTO tb_faturamento_mensal (clinica_id, medico_id, mes, status_atendimento, quantidade, valor_total)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    // As variações não removem as linhas que voltam a zero (consulta excluída, remarcada para outro mês ou com o status
+    // alterado); elas são ignoradas na leitura para que o relatório seja o mesmo do recálculo, que não as grava
+    private static final String SELECT_MES = """
+            SELECT f.clinica_id, f.medico_id, m.especialidade, f.status_atendimento, f.quantidade, f.valor_total
+            FROM tb_faturamento_mensal f
+            LEFT JOIN tb_medico m ON m.medico_id = f.medico_id
+            WHERE f.quantidade <> 0 AND f.mes = ?
+            """;
+
+    // O valor (real) passa por double precision antes do numeric: o real::numeric direto guarda só 6 dígitos
+    // significativos. É a mesma conversão de RelatorioFaturamentoServiceImpl.valor, usada pelas variações
+    private static final String SELECT_LIVE_DA_CLINICA = """
+            SELECT c.medico_id, date_trunc('month', c.data_consulta)::date AS mes, c.status_atendimento,
+                   count(*) AS quantidade, sum(round(c.valor_consulta::float8::numeric, 2)) AS valor_total
+            FROM tb_consulta_medica c
+            WHERE c.clinica_id = ? AND c.medico_id IS NOT NULL
+            GROUP BY 1, 2, 3
+            """;
+
+    // Linha do consolidado: quantidade e valor de um status em um mês, clínica e médico
+    public record LinhaFaturamento(UUID clinicaId,
+                                   UUID medicoId,
+                                   LocalDate mes,
+                                   String statusAtendimento,
+                                   long quantidade,
+                                   BigDecimal valorTotal) {
+    }
+
+    // Linha do consolidado de um mês, com a especialidade atual do médico
+    public record LinhaFaturamentoMes(UUID clinicaId,
+                                      UUID medicoId,
+                                      String especialidade,
+                                      String statusAtendimento,
+                                      long quantidade,
+                                      BigDecimal valorTotal) {
+    }
+
+    final JdbcTemplate jdbcTemplate;
+
+    public FaturamentoMensalJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Aplica as variações ao consolidado. As variações são aplicadas em ordem de chave para que transações
+     * concorrentes bloqueiem as linhas sempre na mesma ordem.
+     *
+     * @param variacoes Variações de quantidade e valor (positivas ou negativas).
+     */
+    public void aplicarVariacoes(List<LinhaFaturamento> variacoes) {
+        for (var variacao : variacoes) {
+            bloquearClinicaCompartilhado(variacao.clinicaId());
+        }
+        jdbcTemplate.batchUpdate(UPSERT_DELTA, variacoes, TAMANHO_BATCH, (ps, linha) -> {
+            ps.setObject(1, linha.clinicaId());
+            ps.setObject(2, linha.medicoId());
+            ps.setObject(3, linha.mes());
+            ps.setString(4, linha.statusAtendimento());
+            ps.setLong(5, linha.quantidade());
+            ps.setBigDecimal(6, linha.valorTotal());
+        });
+    }
+
+    /**
+     * Busca o consolidado de um mês.
+     *
+     * @param mes Primeiro dia do mês.
+     * @param clinicaId Clínica (nula para todas as clínicas).
+     * @return Linhas do consolidado do mês.
+     */
+    public List<LinhaFaturamentoMes> buscarMes(LocalDate mes, UUID clinicaId) {
+        var sql = clinicaId == null ? SELECT_MES : SELECT_MES + " AND f.clinica_id = ?";
+        var parametros = clinicaId == null ? new Object[]{mes} : new Object[]{mes, clinicaId};
+        return jdbcTemplate.query(sql, (rs, i) -> new LinhaFaturamentoMes(
+                rs.getObject("clinica_id", UUID.class),
+                rs.getObject("medico_id", UUID.class),
+                rs.getString("especialidade"),
+                rs.getString("status_atendimento"),
+                rs.getLong("quantidade"),
+                rs.getBigDecimal("valor_total")), parametros);
+    }
+
+    /**
+     * Soma as consultas da TB_CONSULTA_MEDICA da clínica por médico, mês e status.
+     *
+     * @param clinicaId ID da clínica.
+     * @return Consolidado das consultas não arquivadas da clínica.
+     */
+    public List<LinhaFaturamento> somarConsultasDaClinica(UUID clinicaId) {
+        return jdbcTemplate.query(SELECT_LIVE_DA_CLINICA, (rs, i) -> new LinhaFaturamento(
+                clinicaId,
+                rs.getObject("medico_id", UUID.class),
+                rs.getObject("mes", LocalDate.class),
+                rs.getString("status_atendimento"),
+                rs.getLong("quantidade"),
+                rs.getBigDecimal("valor_total")), clinicaId);
+    }
+
+    /**
+     * Substitui todo o consolidado da clínica. Bloqueia a clínica com exclusividade até o fim da transação, de modo
+     * que nenhuma variação concorrente seja aplicada entre a soma das consultas e a gravação do novo consolidado.
+     *
+     * @param clinicaId ID da clínica.
+     * @param linhas Novo consolidado da clínica.
+     */
+    public void substituirClinica(UUID clinicaId, Collection<LinhaFaturamento> linhas) {
+        jdbcTemplate.update("DELETE FROM tb_faturamento_mensal WHERE clinica_id = ?", clinicaId);
+        jdbcTemplate.batchUpdate(INSERT_LINHA, linhas, TAMANHO_BATCH, (ps, linha) -> {
+            ps.setObject(1, linha.clinicaId());
+            ps.setObject(2, linha.medicoId());
+            ps.setObject(3, linha.mes());
+            ps.setString(4, linha.statusAtendimento());
+            ps.setLong(5, linha.quantidade());
+            ps.setBigDecimal(6, linha.valorTotal());
+        });
+    }
+
+    // Bloqueio exclusivo da clínica, usado pelo recálculo antes de somar as consultas
+    public void bloquearClinica(UUID clinicaId) {
+        jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?, hashtext(?::text))::text", String.class, NAMESPACE_LOCK, clinicaId);
+    }
+
+    // Bloqueio compartilhado da clínica, usado pelas variações: várias transações podem aplicá-las ao mesmo tempo
+    private void bloquearClinicaCompartilhado(UUID clinicaId) {
+        jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock_shared(?, hashtext(?::text))::text", String.class, NAMESPACE_LOCK, clinicaId);
+    }
+
+    // Retorna os IDs de todas as clínicas
+    public List<UUID> buscarClinicaIds() {
+        return jdbcTemplate.queryForList("SELECT clinica_hospitlar_id FROM tb_clinica_hospitalar", UUID.class);
+    }
+}
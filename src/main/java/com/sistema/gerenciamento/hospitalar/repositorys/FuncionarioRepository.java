@@ -11,12 +11,8 @@ import java.util.UUID;
 // Define a interface do repositório para a entidade FuncionarioModel
 public interface FuncionarioRepository extends JpaRepository<FuncionarioModel, UUID>, JpaSpecificationExecutor<FuncionarioModel> {
 
-    // Método para verificar se já existe um funcionário com o nome completo fornecido
-    boolean existsByNomeCompleto(String nomeCompleto);
-
-    // Método para verificar se já existe um funcionário com o CPF fornecido
-    boolean existsByCpf(String cpf);
-
-    // Método para verificar se já existe um funcionário com o RG fornecido
-    boolean existsByRg(String rg);
+    // Nomes das restrições únicas da tabela (V12)
+    String UK_NOME_COMPLETO = "uk_funcionario_nome_completo";
+    String UK_CPF = "uk_funcionario_cpf";
+    String UK_RG = "uk_funcionario_rg";
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.sistema.gerenciamento.hospitalar.repositorys;
+
+import com.sistema.gerenciamento.hospitalar.enums.Especialidade;
+import com.sistema.gerenciamento.hospitalar.enums.StatusListaEspera;
+import com.sistema.gerenciamento.hospitalar.models.ListaEsperaModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// Define a interface do repositório para a entidade ListaEsperaModel
+public interface ListaEsperaRepository extends JpaRepository<ListaEsperaModel, UUID> {
+
+    // Projeção usada para montar o índice em memória da lista de espera
+    interface EntradaListaEspera {
+        UUID getListaEsperaId();
+        UUID getPacienteId();
+        UUID getMedicoId();
+        Especialidade getEspecialidade();
+        LocalDate getDia();
+        LocalDateTime getDataCadastro();
+    }
+
+    // Retorna os pacientes aguardando horário a partir do dia informado
+    @Query("""
+            SELECT l.listaEsperaId AS listaEsperaId, l.pacienteEspera.pacienteId AS pacienteId, m.medicoId AS medicoId,
+                   l.especialidade AS especialidade, l.dia AS dia, l.dataCadastro AS dataCadastro
+            FROM ListaEsperaModel l LEFT JOIN l.medicoEspera m
+            WHERE l.statusListaEspera = :status AND l.dia >= :dia
+            """)
+    List<EntradaListaEspera> findEntradas(StatusListaEspera status, LocalDate dia);
+
+    // Método para verificar se o paciente já está na lista de espera da especialidade no dia
+    boolean existsByPacienteEsperaPacienteIdAndEspecialidadeAndDiaAndStatusListaEsperaIn(UUID pacienteId, Especialidade especialidade,
+                                                                                         LocalDate dia, List<StatusListaEspera> status);
+
+    // Retorna as ofertas que venceram sem resposta do paciente
+    List<ListaEsperaModel> findByStatusListaEsperaAndValidadeOfertaBefore(StatusListaEspera status, LocalDateTime agora);
+
+    // Encerra as esperas de dias que já passaram
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE ListaEsperaModel l SET l.statusListaEspera = :expirada, l.dataAtualizacao = :agora
+            WHERE l.statusListaEspera = :aguardando AND l.dia < :hoje
+            """)
+    int expirarDiasPassados(StatusListaEspera aguardando, StatusListaEspera expirada, LocalDate hoje, LocalDateTime agora);
+}
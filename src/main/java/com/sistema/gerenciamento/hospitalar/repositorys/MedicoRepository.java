@@ -1,5 +1,6 @@
 package com.sistema.gerenciamento.hospitalar.repositorys;
 
+import com.sistema.gerenciamento.hospitalar.enums.Especialidade;
 import com.sistema.gerenciamento.hospitalar.models.MedicoModel;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -8,17 +9,18 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 // Define a interface do repositório para a entidade MedicoModel
 public interface MedicoRepository extends JpaRepository<MedicoModel, UUID>, JpaSpecificationExecutor<MedicoModel> {
 
-    // Método para verificar se já existe um médico com o CRM fornecido
-    boolean existsByCrm(String crm);
-
-    // Método para verificar se já existe um médico com o CNS fornecido
-    boolean existsByCns(String cns);
+    // Nomes das restrições únicas da tabela (V12)
+    String UK_CRM = "uk_medico_crm";
+    String UK_CNS = "uk_medico_cns";
+    String UK_FUNCIONARIO = "uk_medico_funcionario";
 
     // Método para verificar se já existe um médico associado a um funcionário com o ID fornecido
     boolean existsByFuncionarioMedicoFuncionarioId(UUID funcionarioId);
@@ -30,9 +32,44 @@ public interface MedicoRepository extends JpaRepository<MedicoModel, UUID>, JpaS
             """, nativeQuery = true)
     Optional<MedicoModel> findByFuncionarioMedicoFuncionarioId(UUID funcionarioId);
 
+    // Método para buscar o ID do médico vinculado, pelo funcionário, a um usuário
+    @Query("""
+            SELECT m.medicoId FROM MedicoModel m, UsuarioModel u
+            WHERE u.usuarioId = :usuarioId AND m.funcionarioMedico = u.funcionarioUsuario
+            """)
+    Optional<UUID> findMedicoIdByUsuarioId(UUID usuarioId);
+
+    // Método para gravar (ou, com nulo, revogar) o hash do token de assinatura do calendário do médico
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE tb_medico SET token_calendario = :tokenHash WHERE medico_id = :medicoId", nativeQuery = true)
+    int updateTokenCalendario(@Param("medicoId") UUID medicoId, @Param("tokenHash") String tokenHash);
+
+    // Método para verificar se o hash informado é o do token de assinatura do calendário do médico
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM tb_medico WHERE medico_id = :medicoId AND token_calendario = :tokenHash)", nativeQuery = true)
+    boolean existsTokenCalendario(@Param("medicoId") UUID medicoId, @Param("tokenHash") String tokenHash);
+
     // Método para deletar consultas médicas associadas a um médico, dado o ID do médico
     @Modifying
     @Transactional
     @Query(value = "DELETE FROM tb_consulta_medica WHERE medico_id = :medicoId", nativeQuery = true)
     void deleteByMedicoId(@Param("medicoId") UUID medicoId);
-}
\ No newline at end of file
+
+    // Projeção com os dados do médico necessários para validar um agendamento
+    interface MedicoResumo {
+        UUID getMedicoId();
+        Especialidade getEspecialidade();
+    }
+
+    // Método para buscar, em uma única consulta, os dados de agendamento de um conjunto de médicos
+    @Query("SELECT m.medicoId AS medicoId, m.especialidade AS especialidade FROM MedicoModel m WHERE m.medicoId IN :medicoIds")
+    List<MedicoResumo> findResumoByMedicoIdIn(Collection<UUID> medicoIds);
+
+    // Método para buscar os IDs dos médicos de uma especialidade
+    @Query("SELECT m.medicoId FROM MedicoModel m WHERE m.especialidade = :especialidade")
+    List<UUID> findMedicoIdByEspecialidade(Especialidade especialidade);
+
+    // Método para buscar os IDs de todos os médicos cadastrados
+    @Query("SELECT m.medicoId FROM MedicoModel m")
+    List<UUID> findAllMedicoIds();
+}
@@ -1,27 +1,32 @@
 package com.sistema.gerenciamento.hospitalar.repositorys;
 
+import com.sistema.gerenciamento.hospitalar.enums.StatusPaciente;
 import com.sistema.gerenciamento.hospitalar.models.PacienteModel;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 // Define a interface do repositório para a entidade PacienteModel
 public interface PacienteRepository extends JpaRepository<PacienteModel, UUID>, JpaSpecificationExecutor<PacienteModel> {
 
-    // Método para verificar se já existe um paciente com o nome completo fornecido
-    boolean existsByNomeCompleto(String nomeCompleto);
-
-    // Método para verificar se já existe um paciente com o CNS (Cadastro Nacional de Saúde) fornecido
-    boolean existsByCns(String cns);
-
-    // Método para verificar se já existe um paciente com o CPF fornecido
-    boolean existsByCpf(String cpf);
-
-    // Método para verificar se já existe um paciente com o RG fornecido
-    boolean existsByRg(String rg);
-
-    // Método para verificar se já existe um paciente com o número de telefone celular fornecido
-    boolean existsByTelefoneCelular(String telefoneCelular);
+    // Nomes das restrições únicas da tabela (V12)
+    String UK_NOME_COMPLETO = "uk_paciente_nome_completo";
+    String UK_CPF = "uk_paciente_cpf";
+    String UK_RG = "uk_paciente_rg";
+    String UK_CNS = "uk_paciente_cns";
+    String UK_TELEFONE_CELULAR = "uk_paciente_telefone_celular";
+
+    // Projeção com os dados do paciente necessários para validar um agendamento
+    interface PacienteResumo {
+        UUID getPacienteId();
+        StatusPaciente getStatusPaciente();
+    }
+
+    // Método para buscar, em uma única consulta, os dados de agendamento de um conjunto de pacientes
+    @Query("SELECT p.pacienteId AS pacienteId, p.statusPaciente AS statusPaciente FROM PacienteModel p WHERE p.pacienteId IN :pacienteIds")
+    List<PacienteResumo> findResumoByPacienteIdIn(Collection<UUID> pacienteIds);
 }
\ No newline at end of file
@@ -11,19 +11,13 @@ import java.util.UUID;
 // Define a interface do repositório para a entidade UsuarioModel
 public interface UsuarioRepository extends JpaRepository<UsuarioModel, UUID>, JpaSpecificationExecutor<UsuarioModel> {
 
+    // Nomes das restrições únicas da tabela (V12)
+    String UK_NOME = "uk_usuario_nome";
+    String UK_CODIGO_USUARIO = "uk_usuario_codigo_usuario";
+    String UK_SENHA = "uk_usuario_senha";
+    String UK_FUNCIONARIO = "uk_usuario_funcionario";
+
     // Método para buscar um usuário pelo nome, carregando as roles (funções/roles do usuário) de forma imediata (fetch)
     @EntityGraph(attributePaths = "roles", type = EntityGraph.EntityGraphType.FETCH)
     Optional<UsuarioModel> findByNome(String nome);
-
-    // Verifica se já existe um usuário com o nome especificado
-    boolean existsByNome(String nome);
-
-    // Verifica se já existe um usuário com o código de usuário especificado
-    boolean existsByCodigoUsuario(String codigoUsuario);
-
-    // Verifica se já existe um usuário com a senha especificada
-    boolean existsBySenha(String senha);
-
-    // Verifica se já existe um usuário associado a um funcionário com o ID fornecido
-    boolean existsByFuncionarioUsuarioFuncionarioId(UUID funcionarioModel);
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.sistema.gerenciamento.hospitalar.services;
+
+import com.sistema.gerenciamento.hospitalar.dtos.AgendaDiaRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.HorarioLivreRecordDto;
+import com.sistema.gerenciamento.hospitalar.enums.Especialidade;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface AgendaMedicaService {
+
+    // Método para buscar os horários livres de um médico entre as datas informadas, em ordem cronológica.
+    List<HorarioLivreRecordDto> buscarHorariosLivres(UUID medicoId, LocalDate de, LocalDate ate, int limite);
+
+    // Método para buscar os horários livres de todos os médicos de uma especialidade, dos mais próximos para os mais distantes.
+    List<HorarioLivreRecordDto> buscarHorariosLivresPorEspecialidade(Especialidade especialidade, LocalDate de, LocalDate ate, int limite);
+
+    // Método para buscar a agenda do dia de um médico. A agenda é mantida em cache e invalidada a cada alteração de consulta do médico no dia.
+    AgendaDiaRecordDto buscarAgendaDoDia(UUID medicoId, LocalDate dia);
+}
@@ -0,0 +1,28 @@
+package com.sistema.gerenciamento.hospitalar.services;
+
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaResumoRecordDto;
+import com.sistema.gerenciamento.hospitalar.models.ConsultaModel;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ArquivoConsultaService {
+
+    // Método para mover ao arquivo frio, em lotes, as consultas finalizadas mais antigas que o período configurado.
+    // Retorna a quantidade de consultas arquivadas.
+    int arquivarConsultasAntigas();
+
+    // Método para buscar uma consulta no arquivo frio. A consulta retornada é somente leitura e não deve ser gravada.
+    Optional<ConsultaModel> findArquivadaById(UUID consultaId);
+
+    // Método para buscar o resumo das consultas arquivadas de um paciente.
+    List<ConsultaResumoRecordDto> findArquivadasByPaciente(UUID pacienteId);
+
+    // Métodos para verificar se há consultas arquivadas do médico, do paciente ou da clínica.
+    boolean existsArquivadaByMedicoId(UUID medicoId);
+
+    boolean existsArquivadaByPacienteId(UUID pacienteId);
+
+    boolean existsArquivadaByClinicaId(UUID clinicaId);
+}
@@ -0,0 +1,11 @@
+package com.sistema.gerenciamento.hospitalar.services;
+
+import com.sistema.gerenciamento.hospitalar.dtos.PessoaBuscaRecordDto;
+
+import java.util.List;
+
+public interface BuscaPessoaService {
+
+    // Método para buscar pacientes, funcionários e médicos pelo nome (autocompletar), tolerando erros de digitação.
+    List<PessoaBuscaRecordDto> buscar(String termo, int limite);
+}
@@ -0,0 +1,22 @@
+package com.sistema.gerenciamento.hospitalar.services;
+
+import java.io.OutputStream;
+import java.util.UUID;
+
+public interface CalendarioMedicoService {
+
+    // Método para calcular a versão (ETag) do calendário do médico, sem ler as consultas.
+    String calcularEtag(UUID medicoId);
+
+    // Método para escrever o calendário (iCalendar) com as consultas do médico diretamente na saída informada.
+    void escreverCalendario(UUID medicoId, OutputStream saida);
+
+    // Método para gerar um novo token de assinatura do calendário do médico, invalidando o anterior.
+    String gerarTokenAssinatura(UUID medicoId);
+
+    // Método para revogar o token de assinatura do calendário do médico.
+    void revogarTokenAssinatura(UUID medicoId);
+
+    // Método para verificar se o token informado dá acesso ao calendário do médico.
+    boolean tokenAssinaturaValido(UUID medicoId, String token);
+}
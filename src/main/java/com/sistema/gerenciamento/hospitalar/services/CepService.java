@@ -0,0 +1,19 @@
+package com.sistema.gerenciamento.hospitalar.services;
+
+import com.sistema.gerenciamento.hospitalar.dtos.CepLoteResultadoRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.EnderecoRecordDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface CepService {
+
+    // Método para consultar o endereço de um CEP (com ou sem hífen). CEPs inválidos ou inexistentes resultam em NotFoundException.
+    // A resposta vem do cache sempre que o CEP já tiver sido consultado recentemente.
+    Mono<EnderecoRecordDto> consultarCep(String cep);
+
+    // Método para consultar vários CEPs de uma vez: cada CEP distinto resulta em um item, na ordem em que for resolvido.
+    // Os CEPs em cache vêm primeiro; os demais são consultados em paralelo, com concorrência limitada.
+    Flux<CepLoteResultadoRecordDto> consultarCeps(List<String> ceps);
+}
@@ -1,6 +1,7 @@
 package com.sistema.gerenciamento.hospitalar.services;
 
 import com.sistema.gerenciamento.hospitalar.dtos.ClinicaHospitalarRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.PaginaCursorRecordDto;
 import com.sistema.gerenciamento.hospitalar.models.ClinicaHospitalarModel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -18,6 +19,10 @@ public interface ClinicaHospitalarService {
     // O parâmetro 'spec' permite construir consultas dinâmicas, e 'pageable' define a página e o tamanho da página para paginar os resultados.
     Page<ClinicaHospitalarModel> fidAll(Specification<ClinicaHospitalarModel> spec, Pageable pageable);
 
+    // Método para listar clínicas hospitalares por cursor (keyset), ordenando por dataCadastro e clinicaHospitlarId. Não executa COUNT(*):
+    // o 'cursor' é o valor opaco devolvido pela página anterior (nulo na primeira) e 'limit' o tamanho da página.
+    PaginaCursorRecordDto<ClinicaHospitalarModel> findAllCursor(Specification<ClinicaHospitalarModel> spec, String cursor, int limit);
+
     // Método para buscar uma clínica hospitalar pelo seu ID único (UUID). Retorna um Optional para evitar NullPointerExceptions caso o ID não seja encontrado.
     Optional<ClinicaHospitalarModel> findById(UUID clinicaId);
 
@@ -26,13 +31,4 @@ public interface ClinicaHospitalarService {
 
     // Método para deletar uma clínica hospitalar pelo modelo da clínica.
     void deleteByClinicaId(ClinicaHospitalarModel clinicaHospitalarModel);
-
-    // Método para verificar se já existe uma clínica com o mesmo nome.
-    boolean existByNome(String nome);
-
-    // Método para verificar se já existe uma clínica com o mesmo CNPJ.
-    boolean existByCnpj(String cnpj);
-
-    // Método para verificar se já existe uma clínica com o mesmo email.
-    boolean existByEmail(String email);
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.sistema.gerenciamento.hospitalar.services;
+
+import com.sistema.gerenciamento.hospitalar.events.ConsultaAlteradaEvent;
+
+public interface ConsultaEventoOutboxService {
+
+    // Método para registrar no outbox a transição correspondente à alteração da consulta, na mesma transação da alteração.
+    void registrar(ConsultaAlteradaEvent evento);
+
+    // Método para drenar o outbox, entregando os eventos pendentes ao destino configurado em lotes. Retorna a quantidade publicada.
+    int publicarPendentes();
+}
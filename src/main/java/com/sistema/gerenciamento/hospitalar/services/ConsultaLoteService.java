@@ -0,0 +1,13 @@
+package com.sistema.gerenciamento.hospitalar.services;
+
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaLoteRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaLoteResultadoRecordDto;
+
+import java.util.List;
+
+public interface ConsultaLoteService {
+
+    // Método para agendar um lote de consultas. Cada item é validado individualmente e o resultado
+    // de cada um (agendado ou recusado com o motivo) é retornado na mesma ordem do lote recebido.
+    List<ConsultaLoteResultadoRecordDto> agendarLote(ConsultaLoteRecordDto consultaLoteRecordDto);
+}
@@ -0,0 +1,11 @@
+package com.sistema.gerenciamento.hospitalar.services;
+
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaSerieRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaSerieResultadoRecordDto;
+
+public interface ConsultaSerieService {
+
+    // Método para agendar uma série de consultas recorrentes (semanal ou quinzenal). A série é agendada por completo
+    // ou não é agendada, retornando neste caso as datas em conflito e o motivo de cada uma.
+    ConsultaSerieResultadoRecordDto agendarSerie(ConsultaSerieRecordDto consultaSerieRecordDto);
+}
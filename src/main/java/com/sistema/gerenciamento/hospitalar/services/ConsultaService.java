@@ -1,34 +1,53 @@
 package com.sistema.gerenciamento.hospitalar.services;
 
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaListaRecordDto;
 import com.sistema.gerenciamento.hospitalar.dtos.ConsultaRecordDto;
-import com.sistema.gerenciamento.hospitalar.models.ClinicaHospitalarModel;
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaResumoRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.PaginaCursorRecordDto;
 import com.sistema.gerenciamento.hospitalar.models.ConsultaModel;
-import com.sistema.gerenciamento.hospitalar.models.MedicoModel;
-import com.sistema.gerenciamento.hospitalar.models.PacienteModel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface ConsultaService {
 
-    // Método para salvar uma nova consulta médica. Recebe um DTO com os dados da consulta e os modelos do médico, paciente e clínica.
-    // Isso pode envolver salvar informações relacionadas à consulta e também garantir a associação correta entre as entidades.
-    ConsultaModel saveConsulta(ConsultaRecordDto consultaRecordDto, MedicoModel medicoModel, PacienteModel pacienteModel, ClinicaHospitalarModel clinicaHospitalarModel);
+    // Método para salvar uma nova consulta médica. Recebe um DTO com os dados da consulta e os IDs do médico, paciente e clínica.
+    // As entidades são verificadas em um único comando no banco e associadas à consulta por referência, sem serem carregadas.
+    ConsultaModel saveConsulta(ConsultaRecordDto consultaRecordDto, UUID medicoId, UUID pacienteId, UUID clinicaId);
+
+    // Método para listar as consultas com filtros dinâmicos e paginação, já projetadas com IDs, nomes, data e status.
+    // Médico, paciente e clínica não são carregados como entidades; a listagem é montada em uma única consulta.
+    Page<ConsultaListaRecordDto> findListagem(Specification<ConsultaModel> spec, Pageable pageable);
 
     // Método para buscar todas as consultas com suporte a filtros dinâmicos e paginação.
-    // O parâmetro 'spec' permite construir consultas dinâmicas, e 'pageable' define a página e o tamanho da página para paginar os resultados.
-    Page<ConsultaModel> fidAll(Specification<ConsultaModel> spec, Pageable pageable);
+    // O parâmetro 'expand' (medico, paciente, clinica) indica quais relacionamentos carregar junto; os demais seguem LAZY.
+    Page<ConsultaModel> fidAll(Specification<ConsultaModel> spec, Pageable pageable, Collection<String> expand);
+
+    // Método para listar consultas por cursor (keyset), ordenando por dataCadastro e consultaId. Não executa COUNT(*):
+    // o 'cursor' é o valor opaco devolvido pela página anterior (nulo na primeira) e 'limit' o tamanho da página.
+    PaginaCursorRecordDto<ConsultaModel> findAllCursor(Specification<ConsultaModel> spec, String cursor, int limit, Collection<String> expand);
 
     // Método para buscar uma consulta pelo seu ID único (UUID). Retorna um Optional para evitar NullPointerExceptions caso a consulta não seja encontrada.
     Optional<ConsultaModel> findById(UUID consultaId);
 
+    // Método para buscar uma consulta pelo ID também no arquivo de consultas finalizadas. Uma consulta arquivada é somente leitura.
+    Optional<ConsultaModel> findByIdIncluindoArquivo(UUID consultaId);
+
+    // Método para buscar o histórico de consultas do paciente, incluindo as arquivadas, da mais recente para a mais antiga.
+    List<ConsultaResumoRecordDto> findHistoricoByPacienteId(UUID pacienteId);
+
     // Método para finalizar uma consulta médica. Recebe o DTO com os dados atualizados e o modelo da consulta que será alterado.
     // Isso pode envolver alterações no status ou no registro da consulta.
     ConsultaModel finalizarConsultaMedica(ConsultaRecordDto consultaRecordDto, ConsultaModel consultaModel);
 
+    // Método para cancelar uma consulta médica. Registra o motivo do cancelamento e libera o horário do médico.
+    ConsultaModel cancelarConsultaMedica(ConsultaRecordDto consultaRecordDto, ConsultaModel consultaModel);
+
     // Método para deletar uma consulta específica pelo modelo da consulta.
     void deleteByConsultaId(ConsultaModel consultaModel);
 
@@ -1,6 +1,7 @@
 package com.sistema.gerenciamento.hospitalar.services;
 
 import com.sistema.gerenciamento.hospitalar.dtos.EnderecoRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.PaginaCursorRecordDto;
 import com.sistema.gerenciamento.hospitalar.models.EnderecoModel;
 import com.sistema.gerenciamento.hospitalar.models.FuncionarioModel;
 import com.sistema.gerenciamento.hospitalar.models.PacienteModel;
@@ -26,6 +27,10 @@ public interface EnderecoService {
     // O parâmetro 'spec' permite construir consultas dinâmicas e o 'pageable' define a página e o tamanho para paginar os resultados.
     Page<EnderecoModel> fidAll(Specification<EnderecoModel> spec, Pageable pageable);
 
+    // Método para listar endereços por cursor (keyset), ordenando por dataCadastro e enderecoId. Não executa COUNT(*):
+    // o 'cursor' é o valor opaco devolvido pela página anterior (nulo na primeira) e 'limit' o tamanho da página.
+    PaginaCursorRecordDto<EnderecoModel> findAllCursor(Specification<EnderecoModel> spec, String cursor, int limit);
+
     // Método para buscar um endereço pelo seu ID único (UUID). Retorna um Optional para evitar NullPointerExceptions caso o endereço não seja encontrado.
     Optional<EnderecoModel> findById(UUID enderecoId);
 
@@ -0,0 +1,13 @@
+package com.sistema.gerenciamento.hospitalar.services;
+
+import com.sistema.gerenciamento.hospitalar.enums.FormatoExportacao;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface ExportacaoConsultaService {
+
+    // Método para exportar as consultas do período [de, ate] no formato informado, escrevendo no fluxo de saída
+    // à medida que as linhas são lidas do banco de dados. Retorna a quantidade de consultas exportadas.
+    long exportar(LocalDate de, LocalDate ate, FormatoExportacao formato, OutputStream saida);
+}
@@ -0,0 +1,28 @@
+package com.sistema.gerenciamento.hospitalar.services;
+
+import com.sistema.gerenciamento.hospitalar.dtos.ListaEsperaRecordDto;
+import com.sistema.gerenciamento.hospitalar.models.ConsultaModel;
+import com.sistema.gerenciamento.hospitalar.models.ListaEsperaModel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ListaEsperaService {
+
+    // Método para incluir um paciente na lista de espera de uma especialidade (e, opcionalmente, de um médico) em um dia.
+    ListaEsperaModel cadastrar(ListaEsperaRecordDto listaEsperaRecordDto, UUID pacienteId);
+
+    // Método para buscar todas as entradas da lista de espera com paginação.
+    Page<ListaEsperaModel> findAll(Pageable pageable);
+
+    // Método para buscar uma entrada da lista de espera pelo seu ID.
+    Optional<ListaEsperaModel> findById(UUID listaEsperaId);
+
+    // Método para o paciente aceitar o horário ofertado, agendando a consulta.
+    ConsultaModel aceitarOferta(UUID listaEsperaId);
+
+    // Método para retirar o paciente da lista de espera. Uma oferta pendente é repassada ao próximo paciente.
+    void desistir(UUID listaEsperaId);
+}
@@ -1,6 +1,7 @@
 package com.sistema.gerenciamento.hospitalar.services;
 
 import com.sistema.gerenciamento.hospitalar.dtos.MedicoRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.PaginaCursorRecordDto;
 import com.sistema.gerenciamento.hospitalar.models.FuncionarioModel;
 import com.sistema.gerenciamento.hospitalar.models.MedicoModel;
 import com.sistema.gerenciamento.hospitalar.specifications.SpecificationsTemplate;
@@ -12,14 +13,6 @@ import java.util.UUID;
 
 public interface MedicoService {
 
-    // Método para verificar se já existe um médico com o mesmo CRM (Cadastro de Médico).
-    // Retorna um booleano indicando se o CRM já está cadastrado.
-    boolean existByCrm(String crm);
-
-    // Método para verificar se já existe um médico com o mesmo CNS (Cartão Nacional de Saúde).
-    // Retorna um booleano indicando se o CNS já está cadastrado.
-    boolean existByCns(String cns);
-
     // Método para salvar um novo médico. Recebe um DTO com os dados do médico e o modelo do funcionário associado.
     // Retorna um objeto representando o médico salvo, provavelmente o modelo do médico ou algum outro tipo de objeto.
     Object saveMedico(MedicoRecordDto medicoRecordDto, FuncionarioModel funcionarioModel);
@@ -36,6 +29,10 @@ public interface MedicoService {
     // O parâmetro 'spec' permite construir consultas dinâmicas e 'pageable' define a página e o tamanho para paginar os resultados.
     Page<MedicoModel> fidAll(SpecificationsTemplate.MedicoSpec spec, Pageable pageable);
 
+    // Método para listar médicos por cursor (keyset), ordenando por dataCadastro e medicoId. Não executa COUNT(*):
+    // o 'cursor' é o valor opaco devolvido pela página anterior (nulo na primeira) e 'limit' o tamanho da página.
+    PaginaCursorRecordDto<MedicoModel> findAllCursor(SpecificationsTemplate.MedicoSpec spec, String cursor, int limit);
+
     // Método para atualizar as informações de um médico. Recebe o modelo do médico que será atualizado e o DTO com as novas informações.
     // Retorna o modelo atualizado do médico.
     MedicoModel updateMedico(MedicoModel medicoModel, MedicoRecordDto medicoRecordDto);
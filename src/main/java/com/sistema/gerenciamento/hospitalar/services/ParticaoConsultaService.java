@@ -0,0 +1,8 @@
+package com.sistema.gerenciamento.hospitalar.services;
+
+public interface ParticaoConsultaService {
+
+    // Método para garantir que as partições mensais da TB_CONSULTA_MEDICA existam do mês atual até os meses seguintes
+    // configurados, evitando que novas consultas caiam na partição padrão. Retorna a quantidade de partições criadas.
+    int criarParticoesFuturas();
+}
@@ -0,0 +1,20 @@
+package com.sistema.gerenciamento.hospitalar.services;
+
+import com.sistema.gerenciamento.hospitalar.dtos.FaturamentoRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.RecalculoFaturamentoRecordDto;
+import com.sistema.gerenciamento.hospitalar.events.ConsultaAlteradaEvent;
+
+import java.time.YearMonth;
+import java.util.UUID;
+
+public interface RelatorioFaturamentoService {
+
+    // Método para atualizar o consolidado mensal com a alteração da consulta, na mesma transação da alteração.
+    void registrar(ConsultaAlteradaEvent evento);
+
+    // Método para montar o relatório de faturamento e volume do mês a partir do consolidado. A clínica é opcional.
+    FaturamentoRecordDto faturamento(UUID clinicaId, YearMonth mes);
+
+    // Método para recalcular todo o consolidado a partir das consultas (inclusive as arquivadas), em paralelo por clínica.
+    RecalculoFaturamentoRecordDto recalcular();
+}
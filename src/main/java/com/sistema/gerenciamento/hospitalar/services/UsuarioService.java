@@ -1,5 +1,6 @@
 package com.sistema.gerenciamento.hospitalar.services;
 
+import com.sistema.gerenciamento.hospitalar.dtos.PaginaCursorRecordDto;
 import com.sistema.gerenciamento.hospitalar.dtos.UsuarioRecordDto;
 import com.sistema.gerenciamento.hospitalar.models.FuncionarioModel;
 import com.sistema.gerenciamento.hospitalar.models.UsuarioModel;
@@ -17,6 +18,10 @@ public interface UsuarioService {
     // O 'pageable' permite paginar os resultados, o que é útil quando o número de usuários é grande.
     Page<UsuarioModel> findAll(Specification<UsuarioModel> spec, Pageable pageable);
 
+    // Método para listar usuários por cursor (keyset), ordenando por dataCriacao e usuarioId. Não executa COUNT(*):
+    // o 'cursor' é o valor opaco devolvido pela página anterior (nulo na primeira) e 'limit' o tamanho da página.
+    PaginaCursorRecordDto<UsuarioModel> findAllCursor(Specification<UsuarioModel> spec, String cursor, int limit);
+
     // Método para buscar um usuário pelo seu ID único (UUID). Retorna um Optional para evitar NullPointerExceptions
     // caso o usuário não seja encontrado.
     Optional<UsuarioModel> findById(UUID usuarioId);
@@ -37,23 +42,7 @@ public interface UsuarioService {
     // Recebe o modelo do usuário e um DTO com os novos dados do status.
     UsuarioModel updateStatusUsuario(UsuarioModel usuarioModel, UsuarioRecordDto usuarioRecordDto);
 
-    // Método para verificar se já existe um usuário com o mesmo nome.
-    // Retorna um booleano indicando se o nome já está cadastrado.
-    boolean existByNome(String nome);
-
-    // Método para verificar se já existe um usuário com o mesmo código de usuário.
-    // Retorna um booleano indicando se o código do usuário já está cadastrado.
-    boolean existByCodigoUsuario(String codigoUsuario);
-
     // Método para salvar um novo usuário. Recebe o DTO com os dados do usuário e o modelo do funcionário associado.
     // Retorna o modelo do usuário salvo.
     UsuarioModel saveUsuario(UsuarioRecordDto usuarioRecordDto, FuncionarioModel funcionarioModel);
-
-    // Método para verificar se já existe um usuário com a mesma senha (isso pode ser usado, por exemplo, para verificar se a senha já foi usada anteriormente).
-    // Retorna um booleano indicando se a senha já está cadastrada.
-    boolean existBySenha(String senha);
-
-    // Método para verificar se já existe um usuário associado a um funcionário com um ID específico.
-    // Retorna um booleano indicando se o funcionário está associado a um usuário.
-    boolean existsByFuncionarioUsuarioFuncionarioId(UUID funcionarioModel);
 }
\ No newline at end of file
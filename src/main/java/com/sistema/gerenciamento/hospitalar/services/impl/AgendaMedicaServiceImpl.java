@@ -0,0 +1,311 @@
+package com.sistema.gerenciamento.hospitalar.services.impl;
+
+import com.sistema.gerenciamento.hospitalar.dtos.AgendaDiaRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.HorarioLivreRecordDto;
+import com.sistema.gerenciamento.hospitalar.enums.Especialidade;
+import com.sistema.gerenciamento.hospitalar.events.ConsultaAlteradaEvent;
+import com.sistema.gerenciamento.hospitalar.exceptions.NotFoundException;
+import com.sistema.gerenciamento.hospitalar.repositorys.ConsultaRepository;
+import com.sistema.gerenciamento.hospitalar.repositorys.MedicoRepository;
+import com.sistema.gerenciamento.hospitalar.services.AgendaMedicaService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static com.sistema.gerenciamento.hospitalar.validates.consultaMedica.impl.ValidadorHorarioFuncionamentoClinica.HORA_ABERTURA;
+import static com.sistema.gerenciamento.hospitalar.validates.consultaMedica.impl.ValidadorHorarioFuncionamentoClinica.HORA_ENCERRAMENTO;
+
+/**
+ * Serviço de consulta à agenda dos médicos.
+ *
+ * Os horários livres são calculados sobre a grade de funcionamento da clínica (segunda a sábado, das 07:00 às 18:30,
+ * em intervalos de 30 minutos, com antecedência mínima de 30 minutos), descontando as consultas não canceladas.
+ *
+ * A agenda do dia de cada médico é mantida em cache: é pré-calculada de madrugada para o dia seguinte, carregada
+ * sob demanda nos demais dias e descartada sempre que uma consulta do médico naquele dia é criada, alterada ou
+ * removida, de modo que consultas repetidas da mesma agenda não acessem o banco de dados.
+ */
+@Service
+public class AgendaMedicaServiceImpl implements AgendaMedicaService {
+
+    private static final Logger logger = LogManager.getLogger(AgendaMedicaServiceImpl.class);
+
+    // Duração média de uma consulta, que define o intervalo entre os horários da grade
+    static final int DURACAO_CONSULTA_MINUTOS = 30;
+
+    // Maior período aceito em uma busca de horários livres
+    static final int MAXIMO_DIAS_BUSCA = 31;
+
+    // Maior quantidade de horários retornados em uma busca
+    static final int MAXIMO_HORARIOS = 500;
+
+    // Quantidade de médicos carregados por consulta no pré-cálculo noturno
+    static final int MEDICOS_POR_CONSULTA = 1000;
+
+    final MedicoRepository medicoRepository;
+    final ConsultaRepository consultaRepository;
+    final Clock clock;
+    final int maxAgendas;
+
+    // Agendas do dia em cache, por médico e dia
+    private final Map<ChaveAgenda, AgendaDiaRecordDto> agendas = new ConcurrentHashMap<>();
+
+    // Incrementada a cada alteração de consulta; impede que um carregamento concorrente publique uma agenda desatualizada
+    private final AtomicLong geracao = new AtomicLong();
+
+    private final Counter acertosCache;
+    private final Counter falhasCache;
+
+    public AgendaMedicaServiceImpl(MedicoRepository medicoRepository, ConsultaRepository consultaRepository, Clock clock,
+                                   MeterRegistry meterRegistry, @Value("${agenda.cache.max-agendas:100000}") int maxAgendas) {
+        this.medicoRepository = medicoRepository;
+        this.consultaRepository = consultaRepository;
+        this.clock = clock;
+        this.maxAgendas = maxAgendas;
+        this.acertosCache = Counter.builder("agenda.dia.cache").tag("resultado", "acerto").register(meterRegistry);
+        this.falhasCache = Counter.builder("agenda.dia.cache").tag("resultado", "falha").register(meterRegistry);
+    }
+
+    /**
+     * Busca os horários livres de um médico entre as datas informadas.
+     *
+     * @param medicoId ID do médico.
+     * @param de Primeiro dia da busca.
+     * @param ate Último dia da busca (inclusive).
+     * @param limite Quantidade máxima de horários retornados.
+     * @return List<HorarioLivreRecordDto> Horários livres em ordem cronológica.
+     */
+    @Override
+    public List<HorarioLivreRecordDto> buscarHorariosLivres(UUID medicoId, LocalDate de, LocalDate ate, int limite) {
+        if (!medicoRepository.existsById(medicoId)) {
+            throw new NotFoundException("ERRO, médico não encontrado!");
+        }
+        return mesclarHorariosLivres(List.of(medicoId), de, ate, limite);
+    }
+
+    /**
+     * Busca os horários livres dos médicos de uma especialidade entre as datas informadas.
+     *
+     * @param especialidade Especialidade desejada.
+     * @param de Primeiro dia da busca.
+     * @param ate Último dia da busca (inclusive).
+     * @param limite Quantidade máxima de horários retornados.
+     * @return List<HorarioLivreRecordDto> Horários livres, dos mais próximos para os mais distantes.
+     */
+    @Override
+    public List<HorarioLivreRecordDto> buscarHorariosLivresPorEspecialidade(Especialidade especialidade, LocalDate de, LocalDate ate, int limite) {
+        var medicoIds = medicoRepository.findMedicoIdByEspecialidade(especialidade);
+        if (medicoIds.isEmpty()) {
+            throw new NotFoundException("Nenhum médico encontrado para a especialidade " + especialidade);
+        }
+        return mesclarHorariosLivres(medicoIds, de, ate, limite);
+    }
+
+    /**
+     * Carrega as consultas de todos os médicos com uma única consulta por intervalo e mescla as agendas
+     * com uma fila de prioridade: cada médico contribui com o seu próximo horário livre e a fila sempre
+     * entrega o mais cedo, de modo que a busca termina assim que o limite é atingido, sem percorrer
+     * a agenda completa de cada médico.
+     */
+    private List<HorarioLivreRecordDto> mesclarHorariosLivres(Collection<UUID> medicoIds, LocalDate de, LocalDate ate, int limite) {
+        if (de == null || ate == null || ate.isBefore(de) || ChronoUnit.DAYS.between(de, ate) >= MAXIMO_DIAS_BUSCA) {
+            throw new NotFoundException("Informe um período válido de até " + MAXIMO_DIAS_BUSCA + " dias");
+        }
+        var inicio = de.atStartOfDay();
+        var fim = ate.plusDays(1).atStartOfDay();
+
+        Map<UUID, NavigableSet<LocalDateTime>> ocupados = new HashMap<>();
+        consultaRepository.findHorariosAtivosDosMedicos(medicoIds, inicio, fim)
+                .forEach(h -> ocupados.computeIfAbsent(h.getId(), id -> new TreeSet<>()).add(h.getDataConsulta()));
+
+        var minimo = LocalDateTime.now(clock).plusMinutes(DURACAO_CONSULTA_MINUTOS);
+        var primeiroHorario = normalizar(inicio.isAfter(minimo) ? inicio : minimo);
+
+        var fila = new PriorityQueue<CursorMedico>(Comparator.comparing((CursorMedico c) -> c.atual).thenComparing(c -> c.medicoId));
+        for (var medicoId : medicoIds) {
+            var cursor = new CursorMedico(medicoId, ocupados.getOrDefault(medicoId, Collections.emptyNavigableSet()), fim);
+            if (cursor.posicionar(primeiroHorario)) {
+                fila.add(cursor);
+            }
+        }
+
+        var quantidade = Math.max(0, Math.min(limite, MAXIMO_HORARIOS));
+        var horariosLivres = new ArrayList<HorarioLivreRecordDto>(quantidade);
+        while (!fila.isEmpty() && horariosLivres.size() < quantidade) {
+            var cursor = fila.poll();
+            horariosLivres.add(new HorarioLivreRecordDto(cursor.medicoId, cursor.atual));
+            if (cursor.posicionar(proximoHorario(cursor.atual))) {
+                fila.add(cursor);
+            }
+        }
+        return horariosLivres;
+    }
+
+    /**
+     * Busca a agenda do dia de um médico, respondendo a partir do cache sempre que possível.
+     *
+     * @param medicoId ID do médico.
+     * @param dia Dia da agenda.
+     * @return AgendaDiaRecordDto Consultas do médico no dia, em ordem de horário.
+     */
+    @Override
+    public AgendaDiaRecordDto buscarAgendaDoDia(UUID medicoId, LocalDate dia) {
+        var chave = new ChaveAgenda(medicoId, dia);
+        var agenda = agendas.get(chave);
+        if (agenda != null) {
+            acertosCache.increment();
+            return agenda;
+        }
+
+        falhasCache.increment();
+        if (!medicoRepository.existsById(medicoId)) {
+            throw new NotFoundException("ERRO, médico não encontrado!");
+        }
+        var geracaoInicial = geracao.get();
+        agenda = carregarAgendas(List.of(medicoId), dia).get(medicoId);
+        publicar(chave, agenda, geracaoInicial);
+        return agenda;
+    }
+
+    /**
+     * Descarta do cache as agendas afetadas pela alteração de uma consulta: o dia de origem e o dia de destino
+     * (quando a consulta é remarcada), sempre do médico da consulta. Executado após o commit da transação.
+     *
+     * @param evento Evento com o estado da consulta antes e depois da alteração.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarConsulta(ConsultaAlteradaEvent evento) {
+        geracao.incrementAndGet();
+        descartar(evento.anterior());
+        descartar(evento.atual());
+    }
+
+    /**
+     * Pré-calcula de madrugada a agenda do dia seguinte de todos os médicos e remove do cache os dias que já passaram.
+     */
+    @Scheduled(cron = "${agenda.cache.cron:0 30 0 * * *}", zone = "America/Recife")
+    public void precalcularAgendasDoDiaSeguinte() {
+        var hoje = LocalDate.now(clock);
+        agendas.keySet().removeIf(chave -> chave.dia().isBefore(hoje));
+
+        var amanha = hoje.plusDays(1);
+        var medicoIds = medicoRepository.findAllMedicoIds();
+        for (int inicio = 0; inicio < medicoIds.size(); inicio += MEDICOS_POR_CONSULTA) {
+            var lote = medicoIds.subList(inicio, Math.min(inicio + MEDICOS_POR_CONSULTA, medicoIds.size()));
+            var geracaoInicial = geracao.get();
+            carregarAgendas(lote, amanha).forEach((medicoId, agenda) -> publicar(new ChaveAgenda(medicoId, amanha), agenda, geracaoInicial));
+        }
+        logger.info("Agendas de {} pré-calculadas para {} médicos; {} agendas em cache", amanha, medicoIds.size(), agendas.size());
+    }
+
+    // Carrega em uma única consulta a agenda do dia de cada médico informado (inclusive as agendas vazias)
+    private Map<UUID, AgendaDiaRecordDto> carregarAgendas(List<UUID> medicoIds, LocalDate dia) {
+        var consultasPorMedico = consultaRepository.findAgendaDosMedicos(medicoIds, dia.atStartOfDay(), dia.plusDays(1).atStartOfDay())
+                .stream()
+                .collect(Collectors.groupingBy(ConsultaRepository.ItemAgendaMedico::getMedicoId,
+                        Collectors.mapping(i -> new AgendaDiaRecordDto.ConsultaAgenda(i.getConsultaId(), i.getDataConsulta(),
+                                i.getPacienteId(), i.getNomePaciente(), i.getTipoAtendimento(), i.getStatusAtendimento(),
+                                i.getLocalConsulta(), i.getMotivoCancelamento()), Collectors.toList())));
+
+        var agendasCarregadas = new HashMap<UUID, AgendaDiaRecordDto>();
+        for (var medicoId : medicoIds) {
+            agendasCarregadas.put(medicoId, new AgendaDiaRecordDto(medicoId, dia,
+                    List.copyOf(consultasPorMedico.getOrDefault(medicoId, List.of()))));
+        }
+        return agendasCarregadas;
+    }
+
+    // Publica a agenda no cache se nenhuma consulta foi alterada durante a leitura; dias passados não são mantidos
+    private void publicar(ChaveAgenda chave, AgendaDiaRecordDto agenda, long geracaoInicial) {
+        if (chave.dia().isBefore(LocalDate.now(clock))) {
+            return;
+        }
+        if (agendas.size() >= maxAgendas) {
+            logger.warn("Cache de agendas atingiu o limite de {} agendas; descartando", maxAgendas);
+            agendas.clear();
+        }
+        agendas.put(chave, agenda);
+        if (geracao.get() != geracaoInicial) {
+            agendas.remove(chave, agenda);
+        }
+    }
+
+    private void descartar(ConsultaAlteradaEvent.Estado estado) {
+        if (estado != null && estado.medicoId() != null && estado.dataConsulta() != null) {
+            agendas.remove(new ChaveAgenda(estado.medicoId(), estado.dataConsulta().toLocalDate()));
+        }
+    }
+
+    // Chave do cache de agendas: médico e dia
+    private record ChaveAgenda(UUID medicoId, LocalDate dia) {
+    }
+
+    // Próximo horário da grade após o horário informado
+    static LocalDateTime proximoHorario(LocalDateTime horario) {
+        return normalizar(horario.plusMinutes(DURACAO_CONSULTA_MINUTOS));
+    }
+
+    // Ajusta o horário para o primeiro horário da grade igual ou posterior a ele
+    static LocalDateTime normalizar(LocalDateTime horario) {
+        var naGrade = horario.getSecond() == 0 && horario.getNano() == 0 && horario.getMinute() % DURACAO_CONSULTA_MINUTOS == 0;
+        var ajustado = naGrade ? horario : horario.truncatedTo(ChronoUnit.HOURS)
+                .plusMinutes((horario.getMinute() / DURACAO_CONSULTA_MINUTOS + 1) * DURACAO_CONSULTA_MINUTOS);
+        if (ajustado.getHour() < HORA_ABERTURA) {
+            ajustado = ajustado.toLocalDate().atTime(HORA_ABERTURA, 0);
+        }
+        if (ajustado.getHour() > HORA_ENCERRAMENTO) {
+            ajustado = ajustado.toLocalDate().plusDays(1).atTime(HORA_ABERTURA, 0);
+        }
+        if (ajustado.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            ajustado = ajustado.toLocalDate().plusDays(1).atTime(HORA_ABERTURA, 0);
+        }
+        return ajustado;
+    }
+
+    /**
+     * Percorre sob demanda os horários livres da agenda de um médico.
+     * Um horário é considerado ocupado quando existe consulta a menos de uma duração de consulta dele.
+     */
+    private static final class CursorMedico {
+        private final UUID medicoId;
+        private final NavigableSet<LocalDateTime> ocupados;
+        private final LocalDateTime fim;
+        private LocalDateTime atual;
+
+        CursorMedico(UUID medicoId, NavigableSet<LocalDateTime> ocupados, LocalDateTime fim) {
+            this.medicoId = medicoId;
+            this.ocupados = ocupados;
+            this.fim = fim;
+        }
+
+        // Posiciona o cursor no primeiro horário livre a partir do horário informado; retorna falso se não houver mais horários no período
+        boolean posicionar(LocalDateTime horario) {
+            var candidato = horario;
+            while (candidato.isBefore(fim)) {
+                var conflitos = ocupados.subSet(candidato.minusMinutes(DURACAO_CONSULTA_MINUTOS), false,
+                        candidato.plusMinutes(DURACAO_CONSULTA_MINUTOS), false);
+                if (conflitos.isEmpty()) {
+                    atual = candidato;
+                    return true;
+                }
+                candidato = proximoHorario(candidato);
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.sistema.gerenciamento.hospitalar.services.impl;
+
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaResumoRecordDto;
+import com.sistema.gerenciamento.hospitalar.enums.MotivoCancelamento;
+import com.sistema.gerenciamento.hospitalar.enums.StatusAtendimento;
+import com.sistema.gerenciamento.hospitalar.enums.TipoAtendimento;
+import com.sistema.gerenciamento.hospitalar.models.ConsultaModel;
+import com.sistema.gerenciamento.hospitalar.repositorys.ClinicaHospitalarRepository;
+import com.sistema.gerenciamento.hospitalar.repositorys.ConsultaArquivoJdbcRepository;
+import com.sistema.gerenciamento.hospitalar.repositorys.ConsultaArquivoJdbcRepository.ConsultaArquivada;
+import com.sistema.gerenciamento.hospitalar.repositorys.MedicoRepository;
+import com.sistema.gerenciamento.hospitalar.repositorys.PacienteRepository;
+import com.sistema.gerenciamento.hospitalar.services.ArquivoConsultaService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Arquivo frio das consultas finalizadas.
+ *
+ * As consultas realizadas ou canceladas há mais tempo que o período configurado saem da TB_CONSULTA_MEDICA, deixando
+ * menores os índices usados pelo agendamento. O job percorre as consultas em ordem de (data, ID) com paginação por
+ * chave (keyset), e cada lote é movido em uma transação própria: vira um segmento comprimido, é indexado por consulta,
+ * paciente, médico e clínica e é removido da tabela de consultas. As consultas arquivadas continuam disponíveis para
+ * leitura pela consulta por ID e pelo histórico do paciente.
+ */
+@Service
+public class ArquivoConsultaServiceImpl implements ArquivoConsultaService {
+
+    private static final Logger logger = LogManager.getLogger(ArquivoConsultaServiceImpl.class);
+
+    // Início do keyset: anterior a qualquer consulta
+    private static final LocalDateTime INICIO_KEYSET = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final UUID MENOR_UUID = new UUID(0L, 0L);
+
+    final ConsultaArquivoJdbcRepository consultaArquivoJdbcRepository;
+    final MedicoRepository medicoRepository;
+    final PacienteRepository pacienteRepository;
+    final ClinicaHospitalarRepository clinicaHospitalarRepository;
+    final TransactionTemplate transactionTemplate;
+    final Clock clock;
+    final int idadeMinimaDias;
+    final int tamanhoLote;
+
+    public ArquivoConsultaServiceImpl(ConsultaArquivoJdbcRepository consultaArquivoJdbcRepository, MedicoRepository medicoRepository,
+                                      PacienteRepository pacienteRepository, ClinicaHospitalarRepository clinicaHospitalarRepository,
+                                      TransactionTemplate transactionTemplate, Clock clock,
+                                      @Value("${consulta.arquivo.idade-minima-dias:365}") int idadeMinimaDias,
+                                      @Value("${consulta.arquivo.tamanho-lote:1000}") int tamanhoLote) {
+        this.consultaArquivoJdbcRepository = consultaArquivoJdbcRepository;
+        this.medicoRepository = medicoRepository;
+        this.pacienteRepository = pacienteRepository;
+        this.clinicaHospitalarRepository = clinicaHospitalarRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+        this.idadeMinimaDias = idadeMinimaDias;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    /**
+     * Move ao arquivo as consultas finalizadas anteriores ao corte, um lote por transação.
+     *
+     * @return Quantidade de consultas arquivadas.
+     */
+    @Scheduled(cron = "${consulta.arquivo.cron:0 0 2 * * *}", zone = "America/Recife")
+    @Override
+    public int arquivarConsultasAntigas() {
+        var inicio = System.nanoTime();
+        var corte = LocalDateTime.now(clock).minusDays(idadeMinimaDias);
+        var ultimaData = INICIO_KEYSET;
+        var ultimoId = MENOR_UUID;
+        var arquivadas = 0;
+        var bytes = 0L;
+
+        while (true) {
+            var dataAnterior = ultimaData;
+            var idAnterior = ultimoId;
+            var lote = transactionTemplate.execute(status -> {
+                var consultas = consultaArquivoJdbcRepository.buscarParaArquivar(corte, dataAnterior, idAnterior, tamanhoLote);
+                if (consultas.isEmpty()) {
+                    return new LoteArquivado(consultas, 0);
+                }
+                return new LoteArquivado(consultas, consultaArquivoJdbcRepository.arquivar(consultas, LocalDateTime.now(clock)));
+            });
+            if (lote == null || lote.consultas().isEmpty()) {
+                break;
+            }
+            var ultima = lote.consultas().get(lote.consultas().size() - 1);
+            ultimaData = ultima.dataConsulta();
+            ultimoId = ultima.consultaId();
+            arquivadas += lote.consultas().size();
+            bytes += lote.bytes();
+            if (lote.consultas().size() < tamanhoLote) {
+                break;
+            }
+        }
+
+        if (arquivadas > 0) {
+            var segundos = Math.max((System.nanoTime() - inicio) / 1_000_000_000.0, 0.001);
+            logger.info("{} consultas finalizadas antes de {} arquivadas em {} KB ({} consultas/s)",
+                    arquivadas, corte, bytes / 1024, Math.round(arquivadas / segundos));
+        }
+        return arquivadas;
+    }
+
+    /**
+     * Busca uma consulta no arquivo, remontando o modelo com o médico, o paciente e a clínica atuais.
+     *
+     * @param consultaId ID da consulta.
+     * @return Optional<ConsultaModel> Consulta arquivada, se existir.
+     */
+    @Override
+    public Optional<ConsultaModel> findArquivadaById(UUID consultaId) {
+        return consultaArquivoJdbcRepository.buscarPorId(consultaId).map(this::paraConsultaModel);
+    }
+
+    /**
+     * Busca o resumo das consultas arquivadas do paciente.
+     *
+     * @param pacienteId ID do paciente.
+     * @return List<ConsultaResumoRecordDto> Consultas arquivadas do paciente.
+     */
+    @Override
+    public List<ConsultaResumoRecordDto> findArquivadasByPaciente(UUID pacienteId) {
+        return consultaArquivoJdbcRepository.buscarPorPaciente(pacienteId).stream()
+                .map(consulta -> new ConsultaResumoRecordDto(consulta.consultaId(), consulta.dataConsulta(),
+                        TipoAtendimento.valueOf(consulta.tipoAtendimento()), StatusAtendimento.valueOf(consulta.statusAtendimento()),
+                        consulta.motivoCancelamento() == null ? null : MotivoCancelamento.valueOf(consulta.motivoCancelamento()),
+                        consulta.valorConsulta(), consulta.local(), consulta.medicoId(), consulta.clinicaId(), true))
+                .toList();
+    }
+
+    @Override
+    public boolean existsArquivadaByMedicoId(UUID medicoId) {
+        return consultaArquivoJdbcRepository.existePorMedico(medicoId);
+    }
+
+    @Override
+    public boolean existsArquivadaByPacienteId(UUID pacienteId) {
+        return consultaArquivoJdbcRepository.existePorPaciente(pacienteId);
+    }
+
+    @Override
+    public boolean existsArquivadaByClinicaId(UUID clinicaId) {
+        return consultaArquivoJdbcRepository.existePorClinica(clinicaId);
+    }
+
+    private ConsultaModel paraConsultaModel(ConsultaArquivada consulta) {
+        var consultaModel = new ConsultaModel();
+        consultaModel.setConsultaId(consulta.consultaId());
+        consultaModel.setTipoAtendimento(TipoAtendimento.valueOf(consulta.tipoAtendimento()));
+        consultaModel.setStatusAtendimento(StatusAtendimento.valueOf(consulta.statusAtendimento()));
+        consultaModel.setValorConsulta(consulta.valorConsulta());
+        consultaModel.setDataConsulta(consulta.dataConsulta());
+        consultaModel.setDataCadastro(consulta.dataCadastro());
+        consultaModel.setDataAtualizacao(consulta.dataAtualizacao());
+        consultaModel.setLocal(consulta.local());
+        consultaModel.setMotivoCancelamento(consulta.motivoCancelamento() == null ? null : MotivoCancelamento.valueOf(consulta.motivoCancelamento()));
+        consultaModel.setResultadoConsulta(consulta.resultadoConsulta());
+        consultaModel.setObservacao(consulta.observacao());
+        if (consulta.medicoId() != null) {
+            consultaModel.setMedicoConsulta(medicoRepository.findById(consulta.medicoId()).orElse(null));
+        }
+        if (consulta.pacienteId() != null) {
+            consultaModel.setPacienteConsulta(pacienteRepository.findById(consulta.pacienteId()).orElse(null));
+        }
+        if (consulta.clinicaId() != null) {
+            consultaModel.setClinicaConsulta(clinicaHospitalarRepository.findById(consulta.clinicaId()).orElse(null));
+        }
+        return consultaModel;
+    }
+
+    // Consultas de um lote arquivado e o tamanho do segmento gravado
+    private record LoteArquivado(List<ConsultaArquivada> consultas, int bytes) {
+    }
+}
@@ -0,0 +1,256 @@
+package com.sistema.gerenciamento.hospitalar.services.impl;
+
+import com.sistema.gerenciamento.hospitalar.dtos.EnderecoRecordDto;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Base local de CEPs em um arquivo binário ordenado pelo CEP e mapeado em memória.
+ *
+ * O arquivo é gerado a partir de um CSV com cabeçalho (separado por vírgula ou ponto e vírgula) e tem três partes:
+ * - cabeçalho: assinatura e quantidade de CEPs (4 bytes cada);
+ * - entradas ordenadas pelo CEP, cada uma com o CEP e a posição do endereço na área de dados (4 bytes cada);
+ * - área de dados: os campos de cada endereço em UTF-8, precedidos do tamanho em bytes (2 bytes).
+ * A busca binária lê as entradas diretamente do arquivo mapeado, sem cópias para o heap, e só o endereço encontrado é
+ * decodificado. O conteúdo fica no cache de páginas do sistema operacional, fora do heap.
+ */
+final class BaseCepLocal {
+
+    // "CEP1": muda junto com o formato do arquivo
+    private static final int ASSINATURA = 0x43455031;
+    private static final int TAMANHO_CABECALHO = 8;
+    private static final int TAMANHO_ENTRADA = 8;
+    private static final int TAMANHO_MAXIMO_CAMPO = 0xFFFF;
+
+    // Campos gravados para cada CEP, nesta ordem
+    private static final int LOGRADOURO = 0;
+    private static final int COMPLEMENTO = 1;
+    private static final int BAIRRO = 2;
+    private static final int LOCALIDADE = 3;
+    private static final int UF = 4;
+    private static final int IBGE = 5;
+    private static final int QUANTIDADE_CAMPOS = 6;
+
+    // Nomes aceitos no cabeçalho do CSV (em minúsculas); -1 é a coluna do CEP
+    private static final Map<String, Integer> COLUNAS = Map.ofEntries(
+            Map.entry("cep", -1),
+            Map.entry("logradouro", LOGRADOURO),
+            Map.entry("endereco", LOGRADOURO),
+            Map.entry("complemento", COMPLEMENTO),
+            Map.entry("bairro", BAIRRO),
+            Map.entry("localidade", LOCALIDADE),
+            Map.entry("cidade", LOCALIDADE),
+            Map.entry("municipio", LOCALIDADE),
+            Map.entry("uf", UF),
+            Map.entry("estado", UF),
+            Map.entry("ibge", IBGE),
+            Map.entry("codigo_ibge", IBGE));
+
+    private final MappedByteBuffer arquivo;
+    private final int quantidade;
+    private final int inicioDados;
+
+    private BaseCepLocal(MappedByteBuffer arquivo, int quantidade) {
+        this.arquivo = arquivo;
+        this.quantidade = quantidade;
+        this.inicioDados = TAMANHO_CABECALHO + quantidade * TAMANHO_ENTRADA;
+    }
+
+    /**
+     * Mapeia um arquivo gerado por importar(). O mapeamento continua válido depois de o canal ser fechado, e as
+     * leituras por posição absoluta podem ser feitas por várias threads ao mesmo tempo.
+     */
+    static BaseCepLocal abrir(Path indice) throws IOException {
+        try (var canal = FileChannel.open(indice, StandardOpenOption.READ)) {
+            var tamanho = canal.size();
+            if (tamanho > Integer.MAX_VALUE) {
+                throw new IOException("Base de CEPs maior que 2 GB: " + indice);
+            }
+            var arquivo = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+            if (tamanho < TAMANHO_CABECALHO || arquivo.getInt(0) != ASSINATURA
+                    || tamanho < TAMANHO_CABECALHO + (long) arquivo.getInt(4) * TAMANHO_ENTRADA) {
+                throw new IOException("Arquivo não é uma base de CEPs: " + indice);
+            }
+            return new BaseCepLocal(arquivo, arquivo.getInt(4));
+        }
+    }
+
+    /**
+     * Gera o arquivo da base a partir do CSV e retorna a quantidade de CEPs gravados. Linhas sem um CEP válido são
+     * ignoradas e, para CEPs repetidos, vale a última linha. Os endereços são gravados em um arquivo temporário na
+     * ordem do CSV e apenas os pares (CEP, posição) ficam em memória para a ordenação; o arquivo final substitui o
+     * anterior de uma vez, sem afetar uma base já mapeada.
+     */
+    static int importar(Path csv, Path indice) throws IOException {
+        var diretorio = Files.createDirectories(indice.toAbsolutePath().getParent());
+        var dados = Files.createTempFile(diretorio, "ceps", ".dados");
+        var temporario = Files.createTempFile(diretorio, "ceps", ".tmp");
+        try {
+            // CEP nos 32 bits mais altos e posição nos mais baixos: a ordenação é pelo CEP e, no mesmo CEP, pela linha
+            var chaves = new long[1 << 16];
+            var quantidade = 0;
+            try (var leitor = Files.newBufferedReader(csv, StandardCharsets.UTF_8);
+                 var saida = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(dados)))) {
+                var cabecalho = leitor.readLine();
+                if (cabecalho == null) {
+                    throw new IOException("CSV de CEPs vazio: " + csv);
+                }
+                cabecalho = cabecalho.replace("\uFEFF", "");
+                var separador = cabecalho.indexOf(';') >= 0 ? ';' : ',';
+                var colunas = colunas(campos(cabecalho, separador), csv);
+
+                String linha;
+                while ((linha = leitor.readLine()) != null) {
+                    var campos = campos(linha, separador);
+                    var cep = CepServiceImpl.normalizar(valor(campos, colunas[0]));
+                    if (cep == null) {
+                        continue;
+                    }
+                    long posicao = saida.size();
+                    if (posicao > Integer.MAX_VALUE - QUANTIDADE_CAMPOS * (TAMANHO_MAXIMO_CAMPO + 2L)) {
+                        throw new IOException("CSV de CEPs grande demais para uma base: " + csv);
+                    }
+                    for (int campo = 0; campo < QUANTIDADE_CAMPOS; campo++) {
+                        escreverCampo(saida, valor(campos, colunas[campo + 1]));
+                    }
+                    if (quantidade == chaves.length) {
+                        chaves = Arrays.copyOf(chaves, quantidade * 2);
+                    }
+                    chaves[quantidade++] = Long.parseLong(cep) << 32 | posicao;
+                }
+            }
+
+            Arrays.sort(chaves, 0, quantidade);
+            var unicos = 0;
+            for (int i = 0; i < quantidade; i++) {
+                if (i + 1 == quantidade || chaves[i] >>> 32 != chaves[i + 1] >>> 32) {
+                    chaves[unicos++] = chaves[i];
+                }
+            }
+
+            try (var saida = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporario)))) {
+                saida.writeInt(ASSINATURA);
+                saida.writeInt(unicos);
+                for (int i = 0; i < unicos; i++) {
+                    saida.writeLong(chaves[i]);
+                }
+                Files.copy(dados, saida);
+            }
+            Files.move(temporario, indice, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return unicos;
+        } finally {
+            Files.deleteIfExists(dados);
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    // Endereço do CEP (apenas dígitos) ou nulo se a base não tiver o CEP
+    EnderecoRecordDto buscar(String cep) {
+        var procurado = Integer.parseInt(cep);
+        int inicio = 0;
+        int fim = quantidade - 1;
+        while (inicio <= fim) {
+            var meio = (inicio + fim) >>> 1;
+            var entrada = TAMANHO_CABECALHO + meio * TAMANHO_ENTRADA;
+            var atual = arquivo.getInt(entrada);
+            if (atual < procurado) {
+                inicio = meio + 1;
+            } else if (atual > procurado) {
+                fim = meio - 1;
+            } else {
+                return endereco(cep, inicioDados + arquivo.getInt(entrada + 4));
+            }
+        }
+        return null;
+    }
+
+    int tamanho() {
+        return quantidade;
+    }
+
+    private EnderecoRecordDto endereco(String cep, int posicao) {
+        var campos = new String[QUANTIDADE_CAMPOS];
+        for (int campo = 0; campo < QUANTIDADE_CAMPOS; campo++) {
+            var tamanho = Short.toUnsignedInt(arquivo.getShort(posicao));
+            var bytes = new byte[tamanho];
+            arquivo.get(posicao + 2, bytes);
+            campos[campo] = new String(bytes, StandardCharsets.UTF_8);
+            posicao += 2 + tamanho;
+        }
+        // Mesmo formato de CEP devolvido pelo ViaCEP
+        return new EnderecoRecordDto(campos[LOGRADOURO], cep.substring(0, 5) + "-" + cep.substring(5), campos[BAIRRO],
+                campos[LOCALIDADE], campos[UF], null, campos[COMPLEMENTO], campos[IBGE]);
+    }
+
+    private static void escreverCampo(DataOutputStream saida, String valor) throws IOException {
+        var bytes = valor.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > TAMANHO_MAXIMO_CAMPO) {
+            throw new IOException("Campo com mais de " + TAMANHO_MAXIMO_CAMPO + " bytes no CSV de CEPs");
+        }
+        saida.writeShort(bytes.length);
+        saida.write(bytes);
+    }
+
+    // Posição no CSV da coluna do CEP (índice 0) e de cada campo gravado (índices seguintes); -1 se ausente
+    private static int[] colunas(List<String> cabecalho, Path csv) throws IOException {
+        var colunas = new int[QUANTIDADE_CAMPOS + 1];
+        Arrays.fill(colunas, -1);
+        for (int i = 0; i < cabecalho.size(); i++) {
+            var campo = COLUNAS.get(cabecalho.get(i).toLowerCase(Locale.ROOT));
+            if (campo != null && colunas[campo + 1] < 0) {
+                colunas[campo + 1] = i;
+            }
+        }
+        if (colunas[0] < 0) {
+            throw new IOException("CSV de CEPs sem a coluna cep: " + csv);
+        }
+        return colunas;
+    }
+
+    private static String valor(List<String> campos, int coluna) {
+        return coluna >= 0 && coluna < campos.size() ? campos.get(coluna) : "";
+    }
+
+    // Campos de uma linha do CSV, com suporte a valores entre aspas (aspas duplicadas dentro do valor)
+    static List<String> campos(String linha, char separador) {
+        var campos = new ArrayList<String>();
+        var atual = new StringBuilder();
+        var entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            var c = linha.charAt(i);
+            if (entreAspas) {
+                if (c != '"') {
+                    atual.append(c);
+                } else if (i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else {
+                    entreAspas = false;
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(atual.toString().strip());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString().strip());
+        return campos;
+    }
+}
@@ -0,0 +1,179 @@
+package com.sistema.gerenciamento.hospitalar.services.impl;
+
+import com.sistema.gerenciamento.hospitalar.dtos.PessoaBuscaRecordDto;
+import com.sistema.gerenciamento.hospitalar.enums.TipoPessoa;
+import com.sistema.gerenciamento.hospitalar.events.PessoaAlteradaEvent;
+import com.sistema.gerenciamento.hospitalar.repositorys.BuscaPessoaJdbcRepository;
+import com.sistema.gerenciamento.hospitalar.repositorys.BuscaPessoaJdbcRepository.Pessoa;
+import com.sistema.gerenciamento.hospitalar.services.BuscaPessoaService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Busca de pessoas por nome para o autocompletar da recepção.
+ *
+ * Os nomes de pacientes, funcionários e médicos ficam em um índice de trigramas em memória, que responde em poucos
+ * milissegundos mesmo para termos comuns (no banco de dados, ordenar todos os nomes parecidos com o termo custa dezenas
+ * de milissegundos). O índice é mantido pelos eventos de alteração de pessoa, aplicados após a confirmação da transação,
+ * e reconstruído periodicamente a partir do banco de dados para descartar as posições removidas e corrigir qualquer
+ * alteração feita fora da aplicação.
+ */
+@Service
+public class BuscaPessoaServiceImpl implements BuscaPessoaService {
+
+    private static final Logger logger = LogManager.getLogger(BuscaPessoaServiceImpl.class);
+
+    // Com menos caracteres o termo não forma trigramas suficientes para diferenciar os nomes
+    static final int TAMANHO_MINIMO_TERMO = 2;
+    static final int LIMITE_MAXIMO = 50;
+
+    final BuscaPessoaJdbcRepository buscaPessoaJdbcRepository;
+    final double limiarSemelhanca;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Timer tempoBusca;
+    private IndiceTrigramasPessoas indice = new IndiceTrigramasPessoas();
+
+    // Eventos recebidos durante uma reconstrução, reaplicados no novo índice antes de substituir o atual
+    private List<PessoaAlteradaEvent> pendentes;
+
+    public BuscaPessoaServiceImpl(BuscaPessoaJdbcRepository buscaPessoaJdbcRepository, MeterRegistry meterRegistry,
+                                  @Value("${busca.pessoas.limiar-semelhanca:0.4}") double limiarSemelhanca) {
+        this.buscaPessoaJdbcRepository = buscaPessoaJdbcRepository;
+        this.limiarSemelhanca = limiarSemelhanca;
+        this.tempoBusca = Timer.builder("busca.pessoas.tempo").register(meterRegistry);
+        Gauge.builder("busca.pessoas.indice.tamanho", this, BuscaPessoaServiceImpl::tamanhoIndice).register(meterRegistry);
+    }
+
+    @Override
+    public List<PessoaBuscaRecordDto> buscar(String termo, int limite) {
+        var termoNormalizado = termo == null ? "" : IndiceTrigramasPessoas.normalizar(termo);
+        if (termoNormalizado.length() < TAMANHO_MINIMO_TERMO) {
+            return List.of();
+        }
+        return tempoBusca.record(() -> {
+            lock.readLock().lock();
+            try {
+                return indice.buscar(termoNormalizado, limiarSemelhanca, Math.clamp(limite, 1, LIMITE_MAXIMO));
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Reconstrói o índice a partir do banco de dados: na inicialização e a cada busca.pessoas.recarga-ms.
+     * A leitura é feita sem bloquear as buscas, que continuam usando o índice atual até a substituição.
+     */
+    @Scheduled(fixedDelayString = "${busca.pessoas.recarga-ms:600000}", initialDelay = 0)
+    public void recarregar() {
+        var inicio = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            pendentes = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        var novoIndice = new IndiceTrigramasPessoas();
+        try {
+            buscaPessoaJdbcRepository.percorrerPessoas(novoIndice::adicionar);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendentes = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendentes.forEach(evento -> aplicar(novoIndice, evento));
+            pendentes = null;
+            indice = novoIndice;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Índice da busca de pessoas carregado com {} pessoas em {} ms", novoIndice.tamanho(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+    }
+
+    /**
+     * Mantém o índice atualizado após a confirmação de cada inclusão, alteração ou exclusão de pessoa.
+     *
+     * @param evento Evento de alteração da pessoa.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPessoa(PessoaAlteradaEvent evento) {
+        if (evento.id() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            aplicar(indice, evento);
+            if (pendentes != null) {
+                pendentes.add(evento);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void aplicar(IndiceTrigramasPessoas indice, PessoaAlteradaEvent evento) {
+        var atual = indice.obter(evento.id());
+        switch (evento.tipo()) {
+            case PACIENTE -> {
+                if (evento.removida()) {
+                    indice.remover(evento.id());
+                } else {
+                    indice.adicionar(new Pessoa(TipoPessoa.PACIENTE, evento.id(), evento.nomeCompleto(), null, null));
+                }
+            }
+            // Preserva o cadastro de médico do funcionário, que chega em eventos próprios
+            case FUNCIONARIO -> {
+                if (evento.removida()) {
+                    indice.remover(evento.id());
+                } else if (atual != null) {
+                    indice.adicionar(new Pessoa(atual.tipo(), atual.id(), evento.nomeCompleto(), atual.medicoId(),
+                            atual.especialidade()));
+                } else {
+                    indice.adicionar(new Pessoa(TipoPessoa.FUNCIONARIO, evento.id(), evento.nomeCompleto(), null, null));
+                }
+            }
+            case MEDICO -> {
+                if (atual == null) {
+                    return;
+                }
+                if (evento.removida()) {
+                    indice.adicionar(new Pessoa(TipoPessoa.FUNCIONARIO, atual.id(), atual.nomeCompleto(), null, null));
+                } else {
+                    indice.adicionar(new Pessoa(TipoPessoa.MEDICO, atual.id(), atual.nomeCompleto(), evento.medicoId(),
+                            evento.especialidade()));
+                }
+            }
+        }
+    }
+
+    private double tamanhoIndice() {
+        lock.readLock().lock();
+        try {
+            return indice.tamanho();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.sistema.gerenciamento.hospitalar.services.impl;
+
+import com.sistema.gerenciamento.hospitalar.exceptions.NotFoundException;
+import com.sistema.gerenciamento.hospitalar.repositorys.ConsultaJdbcRepository;
+import com.sistema.gerenciamento.hospitalar.repositorys.MedicoRepository;
+import com.sistema.gerenciamento.hospitalar.services.CalendarioMedicoService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Gera o calendário (iCalendar, RFC 5545) das consultas de um médico para assinatura em aplicativos de calendário.
+ *
+ * As consultas são lidas por um cursor JDBC e escritas uma a uma na resposta, mantendo o uso de memória
+ * constante independentemente da quantidade de consultas do médico.
+ *
+ * Como os aplicativos de calendário não enviam o token JWT, a assinatura usa um token próprio de cada médico na URL;
+ * apenas o hash do token é gravado, e gerar um novo token ou revogá-lo invalida as assinaturas anteriores.
+ */
+@Service
+public class CalendarioMedicoServiceImpl implements CalendarioMedicoService {
+
+    private static final Logger logger = LogManager.getLogger(CalendarioMedicoServiceImpl.class);
+
+    private static final String FUSO = "America/Recife";
+    private static final DateTimeFormatter FORMATO_LOCAL = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter FORMATO_UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    // Maior quantidade de octetos por linha antes da dobra (RFC 5545, seção 3.1)
+    private static final int OCTETOS_POR_LINHA = 75;
+
+    // Bytes aleatórios do token de assinatura (256 bits)
+    private static final int BYTES_TOKEN = 32;
+
+    private final SecureRandom aleatorio = new SecureRandom();
+
+    final ConsultaJdbcRepository consultaJdbcRepository;
+    final MedicoRepository medicoRepository;
+
+    public CalendarioMedicoServiceImpl(ConsultaJdbcRepository consultaJdbcRepository, MedicoRepository medicoRepository) {
+        this.consultaJdbcRepository = consultaJdbcRepository;
+        this.medicoRepository = medicoRepository;
+    }
+
+    /**
+     * Calcula a versão do calendário a partir da quantidade de consultas e da última atualização.
+     * Criar, alterar ou remover uma consulta do médico sempre muda a versão.
+     *
+     * @param medicoId ID do médico.
+     * @return String ETag do calendário.
+     */
+    @Override
+    public String calcularEtag(UUID medicoId) {
+        var versao = consultaJdbcRepository.versaoCalendarioDoMedico(medicoId);
+        if (versao.quantidade() == 0 && !medicoRepository.existsById(medicoId)) {
+            throw new NotFoundException("ERRO, médico não encontrado!");
+        }
+        var ultimaAtualizacao = versao.ultimaAtualizacao() == null ? 0
+                : versao.ultimaAtualizacao().toInstant(ZoneOffset.UTC).toEpochMilli();
+        return "\"" + medicoId + "-" + versao.quantidade() + "-" + ultimaAtualizacao + "\"";
+    }
+
+    /**
+     * Escreve o calendário do médico na saída, um VEVENT por consulta.
+     *
+     * @param medicoId ID do médico.
+     * @param saida Saída da resposta HTTP.
+     */
+    @Override
+    public void escreverCalendario(UUID medicoId, OutputStream saida) {
+        var writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        var agora = FORMATO_UTC.format(LocalDateTime.now(ZoneOffset.UTC));
+        var quantidade = new int[1];
+        try {
+            linha(writer, "BEGIN:VCALENDAR");
+            linha(writer, "VERSION:2.0");
+            linha(writer, "PRODID:-//Clinica Hospitalar//Agenda Medica//PT");
+            linha(writer, "CALSCALE:GREGORIAN");
+            linha(writer, "METHOD:PUBLISH");
+            linha(writer, "X-WR-CALNAME:Agenda de consultas");
+            linha(writer, "X-WR-TIMEZONE:" + FUSO);
+            // Recife não adota horário de verão: um único componente STANDARD descreve o fuso
+            linha(writer, "BEGIN:VTIMEZONE");
+            linha(writer, "TZID:" + FUSO);
+            linha(writer, "BEGIN:STANDARD");
+            linha(writer, "DTSTART:19700101T000000");
+            linha(writer, "TZOFFSETFROM:-0300");
+            linha(writer, "TZOFFSETTO:-0300");
+            linha(writer, "TZNAME:-03");
+            linha(writer, "END:STANDARD");
+            linha(writer, "END:VTIMEZONE");
+
+            consultaJdbcRepository.percorrerCalendarioDoMedico(medicoId, consulta -> {
+                try {
+                    var inicio = consulta.dataConsulta();
+                    var atualizacao = consulta.dataAtualizacao() == null ? agora
+                            : FORMATO_UTC.format(consulta.dataAtualizacao().atZone(ZoneId.of(FUSO)).withZoneSameInstant(ZoneOffset.UTC));
+                    linha(writer, "BEGIN:VEVENT");
+                    linha(writer, "UID:" + consulta.consultaId() + "@clinica-hospitalar");
+                    linha(writer, "DTSTAMP:" + atualizacao);
+                    linha(writer, "LAST-MODIFIED:" + atualizacao);
+                    linha(writer, "DTSTART;TZID=" + FUSO + ":" + FORMATO_LOCAL.format(inicio));
+                    linha(writer, "DTEND;TZID=" + FUSO + ":" + FORMATO_LOCAL.format(inicio.plusMinutes(AgendaMedicaServiceImpl.DURACAO_CONSULTA_MINUTOS)));
+                    linha(writer, "SUMMARY:" + texto("Consulta - " + consulta.nomePaciente()));
+                    if (consulta.local() != null || consulta.nomeClinica() != null) {
+                        linha(writer, "LOCATION:" + texto(juntar(consulta.nomeClinica(), consulta.local())));
+                    }
+                    linha(writer, "DESCRIPTION:" + texto("Atendimento: " + consulta.tipoAtendimento()
+                            + "\nStatus: " + consulta.statusAtendimento()
+                            + (consulta.motivoCancelamento() != null ? "\nCancelamento: " + consulta.motivoCancelamento() : "")));
+                    linha(writer, "STATUS:" + (consulta.motivoCancelamento() != null ? "CANCELLED" : "CONFIRMED"));
+                    linha(writer, "END:VEVENT");
+                    quantidade[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            linha(writer, "END:VCALENDAR");
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        logger.debug("Calendário do médico {} gerado com {} consultas", medicoId, quantidade[0]);
+    }
+
+    /**
+     * Gera um novo token de assinatura do calendário do médico. O token anterior deixa de ser aceito.
+     *
+     * @param medicoId ID do médico.
+     * @return String Token gerado, exibido apenas nesta resposta.
+     */
+    @Override
+    public String gerarTokenAssinatura(UUID medicoId) {
+        var bytes = new byte[BYTES_TOKEN];
+        aleatorio.nextBytes(bytes);
+        var token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        if (medicoRepository.updateTokenCalendario(medicoId, hash(token)) == 0) {
+            throw new NotFoundException("ERRO, médico não encontrado!");
+        }
+        logger.info("Token de assinatura do calendário do médico {} gerado", medicoId);
+        return token;
+    }
+
+    /**
+     * Revoga o token de assinatura do calendário do médico; o calendário passa a exigir autenticação.
+     *
+     * @param medicoId ID do médico.
+     */
+    @Override
+    public void revogarTokenAssinatura(UUID medicoId) {
+        if (medicoRepository.updateTokenCalendario(medicoId, null) == 0) {
+            throw new NotFoundException("ERRO, médico não encontrado!");
+        }
+        logger.info("Token de assinatura do calendário do médico {} revogado", medicoId);
+    }
+
+    /**
+     * Verifica se o token dá acesso ao calendário do médico.
+     *
+     * @param medicoId ID do médico.
+     * @param token Token informado na URL da assinatura.
+     * @return boolean Verdadeiro se o token é o atual do médico.
+     */
+    @Override
+    public boolean tokenAssinaturaValido(UUID medicoId, String token) {
+        return token != null && !token.isBlank() && medicoRepository.existsTokenCalendario(medicoId, hash(token));
+    }
+
+    private static String hash(String token) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Escreve uma linha de conteúdo, dobrando-a em linhas de até 75 octetos e terminando com CRLF
+    private static void linha(BufferedWriter writer, String conteudo) throws IOException {
+        var octetos = 0;
+        for (int i = 0; i < conteudo.length(); ) {
+            var codePoint = conteudo.codePointAt(i);
+            var tamanho = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8).length;
+            if (octetos + tamanho > OCTETOS_POR_LINHA) {
+                writer.write("\r\n ");
+                octetos = 1;
+            }
+            writer.write(Character.toChars(codePoint));
+            octetos += tamanho;
+            i += Character.charCount(codePoint);
+        }
+        writer.write("\r\n");
+    }
+
+    // Escapa um valor de texto conforme a RFC 5545 (barra invertida, ponto e vírgula, vírgula e quebras de linha)
+    private static String texto(String valor) {
+        return valor.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n");
+    }
+
+    private static String juntar(String primeiro, String segundo) {
+        if (primeiro == null) {
+            return segundo;
+        }
+        return segundo == null ? primeiro : primeiro + " - " + segundo;
+    }
+}
@@ -0,0 +1,312 @@
+package com.sistema.gerenciamento.hospitalar.services.impl;
+
+import com.sistema.gerenciamento.hospitalar.cliente.ViaCepService;
+import com.sistema.gerenciamento.hospitalar.dtos.CepLoteResultadoRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.EnderecoRecordDto;
+import com.sistema.gerenciamento.hospitalar.exceptions.NotFoundException;
+import com.sistema.gerenciamento.hospitalar.exceptions.ServicoIndisponivelException;
+import com.sistema.gerenciamento.hospitalar.services.CepService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Consulta de CEP com cache em memória na frente do ViaCepService.
+ *
+ * As clínicas consultam sempre as mesmas poucas centenas de CEPs, e cada ida ao ViaCEP custa de 100 a 400 ms. O cache
+ * guarda os endereços encontrados e também os CEPs inválidos ou inexistentes (cache negativo, com validade menor), e
+ * descarta o CEP usado há mais tempo ao atingir a capacidade. Consultas simultâneas do mesmo CEP ainda fora do cache
+ * compartilham uma única chamada ao ViaCEP. Com o ViaCEP indisponível, o endereço vencido do cache é devolvido no
+ * lugar do erro.
+ *
+ * Quando configurada, uma base local de CEPs (arquivo mapeado em memória, gerado a partir de um CSV) responde os CEPs
+ * que não estão no cache sem ir à rede; o ViaCEP fica apenas para os CEPs que a base não tem, e uma indisponibilidade
+ * dele não impede o cadastro de endereços desses CEPs.
+ */
+@Service
+public class CepServiceImpl implements CepService {
+
+    private static final Logger logger = LogManager.getLogger(CepServiceImpl.class);
+
+    static final String CEP_INVALIDO = "CEP INVÁLIDO";
+
+    final ViaCepService viaCepService;
+    final Clock clock;
+    final long validadeMs;
+    final long validadeNegativaMs;
+    final String arquivoCsvBase;
+    final String arquivoBase;
+    final int concorrenciaLote;
+
+    // Base local de CEPs; nula enquanto não carregada ou se não configurada
+    private volatile BaseCepLocal baseLocal;
+
+    // Endereços por CEP (apenas dígitos), em ordem de uso para descartar o menos usado; acesso sincronizado no próprio mapa
+    private final Map<String, EntradaCep> cache;
+
+    // Chamadas ao ViaCEP em andamento, compartilhadas pelas consultas simultâneas do mesmo CEP
+    private final Map<String, Mono<EnderecoRecordDto>> emAndamento = new ConcurrentHashMap<>();
+
+    private final Counter acertos;
+    private final Counter acertosNegativos;
+    private final Counter acertosBaseLocal;
+    private final Counter falhas;
+    private final Counter compartilhadas;
+    private final Counter degradadas;
+    private final Timer tempoViaCep;
+
+    public CepServiceImpl(ViaCepService viaCepService, Clock clock, MeterRegistry meterRegistry,
+                          @Value("${viacep.cache.capacidade:10000}") int capacidade,
+                          @Value("${viacep.cache.validade-minutos:1440}") long validadeMinutos,
+                          @Value("${viacep.cache.validade-negativa-minutos:10}") long validadeNegativaMinutos,
+                          @Value("${cep.base-local.csv:}") String arquivoCsvBase,
+                          @Value("${cep.base-local.arquivo:}") String arquivoBase,
+                          @Value("${cep.lote.concorrencia:8}") int concorrenciaLote) {
+        this.viaCepService = viaCepService;
+        this.clock = clock;
+        this.validadeMs = Duration.ofMinutes(validadeMinutos).toMillis();
+        this.validadeNegativaMs = Duration.ofMinutes(validadeNegativaMinutos).toMillis();
+        this.arquivoCsvBase = arquivoCsvBase;
+        this.arquivoBase = arquivoBase;
+        this.concorrenciaLote = concorrenciaLote;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, EntradaCep> maisAntiga) {
+                return size() > capacidade;
+            }
+        };
+        this.acertos = Counter.builder("cep.cache").tag("resultado", "acerto").register(meterRegistry);
+        this.acertosNegativos = Counter.builder("cep.cache").tag("resultado", "acerto_negativo").register(meterRegistry);
+        this.acertosBaseLocal = Counter.builder("cep.cache").tag("resultado", "base_local").register(meterRegistry);
+        this.falhas = Counter.builder("cep.cache").tag("resultado", "falha").register(meterRegistry);
+        this.compartilhadas = Counter.builder("cep.viacep.compartilhadas").register(meterRegistry);
+        this.degradadas = Counter.builder("cep.cache").tag("resultado", "degradado").register(meterRegistry);
+        this.tempoViaCep = Timer.builder("cep.viacep.tempo").register(meterRegistry);
+        Gauge.builder("cep.cache.tamanho", this, CepServiceImpl::tamanhoCache).register(meterRegistry);
+        Gauge.builder("cep.base.tamanho", this, CepServiceImpl::tamanhoBaseLocal).register(meterRegistry);
+    }
+
+    // Carrega a base local logo ao iniciar; até lá (ou se falhar) as consultas seguem para o ViaCEP
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciarAplicacao() {
+        carregarBaseLocal();
+    }
+
+    /**
+     * Mapeia a base local de CEPs (cep.base-local.arquivo), importando antes o CSV (cep.base-local.csv) quando a base
+     * ainda não existir ou for mais antiga que o CSV.
+     */
+    void carregarBaseLocal() {
+        if (arquivoBase.isBlank()) {
+            return;
+        }
+        var inicio = System.nanoTime();
+        try {
+            var arquivo = Path.of(arquivoBase);
+            if (!arquivoCsvBase.isBlank()) {
+                var csv = Path.of(arquivoCsvBase);
+                if (Files.notExists(arquivo)
+                        || Files.getLastModifiedTime(arquivo).compareTo(Files.getLastModifiedTime(csv)) < 0) {
+                    var importados = BaseCepLocal.importar(csv, arquivo);
+                    logger.info("{} CEPs importados de {} em {} ms", importados, csv,
+                            Duration.ofNanos(System.nanoTime() - inicio).toMillis());
+                }
+            }
+            baseLocal = BaseCepLocal.abrir(arquivo);
+            logger.info("Base local com {} CEPs carregada em {} ms", baseLocal.tamanho(),
+                    Duration.ofNanos(System.nanoTime() - inicio).toMillis());
+        } catch (IOException | RuntimeException e) {
+            logger.error("Base local de CEPs indisponível, os CEPs fora do cache serão consultados no ViaCEP", e);
+        }
+    }
+
+    @Override
+    public Mono<EnderecoRecordDto> consultarCep(String cep) {
+        var digitos = normalizar(cep);
+        if (digitos == null) {
+            return Mono.error(new NotFoundException(CEP_INVALIDO));
+        }
+        return Mono.defer(() -> {
+            var entrada = obterDoCache(digitos);
+            var local = respostaLocal(digitos, entrada);
+            if (local != null) {
+                return local;
+            }
+            falhas.increment();
+
+            var consulta = emAndamento.get(digitos);
+            if (consulta == null) {
+                var nova = consultarViaCep(digitos);
+                consulta = emAndamento.putIfAbsent(digitos, nova);
+                if (consulta == null) {
+                    consulta = nova;
+                } else {
+                    compartilhadas.increment();
+                }
+            } else {
+                compartilhadas.increment();
+            }
+            // ViaCEP indisponível: resposta degradada com o endereço vencido, se o CEP já tiver sido encontrado antes
+            var vencido = entrada == null ? null : entrada.endereco();
+            if (vencido == null) {
+                return consulta;
+            }
+            return consulta.onErrorResume(ServicoIndisponivelException.class, e -> {
+                degradadas.increment();
+                return Mono.just(vencido);
+            });
+        });
+    }
+
+    /**
+     * Cada CEP distinto (comparado pelos dígitos) é respondido uma única vez. Os que estão no cache ou na base local
+     * são devolvidos logo; os demais passam por consultarCep com no máximo cep.lote.concorrencia consultas ao mesmo
+     * tempo, e os resultados saem à medida que cada consulta termina.
+     */
+    @Override
+    public Flux<CepLoteResultadoRecordDto> consultarCeps(List<String> ceps) {
+        var invalidos = new LinkedHashSet<String>();
+        var distintos = new LinkedHashSet<String>();
+        for (var cep : ceps) {
+            var digitos = normalizar(cep);
+            if (digitos == null) {
+                invalidos.add(String.valueOf(cep));
+            } else {
+                distintos.add(digitos);
+            }
+        }
+
+        var respondidos = new ArrayList<Mono<CepLoteResultadoRecordDto>>();
+        var pendentes = new ArrayList<String>();
+        for (var cep : invalidos) {
+            respondidos.add(Mono.just(CepLoteResultadoRecordDto.naoEncontrado(cep, CEP_INVALIDO)));
+        }
+        for (var cep : distintos) {
+            var local = respostaLocal(cep, obterDoCache(cep));
+            if (local != null) {
+                respondidos.add(resultadoLote(cep, local));
+            } else {
+                pendentes.add(cep);
+            }
+        }
+        return Flux.concat(respondidos)
+                .concatWith(Flux.fromIterable(pendentes).flatMap(cep -> resultadoLote(cep, consultarCep(cep)), concorrenciaLote));
+    }
+
+    private static Mono<CepLoteResultadoRecordDto> resultadoLote(String cep, Mono<EnderecoRecordDto> consulta) {
+        return consulta
+                .map(endereco -> CepLoteResultadoRecordDto.encontrado(cep, endereco))
+                .onErrorResume(e -> Mono.just(CepLoteResultadoRecordDto.naoEncontrado(cep, e.getMessage())));
+    }
+
+    // Resposta do cache (ainda válida) ou da base local, sem ir ao ViaCEP; nula quando o CEP precisa ser consultado
+    private Mono<EnderecoRecordDto> respostaLocal(String cep, EntradaCep entrada) {
+        if (entrada != null && entrada.expiraEm() > clock.millis()) {
+            if (entrada.endereco() == null) {
+                acertosNegativos.increment();
+                return Mono.error(new NotFoundException(entrada.erro()));
+            }
+            acertos.increment();
+            return Mono.just(entrada.endereco());
+        }
+        // A base local é consultada direto no arquivo mapeado e não ocupa o cache
+        var base = baseLocal;
+        var endereco = base == null ? null : base.buscar(cep);
+        if (endereco != null) {
+            acertosBaseLocal.increment();
+            return Mono.just(endereco);
+        }
+        return null;
+    }
+
+    // Chamada ao ViaCEP compartilhável (cache()). O resultado vai para o cache e a chamada sai de emAndamento antes de
+    // ser entregue às consultas, para que a próxima consulta já encontre o cache atualizado e não reaproveite a chamada
+    // encerrada; a remoção é condicional para não retirar uma chamada mais nova do mesmo CEP.
+    private Mono<EnderecoRecordDto> consultarViaCep(String cep) {
+        var chamada = new AtomicReference<Mono<EnderecoRecordDto>>();
+        var nova = Mono.defer(() -> {
+                    var inicio = Timer.start();
+                    return viaCepService.consultarCep(cep).doFinally(sinal -> inicio.stop(tempoViaCep));
+                })
+                .doOnSuccess(endereco -> {
+                    if (endereco != null) {
+                        guardar(cep, new EntradaCep(endereco, null, clock.millis() + validadeMs));
+                    }
+                    emAndamento.remove(cep, chamada.get());
+                })
+                .doOnError(e -> {
+                    if (e instanceof NotFoundException) {
+                        guardar(cep, new EntradaCep(null, e.getMessage(), clock.millis() + validadeNegativaMs));
+                    }
+                    emAndamento.remove(cep, chamada.get());
+                })
+                .cache();
+        chamada.set(nova);
+        return nova;
+    }
+
+    // Entrada do CEP, mesmo vencida: o endereço vencido só sai do cache quando for substituído ou descartado pela
+    // capacidade, para servir de resposta degradada; o cache negativo vencido é removido
+    private EntradaCep obterDoCache(String cep) {
+        synchronized (cache) {
+            var entrada = cache.get(cep);
+            if (entrada != null && entrada.endereco() == null && entrada.expiraEm() <= clock.millis()) {
+                cache.remove(cep);
+                return null;
+            }
+            return entrada;
+        }
+    }
+
+    private void guardar(String cep, EntradaCep entrada) {
+        synchronized (cache) {
+            cache.put(cep, entrada);
+        }
+    }
+
+    private double tamanhoCache() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private double tamanhoBaseLocal() {
+        var base = baseLocal;
+        return base == null ? 0 : base.tamanho();
+    }
+
+    // Apenas os dígitos do CEP ("01001-000" e "01001000" são o mesmo CEP); nulo se não tiver 8 dígitos
+    static String normalizar(String cep) {
+        if (cep == null) {
+            return null;
+        }
+        var digitos = cep.strip().replace("-", "").replace(".", "");
+        return digitos.length() == 8 && digitos.chars().allMatch(c -> c >= '0' && c <= '9') ? digitos : null;
+    }
+
+    // Endereço encontrado ou, no cache negativo, a mensagem do erro (endereco nulo)
+    private record EntradaCep(EnderecoRecordDto endereco, String erro, long expiraEm) {
+    }
+}
@@ -1,11 +1,13 @@
 package com.sistema.gerenciamento.hospitalar.services.impl;
 
 import com.sistema.gerenciamento.hospitalar.dtos.ClinicaHospitalarRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.PaginaCursorRecordDto;
 import com.sistema.gerenciamento.hospitalar.exceptions.NotFoundException;
 import com.sistema.gerenciamento.hospitalar.models.ClinicaHospitalarModel;
 import com.sistema.gerenciamento.hospitalar.repositorys.ClinicaHospitalarRepository;
 import com.sistema.gerenciamento.hospitalar.repositorys.ConsultaRepository;
 import com.sistema.gerenciamento.hospitalar.services.ClinicaHospitalarService;
+import com.sistema.gerenciamento.hospitalar.specifications.PaginacaoCursor;
 import org.springframework.beans.BeanUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -62,6 +64,19 @@ public class ClinicaHospitalarServiceImpl implements ClinicaHospitalarService {
         return clinicaHospitalarRepository.findAll(spec, pageable);
     }
 
+    /**
+     * Método para listar clínicas hospitalares por cursor, sem contagem total.
+     *
+     * @param spec Especificação de filtros a serem aplicados na consulta.
+     * @param cursor Cursor opaco da página anterior, ou nulo para a primeira página.
+     * @param limit Quantidade máxima de itens na página.
+     * @return PaginaCursorRecordDto<ClinicaHospitalarModel> Itens da página e o cursor da próxima.
+     */
+    @Override
+    public PaginaCursorRecordDto<ClinicaHospitalarModel> findAllCursor(Specification<ClinicaHospitalarModel> spec, String cursor, int limit) {
+        return PaginacaoCursor.buscar(clinicaHospitalarRepository, spec, "dataCadastro", "clinicaHospitlarId", cursor, limit);
+    }
+
     // Método para encontrar uma clínica hospitalar por ID
     @Override
     public Optional<ClinicaHospitalarModel> findById(UUID clinicaId) {
@@ -95,22 +110,4 @@ public class ClinicaHospitalarServiceImpl implements ClinicaHospitalarService {
     public void deleteByClinicaId(ClinicaHospitalarModel clinicaHospitalarModel) {
         clinicaHospitalarRepository.delete(clinicaHospitalarModel);
     }
-
-    // Método para verificar se já existe uma clínica hospitalar com o nome fornecido
-    @Override
-    public boolean existByNome(String nome) {
-        return clinicaHospitalarRepository.existsByNome(nome);
-    }
-
-    // Método para verificar se já existe uma clínica hospitalar com o CNPJ fornecido
-    @Override
-    public boolean existByCnpj(String cnpj) {
-        return clinicaHospitalarRepository.existsByCnpj(cnpj);
-    }
-
-    // Método para verificar se já existe uma clínica hospitalar com o email fornecido
-    @Override
-    public boolean existByEmail(String email) {
-        return clinicaHospitalarRepository.existsByEmail(email);
-    }
 }
\ No newline at end of file
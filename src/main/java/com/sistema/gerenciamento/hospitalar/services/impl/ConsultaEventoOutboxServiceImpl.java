@@ -0,0 +1,86 @@
+package com.sistema.gerenciamento.hospitalar.services.impl;
+
+import com.sistema.gerenciamento.hospitalar.events.ConsultaAlteradaEvent;
+import com.sistema.gerenciamento.hospitalar.events.ConsultaEvento;
+import com.sistema.gerenciamento.hospitalar.events.sink.ConsultaEventoSink;
+import com.sistema.gerenciamento.hospitalar.repositorys.ConsultaEventoJdbcRepository;
+import com.sistema.gerenciamento.hospitalar.services.ConsultaEventoOutboxService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * Outbox transacional dos eventos de consulta.
+ *
+ * Cada alteração de consulta é gravada na TB_CONSULTA_EVENTO pelo ouvinte síncrono, dentro da mesma transação
+ * da alteração: se a transação for desfeita, o evento também é. O relay agendado drena os eventos pendentes em
+ * lotes (SELECT ... FOR UPDATE SKIP LOCKED), entrega cada lote ao ConsultaEventoSink e marca os eventos como
+ * publicados na mesma transação do bloqueio.
+ */
+@Service
+public class ConsultaEventoOutboxServiceImpl implements ConsultaEventoOutboxService {
+
+    private static final Logger logger = LogManager.getLogger(ConsultaEventoOutboxServiceImpl.class);
+
+    final ConsultaEventoJdbcRepository consultaEventoJdbcRepository;
+    final ConsultaEventoSink consultaEventoSink;
+    final TransactionTemplate transactionTemplate;
+    final Clock clock;
+    final int tamanhoLote;
+
+    public ConsultaEventoOutboxServiceImpl(ConsultaEventoJdbcRepository consultaEventoJdbcRepository, ConsultaEventoSink consultaEventoSink,
+                                           TransactionTemplate transactionTemplate, Clock clock,
+                                           @Value("${consulta.outbox.tamanho-lote:500}") int tamanhoLote) {
+        this.consultaEventoJdbcRepository = consultaEventoJdbcRepository;
+        this.consultaEventoSink = consultaEventoSink;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    /**
+     * Grava a transição no outbox. Ouvinte síncrono: executa na transação de quem publicou o evento.
+     *
+     * @param evento Alteração da consulta.
+     */
+    @EventListener
+    @Override
+    public void registrar(ConsultaAlteradaEvent evento) {
+        consultaEventoJdbcRepository.inserir(ConsultaEvento.de(evento, LocalDateTime.now(clock)));
+    }
+
+    /**
+     * Drena o outbox até não haver mais eventos pendentes, um lote por transação.
+     *
+     * @return int Quantidade de eventos publicados.
+     */
+    @Scheduled(fixedDelayString = "${consulta.outbox.intervalo-ms:5000}")
+    @Override
+    public int publicarPendentes() {
+        var total = 0;
+        Integer publicados;
+        do {
+            publicados = transactionTemplate.execute(status -> {
+                var eventos = consultaEventoJdbcRepository.bloquearPendentes(tamanhoLote);
+                if (!eventos.isEmpty()) {
+                    consultaEventoSink.publicar(eventos);
+                    consultaEventoJdbcRepository.marcarPublicados(eventos, LocalDateTime.now(clock));
+                }
+                return eventos.size();
+            });
+            total += publicados;
+        } while (publicados != null && publicados == tamanhoLote);
+
+        if (total > 0) {
+            logger.debug("Outbox de consultas: {} eventos publicados", total);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,214 @@
+package com.sistema.gerenciamento.hospitalar.services.impl;
+
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaLoteRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaLoteResultadoRecordDto;
+import com.sistema.gerenciamento.hospitalar.enums.StatusAtendimento;
+import com.sistema.gerenciamento.hospitalar.enums.StatusPaciente;
+import com.sistema.gerenciamento.hospitalar.events.ConsultaAlteradaEvent;
+import com.sistema.gerenciamento.hospitalar.exceptions.NotFoundException;
+import com.sistema.gerenciamento.hospitalar.models.ClinicaHospitalarModel;
+import com.sistema.gerenciamento.hospitalar.models.ConsultaModel;
+import com.sistema.gerenciamento.hospitalar.models.MedicoModel;
+import com.sistema.gerenciamento.hospitalar.models.PacienteModel;
+import com.sistema.gerenciamento.hospitalar.repositorys.ClinicaHospitalarRepository;
+import com.sistema.gerenciamento.hospitalar.repositorys.ConsultaJdbcRepository;
+import com.sistema.gerenciamento.hospitalar.repositorys.ConsultaRepository;
+import com.sistema.gerenciamento.hospitalar.repositorys.MedicoRepository;
+import com.sistema.gerenciamento.hospitalar.repositorys.PacienteRepository;
+import com.sistema.gerenciamento.hospitalar.services.ConsultaLoteService;
+import com.sistema.gerenciamento.hospitalar.validates.consultaMedica.MotorValidacaoConsulta;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Agendamento de consultas em lote.
+ *
+ * Todas as validações de existência e de conflito de horário são feitas com um conjunto fixo de consultas
+ * ao banco de dados (uma por tipo de entidade e uma por agenda), independentemente do tamanho do lote.
+ * Os conflitos entre itens do próprio lote são detectados em memória e as consultas aceitas são
+ * persistidas em um único comando; as que encontrarem o horário do médico ocupado por um agendamento concorrente
+ * são descartadas pelo banco e recusadas individualmente, sem impedir a gravação das demais.
+ */
+@Service
+public class ConsultaLoteServiceImpl implements ConsultaLoteService {
+
+    private static final Logger logger = LogManager.getLogger(ConsultaLoteServiceImpl.class);
+
+    final MedicoRepository medicoRepository;
+    final PacienteRepository pacienteRepository;
+    final ClinicaHospitalarRepository clinicaHospitalarRepository;
+    final ConsultaRepository consultaRepository;
+    final ConsultaJdbcRepository consultaJdbcRepository;
+    final MotorValidacaoConsulta motorValidacaoConsulta;
+    final ApplicationEventPublisher eventPublisher;
+    final Clock clock;
+
+    public ConsultaLoteServiceImpl(MedicoRepository medicoRepository, PacienteRepository pacienteRepository,
+                                   ClinicaHospitalarRepository clinicaHospitalarRepository, ConsultaRepository consultaRepository,
+                                   ConsultaJdbcRepository consultaJdbcRepository, MotorValidacaoConsulta motorValidacaoConsulta,
+                                   ApplicationEventPublisher eventPublisher, Clock clock) {
+        this.medicoRepository = medicoRepository;
+        this.pacienteRepository = pacienteRepository;
+        this.clinicaHospitalarRepository = clinicaHospitalarRepository;
+        this.consultaRepository = consultaRepository;
+        this.consultaJdbcRepository = consultaJdbcRepository;
+        this.motorValidacaoConsulta = motorValidacaoConsulta;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+    }
+
+    /**
+     * Valida e agenda as consultas do lote.
+     *
+     * @param consultaLoteRecordDto Lote de consultas a serem agendadas.
+     * @return List<ConsultaLoteResultadoRecordDto> Resultado de cada item, na ordem do lote.
+     */
+    @Transactional
+    @Override
+    public List<ConsultaLoteResultadoRecordDto> agendarLote(ConsultaLoteRecordDto consultaLoteRecordDto) {
+        var itens = consultaLoteRecordDto.consultas();
+        var medicoIds = coletar(itens, ConsultaLoteRecordDto.ItemConsulta::medicoId);
+        var pacienteIds = coletar(itens, ConsultaLoteRecordDto.ItemConsulta::pacienteId);
+        var clinicaIds = coletar(itens, ConsultaLoteRecordDto.ItemConsulta::clinicaId);
+
+        // Carrega os dados das entidades envolvidas no lote
+        var medicos = medicoRepository.findResumoByMedicoIdIn(medicoIds).stream()
+                .collect(Collectors.toMap(MedicoRepository.MedicoResumo::getMedicoId, Function.identity()));
+        var pacientes = pacienteRepository.findResumoByPacienteIdIn(pacienteIds).stream()
+                .collect(Collectors.toMap(PacienteRepository.PacienteResumo::getPacienteId, Function.identity()));
+        var clinicas = clinicaHospitalarRepository.findClinicaIdsExistentes(clinicaIds);
+
+        // Carrega as agendas de médicos e pacientes cobrindo todos os dias do lote
+        var inicio = itens.stream().map(ConsultaLoteRecordDto.ItemConsulta::dataConsulta).min(Comparator.naturalOrder()).orElseThrow()
+                .toLocalDate().atStartOfDay();
+        var fim = itens.stream().map(ConsultaLoteRecordDto.ItemConsulta::dataConsulta).max(Comparator.naturalOrder()).orElseThrow()
+                .toLocalDate().plusDays(1).atStartOfDay();
+        var agendaMedicos = agrupar(consultaRepository.findHorariosAtivosDosMedicos(medicoIds, inicio, fim));
+        var agendaPacientes = agrupar(consultaRepository.findHorariosDosPacientes(pacienteIds, inicio, fim));
+
+        var agora = LocalDateTime.now(clock);
+        var resultados = new ArrayList<ConsultaLoteResultadoRecordDto>(itens.size());
+        var consultasAceitas = new ArrayList<ConsultaModel>();
+        var indicesAceitos = new ArrayList<Integer>();
+        for (int indice = 0; indice < itens.size(); indice++) {
+            var item = itens.get(indice);
+            var motivoRecusa = validar(item, medicos, pacientes, clinicas, agendaMedicos, agendaPacientes);
+            if (motivoRecusa != null) {
+                resultados.add(ConsultaLoteResultadoRecordDto.recusada(indice, motivoRecusa));
+                continue;
+            }
+
+            // Reserva o horário para que os próximos itens do lote enxerguem o conflito
+            agendaMedicos.computeIfAbsent(item.medicoId(), id -> new TreeSet<>()).add(item.dataConsulta());
+            agendaPacientes.computeIfAbsent(item.pacienteId(), id -> new TreeSet<>()).add(item.dataConsulta());
+
+            var consultaModel = novaConsulta(item, agora);
+            consultasAceitas.add(consultaModel);
+            indicesAceitos.add(indice);
+            resultados.add(ConsultaLoteResultadoRecordDto.agendada(indice, consultaModel.getConsultaId()));
+        }
+
+        // Um agendamento concorrente pode ter ocupado o horário depois da leitura das agendas: o índice único do banco
+        // descarta apenas essas consultas, que são recusadas, e as demais são gravadas
+        var inseridas = consultaJdbcRepository.inserirEmLoteSemConflito(consultasAceitas);
+        for (int i = 0; i < consultasAceitas.size(); i++) {
+            var consultaModel = consultasAceitas.get(i);
+            if (inseridas.contains(consultaModel.getConsultaId())) {
+                eventPublisher.publishEvent(ConsultaAlteradaEvent.criada(consultaModel));
+            } else {
+                var indice = indicesAceitos.get(i);
+                resultados.set(indice, ConsultaLoteResultadoRecordDto.recusada(indice, ConsultaRepository.MENSAGEM_MEDICO_HORARIO_OCUPADO));
+            }
+        }
+        logger.debug("Lote de consultas processado: {} agendadas de {}", inseridas.size(), itens.size());
+        return resultados;
+    }
+
+    // Aplica ao item as mesmas regras do agendamento individual, na mesma ordem (validadores de agendamento primeiro),
+    // retornando o motivo da recusa ou nulo se o item for válido
+    private String validar(ConsultaLoteRecordDto.ItemConsulta item,
+                           Map<UUID, MedicoRepository.MedicoResumo> medicos,
+                           Map<UUID, PacienteRepository.PacienteResumo> pacientes,
+                           Set<UUID> clinicas,
+                           Map<UUID, NavigableSet<LocalDateTime>> agendaMedicos,
+                           Map<UUID, NavigableSet<LocalDateTime>> agendaPacientes) {
+        try {
+            motorValidacaoConsulta.validar(item.paraConsultaRecordDto());
+        } catch (NotFoundException e) {
+            return e.getMessage();
+        }
+
+        var paciente = pacientes.get(item.pacienteId());
+        if (paciente == null) {
+            return "Paciente não encontrado!";
+        }
+        if (paciente.getStatusPaciente() == StatusPaciente.INATIVO) {
+            return "O paciente está INATIVO!";
+        }
+        var dataConsulta = item.dataConsulta();
+        var agendaPaciente = agendaPacientes.get(item.pacienteId());
+        if (agendaPaciente != null && !agendaPaciente.subSet(dataConsulta.withHour(7), true, dataConsulta.withHour(18), true).isEmpty()) {
+            return "Esse paciente já possui uma consulta agendada para esse dia nesse mesmo horário";
+        }
+
+        var medico = medicos.get(item.medicoId());
+        if (medico == null) {
+            return "Médico não encontrado!";
+        }
+        if (medico.getEspecialidade() == null) {
+            return "O médico deve ter uma especialização!";
+        }
+        var agendaMedico = agendaMedicos.get(item.medicoId());
+        if (agendaMedico != null && agendaMedico.contains(dataConsulta)) {
+            return ConsultaRepository.MENSAGEM_MEDICO_HORARIO_OCUPADO;
+        }
+
+        if (!clinicas.contains(item.clinicaId())) {
+            return "Clínica hospitalar não encontrada!";
+        }
+        return null;
+    }
+
+    // Monta a consulta a ser inserida, com o ID gerado pela aplicação e referências apenas com os IDs
+    private static ConsultaModel novaConsulta(ConsultaLoteRecordDto.ItemConsulta item, LocalDateTime agora) {
+        var medicoModel = new MedicoModel();
+        medicoModel.setMedicoId(item.medicoId());
+        var pacienteModel = new PacienteModel();
+        pacienteModel.setPacienteId(item.pacienteId());
+        var clinicaModel = new ClinicaHospitalarModel();
+        clinicaModel.setClinicaHospitlarId(item.clinicaId());
+
+        var consultaModel = new ConsultaModel();
+        consultaModel.setConsultaId(UUID.randomUUID());
+        consultaModel.setTipoAtendimento(item.tipoAtendimento());
+        consultaModel.setValorConsulta(item.valorConsulta());
+        consultaModel.setLocal(item.local());
+        consultaModel.setDataConsulta(item.dataConsulta());
+        consultaModel.setDataCadastro(agora);
+        consultaModel.setDataAtualizacao(agora);
+        consultaModel.setStatusAtendimento(StatusAtendimento.MARCADO);
+        consultaModel.setMedicoConsulta(medicoModel);
+        consultaModel.setPacienteConsulta(pacienteModel);
+        consultaModel.setClinicaConsulta(clinicaModel);
+        return consultaModel;
+    }
+
+    private static Set<UUID> coletar(List<ConsultaLoteRecordDto.ItemConsulta> itens, Function<ConsultaLoteRecordDto.ItemConsulta, UUID> campo) {
+        return itens.stream().map(campo).collect(Collectors.toSet());
+    }
+
+    private static Map<UUID, NavigableSet<LocalDateTime>> agrupar(List<ConsultaRepository.HorarioOcupado> horarios) {
+        Map<UUID, NavigableSet<LocalDateTime>> agenda = new HashMap<>();
+        horarios.forEach(h -> agenda.computeIfAbsent(h.getId(), id -> new TreeSet<>()).add(h.getDataConsulta()));
+        return agenda;
+    }
+}
@@ -0,0 +1,181 @@
+package com.sistema.gerenciamento.hospitalar.services.impl;
+
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaSerieRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaSerieResultadoRecordDto;
+import com.sistema.gerenciamento.hospitalar.enums.StatusAtendimento;
+import com.sistema.gerenciamento.hospitalar.enums.StatusPaciente;
+import com.sistema.gerenciamento.hospitalar.events.ConsultaAlteradaEvent;
+import com.sistema.gerenciamento.hospitalar.exceptions.NotFoundException;
+import com.sistema.gerenciamento.hospitalar.models.ClinicaHospitalarModel;
+import com.sistema.gerenciamento.hospitalar.models.ConsultaModel;
+import com.sistema.gerenciamento.hospitalar.models.MedicoModel;
+import com.sistema.gerenciamento.hospitalar.models.PacienteModel;
+import com.sistema.gerenciamento.hospitalar.repositorys.ConsultaJdbcRepository;
+import com.sistema.gerenciamento.hospitalar.repositorys.ConsultaRepository;
+import com.sistema.gerenciamento.hospitalar.services.ConsultaSerieService;
+import com.sistema.gerenciamento.hospitalar.validates.consultaMedica.MotorValidacaoConsulta;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Agendamento de séries de consultas recorrentes.
+ *
+ * A série é expandida nas datas de cada ocorrência e verificada como um conjunto: uma consulta ao banco confirma
+ * médico, paciente e clínica e outra carrega, de uma vez, a agenda do médico e do paciente cobrindo toda a série.
+ * Os conflitos de horário e os validadores de agendamento são avaliados em memória para cada ocorrência. Sem
+ * conflitos, a série inteira é persistida com um único comando em uma transação; com conflitos, inclusive os
+ * causados por um agendamento concorrente durante a inserção, nada é gravado e as datas recusadas são retornadas
+ * com o motivo.
+ */
+@Service
+public class ConsultaSerieServiceImpl implements ConsultaSerieService {
+
+    private static final Logger logger = LogManager.getLogger(ConsultaSerieServiceImpl.class);
+
+    final ConsultaRepository consultaRepository;
+    final ConsultaJdbcRepository consultaJdbcRepository;
+    final MotorValidacaoConsulta motorValidacaoConsulta;
+    final ApplicationEventPublisher eventPublisher;
+    final Clock clock;
+
+    public ConsultaSerieServiceImpl(ConsultaRepository consultaRepository, ConsultaJdbcRepository consultaJdbcRepository,
+                                    MotorValidacaoConsulta motorValidacaoConsulta, ApplicationEventPublisher eventPublisher,
+                                    Clock clock) {
+        this.consultaRepository = consultaRepository;
+        this.consultaJdbcRepository = consultaJdbcRepository;
+        this.motorValidacaoConsulta = motorValidacaoConsulta;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+    }
+
+    /**
+     * Valida e agenda todas as consultas da série.
+     *
+     * @param consultaSerieRecordDto Série de consultas a ser agendada.
+     * @return ConsultaSerieResultadoRecordDto IDs das consultas agendadas ou as datas em conflito.
+     */
+    @Transactional
+    @Override
+    public ConsultaSerieResultadoRecordDto agendarSerie(ConsultaSerieRecordDto consultaSerieRecordDto) {
+        var datas = consultaSerieRecordDto.datas();
+        var primeiraData = datas.get(0);
+        var ultimaData = datas.get(datas.size() - 1);
+
+        // Médico, paciente e clínica são os mesmos em toda a série e são verificados uma única vez
+        var verificacao = consultaRepository.verificarAgendamento(consultaSerieRecordDto.medicoId(), consultaSerieRecordDto.pacienteId(),
+                consultaSerieRecordDto.clinicaId(), primeiraData, primeiraData.withHour(7), primeiraData.withHour(18));
+        if (!verificacao.getPacienteExiste()) {
+            throw new NotFoundException("Paciente não encontrado!");
+        }
+        if (StatusPaciente.INATIVO.name().equals(verificacao.getStatusPaciente())) {
+            throw new NotFoundException("O paciente está INATIVO!");
+        }
+        if (!verificacao.getMedicoExiste()) {
+            throw new NotFoundException("Médico não encontrado!");
+        }
+        if (verificacao.getEspecialidade() == null) {
+            throw new NotFoundException("O médico deve ter uma especialização!");
+        }
+        if (!verificacao.getClinicaExiste()) {
+            throw new NotFoundException("Clínica hospitalar não encontrada!");
+        }
+
+        // Carrega as agendas do médico e do paciente cobrindo todos os dias da série
+        NavigableSet<LocalDateTime> agendaMedico = new TreeSet<>();
+        NavigableSet<LocalDateTime> agendaPaciente = new TreeSet<>();
+        for (var horario : consultaRepository.findHorariosDaSerie(consultaSerieRecordDto.medicoId(), consultaSerieRecordDto.pacienteId(),
+                primeiraData.toLocalDate().atStartOfDay(), ultimaData.toLocalDate().plusDays(1).atStartOfDay())) {
+            if (horario.getDoMedico()) {
+                agendaMedico.add(horario.getDataConsulta());
+            }
+            if (horario.getDoPaciente()) {
+                agendaPaciente.add(horario.getDataConsulta());
+            }
+        }
+
+        var conflitos = new ArrayList<ConsultaSerieResultadoRecordDto.Conflito>();
+        for (var dataConsulta : datas) {
+            var motivoRecusa = validar(consultaSerieRecordDto, dataConsulta, agendaMedico, agendaPaciente);
+            if (motivoRecusa != null) {
+                conflitos.add(new ConsultaSerieResultadoRecordDto.Conflito(dataConsulta, motivoRecusa));
+            }
+        }
+        if (!conflitos.isEmpty()) {
+            logger.debug("Série de consultas recusada: {} de {} datas em conflito", conflitos.size(), datas.size());
+            return ConsultaSerieResultadoRecordDto.recusada(conflitos);
+        }
+
+        var agora = LocalDateTime.now(clock);
+        var consultas = datas.stream().map(dataConsulta -> novaConsulta(consultaSerieRecordDto, dataConsulta, agora)).toList();
+
+        // Um agendamento concorrente pode ter ocupado um dos horários depois da leitura das agendas: o índice único do
+        // banco descarta essas consultas e a série é recusada com as datas ocupadas, desfazendo as demais inserções
+        var inseridas = consultaJdbcRepository.inserirEmLoteSemConflito(consultas);
+        if (inseridas.size() < consultas.size()) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            var ocupadas = consultas.stream()
+                    .filter(consultaModel -> !inseridas.contains(consultaModel.getConsultaId()))
+                    .map(consultaModel -> new ConsultaSerieResultadoRecordDto.Conflito(consultaModel.getDataConsulta(),
+                            ConsultaRepository.MENSAGEM_MEDICO_HORARIO_OCUPADO))
+                    .toList();
+            logger.debug("Série de consultas recusada por agendamento concorrente: {} de {} datas ocupadas", ocupadas.size(), datas.size());
+            return ConsultaSerieResultadoRecordDto.recusada(ocupadas);
+        }
+        consultas.forEach(consultaModel -> eventPublisher.publishEvent(ConsultaAlteradaEvent.criada(consultaModel)));
+        logger.debug("Série de consultas agendada: {} consultas a partir de {}", consultas.size(), primeiraData);
+        return ConsultaSerieResultadoRecordDto.agendada(consultas.stream().map(ConsultaModel::getConsultaId).toList());
+    }
+
+    // Aplica à ocorrência as mesmas regras do agendamento individual, retornando o motivo da recusa ou nulo se ela for válida
+    private String validar(ConsultaSerieRecordDto consultaSerieRecordDto, LocalDateTime dataConsulta,
+                           NavigableSet<LocalDateTime> agendaMedico, NavigableSet<LocalDateTime> agendaPaciente) {
+        if (!agendaPaciente.subSet(dataConsulta.withHour(7), true, dataConsulta.withHour(18), true).isEmpty()) {
+            return "Esse paciente já possui uma consulta agendada para esse dia nesse mesmo horário";
+        }
+        if (agendaMedico.contains(dataConsulta)) {
+            return ConsultaRepository.MENSAGEM_MEDICO_HORARIO_OCUPADO;
+        }
+        try {
+            motorValidacaoConsulta.validar(consultaSerieRecordDto.paraConsultaRecordDto(dataConsulta));
+        } catch (NotFoundException e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+
+    // Monta a consulta a ser inserida, com o ID gerado pela aplicação e referências apenas com os IDs
+    private static ConsultaModel novaConsulta(ConsultaSerieRecordDto consultaSerieRecordDto, LocalDateTime dataConsulta, LocalDateTime agora) {
+        var medicoModel = new MedicoModel();
+        medicoModel.setMedicoId(consultaSerieRecordDto.medicoId());
+        var pacienteModel = new PacienteModel();
+        pacienteModel.setPacienteId(consultaSerieRecordDto.pacienteId());
+        var clinicaModel = new ClinicaHospitalarModel();
+        clinicaModel.setClinicaHospitlarId(consultaSerieRecordDto.clinicaId());
+
+        var consultaModel = new ConsultaModel();
+        consultaModel.setConsultaId(UUID.randomUUID());
+        consultaModel.setTipoAtendimento(consultaSerieRecordDto.tipoAtendimento());
+        consultaModel.setValorConsulta(consultaSerieRecordDto.valorConsulta());
+        consultaModel.setLocal(consultaSerieRecordDto.local());
+        consultaModel.setDataConsulta(dataConsulta);
+        consultaModel.setDataCadastro(agora);
+        consultaModel.setDataAtualizacao(agora);
+        consultaModel.setStatusAtendimento(StatusAtendimento.MARCADO);
+        consultaModel.setMedicoConsulta(medicoModel);
+        consultaModel.setPacienteConsulta(pacienteModel);
+        consultaModel.setClinicaConsulta(clinicaModel);
+        return consultaModel;
+    }
+}
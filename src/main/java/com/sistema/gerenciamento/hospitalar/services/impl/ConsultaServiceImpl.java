@@ -1,130 +1,225 @@
 package com.sistema.gerenciamento.hospitalar.services.impl;
 
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaListaRecordDto;
 import com.sistema.gerenciamento.hospitalar.dtos.ConsultaRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaResumoRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.PaginaCursorRecordDto;
 import com.sistema.gerenciamento.hospitalar.enums.StatusAtendimento;
 import com.sistema.gerenciamento.hospitalar.enums.StatusPaciente;
+import com.sistema.gerenciamento.hospitalar.enums.TipoAlteracaoConsulta;
+import com.sistema.gerenciamento.hospitalar.events.ConsultaAlteradaEvent;
 import com.sistema.gerenciamento.hospitalar.exceptions.NotFoundException;
-import com.sistema.gerenciamento.hospitalar.models.ClinicaHospitalarModel;
+import com.sistema.gerenciamento.hospitalar.exceptions.ViolacaoRestricao;
 import com.sistema.gerenciamento.hospitalar.models.ConsultaModel;
-import com.sistema.gerenciamento.hospitalar.models.MedicoModel;
-import com.sistema.gerenciamento.hospitalar.models.PacienteModel;
 import com.sistema.gerenciamento.hospitalar.repositorys.ClinicaHospitalarRepository;
 import com.sistema.gerenciamento.hospitalar.repositorys.ConsultaRepository;
 import com.sistema.gerenciamento.hospitalar.repositorys.MedicoRepository;
 import com.sistema.gerenciamento.hospitalar.repositorys.PacienteRepository;
+import com.sistema.gerenciamento.hospitalar.services.ArquivoConsultaService;
 import com.sistema.gerenciamento.hospitalar.services.ConsultaService;
-import com.sistema.gerenciamento.hospitalar.validates.consultaMedica.ValidadorAgendamentoDeConsulta;
+import com.sistema.gerenciamento.hospitalar.specifications.PaginacaoCursor;
+import com.sistema.gerenciamento.hospitalar.validates.consultaMedica.MotorValidacaoConsulta;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
 public class ConsultaServiceImpl implements ConsultaService {
 
+    Logger logger = LogManager.getLogger(ConsultaServiceImpl.class);
+
+    // Quantidade máxima de tentativas de gravação quando o banco retorna uma falha transitória (deadlock, timeout de lock)
+    static final int MAXIMO_TENTATIVAS_GRAVACAO = 3;
+
+    // Relacionamentos que podem ser pedidos em ?expand= e o atributo correspondente da ConsultaModel
+    static final Map<String, String> RELACOES_EXPANSIVEIS = Map.of(
+            "medico", "medicoConsulta",
+            "paciente", "pacienteConsulta",
+            "clinica", "clinicaConsulta");
+
     // Repositórios para interagir com as entidades
     final PacienteRepository pacienteRepository;
     final MedicoRepository medicoRepository;
     final ConsultaRepository consultaRepository;
     final ClinicaHospitalarRepository clinicaHospitalarRepository;
-    final List<ValidadorAgendamentoDeConsulta> validarConsultaMedica;
+    final MotorValidacaoConsulta motorValidacaoConsulta;
+    final ApplicationEventPublisher eventPublisher;
+    final TransactionTemplate transactionTemplate;
+    final ArquivoConsultaService arquivoConsultaService;
+    final Clock clock;
 
     // Construtor para injeção de dependências
-    public ConsultaServiceImpl(PacienteRepository pacienteRepository, MedicoRepository medicoRepository, ConsultaRepository consultaRepository, ClinicaHospitalarRepository clinicaHospitalarRepository, List<ValidadorAgendamentoDeConsulta> validarConsultaMedica) {
+    public ConsultaServiceImpl(PacienteRepository pacienteRepository, MedicoRepository medicoRepository, ConsultaRepository consultaRepository, ClinicaHospitalarRepository clinicaHospitalarRepository, MotorValidacaoConsulta motorValidacaoConsulta,
+                               ApplicationEventPublisher eventPublisher, TransactionTemplate transactionTemplate, ArquivoConsultaService arquivoConsultaService,
+                               Clock clock) {
         this.pacienteRepository = pacienteRepository;
         this.medicoRepository = medicoRepository;
         this.consultaRepository = consultaRepository;
         this.clinicaHospitalarRepository = clinicaHospitalarRepository;
-        this.validarConsultaMedica = validarConsultaMedica;
+        this.motorValidacaoConsulta = motorValidacaoConsulta;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.arquivoConsultaService = arquivoConsultaService;
+        this.clock = clock;
     }
 
     /**
      * Salva uma nova consulta após validar as informações fornecidas.
+     * O médico, o paciente, a clínica e os conflitos de agenda são verificados em um único comando,
+     * e a consulta é gravada com referências às entidades, totalizando dois comandos por agendamento.
      *
      * @param consultaRecordDto Dados da consulta a ser criada.
-     * @param medicoModel Modelo de médico associado à consulta.
-     * @param pacienteModel Modelo de paciente associado à consulta.
-     * @param clinicaHospitalarModel Modelo da clínica hospitalar associada à consulta.
+     * @param medicoId ID do médico associado à consulta.
+     * @param pacienteId ID do paciente associado à consulta.
+     * @param clinicaId ID da clínica hospitalar associada à consulta.
      * @return ConsultaModel A consulta salva no banco de dados.
      */
     @Override
-    public ConsultaModel saveConsulta(ConsultaRecordDto consultaRecordDto, MedicoModel medicoModel, PacienteModel pacienteModel, ClinicaHospitalarModel clinicaHospitalarModel) {
+    public ConsultaModel saveConsulta(ConsultaRecordDto consultaRecordDto, UUID medicoId, UUID pacienteId, UUID clinicaId) {
         var consultaModel = new ConsultaModel();
         // Copia as propriedades do DTO para o modelo de consulta
         BeanUtils.copyProperties(consultaRecordDto, consultaModel);
 
+        // Executa as validações de agendamento antes de qualquer acesso ao banco, das mais baratas para as mais caras
+        motorValidacaoConsulta.validar(consultaRecordDto);
+
+        var primeiroHorario = consultaRecordDto.dataConsulta().withHour(7);
+        var ultimoHorario = consultaRecordDto.dataConsulta().withHour(18);
+        var verificacao = consultaRepository.verificarAgendamento(medicoId, pacienteId, clinicaId,
+                consultaRecordDto.dataConsulta(), primeiroHorario, ultimoHorario);
+
         // Valida se o paciente existe
-        if (!pacienteRepository.existsById(pacienteModel.getPacienteId())) {
+        if (!verificacao.getPacienteExiste()) {
             throw new NotFoundException("Paciente não encontrado!");
         }
 
         // Valida se o paciente está ativo
-        if (pacienteModel.getStatusPaciente() == StatusPaciente.INATIVO) {
+        if (StatusPaciente.INATIVO.name().equals(verificacao.getStatusPaciente())) {
             throw new NotFoundException("O paciente está INATIVO!");
         }
 
         // Valida se o paciente já tem uma consulta agendada no mesmo dia
-        var primeiroHorario = consultaRecordDto.dataConsulta().withHour(7);
-        var ultimoHorario = consultaRecordDto.dataConsulta().withHour(18);
-        var pacientePossuiOutraConsultaNoDia = consultaRepository.existsByPacienteConsultaPacienteIdAndDataConsultaBetween(pacienteModel.getPacienteId(), primeiroHorario, ultimoHorario);
-        if (pacientePossuiOutraConsultaNoDia) {
+        if (verificacao.getPacientePossuiConsultaNoDia()) {
             throw new NotFoundException("Esse paciente já possui uma consulta agendada para esse dia nesse mesmo horário");
         }
 
         // Valida se o médico existe
-        if (!medicoRepository.existsById(medicoModel.getMedicoId())) {
+        if (!verificacao.getMedicoExiste()) {
             throw new NotFoundException("Médico não encontrado!");
         }
 
         // Valida se o médico tem especialização
-        if (medicoModel.getEspecialidade() == null) {
+        if (verificacao.getEspecialidade() == null) {
             throw new NotFoundException("O médico deve ter uma especialização!");
         }
 
-        // Valida se o médico já tem outra consulta no mesmo horário
-        var medicoPossuiOutraConsultaNoMesmoHorario = consultaRepository.existsByMedicoConsultaMedicoIdAndDataConsultaAndMotivoCancelamentoIsNull(medicoModel.getMedicoId(), consultaModel.getDataConsulta());
-        if (medicoPossuiOutraConsultaNoMesmoHorario) {
-            throw new NotFoundException("Esse médico já possui uma consulta agendada para esse mesmo dia e horário");
+        // Valida se o médico já tem outra consulta no mesmo horário (o índice único do banco cobre agendamentos concorrentes)
+        if (verificacao.getMedicoPossuiConsultaNoHorario()) {
+            throw new NotFoundException(ConsultaRepository.MENSAGEM_MEDICO_HORARIO_OCUPADO);
         }
 
         // Valida se a clínica hospitalar existe
-        if (!clinicaHospitalarRepository.existsById(clinicaHospitalarModel.getClinicaHospitlarId())) {
+        if (!verificacao.getClinicaExiste()) {
             throw new NotFoundException("Clínica hospitalar não encontrada!");
         }
 
-        // Chama a validação personalizada para a consulta
-        validarConsultaMedica.forEach(v -> v.validar(consultaRecordDto));
-
         // Preenche as informações de data de cadastro e atualização da consulta
-        consultaModel.setDataCadastro(LocalDateTime.now(ZoneId.of("America/Recife")));
-        consultaModel.setDataAtualizacao(LocalDateTime.now(ZoneId.of("America/Recife")));
+        var agora = LocalDateTime.now(clock);
+        consultaModel.setDataCadastro(agora);
+        consultaModel.setDataAtualizacao(agora);
         consultaModel.setStatusAtendimento(StatusAtendimento.MARCADO);
-        consultaModel.setMedicoConsulta(medicoModel);
-        consultaModel.setPacienteConsulta(pacienteModel);
-        consultaModel.setClinicaConsulta(clinicaHospitalarModel);
+        consultaModel.setMedicoConsulta(medicoRepository.getReferenceById(medicoId));
+        consultaModel.setPacienteConsulta(pacienteRepository.getReferenceById(pacienteId));
+        consultaModel.setClinicaConsulta(clinicaHospitalarRepository.getReferenceById(clinicaId));
         consultaModel.setDataConsulta(consultaRecordDto.dataConsulta());
 
-        // Salva a consulta no repositório
-        return consultaRepository.save(consultaModel);
+        // Salva a consulta no repositório e notifica os ouvintes (índices da agenda, outbox de eventos).
+        // O conflito de horário do médico é garantido pelo índice único do banco, sem consulta prévia.
+        return gravar(() -> {
+            consultaModel.setConsultaId(null);
+            return consultaRepository.saveAndFlush(consultaModel);
+        }, ConsultaAlteradaEvent::criada);
+    }
+
+    /**
+     * Retorna a listagem paginada de consultas projetada em DTO, sem carregar médico, paciente e clínica.
+     *
+     * @param spec Especificação de consulta.
+     * @param pageable Informações de paginação.
+     * @return Page<ConsultaListaRecordDto> Página da listagem de consultas.
+     */
+    @Override
+    public Page<ConsultaListaRecordDto> findListagem(Specification<ConsultaModel> spec, Pageable pageable) {
+        return consultaRepository.findListagem(spec, pageable);
     }
 
     /**
-     * Retorna todas as consultas paginadas com base nas especificações fornecidas.
+     * Retorna todas as consultas paginadas com base nas especificações fornecidas. Os relacionamentos pedidos em
+     * 'expand' são buscados por EntityGraph na mesma consulta da página.
      *
      * @param spec Especificação de consulta.
      * @param pageable Informações de paginação.
+     * @param expand Relacionamentos a carregar (medico, paciente, clinica).
      * @return Page<ConsultaModel> Página de consultas.
      */
     @Override
-    public Page<ConsultaModel> fidAll(Specification<ConsultaModel> spec, Pageable pageable) {
-        return consultaRepository.findAll(spec, pageable);
+    public Page<ConsultaModel> fidAll(Specification<ConsultaModel> spec, Pageable pageable, Collection<String> expand) {
+        var relacoes = relacoesExpandidas(expand);
+        return consultaRepository.findBy(Specification.where(spec),
+                consulta -> (relacoes.isEmpty() ? consulta : consulta.project(relacoes)).page(pageable));
+    }
+
+    /**
+     * Método para listar consultas por cursor, sem contagem total.
+     *
+     * @param spec Especificação de filtros a serem aplicados na consulta.
+     * @param cursor Cursor opaco da página anterior, ou nulo para a primeira página.
+     * @param limit Quantidade máxima de itens na página.
+     * @param expand Relacionamentos a carregar (medico, paciente, clinica).
+     * @return PaginaCursorRecordDto<ConsultaModel> Itens da página e o cursor da próxima.
+     */
+    @Override
+    public PaginaCursorRecordDto<ConsultaModel> findAllCursor(Specification<ConsultaModel> spec, String cursor, int limit, Collection<String> expand) {
+        return PaginacaoCursor.buscar(consultaRepository, spec, "dataCadastro", "consultaId", cursor, limit, relacoesExpandidas(expand));
+    }
+
+    // Converte os nomes aceitos em ?expand= nos atributos de relacionamento da ConsultaModel
+    private static List<String> relacoesExpandidas(Collection<String> expand) {
+        if (expand == null) {
+            return List.of();
+        }
+        var relacoes = new ArrayList<String>();
+        for (var nome : expand) {
+            var atributo = RELACOES_EXPANSIVEIS.get(nome.trim().toLowerCase(Locale.ROOT));
+            if (atributo == null) {
+                throw new NotFoundException("Relacionamento inválido em expand: " + nome + " (use medico, paciente ou clinica)");
+            }
+            if (!relacoes.contains(atributo)) {
+                relacoes.add(atributo);
+            }
+        }
+        return relacoes;
     }
 
     /**
@@ -138,6 +233,31 @@ public class ConsultaServiceImpl implements ConsultaService {
         return consultaRepository.findById(consultaId);
     }
 
+    /**
+     * Retorna uma consulta pelo seu ID, buscando também no arquivo de consultas finalizadas.
+     *
+     * @param consultaId ID da consulta.
+     * @return Optional<ConsultaModel> Consulta encontrada, se existir.
+     */
+    @Override
+    public Optional<ConsultaModel> findByIdIncluindoArquivo(UUID consultaId) {
+        return consultaRepository.findById(consultaId).or(() -> arquivoConsultaService.findArquivadaById(consultaId));
+    }
+
+    /**
+     * Retorna o histórico de consultas do paciente, incluindo as arquivadas, da mais recente para a mais antiga.
+     *
+     * @param pacienteId ID do paciente.
+     * @return List<ConsultaResumoRecordDto> Histórico de consultas do paciente.
+     */
+    @Override
+    public List<ConsultaResumoRecordDto> findHistoricoByPacienteId(UUID pacienteId) {
+        var historico = new ArrayList<>(consultaRepository.findResumoByPacienteId(pacienteId));
+        historico.addAll(arquivoConsultaService.findArquivadasByPaciente(pacienteId));
+        historico.sort(Comparator.comparing(ConsultaResumoRecordDto::dataConsulta).reversed());
+        return historico;
+    }
+
     /**
      * Finaliza uma consulta médica, atualizando o status e o resultado.
      *
@@ -147,11 +267,41 @@ public class ConsultaServiceImpl implements ConsultaService {
      */
     @Override
     public ConsultaModel finalizarConsultaMedica(ConsultaRecordDto consultaRecordDto, ConsultaModel consultaModel) {
+        var anterior = ConsultaAlteradaEvent.Estado.de(consultaModel);
         consultaModel.setStatusAtendimento(consultaRecordDto.statusAtendimento());
         consultaModel.setResultadoConsulta(consultaRecordDto.resultadoConsulta());
         consultaModel.setObservacao(consultaRecordDto.observacao());
+        consultaModel.setDataAtualizacao(LocalDateTime.now(clock));
+
+        return gravar(() -> consultaRepository.saveAndFlush(consultaModel),
+                consultaSalva -> new ConsultaAlteradaEvent(TipoAlteracaoConsulta.FINALIZADA, anterior, ConsultaAlteradaEvent.Estado.de(consultaSalva)));
+    }
 
-        return consultaRepository.save(consultaModel);
+    /**
+     * Cancela uma consulta médica marcada, registrando o motivo do cancelamento.
+     * A consulta cancelada deixa de ocupar o horário do médico (índice único parcial) e o horário
+     * é oferecido à lista de espera pelos ouvintes do evento de cancelamento.
+     *
+     * @param consultaRecordDto Dados do cancelamento.
+     * @param consultaModel Modelo da consulta a ser cancelada.
+     * @return ConsultaModel A consulta cancelada.
+     */
+    @Override
+    public ConsultaModel cancelarConsultaMedica(ConsultaRecordDto consultaRecordDto, ConsultaModel consultaModel) {
+        if (consultaModel.getMotivoCancelamento() != null || consultaModel.getStatusAtendimento() == StatusAtendimento.CANCELADO) {
+            throw new NotFoundException("Essa consulta já está cancelada!");
+        }
+        if (consultaModel.getStatusAtendimento() == StatusAtendimento.REALIZADO) {
+            throw new NotFoundException("Não é possível cancelar uma consulta já realizada!");
+        }
+
+        var anterior = ConsultaAlteradaEvent.Estado.de(consultaModel);
+        consultaModel.setStatusAtendimento(StatusAtendimento.CANCELADO);
+        consultaModel.setMotivoCancelamento(consultaRecordDto.motivoCancelamento());
+        consultaModel.setDataAtualizacao(LocalDateTime.now(clock));
+
+        return gravar(() -> consultaRepository.saveAndFlush(consultaModel),
+                consultaSalva -> new ConsultaAlteradaEvent(TipoAlteracaoConsulta.CANCELADA, anterior, ConsultaAlteradaEvent.Estado.de(consultaSalva)));
     }
 
     /**
@@ -161,7 +311,10 @@ public class ConsultaServiceImpl implements ConsultaService {
      */
     @Override
     public void deleteByConsultaId(ConsultaModel consultaModel) {
-        consultaRepository.delete(consultaModel);
+        transactionTemplate.executeWithoutResult(status -> {
+            consultaRepository.delete(consultaModel);
+            eventPublisher.publishEvent(ConsultaAlteradaEvent.removida(consultaModel));
+        });
     }
 
     /**
@@ -173,12 +326,49 @@ public class ConsultaServiceImpl implements ConsultaService {
      */
     @Override
     public ConsultaModel atualizarConsultaMedica(ConsultaRecordDto consultaRecordDto, ConsultaModel consultaModel) {
+        var anterior = ConsultaAlteradaEvent.Estado.de(consultaModel);
         consultaModel.setDataConsulta(consultaRecordDto.dataConsulta());
         consultaModel.setValorConsulta(consultaRecordDto.valorConsulta());
         consultaModel.setObservacao(consultaRecordDto.observacao());
         consultaModel.setResultadoConsulta(consultaRecordDto.resultadoConsulta());
+        consultaModel.setDataAtualizacao(LocalDateTime.now(clock));
 
-        return consultaRepository.save(consultaModel);
+        return gravar(() -> consultaRepository.saveAndFlush(consultaModel),
+                consultaSalva -> new ConsultaAlteradaEvent(TipoAlteracaoConsulta.ATUALIZADA, anterior, ConsultaAlteradaEvent.Estado.de(consultaSalva)));
+    }
+
+    /**
+     * Executa a gravação de forma otimista, deixando o banco garantir que o médico não tenha duas consultas ativas
+     * no mesmo horário. A violação do índice único é traduzida para a mesma mensagem da validação da aplicação e
+     * apenas falhas transitórias são repetidas; um conflito real nunca é repetido.
+     *
+     * Cada tentativa ocorre em uma transação própria, na qual também é publicado o evento da alteração:
+     * os ouvintes síncronos (outbox de eventos) gravam na mesma transação e os demais são notificados após o commit.
+     *
+     * @param gravacao Operação de gravação da consulta.
+     * @param evento Cria o evento da alteração a partir da consulta gravada.
+     * @return ConsultaModel A consulta gravada.
+     */
+    private ConsultaModel gravar(Supplier<ConsultaModel> gravacao, Function<ConsultaModel, ConsultaAlteradaEvent> evento) {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    var consultaSalva = gravacao.get();
+                    eventPublisher.publishEvent(evento.apply(consultaSalva));
+                    return consultaSalva;
+                });
+            } catch (DataIntegrityViolationException e) {
+                if (ViolacaoRestricao.envolve(e, ConsultaRepository.UK_MEDICO_HORARIO_ATIVO)) {
+                    throw new NotFoundException(ConsultaRepository.MENSAGEM_MEDICO_HORARIO_OCUPADO);
+                }
+                throw e;
+            } catch (TransientDataAccessException e) {
+                if (tentativa >= MAXIMO_TENTATIVAS_GRAVACAO) {
+                    throw e;
+                }
+                logger.warn("Falha transitória ao gravar consulta (tentativa {} de {}): {}", tentativa, MAXIMO_TENTATIVAS_GRAVACAO, e.getMessage());
+            }
+        }
     }
 
     /**
@@ -189,7 +379,7 @@ public class ConsultaServiceImpl implements ConsultaService {
      */
     @Override
     public boolean existsByMedicoConsultaMedicoId(UUID medicoId) {
-        return consultaRepository.existsByMedicoConsultaMedicoId(medicoId);
+        return consultaRepository.existsByMedicoConsultaMedicoId(medicoId) || arquivoConsultaService.existsArquivadaByMedicoId(medicoId);
     }
 
     /**
@@ -200,7 +390,7 @@ public class ConsultaServiceImpl implements ConsultaService {
      */
     @Override
     public boolean existsByPacienteConsultaPacienteId(UUID pacienteId) {
-        return consultaRepository.existsByPacienteConsultaPacienteId(pacienteId);
+        return consultaRepository.existsByPacienteConsultaPacienteId(pacienteId) || arquivoConsultaService.existsArquivadaByPacienteId(pacienteId);
     }
 
     /**
@@ -211,6 +401,6 @@ public class ConsultaServiceImpl implements ConsultaService {
      */
     @Override
     public boolean existsByClinicaConsultaClinicaHospitalarId(UUID clinicaId) {
-        return consultaRepository.existsByClinicaConsultaClinicaHospitlarId(clinicaId);
+        return consultaRepository.existsByClinicaConsultaClinicaHospitlarId(clinicaId) || arquivoConsultaService.existsArquivadaByClinicaId(clinicaId);
     }
 }
\ No newline at end of file
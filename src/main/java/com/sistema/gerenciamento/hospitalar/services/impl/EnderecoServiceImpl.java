@@ -1,12 +1,14 @@
 package com.sistema.gerenciamento.hospitalar.services.impl;
 
 import com.sistema.gerenciamento.hospitalar.dtos.EnderecoRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.PaginaCursorRecordDto;
 import com.sistema.gerenciamento.hospitalar.exceptions.NotFoundException;
 import com.sistema.gerenciamento.hospitalar.models.EnderecoModel;
 import com.sistema.gerenciamento.hospitalar.models.FuncionarioModel;
 import com.sistema.gerenciamento.hospitalar.models.PacienteModel;
 import com.sistema.gerenciamento.hospitalar.repositorys.EnderecoRepository;
 import com.sistema.gerenciamento.hospitalar.services.EnderecoService;
+import com.sistema.gerenciamento.hospitalar.specifications.PaginacaoCursor;
 import org.springframework.beans.BeanUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -92,6 +94,19 @@ public class EnderecoServiceImpl implements EnderecoService {
         return enderecoRepository.findAll(spec, pageable);
     }
 
+    /**
+     * Método para listar endereços por cursor, sem contagem total.
+     *
+     * @param spec Especificação de filtros a serem aplicados na consulta.
+     * @param cursor Cursor opaco da página anterior, ou nulo para a primeira página.
+     * @param limit Quantidade máxima de itens na página.
+     * @return PaginaCursorRecordDto<EnderecoModel> Itens da página e o cursor da próxima.
+     */
+    @Override
+    public PaginaCursorRecordDto<EnderecoModel> findAllCursor(Specification<EnderecoModel> spec, String cursor, int limit) {
+        return PaginacaoCursor.buscar(enderecoRepository, spec, "dataCadastro", "enderecoId", cursor, limit);
+    }
+
     /**
      * Método para buscar um endereço por ID.
      *
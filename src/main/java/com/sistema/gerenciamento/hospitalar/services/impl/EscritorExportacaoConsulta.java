@@ -0,0 +1,134 @@
+package com.sistema.gerenciamento.hospitalar.services.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaExportacaoRecordDto;
+import com.sistema.gerenciamento.hospitalar.enums.FormatoExportacao;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Escreve as consultas exportadas, uma linha por vez, diretamente no fluxo de saída.
+ * Nenhuma linha é mantida depois de escrita, então a memória usada não depende da quantidade de consultas.
+ */
+abstract class EscritorExportacaoConsulta implements Closeable {
+
+    // Tamanho do buffer de saída; o conteúdo é enviado ao cliente sempre que o buffer enche
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    static EscritorExportacaoConsulta para(FormatoExportacao formato, OutputStream saida) throws IOException {
+        var buffer = new BufferedOutputStream(saida, TAMANHO_BUFFER);
+        return formato == FormatoExportacao.NDJSON ? new Ndjson(buffer) : new Csv(buffer);
+    }
+
+    abstract void escrever(ConsultaExportacaoRecordDto consulta) throws IOException;
+
+    // CSV (RFC 4180) com cabeçalho, separado por vírgula e com valores decimais com ponto
+    static final class Csv extends EscritorExportacaoConsulta {
+
+        private static final String CABECALHO = "consulta_id,data_consulta,tipo_atendimento,status_atendimento,motivo_cancelamento,"
+                + "valor_consulta,local,medico_id,nome_medico,especialidade,paciente_id,nome_paciente,clinica_id,nome_clinica\r\n";
+
+        private final Writer writer;
+
+        Csv(OutputStream saida) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+            writer.write(CABECALHO);
+        }
+
+        @Override
+        void escrever(ConsultaExportacaoRecordDto consulta) throws IOException {
+            campo(consulta.consultaId());
+            campo(consulta.dataConsulta() == null ? null : FORMATO_DATA.format(consulta.dataConsulta()));
+            campo(consulta.tipoAtendimento());
+            campo(consulta.statusAtendimento());
+            campo(consulta.motivoCancelamento());
+            campo(Float.toString(consulta.valorConsulta()));
+            campo(consulta.local());
+            campo(consulta.medicoId());
+            campo(consulta.nomeMedico());
+            campo(consulta.especialidade());
+            campo(consulta.pacienteId());
+            campo(consulta.nomePaciente());
+            campo(consulta.clinicaId());
+            writer.write(texto(consulta.nomeClinica()));
+            writer.write("\r\n");
+        }
+
+        private void campo(Object valor) throws IOException {
+            writer.write(texto(valor));
+            writer.write(',');
+        }
+
+        // Campos com separador, aspas ou quebra de linha vão entre aspas, com as aspas internas duplicadas
+        static String texto(Object valor) {
+            if (valor == null) {
+                return "";
+            }
+            var texto = valor.toString();
+            for (int i = 0; i < texto.length(); i++) {
+                var c = texto.charAt(i);
+                if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                    return '"' + texto.replace("\"", "\"\"") + '"';
+                }
+            }
+            return texto;
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    // Um objeto JSON por linha (NDJSON), com as datas no formato ISO-8601 sem fuso (horário de Recife)
+    static final class Ndjson extends EscritorExportacaoConsulta {
+
+        private static final JsonFactory FABRICA = new JsonFactory();
+
+        private final JsonGenerator gerador;
+
+        Ndjson(OutputStream saida) throws IOException {
+            this.gerador = FABRICA.createGenerator(saida);
+            gerador.setRootValueSeparator(null);
+        }
+
+        @Override
+        void escrever(ConsultaExportacaoRecordDto consulta) throws IOException {
+            gerador.writeStartObject();
+            texto("consultaId", consulta.consultaId());
+            texto("dataConsulta", consulta.dataConsulta() == null ? null : FORMATO_DATA.format(consulta.dataConsulta()));
+            texto("tipoAtendimento", consulta.tipoAtendimento());
+            texto("statusAtendimento", consulta.statusAtendimento());
+            texto("motivoCancelamento", consulta.motivoCancelamento());
+            gerador.writeNumberField("valorConsulta", consulta.valorConsulta());
+            texto("local", consulta.local());
+            texto("medicoId", consulta.medicoId());
+            texto("nomeMedico", consulta.nomeMedico());
+            texto("especialidade", consulta.especialidade());
+            texto("pacienteId", consulta.pacienteId());
+            texto("nomePaciente", consulta.nomePaciente());
+            texto("clinicaId", consulta.clinicaId());
+            texto("nomeClinica", consulta.nomeClinica());
+            gerador.writeEndObject();
+            gerador.writeRaw('\n');
+        }
+
+        private void texto(String nome, Object valor) throws IOException {
+            if (valor == null) {
+                gerador.writeNullField(nome);
+            } else {
+                gerador.writeStringField(nome, valor.toString());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            gerador.close();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.sistema.gerenciamento.hospitalar.services.impl;
+
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaExportacaoRecordDto;
+import com.sistema.gerenciamento.hospitalar.enums.FormatoExportacao;
+import com.sistema.gerenciamento.hospitalar.repositorys.ConsultaArquivoJdbcRepository;
+import com.sistema.gerenciamento.hospitalar.repositorys.ConsultaRepository;
+import com.sistema.gerenciamento.hospitalar.services.ExportacaoConsultaService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Exportação das consultas de um período em CSV ou NDJSON.
+ *
+ * As consultas são lidas como linhas planas por um cursor do banco de dados (fetch size de 1000 linhas) e escritas
+ * uma a uma no fluxo de saída, sem paginação, sem COUNT(*) e sem carregar médico, paciente e clínica como entidades.
+ * As consultas movidas ao arquivo frio são intercaladas na mesma ordem, lidas um mês do período por vez.
+ */
+@Service
+public class ExportacaoConsultaServiceImpl implements ExportacaoConsultaService {
+
+    private static final Logger logger = LogManager.getLogger(ExportacaoConsultaServiceImpl.class);
+
+    // Ordem do ORDER BY da exportação: o PostgreSQL compara os UUIDs byte a byte, ou seja, sem sinal
+    private static final Comparator<ConsultaExportacaoRecordDto> ORDEM_EXPORTACAO = Comparator
+            .comparing(ConsultaExportacaoRecordDto::dataConsulta)
+            .thenComparing(ConsultaExportacaoRecordDto::consultaId, ExportacaoConsultaServiceImpl::compararUuid);
+
+    final ConsultaRepository consultaRepository;
+    final ConsultaArquivoJdbcRepository consultaArquivoJdbcRepository;
+
+    public ExportacaoConsultaServiceImpl(ConsultaRepository consultaRepository, ConsultaArquivoJdbcRepository consultaArquivoJdbcRepository) {
+        this.consultaRepository = consultaRepository;
+        this.consultaArquivoJdbcRepository = consultaArquivoJdbcRepository;
+    }
+
+    /**
+     * Exporta as consultas do período. Transacional (somente leitura) para que o cursor seja mantido aberto; a leitura
+     * repetível faz o cursor e o arquivo verem o mesmo instante, sem repetir nem perder um lote arquivado no meio.
+     *
+     * @param de Primeiro dia do período.
+     * @param ate Último dia do período, inclusive.
+     * @param formato Formato da exportação.
+     * @param saida Fluxo de saída da resposta.
+     * @return long Quantidade de consultas exportadas.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    @Override
+    public long exportar(LocalDate de, LocalDate ate, FormatoExportacao formato, OutputStream saida) {
+        var inicio = System.nanoTime();
+        var quantidade = 0L;
+        var fim = ate.plusDays(1).atStartOfDay();
+        try (var escritor = EscritorExportacaoConsulta.para(formato, saida);
+             var consultas = consultaRepository.streamExportacao(de.atStartOfDay(), fim)) {
+            var iterador = consultas.iterator();
+            var proxima = iterador.hasNext() ? iterador.next() : null;
+            for (var mes = de.atStartOfDay(); mes.isBefore(fim); mes = inicioDoProximoMes(mes)) {
+                var fimDoMes = inicioDoProximoMes(mes).isBefore(fim) ? inicioDoProximoMes(mes) : fim;
+                for (var arquivada : consultaArquivoJdbcRepository.buscarParaExportacao(mes, fimDoMes)) {
+                    while (proxima != null && ORDEM_EXPORTACAO.compare(proxima, arquivada) < 0) {
+                        escritor.escrever(proxima);
+                        quantidade++;
+                        proxima = iterador.hasNext() ? iterador.next() : null;
+                    }
+                    escritor.escrever(arquivada);
+                    quantidade++;
+                }
+            }
+            while (proxima != null) {
+                escritor.escrever(proxima);
+                quantidade++;
+                proxima = iterador.hasNext() ? iterador.next() : null;
+            }
+        } catch (IOException e) {
+            // Normalmente o cliente encerrou a conexão antes do fim da exportação
+            throw new UncheckedIOException(e);
+        }
+        var segundos = Math.max((System.nanoTime() - inicio) / 1_000_000_000.0, 0.001);
+        logger.info("Exportação {} de {} a {}: {} consultas em {} s ({} consultas/s)", formato, de, ate, quantidade,
+                String.format("%.2f", segundos), Math.round(quantidade / segundos));
+        return quantidade;
+    }
+
+    private static LocalDateTime inicioDoProximoMes(LocalDateTime data) {
+        return data.toLocalDate().withDayOfMonth(1).plusMonths(1).atStartOfDay();
+    }
+
+    private static int compararUuid(UUID a, UUID b) {
+        var comparacao = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return comparacao != 0 ? comparacao : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
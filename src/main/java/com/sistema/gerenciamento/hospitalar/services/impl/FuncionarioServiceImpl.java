@@ -1,6 +1,7 @@
 package com.sistema.gerenciamento.hospitalar.services.impl;
 
 import com.sistema.gerenciamento.hospitalar.dtos.FuncionarioRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.PaginaCursorRecordDto;
 import com.sistema.gerenciamento.hospitalar.enums.StatusFuncionario;
 import com.sistema.gerenciamento.hospitalar.exceptions.NotFoundException;
 import com.sistema.gerenciamento.hospitalar.models.EnderecoModel;
@@ -12,6 +13,7 @@ import com.sistema.gerenciamento.hospitalar.repositorys.MedicoRepository;
 import com.sistema.gerenciamento.hospitalar.repositorys.UsuarioRepository;
 import com.sistema.gerenciamento.hospitalar.services.EnderecoService;
 import com.sistema.gerenciamento.hospitalar.services.FuncionarioService;
+import com.sistema.gerenciamento.hospitalar.specifications.PaginacaoCursor;
 import org.springframework.beans.BeanUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -59,28 +61,6 @@ public class FuncionarioServiceImpl implements FuncionarioService {
         return funcionarioModelOptional;
     }
 
-    /**
-     * Método para verificar se já existe um funcionário com o nome completo informado.
-     *
-     * @param nomeCompleto Nome completo do funcionário a ser verificado.
-     * @return boolean Retorna true se existir, caso contrário, false.
-     */
-    @Override
-    public boolean existByNomeCompleto(String nomeCompleto) {
-        return funcionarioRepository.existsByNomeCompleto(nomeCompleto);
-    }
-
-    /**
-     * Método para verificar se já existe um funcionário com o CPF informado.
-     *
-     * @param cpf CPF do funcionário a ser verificado.
-     * @return boolean Retorna true se existir, caso contrário, false.
-     */
-    @Override
-    public boolean existByCpf(String cpf) {
-        return funcionarioRepository.existsByCpf(cpf);
-    }
-
     /**
      * Método para salvar um novo funcionário.
      *
@@ -104,17 +84,6 @@ public class FuncionarioServiceImpl implements FuncionarioService {
         return funcionarioRepository.save(funcionarioModel);
     }
 
-    /**
-     * Método para verificar se já existe um funcionário com o RG informado.
-     *
-     * @param rg RG do funcionário a ser verificado.
-     * @return boolean Retorna true se existir, caso contrário, false.
-     */
-    @Override
-    public boolean existByRg(String rg) {
-        return funcionarioRepository.existsByRg(rg);
-    }
-
     /**
      * Método para listar todos os funcionários com filtros e paginação.
      *
@@ -128,6 +97,19 @@ public class FuncionarioServiceImpl implements FuncionarioService {
         return funcionarioRepository.findAll(spec, pageable);
     }
 
+    /**
+     * Método para listar funcionários por cursor, sem contagem total.
+     *
+     * @param spec Especificação de filtros a serem aplicados na consulta.
+     * @param cursor Cursor opaco da página anterior, ou nulo para a primeira página.
+     * @param limit Quantidade máxima de itens na página.
+     * @return PaginaCursorRecordDto<FuncionarioModel> Itens da página e o cursor da próxima.
+     */
+    @Override
+    public PaginaCursorRecordDto<FuncionarioModel> findAllCursor(Specification<FuncionarioModel> spec, String cursor, int limit) {
+        return PaginacaoCursor.buscar(funcionarioRepository, spec, "dataCadastro", "funcionarioId", cursor, limit);
+    }
+
     /**
      * Método para excluir um funcionário e todos os dados associados a ele.
      *
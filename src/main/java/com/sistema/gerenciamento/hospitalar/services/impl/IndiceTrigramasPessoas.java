@@ -0,0 +1,169 @@
+package com.sistema.gerenciamento.hospitalar.services.impl;
+
+import com.sistema.gerenciamento.hospitalar.dtos.PessoaBuscaRecordDto;
+import com.sistema.gerenciamento.hospitalar.repositorys.BuscaPessoaJdbcRepository.Pessoa;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido de trigramas dos nomes de pacientes, funcionários e médicos, usado pela busca de pessoas.
+ *
+ * Cada nome é normalizado (sem acentos, minúsculo, apenas letras e dígitos) e dividido em palavras; cada palavra gera
+ * os trigramas de "  palavra " (como no pg_trgm). Para cada trigrama o índice guarda as posições das pessoas que o
+ * contêm. A busca soma, por pessoa, quantos trigramas do termo aparecem no nome: a fração encontrada é a semelhança,
+ * que tolera erros de digitação. Entre as pessoas acima do limiar, vêm primeiro os nomes que começam pelo termo, depois
+ * os que têm uma palavra começando por ele e, por fim, os mais parecidos.
+ *
+ * Pessoas removidas deixam a posição vazia nas listas até a próxima reconstrução do índice.
+ * Não é thread-safe: o acesso é coordenado pelo serviço da busca.
+ */
+final class IndiceTrigramasPessoas {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
+    // Ordem da busca: início do nome, início de palavra, semelhança e, por fim, o nome
+    private static final Comparator<Resultado> ORDEM = Comparator.comparingInt(Resultado::prefixo).reversed()
+            .thenComparing(Comparator.comparingDouble(Resultado::semelhanca).reversed())
+            .thenComparing(resultado -> resultado.pessoa().nomeCompleto());
+
+    private final List<Pessoa> pessoas = new ArrayList<>();
+    private final List<String> nomesNormalizados = new ArrayList<>();
+    private final Map<UUID, Integer> posicoes = new HashMap<>();
+    private final Map<Long, Posicoes> trigramas = new HashMap<>();
+
+    private record Resultado(Pessoa pessoa, int prefixo, double semelhanca) {
+    }
+
+    // Lista de posições que cresce sem converter cada posição em Integer
+    private static final class Posicoes {
+        private int[] valores = new int[4];
+        private int tamanho;
+
+        void adicionar(int posicao) {
+            if (tamanho == valores.length) {
+                valores = Arrays.copyOf(valores, tamanho * 2);
+            }
+            valores[tamanho++] = posicao;
+        }
+    }
+
+    /**
+     * Inclui a pessoa no índice, substituindo a entrada anterior com o mesmo ID.
+     *
+     * @param pessoa Pessoa a indexar.
+     */
+    void adicionar(Pessoa pessoa) {
+        remover(pessoa.id());
+        var posicao = pessoas.size();
+        var nome = normalizar(pessoa.nomeCompleto());
+        pessoas.add(pessoa);
+        nomesNormalizados.add(nome);
+        posicoes.put(pessoa.id(), posicao);
+        for (long trigrama : trigramas(nome)) {
+            trigramas.computeIfAbsent(trigrama, t -> new Posicoes()).adicionar(posicao);
+        }
+    }
+
+    /**
+     * Remove a pessoa do índice, se estiver indexada.
+     *
+     * @param id ID do paciente ou do funcionário.
+     */
+    void remover(UUID id) {
+        var posicao = posicoes.remove(id);
+        if (posicao != null) {
+            pessoas.set(posicao, null);
+            nomesNormalizados.set(posicao, null);
+        }
+    }
+
+    Pessoa obter(UUID id) {
+        var posicao = posicoes.get(id);
+        return posicao == null ? null : pessoas.get(posicao);
+    }
+
+    int tamanho() {
+        return posicoes.size();
+    }
+
+    /**
+     * Busca as pessoas cujo nome começa pelo termo, tem uma palavra começando por ele ou se parece com ele.
+     *
+     * @param termo Nome ou parte do nome digitado.
+     * @param limiar Fração mínima (0 a 1) dos trigramas do termo que precisa aparecer no nome.
+     * @param limite Quantidade máxima de pessoas retornadas.
+     * @return Pessoas encontradas, em ordem de relevância.
+     */
+    List<PessoaBuscaRecordDto> buscar(String termo, double limiar, int limite) {
+        var termoNormalizado = normalizar(termo);
+        var trigramasTermo = trigramas(termoNormalizado);
+        if (trigramasTermo.length == 0) {
+            return List.of();
+        }
+
+        // Quantidade de trigramas do termo encontrados em cada pessoa, percorrendo apenas as listas desses trigramas
+        var contagem = new int[pessoas.size()];
+        var encontradas = new Posicoes();
+        for (long trigrama : trigramasTermo) {
+            var lista = trigramas.get(trigrama);
+            if (lista == null) {
+                continue;
+            }
+            for (int i = 0; i < lista.tamanho; i++) {
+                var posicao = lista.valores[i];
+                if (contagem[posicao]++ == 0) {
+                    encontradas.adicionar(posicao);
+                }
+            }
+        }
+
+        var minimo = Math.max(1, (int) Math.ceil(limiar * trigramasTermo.length));
+        var inicioPalavra = " " + termoNormalizado;
+        var melhores = new PriorityQueue<>(ORDEM.reversed());
+        for (int i = 0; i < encontradas.tamanho; i++) {
+            var posicao = encontradas.valores[i];
+            var pessoa = pessoas.get(posicao);
+            if (pessoa == null || contagem[posicao] < minimo) {
+                continue;
+            }
+            var nome = nomesNormalizados.get(posicao);
+            var prefixo = nome.startsWith(termoNormalizado) ? 2 : nome.contains(inicioPalavra) ? 1 : 0;
+            melhores.add(new Resultado(pessoa, prefixo, (double) contagem[posicao] / trigramasTermo.length));
+            if (melhores.size() > limite) {
+                melhores.poll();
+            }
+        }
+
+        var resultados = new ArrayList<>(melhores);
+        resultados.sort(ORDEM);
+        return resultados.stream()
+                .map(resultado -> new PessoaBuscaRecordDto(resultado.pessoa().tipo(), resultado.pessoa().id(),
+                        resultado.pessoa().nomeCompleto(), resultado.pessoa().medicoId(), resultado.pessoa().especialidade(),
+                        resultado.semelhanca()))
+                .toList();
+    }
+
+    // Remove acentos, passa para minúsculas e troca tudo o que não for letra ou dígito por um espaço
+    static String normalizar(String texto) {
+        var semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+
+    // Trigramas distintos das palavras do texto normalizado, cada um com três caracteres de 16 bits em um long
+    static long[] trigramas(String textoNormalizado) {
+        if (textoNormalizado.isEmpty()) {
+            return new long[0];
+        }
+        var resultado = new HashSet<Long>();
+        for (var palavra : textoNormalizado.split(" ")) {
+            var completa = "  " + palavra + " ";
+            for (int i = 0; i + 3 <= completa.length(); i++) {
+                resultado.add(((long) completa.charAt(i) << 32) | ((long) completa.charAt(i + 1) << 16) | completa.charAt(i + 2));
+            }
+        }
+        return resultado.stream().mapToLong(Long::longValue).toArray();
+    }
+}
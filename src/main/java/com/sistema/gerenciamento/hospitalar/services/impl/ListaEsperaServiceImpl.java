@@ -0,0 +1,381 @@
+package com.sistema.gerenciamento.hospitalar.services.impl;
+
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.ListaEsperaRecordDto;
+import com.sistema.gerenciamento.hospitalar.enums.Especialidade;
+import com.sistema.gerenciamento.hospitalar.enums.StatusListaEspera;
+import com.sistema.gerenciamento.hospitalar.enums.StatusPaciente;
+import com.sistema.gerenciamento.hospitalar.enums.TipoAlteracaoConsulta;
+import com.sistema.gerenciamento.hospitalar.events.ConsultaAlteradaEvent;
+import com.sistema.gerenciamento.hospitalar.exceptions.NotFoundException;
+import com.sistema.gerenciamento.hospitalar.models.ConsultaModel;
+import com.sistema.gerenciamento.hospitalar.models.ListaEsperaModel;
+import com.sistema.gerenciamento.hospitalar.repositorys.ConsultaRepository;
+import com.sistema.gerenciamento.hospitalar.repositorys.ListaEsperaRepository;
+import com.sistema.gerenciamento.hospitalar.repositorys.MedicoRepository;
+import com.sistema.gerenciamento.hospitalar.repositorys.PacienteRepository;
+import com.sistema.gerenciamento.hospitalar.services.ConsultaService;
+import com.sistema.gerenciamento.hospitalar.services.ListaEsperaService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Lista de espera com reaproveitamento automático dos horários cancelados.
+ *
+ * As entradas aguardando horário ficam na TB_LISTA_ESPERA e também em um índice em memória por especialidade e dia,
+ * ordenado por ordem de chegada. Quando uma consulta é cancelada, o horário é ofertado imediatamente (após o commit
+ * do cancelamento) ao paciente que melhor atende: primeiro quem aguarda aquele médico específico, depois quem aguarda
+ * qualquer médico da especialidade, sempre na ordem de chegada. A oferta vale por um período configurável; se o
+ * paciente desistir ou não responder, o horário é repassado ao próximo da fila.
+ */
+@Service
+public class ListaEsperaServiceImpl implements ListaEsperaService {
+
+    private static final Logger logger = LogManager.getLogger(ListaEsperaServiceImpl.class);
+
+    final ListaEsperaRepository listaEsperaRepository;
+    final ConsultaRepository consultaRepository;
+    final PacienteRepository pacienteRepository;
+    final MedicoRepository medicoRepository;
+    final ConsultaService consultaService;
+    final Clock clock;
+    final Duration validadeOferta;
+    // Transação própria da oferta: após o commit do cancelamento, a transação dele já foi encerrada e não grava mais nada
+    final TransactionTemplate transacaoOferta;
+
+    // Índice em memória das entradas aguardando horário, por especialidade e dia
+    private final Map<ChaveEspera, NavigableSet<EntradaEspera>> fila = new ConcurrentHashMap<>();
+
+    public ListaEsperaServiceImpl(ListaEsperaRepository listaEsperaRepository, ConsultaRepository consultaRepository,
+                                  PacienteRepository pacienteRepository, MedicoRepository medicoRepository,
+                                  ConsultaService consultaService, Clock clock, TransactionTemplate transactionTemplate,
+                                  @Value("${lista-espera.validade-oferta-minutos:15}") long validadeOfertaMinutos) {
+        this.listaEsperaRepository = listaEsperaRepository;
+        this.consultaRepository = consultaRepository;
+        this.pacienteRepository = pacienteRepository;
+        this.medicoRepository = medicoRepository;
+        this.consultaService = consultaService;
+        this.clock = clock;
+        this.validadeOferta = Duration.ofMinutes(validadeOfertaMinutos);
+        this.transacaoOferta = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.transacaoOferta.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Inclui o paciente na lista de espera.
+     *
+     * @param listaEsperaRecordDto Especialidade, médico (opcional) e dia desejados.
+     * @param pacienteId ID do paciente.
+     * @return ListaEsperaModel A entrada criada.
+     */
+    @Override
+    public ListaEsperaModel cadastrar(ListaEsperaRecordDto listaEsperaRecordDto, UUID pacienteId) {
+        var paciente = pacienteRepository.findById(pacienteId)
+                .orElseThrow(() -> new NotFoundException("Paciente não encontrado!"));
+        if (paciente.getStatusPaciente() != StatusPaciente.ATIVO) {
+            throw new NotFoundException("O paciente não está ATIVO!");
+        }
+
+        var especialidade = listaEsperaRecordDto.especialidade();
+        var medico = listaEsperaRecordDto.medicoId() == null ? null : medicoRepository.findById(listaEsperaRecordDto.medicoId())
+                .orElseThrow(() -> new NotFoundException("Médico não encontrado!"));
+        if (medico != null) {
+            if (especialidade != null && especialidade != medico.getEspecialidade()) {
+                throw new NotFoundException("O médico informado não atende a especialidade " + especialidade);
+            }
+            especialidade = medico.getEspecialidade();
+        }
+        if (especialidade == null) {
+            throw new NotFoundException("Informe a especialidade ou o médico desejado!");
+        }
+
+        var agora = LocalDateTime.now(clock);
+        if (listaEsperaRecordDto.dia().isBefore(agora.toLocalDate())) {
+            throw new NotFoundException("O dia desejado já passou!");
+        }
+        if (listaEsperaRepository.existsByPacienteEsperaPacienteIdAndEspecialidadeAndDiaAndStatusListaEsperaIn(pacienteId, especialidade,
+                listaEsperaRecordDto.dia(), List.of(StatusListaEspera.AGUARDANDO, StatusListaEspera.OFERTADA))) {
+            throw new NotFoundException("O paciente já está na lista de espera dessa especialidade para esse dia!");
+        }
+
+        var listaEsperaModel = new ListaEsperaModel();
+        listaEsperaModel.setPacienteEspera(paciente);
+        listaEsperaModel.setMedicoEspera(medico);
+        listaEsperaModel.setEspecialidade(especialidade);
+        listaEsperaModel.setDia(listaEsperaRecordDto.dia());
+        listaEsperaModel.setStatusListaEspera(StatusListaEspera.AGUARDANDO);
+        listaEsperaModel.setDataCadastro(agora);
+        listaEsperaModel.setDataAtualizacao(agora);
+
+        var listaEsperaSalva = listaEsperaRepository.save(listaEsperaModel);
+        enfileirar(new EntradaEspera(listaEsperaSalva.getListaEsperaId(), pacienteId, medico != null ? medico.getMedicoId() : null,
+                listaEsperaSalva.getDataCadastro()), especialidade, listaEsperaSalva.getDia());
+        return listaEsperaSalva;
+    }
+
+    @Override
+    public Page<ListaEsperaModel> findAll(Pageable pageable) {
+        return listaEsperaRepository.findAll(pageable);
+    }
+
+    @Override
+    public Optional<ListaEsperaModel> findById(UUID listaEsperaId) {
+        return listaEsperaRepository.findById(listaEsperaId);
+    }
+
+    /**
+     * Agenda a consulta no horário ofertado, com os mesmos dados (médico, clínica, local, valor e tipo de atendimento)
+     * da consulta cancelada. Se o horário não puder mais ser agendado, ele é repassado ao próximo da fila.
+     *
+     * @param listaEsperaId ID da entrada na lista de espera.
+     * @return ConsultaModel A consulta agendada.
+     */
+    @Override
+    public ConsultaModel aceitarOferta(UUID listaEsperaId) {
+        var listaEsperaModel = listaEsperaRepository.findById(listaEsperaId)
+                .orElseThrow(() -> new NotFoundException("Entrada da lista de espera não encontrada!"));
+        var agora = LocalDateTime.now(clock);
+        if (listaEsperaModel.getStatusListaEspera() != StatusListaEspera.OFERTADA || listaEsperaModel.getValidadeOferta().isBefore(agora)) {
+            throw new NotFoundException("Não há oferta de horário válida para essa entrada da lista de espera!");
+        }
+
+        var consultaCancelada = consultaRepository.findById(listaEsperaModel.getConsultaOfertadaId())
+                .orElseThrow(() -> new NotFoundException("Consulta ofertada não encontrada!"));
+        var consultaRecordDto = new ConsultaRecordDto(consultaCancelada.getDataConsulta(), consultaCancelada.getTipoAtendimento(),
+                consultaCancelada.getValorConsulta(), consultaCancelada.getLocal(), null, null, null, null);
+
+        ConsultaModel consultaAgendada;
+        try {
+            consultaAgendada = consultaService.saveConsulta(consultaRecordDto, consultaCancelada.getMedicoConsulta().getMedicoId(),
+                    listaEsperaModel.getPacienteEspera().getPacienteId(), consultaCancelada.getClinicaConsulta().getClinicaHospitlarId());
+        } catch (NotFoundException e) {
+            atualizarStatus(listaEsperaModel, StatusListaEspera.EXPIRADA);
+            ofertarHorario(consultaCancelada.getConsultaId());
+            throw e;
+        }
+
+        listaEsperaModel.setConsultaAgendadaId(consultaAgendada.getConsultaId());
+        atualizarStatus(listaEsperaModel, StatusListaEspera.ATENDIDA);
+        logger.info("Paciente {} aceitou o horário {} da lista de espera", listaEsperaModel.getPacienteEspera().getPacienteId(),
+                consultaAgendada.getDataConsulta());
+        return consultaAgendada;
+    }
+
+    /**
+     * Retira o paciente da lista de espera, repassando uma oferta pendente ao próximo paciente.
+     *
+     * @param listaEsperaId ID da entrada na lista de espera.
+     */
+    @Override
+    public void desistir(UUID listaEsperaId) {
+        var listaEsperaModel = listaEsperaRepository.findById(listaEsperaId)
+                .orElseThrow(() -> new NotFoundException("Entrada da lista de espera não encontrada!"));
+        var statusAnterior = listaEsperaModel.getStatusListaEspera();
+        if (statusAnterior != StatusListaEspera.AGUARDANDO && statusAnterior != StatusListaEspera.OFERTADA) {
+            throw new NotFoundException("Essa entrada da lista de espera já foi encerrada!");
+        }
+
+        var chave = new ChaveEspera(listaEsperaModel.getEspecialidade(), listaEsperaModel.getDia());
+        var entradas = fila.get(chave);
+        if (entradas != null) {
+            entradas.removeIf(entrada -> entrada.listaEsperaId().equals(listaEsperaId));
+        }
+        atualizarStatus(listaEsperaModel, StatusListaEspera.DESISTIU);
+        if (statusAnterior == StatusListaEspera.OFERTADA) {
+            ofertarHorario(listaEsperaModel.getConsultaOfertadaId());
+        }
+    }
+
+    /**
+     * Oferta à lista de espera o horário liberado pelo cancelamento. Executado logo após o commit do cancelamento.
+     *
+     * @param evento Evento de alteração da consulta.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarConsulta(ConsultaAlteradaEvent evento) {
+        if (evento.tipo() == TipoAlteracaoConsulta.CANCELADA) {
+            try {
+                ofertarHorario(evento.atual().consultaId());
+            } catch (RuntimeException e) {
+                // O cancelamento já foi confirmado; uma falha na oferta não deve ser devolvida a quem cancelou
+                logger.error("Falha ao ofertar à lista de espera o horário da consulta {}", evento.atual().consultaId(), e);
+            }
+        }
+    }
+
+    /**
+     * Repassa ao próximo da fila os horários cujas ofertas venceram sem resposta. Cada oferta é encerrada e repassada
+     * na mesma transação: se o repasse falhar, ela continua OFERTADA, é repassada na próxima verificação e as demais
+     * ofertas vencidas seguem sendo processadas.
+     */
+    @Scheduled(fixedDelayString = "${lista-espera.verificacao-ofertas-ms:60000}")
+    public void expirarOfertas() {
+        for (var listaEsperaModel : listaEsperaRepository.findByStatusListaEsperaAndValidadeOfertaBefore(StatusListaEspera.OFERTADA, LocalDateTime.now(clock))) {
+            try {
+                ofertarHorario(listaEsperaModel.getConsultaOfertadaId(), () -> encerrarOfertaVencida(listaEsperaModel.getListaEsperaId()));
+            } catch (RuntimeException e) {
+                logger.error("Falha ao repassar o horário da oferta vencida {} da lista de espera", listaEsperaModel.getListaEsperaId(), e);
+            }
+        }
+    }
+
+    /**
+     * Carrega o índice em memória a partir da TB_LISTA_ESPERA ao iniciar a aplicação.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarFila() {
+        var entradas = listaEsperaRepository.findEntradas(StatusListaEspera.AGUARDANDO, LocalDate.now(clock));
+        entradas.forEach(e -> enfileirar(new EntradaEspera(e.getListaEsperaId(), e.getPacienteId(), e.getMedicoId(), e.getDataCadastro()),
+                e.getEspecialidade(), e.getDia()));
+        logger.info("Lista de espera carregada com {} pacientes aguardando", entradas.size());
+    }
+
+    /**
+     * Encerra diariamente as esperas de dias que já passaram.
+     */
+    @Scheduled(cron = "0 0 0 * * *", zone = "America/Recife")
+    public void encerrarDiasPassados() {
+        var hoje = LocalDate.now(clock);
+        fila.keySet().removeIf(chave -> chave.dia().isBefore(hoje));
+        listaEsperaRepository.expirarDiasPassados(StatusListaEspera.AGUARDANDO, StatusListaEspera.EXPIRADA, hoje, LocalDateTime.now(clock));
+    }
+
+    // Oferta o horário da consulta cancelada ao melhor candidato da fila, se o horário ainda puder ser agendado.
+    // A oferta é gravada em uma transação nova; se ela falhar, o candidato retirado volta para a fila.
+    private void ofertarHorario(UUID consultaCanceladaId) {
+        ofertarHorario(consultaCanceladaId, () -> true);
+    }
+
+    // Como acima, liberando antes o horário na mesma transação; se liberarHorario retornar falso, nada é ofertado
+    private void ofertarHorario(UUID consultaCanceladaId, BooleanSupplier liberarHorario) {
+        var ofertado = new AtomicReference<CandidatoOfertado>();
+        try {
+            transacaoOferta.executeWithoutResult(status -> {
+                if (liberarHorario.getAsBoolean()) {
+                    ofertarHorario(consultaCanceladaId, ofertado);
+                }
+            });
+        } catch (RuntimeException e) {
+            var candidato = ofertado.get();
+            if (candidato != null) {
+                enfileirar(candidato.entrada(), candidato.chave());
+            }
+            throw e;
+        }
+    }
+
+    private void ofertarHorario(UUID consultaCanceladaId, AtomicReference<CandidatoOfertado> ofertado) {
+        var consultaCancelada = consultaRepository.findById(consultaCanceladaId).orElse(null);
+        if (consultaCancelada == null || consultaCancelada.getMotivoCancelamento() == null) {
+            return;
+        }
+        var agora = LocalDateTime.now(clock);
+        var horario = consultaCancelada.getDataConsulta();
+        if (horario.isBefore(agora.plusMinutes(AgendaMedicaServiceImpl.DURACAO_CONSULTA_MINUTOS))) {
+            return;
+        }
+        var medicoId = consultaCancelada.getMedicoConsulta().getMedicoId();
+        var chave = new ChaveEspera(consultaCancelada.getMedicoConsulta().getEspecialidade(), horario.toLocalDate());
+
+        EntradaEspera candidato;
+        while ((candidato = retirarMelhorCandidato(chave, medicoId)) != null) {
+            var listaEsperaModel = listaEsperaRepository.findById(candidato.listaEsperaId()).orElse(null);
+            // O índice pode conter entradas encerradas por outra instância; elas são descartadas e a busca continua
+            if (listaEsperaModel == null || listaEsperaModel.getStatusListaEspera() != StatusListaEspera.AGUARDANDO) {
+                continue;
+            }
+            ofertado.set(new CandidatoOfertado(chave, candidato));
+            listaEsperaModel.setConsultaOfertadaId(consultaCanceladaId);
+            listaEsperaModel.setValidadeOferta(agora.plus(validadeOferta));
+            atualizarStatus(listaEsperaModel, StatusListaEspera.OFERTADA);
+            logger.info("Horário {} do médico {} ofertado ao paciente {} da lista de espera (válido até {})",
+                    horario, medicoId, candidato.pacienteId(), listaEsperaModel.getValidadeOferta());
+            return;
+        }
+    }
+
+    // Encerra a oferta vencida, a menos que o paciente a tenha aceitado ou desistido depois da busca das vencidas
+    private boolean encerrarOfertaVencida(UUID listaEsperaId) {
+        var listaEsperaModel = listaEsperaRepository.findById(listaEsperaId).orElse(null);
+        if (listaEsperaModel == null || listaEsperaModel.getStatusListaEspera() != StatusListaEspera.OFERTADA) {
+            return false;
+        }
+        atualizarStatus(listaEsperaModel, StatusListaEspera.EXPIRADA);
+        return true;
+    }
+
+    // Retira da fila o paciente que aguarda o médico do horário ou, na falta dele, qualquer médico da especialidade
+    private EntradaEspera retirarMelhorCandidato(ChaveEspera chave, UUID medicoId) {
+        var entradas = fila.get(chave);
+        if (entradas == null) {
+            return null;
+        }
+        while (true) {
+            EntradaEspera escolhido = null;
+            for (var entrada : entradas) {
+                if (medicoId.equals(entrada.medicoId())) {
+                    escolhido = entrada;
+                    break;
+                }
+                if (escolhido == null && entrada.medicoId() == null) {
+                    escolhido = entrada;
+                }
+            }
+            if (escolhido == null) {
+                return null;
+            }
+            // A remoção é atômica: se outra thread retirou o mesmo paciente, procura o próximo
+            if (entradas.remove(escolhido)) {
+                return escolhido;
+            }
+        }
+    }
+
+    private void enfileirar(EntradaEspera entrada, Especialidade especialidade, LocalDate dia) {
+        enfileirar(entrada, new ChaveEspera(especialidade, dia));
+    }
+
+    private void enfileirar(EntradaEspera entrada, ChaveEspera chaveEspera) {
+        fila.computeIfAbsent(chaveEspera, chave -> new ConcurrentSkipListSet<>(EntradaEspera.ORDEM_CHEGADA)).add(entrada);
+    }
+
+    private void atualizarStatus(ListaEsperaModel listaEsperaModel, StatusListaEspera status) {
+        listaEsperaModel.setStatusListaEspera(status);
+        listaEsperaModel.setDataAtualizacao(LocalDateTime.now(clock));
+        listaEsperaRepository.save(listaEsperaModel);
+    }
+
+    // Chave do índice: especialidade e dia desejados
+    private record ChaveEspera(Especialidade especialidade, LocalDate dia) {
+    }
+
+    // Paciente retirado da fila para receber a oferta, e a chave em que estava
+    private record CandidatoOfertado(ChaveEspera chave, EntradaEspera entrada) {
+    }
+
+    // Paciente aguardando na fila; medicoId nulo indica qualquer médico da especialidade
+    private record EntradaEspera(UUID listaEsperaId, UUID pacienteId, UUID medicoId, LocalDateTime dataCadastro) {
+        static final Comparator<EntradaEspera> ORDEM_CHEGADA = Comparator.comparing(EntradaEspera::dataCadastro)
+                .thenComparing(EntradaEspera::listaEsperaId);
+    }
+}
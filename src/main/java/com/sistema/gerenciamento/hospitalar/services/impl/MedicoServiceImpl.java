@@ -1,12 +1,14 @@
 package com.sistema.gerenciamento.hospitalar.services.impl;
 
 import com.sistema.gerenciamento.hospitalar.dtos.MedicoRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.PaginaCursorRecordDto;
 import com.sistema.gerenciamento.hospitalar.exceptions.NotFoundException;
 import com.sistema.gerenciamento.hospitalar.models.FuncionarioModel;
 import com.sistema.gerenciamento.hospitalar.models.MedicoModel;
 import com.sistema.gerenciamento.hospitalar.repositorys.ConsultaRepository;
 import com.sistema.gerenciamento.hospitalar.repositorys.MedicoRepository;
 import com.sistema.gerenciamento.hospitalar.services.MedicoService;
+import com.sistema.gerenciamento.hospitalar.specifications.PaginacaoCursor;
 import com.sistema.gerenciamento.hospitalar.specifications.SpecificationsTemplate;
 import org.springframework.beans.BeanUtils;
 import org.springframework.data.domain.Page;
@@ -32,28 +34,6 @@ public class MedicoServiceImpl implements MedicoService {
         this.consultaRepository = consultaRepository;
     }
 
-    /**
-     * Método para verificar se já existe um médico com o CRM informado.
-     *
-     * @param crm CRM do médico a ser verificado.
-     * @return boolean Retorna true se existir, caso contrário, false.
-     */
-    @Override
-    public boolean existByCrm(String crm) {
-        return medicoRepository.existsByCrm(crm);
-    }
-
-    /**
-     * Método para verificar se já existe um médico com o CNS informado.
-     *
-     * @param cns CNS do médico a ser verificado.
-     * @return boolean Retorna true se existir, caso contrário, false.
-     */
-    @Override
-    public boolean existByCns(String cns) {
-        return medicoRepository.existsByCns(cns);
-    }
-
     /**
      * Método para salvar um novo médico.
      *
@@ -122,6 +102,19 @@ public class MedicoServiceImpl implements MedicoService {
         return medicoRepository.findAll(spec, pageable);
     }
 
+    /**
+     * Método para listar médicos por cursor, sem contagem total.
+     *
+     * @param spec Especificação de filtros a serem aplicados na consulta.
+     * @param cursor Cursor opaco da página anterior, ou nulo para a primeira página.
+     * @param limit Quantidade máxima de itens na página.
+     * @return PaginaCursorRecordDto<MedicoModel> Itens da página e o cursor da próxima.
+     */
+    @Override
+    public PaginaCursorRecordDto<MedicoModel> findAllCursor(SpecificationsTemplate.MedicoSpec spec, String cursor, int limit) {
+        return PaginacaoCursor.buscar(medicoRepository, spec, "dataCadastro", "medicoId", cursor, limit);
+    }
+
     /**
      * Método para atualizar os dados de um médico.
      *
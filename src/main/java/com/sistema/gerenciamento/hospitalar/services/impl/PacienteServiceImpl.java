@@ -1,11 +1,13 @@
 package com.sistema.gerenciamento.hospitalar.services.impl;
 
 import com.sistema.gerenciamento.hospitalar.dtos.PacienteRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.PaginaCursorRecordDto;
 import com.sistema.gerenciamento.hospitalar.enums.StatusPaciente;
 import com.sistema.gerenciamento.hospitalar.exceptions.NotFoundException;
 import com.sistema.gerenciamento.hospitalar.models.PacienteModel;
 import com.sistema.gerenciamento.hospitalar.repositorys.PacienteRepository;
 import com.sistema.gerenciamento.hospitalar.services.PacienteService;
+import com.sistema.gerenciamento.hospitalar.specifications.PaginacaoCursor;
 import org.springframework.beans.BeanUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -54,17 +56,6 @@ public class PacienteServiceImpl implements PacienteService {
         return pacienteRepository.save(pacienteModel);
     }
 
-    /**
-     * Método para verificar se já existe um paciente com o nome completo informado.
-     *
-     * @param nomeCompleto Nome completo do paciente a ser verificado.
-     * @return boolean Retorna true se o paciente existir, caso contrário, false.
-     */
-    @Override
-    public boolean existByNomeCompleto(String nomeCompleto) {
-        return pacienteRepository.existsByNomeCompleto(nomeCompleto);
-    }
-
     /**
      * Método para listar todos os pacientes com filtros e paginação.
      *
@@ -78,6 +69,19 @@ public class PacienteServiceImpl implements PacienteService {
         return pacienteRepository.findAll(spec, pageable);
     }
 
+    /**
+     * Método para listar pacientes por cursor, sem contagem total.
+     *
+     * @param spec Especificação de filtros a serem aplicados na consulta.
+     * @param cursor Cursor opaco da página anterior, ou nulo para a primeira página.
+     * @param limit Quantidade máxima de itens na página.
+     * @return PaginaCursorRecordDto<PacienteModel> Itens da página e o cursor da próxima.
+     */
+    @Override
+    public PaginaCursorRecordDto<PacienteModel> findAllCursor(Specification<PacienteModel> spec, String cursor, int limit) {
+        return PaginacaoCursor.buscar(pacienteRepository, spec, "dataCadastro", "pacienteId", cursor, limit);
+    }
+
     /**
      * Método para buscar um paciente pelo ID.
      *
@@ -138,50 +142,6 @@ public class PacienteServiceImpl implements PacienteService {
         return pacienteRepository.save(pacienteModel);
     }
 
-    /**
-     * Método para verificar se já existe um paciente com o CNS informado.
-     *
-     * @param cns CNS do paciente a ser verificado.
-     * @return boolean Retorna true se o paciente existir, caso contrário, false.
-     */
-    @Override
-    public boolean existByCns(String cns) {
-        return pacienteRepository.existsByCns(cns);
-    }
-
-    /**
-     * Método para verificar se já existe um paciente com o CPF informado.
-     *
-     * @param cpf CPF do paciente a ser verificado.
-     * @return boolean Retorna true se o paciente existir, caso contrário, false.
-     */
-    @Override
-    public boolean existByCpf(String cpf) {
-        return pacienteRepository.existsByCpf(cpf);
-    }
-
-    /**
-     * Método para verificar se já existe um paciente com o RG informado.
-     *
-     * @param rg RG do paciente a ser verificado.
-     * @return boolean Retorna true se o paciente existir, caso contrário, false.
-     */
-    @Override
-    public boolean existByRg(String rg) {
-        return pacienteRepository.existsByRg(rg);
-    }
-
-    /**
-     * Método para verificar se já existe um paciente com o número de telefone celular informado.
-     *
-     * @param telefoneCelular Número de telefone celular do paciente a ser verificado.
-     * @return boolean Retorna true se o paciente existir, caso contrário, false.
-     */
-    @Override
-    public boolean existByTelefoneCelular(String telefoneCelular) {
-        return pacienteRepository.existsByTelefoneCelular(telefoneCelular);
-    }
-
     /**
      * Método para excluir um paciente pelo ID.
      *
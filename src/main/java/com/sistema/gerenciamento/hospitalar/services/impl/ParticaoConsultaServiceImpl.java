@@ -0,0 +1,54 @@
+package com.sistema.gerenciamento.hospitalar.services.impl;
+
+import com.sistema.gerenciamento.hospitalar.repositorys.ConsultaJdbcRepository;
+import com.sistema.gerenciamento.hospitalar.services.ParticaoConsultaService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Manutenção das partições mensais da TB_CONSULTA_MEDICA.
+ *
+ * As partições são criadas com antecedência ao iniciar a aplicação e periodicamente, de modo que os agendamentos
+ * sempre encontrem a partição do mês já criada. A criação é idempotente, então várias instâncias podem executá-la.
+ */
+@Service
+public class ParticaoConsultaServiceImpl implements ParticaoConsultaService {
+
+    private static final Logger logger = LogManager.getLogger(ParticaoConsultaServiceImpl.class);
+
+    final ConsultaJdbcRepository consultaJdbcRepository;
+    final Clock clock;
+    final int mesesAFrente;
+
+    public ParticaoConsultaServiceImpl(ConsultaJdbcRepository consultaJdbcRepository, Clock clock,
+                                       @Value("${consulta.particoes.meses-a-frente:12}") int mesesAFrente) {
+        this.consultaJdbcRepository = consultaJdbcRepository;
+        this.clock = clock;
+        this.mesesAFrente = mesesAFrente;
+    }
+
+    // Garante as partições logo ao iniciar, antes do primeiro agendamento
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciarAplicacao() {
+        criarParticoesFuturas();
+    }
+
+    @Scheduled(cron = "${consulta.particoes.cron:0 0 3 * * *}", zone = "America/Recife")
+    @Override
+    public int criarParticoesFuturas() {
+        var mesAtual = LocalDate.now(clock).withDayOfMonth(1);
+        var criadas = consultaJdbcRepository.criarParticoes(mesAtual, mesAtual.plusMonths(mesesAFrente + 1L));
+        if (criadas > 0) {
+            logger.info("{} partições mensais da TB_CONSULTA_MEDICA criadas", criadas);
+        }
+        return criadas;
+    }
+}
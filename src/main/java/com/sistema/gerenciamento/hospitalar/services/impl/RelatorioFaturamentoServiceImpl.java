@@ -0,0 +1,226 @@
+package com.sistema.gerenciamento.hospitalar.services.impl;
+
+import com.sistema.gerenciamento.hospitalar.dtos.FaturamentoRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.RecalculoFaturamentoRecordDto;
+import com.sistema.gerenciamento.hospitalar.enums.Especialidade;
+import com.sistema.gerenciamento.hospitalar.enums.StatusAtendimento;
+import com.sistema.gerenciamento.hospitalar.events.ConsultaAlteradaEvent;
+import com.sistema.gerenciamento.hospitalar.repositorys.ConsultaArquivoJdbcRepository;
+import com.sistema.gerenciamento.hospitalar.repositorys.FaturamentoMensalJdbcRepository;
+import com.sistema.gerenciamento.hospitalar.repositorys.FaturamentoMensalJdbcRepository.LinhaFaturamento;
+import com.sistema.gerenciamento.hospitalar.services.RelatorioFaturamentoService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Relatórios de faturamento e volume de consultas por clínica, médico, especialidade e mês.
+ *
+ * Os relatórios são lidos da TB_FATURAMENTO_MENSAL, mantida de forma incremental pelo ouvinte síncrono das alterações
+ * de consulta: na mesma transação da alteração, a linha do estado anterior (clínica, médico, mês e status) é
+ * decrementada e a do novo estado incrementada. O recálculo reconstrói o consolidado a partir das consultas,
+ * inclusive das arquivadas, com uma transação por clínica executada em paralelo.
+ */
+@Service
+public class RelatorioFaturamentoServiceImpl implements RelatorioFaturamentoService {
+
+    private static final Logger logger = LogManager.getLogger(RelatorioFaturamentoServiceImpl.class);
+
+    // Ordem das variações dentro de uma transação, igual à da chave primária, para evitar deadlocks entre transações
+    private static final Comparator<LinhaFaturamento> ORDEM_CHAVE = Comparator.comparing(LinhaFaturamento::clinicaId)
+            .thenComparing(LinhaFaturamento::mes)
+            .thenComparing(LinhaFaturamento::medicoId)
+            .thenComparing(LinhaFaturamento::statusAtendimento);
+
+    // Dígitos significativos mantidos pelo PostgreSQL ao converter double precision em numeric
+    private static final MathContext DIGITOS_DOUBLE = new MathContext(15, RoundingMode.HALF_EVEN);
+
+    final FaturamentoMensalJdbcRepository faturamentoMensalJdbcRepository;
+    final ConsultaArquivoJdbcRepository consultaArquivoJdbcRepository;
+    final TransactionTemplate transactionTemplate;
+    final int paralelismo;
+
+    public RelatorioFaturamentoServiceImpl(FaturamentoMensalJdbcRepository faturamentoMensalJdbcRepository,
+                                           ConsultaArquivoJdbcRepository consultaArquivoJdbcRepository,
+                                           TransactionTemplate transactionTemplate,
+                                           @Value("${relatorios.recalculo.paralelismo:4}") int paralelismo) {
+        this.faturamentoMensalJdbcRepository = faturamentoMensalJdbcRepository;
+        this.consultaArquivoJdbcRepository = consultaArquivoJdbcRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.paralelismo = paralelismo;
+    }
+
+    /**
+     * Aplica a alteração da consulta ao consolidado. Ouvinte síncrono: executa na transação de quem publicou o evento.
+     *
+     * @param evento Alteração da consulta.
+     */
+    @EventListener
+    @Override
+    public void registrar(ConsultaAlteradaEvent evento) {
+        var variacoes = new HashMap<ChaveFaturamento, LinhaFaturamento>();
+        acumular(variacoes, evento.anterior(), -1);
+        acumular(variacoes, evento.atual(), 1);
+        var naoNulas = variacoes.values().stream()
+                .filter(linha -> linha.quantidade() != 0 || linha.valorTotal().signum() != 0)
+                .sorted(ORDEM_CHAVE)
+                .toList();
+        if (!naoNulas.isEmpty()) {
+            faturamentoMensalJdbcRepository.aplicarVariacoes(naoNulas);
+        }
+    }
+
+    /**
+     * Monta o relatório do mês a partir do consolidado.
+     *
+     * @param clinicaId ID da clínica (nulo para todas as clínicas).
+     * @param mes Mês do relatório.
+     * @return FaturamentoRecordDto Totais do mês, por médico e por especialidade.
+     */
+    @Override
+    public FaturamentoRecordDto faturamento(UUID clinicaId, YearMonth mes) {
+        var total = new Acumulador();
+        var porMedico = new LinkedHashMap<UUID, Acumulador>();
+        var especialidadeDoMedico = new HashMap<UUID, Especialidade>();
+        var porEspecialidade = new TreeMap<Especialidade, Acumulador>();
+
+        for (var linha : faturamentoMensalJdbcRepository.buscarMes(mes.atDay(1), clinicaId)) {
+            var status = StatusAtendimento.valueOf(linha.statusAtendimento());
+            var especialidade = linha.especialidade() == null ? null : Especialidade.valueOf(linha.especialidade());
+            total.somar(status, linha.quantidade(), linha.valorTotal());
+            porMedico.computeIfAbsent(linha.medicoId(), id -> new Acumulador()).somar(status, linha.quantidade(), linha.valorTotal());
+            especialidadeDoMedico.put(linha.medicoId(), especialidade);
+            if (especialidade != null) {
+                porEspecialidade.computeIfAbsent(especialidade, e -> new Acumulador()).somar(status, linha.quantidade(), linha.valorTotal());
+            }
+        }
+
+        var medicos = porMedico.entrySet().stream()
+                .map(e -> new FaturamentoRecordDto.PorMedico(e.getKey(), especialidadeDoMedico.get(e.getKey()), e.getValue().totais()))
+                .sorted(Comparator.comparing((FaturamentoRecordDto.PorMedico m) -> m.totais().faturamento()).reversed())
+                .toList();
+        var especialidades = porEspecialidade.entrySet().stream()
+                .map(e -> new FaturamentoRecordDto.PorEspecialidade(e.getKey(), e.getValue().totais()))
+                .toList();
+        return new FaturamentoRecordDto(clinicaId, mes, total.totais(), medicos, especialidades);
+    }
+
+    /**
+     * Recalcula o consolidado de todas as clínicas, em paralelo e com uma transação por clínica.
+     *
+     * @return RecalculoFaturamentoRecordDto Quantidade de clínicas e linhas recalculadas e a duração.
+     */
+    @Override
+    public RecalculoFaturamentoRecordDto recalcular() {
+        var inicio = System.nanoTime();
+        var clinicaIds = faturamentoMensalJdbcRepository.buscarClinicaIds();
+        var linhas = 0;
+        try (var executor = Executors.newFixedThreadPool(Math.max(1, paralelismo))) {
+            var tarefas = new ArrayList<Future<Integer>>(clinicaIds.size());
+            for (var clinicaId : clinicaIds) {
+                tarefas.add(executor.submit(() -> recalcularClinica(clinicaId)));
+            }
+            for (var tarefa : tarefas) {
+                linhas += tarefa.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Recálculo do faturamento interrompido", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha no recálculo do faturamento", e.getCause());
+        }
+        var duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+        logger.info("Consolidado de faturamento recalculado: {} clínicas, {} linhas em {} ms", clinicaIds.size(), linhas, duracaoMs);
+        return new RecalculoFaturamentoRecordDto(clinicaIds.size(), linhas, duracaoMs);
+    }
+
+    // Recalcula o consolidado de uma clínica somando as consultas da TB_CONSULTA_MEDICA e as arquivadas
+    private int recalcularClinica(UUID clinicaId) {
+        var linhas = transactionTemplate.execute(status -> {
+            faturamentoMensalJdbcRepository.bloquearClinica(clinicaId);
+            var consolidado = new HashMap<ChaveFaturamento, LinhaFaturamento>();
+            for (var linha : faturamentoMensalJdbcRepository.somarConsultasDaClinica(clinicaId)) {
+                somar(consolidado, linha);
+            }
+            for (var consulta : consultaArquivoJdbcRepository.buscarPorClinica(clinicaId)) {
+                if (consulta.medicoId() != null) {
+                    somar(consolidado, new LinhaFaturamento(clinicaId, consulta.medicoId(), inicioDoMes(consulta.dataConsulta().toLocalDate()),
+                            consulta.statusAtendimento(), 1, valor(consulta.valorConsulta())));
+                }
+            }
+            faturamentoMensalJdbcRepository.substituirClinica(clinicaId, consolidado.values());
+            return consolidado.size();
+        });
+        return linhas == null ? 0 : linhas;
+    }
+
+    // Acumula a variação do estado da consulta (sinal 1 para o novo estado e -1 para o anterior)
+    private static void acumular(Map<ChaveFaturamento, LinhaFaturamento> variacoes, ConsultaAlteradaEvent.Estado estado, int sinal) {
+        if (estado == null || estado.clinicaId() == null || estado.medicoId() == null || estado.dataConsulta() == null
+                || estado.statusAtendimento() == null) {
+            return;
+        }
+        var valor = valor(estado.valorConsulta());
+        somar(variacoes, new LinhaFaturamento(estado.clinicaId(), estado.medicoId(), inicioDoMes(estado.dataConsulta().toLocalDate()),
+                estado.statusAtendimento().name(), sinal, sinal < 0 ? valor.negate() : valor));
+    }
+
+    private static void somar(Map<ChaveFaturamento, LinhaFaturamento> consolidado, LinhaFaturamento linha) {
+        consolidado.merge(new ChaveFaturamento(linha.clinicaId(), linha.mes(), linha.medicoId(), linha.statusAtendimento()), linha,
+                (a, b) -> new LinhaFaturamento(a.clinicaId(), a.medicoId(), a.mes(), a.statusAtendimento(),
+                        a.quantidade() + b.quantidade(), a.valorTotal().add(b.valorTotal())));
+    }
+
+    private static LocalDate inicioDoMes(LocalDate data) {
+        return data.withDayOfMonth(1);
+    }
+
+    // Valor da consulta com duas casas decimais, convertido como o recálculo faz no banco (round(valor::float8::numeric, 2)):
+    // o valor exato do real com 15 dígitos significativos, arredondado para duas casas
+    private static BigDecimal valor(float valorConsulta) {
+        return new BigDecimal((double) valorConsulta).round(DIGITOS_DOUBLE).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private record ChaveFaturamento(UUID clinicaId, LocalDate mes, UUID medicoId, String statusAtendimento) {
+    }
+
+    // Soma as quantidades e os valores de um agrupamento do relatório
+    private static final class Acumulador {
+        private long marcadas;
+        private long realizadas;
+        private long canceladas;
+        private BigDecimal faturamento = BigDecimal.ZERO;
+        private BigDecimal faturamentoPrevisto = BigDecimal.ZERO;
+
+        void somar(StatusAtendimento status, long quantidade, BigDecimal valor) {
+            switch (status) {
+                case MARCADO -> {
+                    marcadas += quantidade;
+                    faturamentoPrevisto = faturamentoPrevisto.add(valor);
+                }
+                case REALIZADO -> {
+                    realizadas += quantidade;
+                    faturamento = faturamento.add(valor);
+                }
+                case CANCELADO -> canceladas += quantidade;
+            }
+        }
+
+        FaturamentoRecordDto.Totais totais() {
+            return new FaturamentoRecordDto.Totais(marcadas, realizadas, canceladas, faturamento, faturamentoPrevisto);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.sistema.gerenciamento.hospitalar.services.impl;
 
+import com.sistema.gerenciamento.hospitalar.dtos.PaginaCursorRecordDto;
 import com.sistema.gerenciamento.hospitalar.dtos.UsuarioRecordDto;
 import com.sistema.gerenciamento.hospitalar.enums.RoleType;
 import com.sistema.gerenciamento.hospitalar.enums.StatusUsuario;
@@ -11,6 +12,7 @@ import com.sistema.gerenciamento.hospitalar.repositorys.FuncionarioRepository;
 import com.sistema.gerenciamento.hospitalar.repositorys.UsuarioRepository;
 import com.sistema.gerenciamento.hospitalar.services.RoleService;
 import com.sistema.gerenciamento.hospitalar.services.UsuarioService;
+import com.sistema.gerenciamento.hospitalar.specifications.PaginacaoCursor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.BeanUtils;
@@ -58,6 +60,19 @@ public class UsuarioServiceImpl implements UsuarioService {
         return usuarioRepository.findAll(spec, pageable);
     }
 
+    /**
+     * Método para listar usuários por cursor, sem contagem total.
+     *
+     * @param spec Especificação de filtros a serem aplicados na consulta.
+     * @param cursor Cursor opaco da página anterior, ou nulo para a primeira página.
+     * @param limit Quantidade máxima de itens na página.
+     * @return PaginaCursorRecordDto<UsuarioModel> Itens da página e o cursor da próxima.
+     */
+    @Override
+    public PaginaCursorRecordDto<UsuarioModel> findAllCursor(Specification<UsuarioModel> spec, String cursor, int limit) {
+        return PaginacaoCursor.buscar(usuarioRepository, spec, "dataCriacao", "usuarioId", cursor, limit);
+    }
+
     /**
      * Método para buscar um usuário pelo ID.
      *
@@ -133,50 +148,6 @@ public class UsuarioServiceImpl implements UsuarioService {
         return usuarioRepository.save(usuarioModel);  // Salva o usuário com o novo status
     }
 
-    /**
-     * Método para verificar se já existe um usuário com o mesmo nome.
-     *
-     * @param nome Nome do usuário a ser verificado.
-     * @return boolean Retorna true se o nome já existir, caso contrário, false.
-     */
-    @Override
-    public boolean existByNome(String nome) {
-        return usuarioRepository.existsByNome(nome);
-    }
-
-    /**
-     * Método para verificar se já existe um usuário com o mesmo código de usuário.
-     *
-     * @param codigoUsuario Código do usuário a ser verificado.
-     * @return boolean Retorna true se o código já existir, caso contrário, false.
-     */
-    @Override
-    public boolean existByCodigoUsuario(String codigoUsuario) {
-        return usuarioRepository.existsByCodigoUsuario(codigoUsuario);
-    }
-
-    /**
-     * Método para verificar se já existe um usuário com a mesma senha.
-     *
-     * @param senha Senha do usuário a ser verificada.
-     * @return boolean Retorna true se a senha já existir, caso contrário, false.
-     */
-    @Override
-    public boolean existBySenha(String senha) {
-        return usuarioRepository.existsBySenha(senha);
-    }
-
-    /**
-     * Método para verificar se já existe um usuário vinculado a um funcionário.
-     *
-     * @param funcionarioId ID do funcionário a ser verificado.
-     * @return boolean Retorna true se existir um usuário vinculado ao funcionário, caso contrário, false.
-     */
-    @Override
-    public boolean existsByFuncionarioUsuarioFuncionarioId(UUID funcionarioId) {
-        return usuarioRepository.existsByFuncionarioUsuarioFuncionarioId(funcionarioId);
-    }
-
     /**
      * Método para salvar um novo usuário no sistema.
      *
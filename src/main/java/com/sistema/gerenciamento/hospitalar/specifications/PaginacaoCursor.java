@@ -0,0 +1,117 @@
+package com.sistema.gerenciamento.hospitalar.specifications;
+
+import com.sistema.gerenciamento.hospitalar.dtos.PaginaCursorRecordDto;
+import com.sistema.gerenciamento.hospitalar.exceptions.NotFoundException;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Paginação por cursor (keyset) sobre as specifications de {@link SpecificationsTemplate}.
+ *
+ * A listagem é ordenada por uma chave estável (data + UUID) e cada página continua a partir da última chave
+ * lida, em vez de pular N registros com OFFSET. Assim o custo de uma página não cresce com a profundidade e
+ * nenhuma consulta COUNT(*) é executada: o Spring Data busca limit + 1 linhas só para saber se há próxima página.
+ */
+public final class PaginacaoCursor {
+
+    public static final int LIMITE_MAXIMO = 200;
+
+    private PaginacaoCursor() {
+    }
+
+    /**
+     * Busca uma página a partir do cursor informado.
+     *
+     * @param repository repositório com suporte a specifications.
+     * @param spec filtro dinâmico da listagem (pode ser nulo).
+     * @param campoData atributo de data da chave de ordenação.
+     * @param campoId atributo UUID que desempata registros com a mesma data.
+     * @param cursor cursor opaco devolvido pela página anterior, ou nulo para a primeira página.
+     * @param limit quantidade de itens por página, limitada a {@value #LIMITE_MAXIMO}.
+     * @return itens da página e o cursor da próxima, nulo quando a listagem terminou.
+     */
+    public static <T> PaginaCursorRecordDto<T> buscar(JpaSpecificationExecutor<T> repository,
+                                                      Specification<T> spec,
+                                                      String campoData,
+                                                      String campoId,
+                                                      String cursor,
+                                                      int limit) {
+        return buscar(repository, spec, campoData, campoId, cursor, limit, List.of());
+    }
+
+    /**
+     * Busca uma página a partir do cursor, carregando junto os relacionamentos informados na mesma consulta SQL.
+     *
+     * @param relacoes atributos de relacionamento a carregar; vazio mantém os relacionamentos LAZY.
+     */
+    public static <T> PaginaCursorRecordDto<T> buscar(JpaSpecificationExecutor<T> repository,
+                                                      Specification<T> spec,
+                                                      String campoData,
+                                                      String campoId,
+                                                      String cursor,
+                                                      int limit,
+                                                      Collection<String> relacoes) {
+        int limite = Math.max(1, Math.min(limit, LIMITE_MAXIMO));
+        Sort ordem = Sort.by(Sort.Order.asc(campoData), Sort.Order.asc(campoId));
+        KeysetScrollPosition posicao = decodificar(cursor, campoData, campoId);
+
+        Specification<T> filtro = relacoes.isEmpty() ? Specification.where(spec) : Specification.where(spec).and(buscarJunto(relacoes));
+        Window<T> janela = repository.findBy(filtro, consulta -> consulta.sortBy(ordem).limit(limite).scroll(posicao));
+
+        String proximoCursor = null;
+        if (janela.hasNext() && !janela.isEmpty()) {
+            KeysetScrollPosition ultima = (KeysetScrollPosition) janela.positionAt(janela.size() - 1);
+            proximoCursor = codificar(ultima.getKeys(), campoData, campoId);
+        }
+        return new PaginaCursorRecordDto<>(janela.getContent(), limite, proximoCursor);
+    }
+
+    // O scroll por keyset do Spring Data não aplica o EntityGraph de project(), então os relacionamentos
+    // pedidos entram como fetch join na própria specification
+    static <T> Specification<T> buscarJunto(Collection<String> relacoes) {
+        return (root, query, cb) -> {
+            relacoes.forEach(relacao -> root.fetch(relacao, JoinType.LEFT));
+            return null;
+        };
+    }
+
+    // O cursor é "data|uuid" em Base64 URL-safe: opaco para o cliente e seguro para ir na query string.
+    static String codificar(Map<String, ?> chaves, String campoData, String campoId) {
+        String valor = chaves.get(campoData) + "|" + chaves.get(campoId);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static KeysetScrollPosition decodificar(String cursor, String campoData, String campoId) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.indexOf('|');
+            if (separador < 0) {
+                throw new IllegalArgumentException(cursor);
+            }
+            Map<String, Object> chaves = new LinkedHashMap<>();
+            chaves.put(campoData, LocalDateTime.parse(valor.substring(0, separador)));
+            chaves.put(campoId, UUID.fromString(valor.substring(separador + 1)));
+            return ScrollPosition.forward(chaves);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new NotFoundException("Cursor de paginação inválido");
+        }
+    }
+}
@@ -2,8 +2,12 @@ package com.sistema.gerenciamento.hospitalar.specifications;
 
 import com.sistema.gerenciamento.hospitalar.models.*;
 import net.kaczmarzyk.spring.data.jpa.domain.Equal;
+import net.kaczmarzyk.spring.data.jpa.domain.GreaterThanOrEqual;
+import net.kaczmarzyk.spring.data.jpa.domain.In;
+import net.kaczmarzyk.spring.data.jpa.domain.LessThan;
 import net.kaczmarzyk.spring.data.jpa.domain.Like;
 import net.kaczmarzyk.spring.data.jpa.domain.LikeIgnoreCase;
+import net.kaczmarzyk.spring.data.jpa.domain.NotNull;
 import net.kaczmarzyk.spring.data.jpa.web.annotation.And;
 import net.kaczmarzyk.spring.data.jpa.web.annotation.Spec;
 import org.springframework.data.jpa.domain.Specification;
@@ -57,9 +61,18 @@ public class SpecificationsTemplate {
 
     // Mapeamento dos filtros dinâmicos para a entidade ConsultaModel
     // A interface ConsultaSpec define os filtros de busca que podem ser aplicados sobre os atributos da entidade ConsultaModel
+    // Os filtros por médico, paciente, clínica, status e cancelamento combinados com o período usam os índices da V8
     @And({
             @Spec(path = "valorConsulta", spec = Equal.class), // Filtro de igualdade para o atributo valorConsulta
-            @Spec(path = "tipoAtendimento", spec = Equal.class) // Filtro de igualdade para o atributo tipoAtendimento
+            @Spec(path = "tipoAtendimento", spec = Equal.class), // Filtro de igualdade para o atributo tipoAtendimento
+            @Spec(path = "dataConsulta", params = "dataConsultaDe", spec = GreaterThanOrEqual.class), // Início do período (yyyy-MM-ddTHH:mm:ss), inclusive
+            @Spec(path = "dataConsulta", params = "dataConsultaAte", spec = LessThan.class), // Fim do período (yyyy-MM-ddTHH:mm:ss), exclusivo
+            @Spec(path = "medicoConsulta.medicoId", params = "medicoId", spec = Equal.class), // Filtro pelo médico, comparando a chave estrangeira sem join
+            @Spec(path = "pacienteConsulta.pacienteId", params = "pacienteId", spec = Equal.class), // Filtro pelo paciente
+            @Spec(path = "clinicaConsulta.clinicaHospitlarId", params = "clinicaId", spec = Equal.class), // Filtro pela clínica
+            @Spec(path = "statusAtendimento", spec = In.class), // Um ou mais status (statusAtendimento=MARCADO&statusAtendimento=REALIZADO)
+            @Spec(path = "motivoCancelamento", params = "cancelada", spec = NotNull.class), // true: só canceladas; false: só não canceladas
+            @Spec(path = "motivoCancelamento", spec = Equal.class) // Filtro de igualdade para o motivo do cancelamento
     })
     public interface ConsultaSpec extends Specification<ConsultaModel>{}
 
@@ -0,0 +1,18 @@
+package com.sistema.gerenciamento.hospitalar.validates.consultaMedica;
+
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaRecordDto;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+// O record ContextoValidacaoConsulta reúne o que os validadores compartilham em uma validação:
+// a consulta a ser validada e o instante atual, capturado uma única vez a partir do Clock da aplicação,
+// para que todos os validadores enxerguem o mesmo "agora".
+public record ContextoValidacaoConsulta(ConsultaRecordDto consultaRecordDto,
+                                        Clock clock,
+                                        LocalDateTime agora) {
+
+    public static ContextoValidacaoConsulta de(ConsultaRecordDto consultaRecordDto, Clock clock) {
+        return new ContextoValidacaoConsulta(consultaRecordDto, clock, LocalDateTime.now(clock));
+    }
+}
@@ -0,0 +1,10 @@
+package com.sistema.gerenciamento.hospitalar.validates.consultaMedica;
+
+// O enum CustoValidacao classifica os validadores pelo custo de execução.
+// O motor de validação executa os validadores do menor para o maior custo, de modo que as regras puras
+// (apenas memória) recusem o agendamento antes de qualquer acesso ao banco de dados ou a serviços externos.
+public enum CustoValidacao {
+    MEMORIA,
+    BANCO_DE_DADOS,
+    SERVICO_EXTERNO
+}
@@ -0,0 +1,82 @@
+package com.sistema.gerenciamento.hospitalar.validates.consultaMedica;
+
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaRecordDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/* A classe MotorValidacaoConsulta executa os validadores de agendamento em ordem crescente de custo,
+ * interrompendo na primeira recusa. Cada validador tem o tempo de execução e a quantidade de recusas
+ * expostos como métricas (agendamento.validacao.tempo e agendamento.validacao.recusas, com a tag validador).
+ */
+@Component
+public class MotorValidacaoConsulta {
+
+    Logger logger = LogManager.getLogger(MotorValidacaoConsulta.class);
+
+    private final List<ValidadorMedido> validadores;
+    private final Clock clock;
+
+    public MotorValidacaoConsulta(List<ValidadorAgendamentoDeConsulta> validadores, Clock clock, MeterRegistry meterRegistry) {
+        this.clock = clock;
+        // A ordenação é estável: validadores de mesmo custo mantêm a ordem dos beans
+        this.validadores = validadores.stream()
+                .sorted(Comparator.comparing(ValidadorAgendamentoDeConsulta::custo))
+                .map(v -> new ValidadorMedido(v, meterRegistry))
+                .toList();
+        logger.info("Validadores de agendamento registrados (ordem de execução): {}",
+                this.validadores.stream().map(v -> v.nome).toList());
+    }
+
+    /**
+     * Valida o agendamento da consulta, executando os validadores do mais barato para o mais caro.
+     *
+     * @param consultaRecordDto Dados da consulta a ser validada.
+     */
+    public void validar(ConsultaRecordDto consultaRecordDto) {
+        var contexto = ContextoValidacaoConsulta.de(consultaRecordDto, clock);
+        validadores.forEach(v -> v.validar(contexto));
+    }
+
+    // Validador acompanhado das suas métricas
+    private static final class ValidadorMedido {
+        private final ValidadorAgendamentoDeConsulta validador;
+        private final String nome;
+        private final Timer tempo;
+        private final Counter recusas;
+
+        ValidadorMedido(ValidadorAgendamentoDeConsulta validador, MeterRegistry meterRegistry) {
+            this.validador = validador;
+            this.nome = validador.getClass().getSimpleName();
+            this.tempo = Timer.builder("agendamento.validacao.tempo")
+                    .description("Tempo de execução de cada validador de agendamento")
+                    .tag("validador", nome)
+                    .tag("custo", validador.custo().name())
+                    .register(meterRegistry);
+            this.recusas = Counter.builder("agendamento.validacao.recusas")
+                    .description("Quantidade de agendamentos recusados por cada validador")
+                    .tag("validador", nome)
+                    .register(meterRegistry);
+        }
+
+        void validar(ContextoValidacaoConsulta contexto) {
+            var inicio = System.nanoTime();
+            try {
+                validador.validar(contexto);
+            } catch (RuntimeException e) {
+                recusas.increment();
+                throw e;
+            } finally {
+                tempo.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
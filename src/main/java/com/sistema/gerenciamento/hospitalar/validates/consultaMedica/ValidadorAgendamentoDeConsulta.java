@@ -1,13 +1,14 @@
 package com.sistema.gerenciamento.hospitalar.validates.consultaMedica;
 
-import com.sistema.gerenciamento.hospitalar.dtos.ConsultaRecordDto;
-
 // A interface ValidadorAgendamentoDeConsulta define um contrato para validações relacionadas ao agendamento de consultas.
-// Qualquer classe que implementar essa interface deve fornecer uma implementação para o método validar.
+// Qualquer classe que implementar essa interface deve fornecer uma implementação para os métodos validar e custo.
 public interface ValidadorAgendamentoDeConsulta {
 
     // Método responsável por validar um agendamento de consulta.
-    // Recebe um objeto ConsultaRecordDto contendo os dados da consulta a ser validada.
+    // Recebe o contexto da validação, com os dados da consulta e o instante atual compartilhado entre os validadores.
     // Caso a validação falhe, a implementação pode lançar uma exceção apropriada.
-    void validar(ConsultaRecordDto consultaRecordDto);
+    void validar(ContextoValidacaoConsulta contexto);
+
+    // Custo de execução do validador, usado pelo MotorValidacaoConsulta para ordenar a execução.
+    CustoValidacao custo();
 }
@@ -1,13 +1,12 @@
 package com.sistema.gerenciamento.hospitalar.validates.consultaMedica.impl;
 
-import com.sistema.gerenciamento.hospitalar.dtos.ConsultaRecordDto;
 import com.sistema.gerenciamento.hospitalar.exceptions.NotFoundException;
+import com.sistema.gerenciamento.hospitalar.validates.consultaMedica.ContextoValidacaoConsulta;
+import com.sistema.gerenciamento.hospitalar.validates.consultaMedica.CustoValidacao;
 import com.sistema.gerenciamento.hospitalar.validates.consultaMedica.ValidadorAgendamentoDeConsulta;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
 
 /* A classe ValidadorHorarioAntecedencia é um validador que implementa a interface ValidadorAgendamentoDeConsulta
  * com o objetivo de garantir que uma consulta seja agendada com pelo menos 30 minutos de antecedência.
@@ -18,12 +17,12 @@ public class ValidadorHorarioAntecedencia implements ValidadorAgendamentoDeConsu
     // O método validar é responsável por realizar a validação do agendamento da consulta.
     // Ele verifica se a consulta foi marcada com pelo menos 30 minutos de antecedência.
     @Override
-    public void validar(ConsultaRecordDto consultaRecordDto) {
+    public void validar(ContextoValidacaoConsulta contexto) {
         // Obtém a data e hora da consulta a partir do DTO (Data Transfer Object).
-        var dataConsulta = consultaRecordDto.dataConsulta();
+        var dataConsulta = contexto.consultaRecordDto().dataConsulta();
 
-        // Obtém o horário atual considerando o fuso horário de Recife (America/Recife).
-        var agora = LocalDateTime.now(ZoneId.of("America/Recife"));
+        // Obtém o horário atual capturado no contexto (relógio da aplicação, fuso America/Recife).
+        var agora = contexto.agora();
 
         // Calcula a diferença entre o horário atual e o horário da consulta em minutos.
         var diferencaEmMinutos = Duration.between(agora, dataConsulta).toMinutes();
@@ -35,4 +34,10 @@ public class ValidadorHorarioAntecedencia implements ValidadorAgendamentoDeConsu
             throw new NotFoundException("Consulta deve ser agendada com antecedência mínima de 30 minutos");
         }
     }
-}
\ No newline at end of file
+
+    // Validação pura, sem acesso ao banco de dados.
+    @Override
+    public CustoValidacao custo() {
+        return CustoValidacao.MEMORIA;
+    }
+}
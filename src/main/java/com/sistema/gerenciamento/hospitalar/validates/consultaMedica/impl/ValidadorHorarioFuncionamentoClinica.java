@@ -1,7 +1,8 @@
 package com.sistema.gerenciamento.hospitalar.validates.consultaMedica.impl;
 
-import com.sistema.gerenciamento.hospitalar.dtos.ConsultaRecordDto;
 import com.sistema.gerenciamento.hospitalar.exceptions.NotFoundException;
+import com.sistema.gerenciamento.hospitalar.validates.consultaMedica.ContextoValidacaoConsulta;
+import com.sistema.gerenciamento.hospitalar.validates.consultaMedica.CustoValidacao;
 import com.sistema.gerenciamento.hospitalar.validates.consultaMedica.ValidadorAgendamentoDeConsulta;
 import org.springframework.stereotype.Component;
 
@@ -12,20 +13,24 @@ import java.time.DayOfWeek;
 @Component() // A anotação @Component torna a classe um componente Spring, permitindo que o Spring gerencie a instância desta classe automaticamente.
 public class ValidadorHorarioFuncionamentoClinica implements ValidadorAgendamentoDeConsulta {
 
+    // Hora de abertura e hora de encerramento da clínica (compartilhadas com a agenda do médico).
+    public static final int HORA_ABERTURA = 7;
+    public static final int HORA_ENCERRAMENTO = 18;
+
     // O método validar é responsável por verificar se o horário da consulta está dentro do período de funcionamento da clínica.
     @Override
-    public void validar(ConsultaRecordDto consultaRecordDto) {
+    public void validar(ContextoValidacaoConsulta contexto) {
         // Obtém a data e hora da consulta a partir do DTO (Data Transfer Object).
-        var dataConsulta = consultaRecordDto.dataConsulta();
+        var dataConsulta = contexto.consultaRecordDto().dataConsulta();
 
         // Verifica se a consulta está marcada para um domingo (day of week igual a SUNDAY).
         var domingo = dataConsulta.getDayOfWeek().equals(DayOfWeek.SUNDAY);
 
         // Verifica se a consulta está marcada para antes da abertura da clínica (antes das 7h).
-        var antesDaAberturaDaClinica = dataConsulta.getHour() < 7;
+        var antesDaAberturaDaClinica = dataConsulta.getHour() < HORA_ABERTURA;
 
         // Verifica se a consulta está marcada para depois do horário de encerramento da clínica (depois das 18h).
-        var depoisDoEncerramentoDaClinica = dataConsulta.getHour() > 18;
+        var depoisDoEncerramentoDaClinica = dataConsulta.getHour() > HORA_ENCERRAMENTO;
 
         // Se a consulta for agendada para um domingo ou fora do horário de funcionamento (antes das 7h ou depois das 18h),
         // uma exceção personalizada NotFoundException é lançada com a mensagem de erro.
@@ -33,4 +38,10 @@ public class ValidadorHorarioFuncionamentoClinica implements ValidadorAgendament
             throw new NotFoundException("Horario fora do funcionamento da clinica");
         }
     }
+
+    // Validação pura, sem acesso ao banco de dados.
+    @Override
+    public CustoValidacao custo() {
+        return CustoValidacao.MEMORIA;
+    }
 }
@@ -0,0 +1,147 @@
+-- Esquema base das entidades, antes criado pelo Hibernate (ddl-auto: update) e agora versionado pelo Flyway.
+-- A versão 0.1 roda antes da V1 (que já insere em tb_role), então um banco vazio é montado do zero pelas migrações.
+-- Bancos já existentes recebem o baseline na versão 1 (baseline-on-migrate) e não executam este script.
+--
+-- tb_consulta_medica é criada como tabela comum e particionada pela V4, que também cria as suas chaves estrangeiras.
+-- As colunas das relações um-para-um (funcionario_id, paciente_id, clinica_id) são únicas, então já têm índice.
+
+create table tb_funcionario (
+    funcionario_id     uuid         not null,
+    nome_completo      varchar(50)  not null unique,
+    cpf                varchar(11)  not null unique,
+    rg                 varchar(10)  not null unique,
+    data_nascimento    date         not null,
+    telefone           varchar(16),
+    genero             varchar(255) not null check (genero in ('MASCULINO','FEMININO')),
+    funcao             varchar(255) not null check (funcao in ('MEDICO','SECRETARIA','GERENTE')),
+    status_funcionario varchar(50)  check (status_funcionario in ('ATIVO','INATIVO')),
+    data_cadastro      timestamp(6) not null,
+    data_atualizacao   timestamp(6) not null,
+    primary key (funcionario_id)
+);
+
+create table tb_medico (
+    medico_id        uuid         not null,
+    crm              varchar(12)  not null unique,
+    cns              varchar(10)  not null unique,
+    especialidade    varchar(50)  check (especialidade in ('CARDIOLOGIA','PEDIATRIA','ORTOPEDISTA','OFTALMOLOGIA','ADMISTRACAO')),
+    funcionario_id   uuid         unique,
+    data_cadastro    timestamp(6) not null,
+    data_atualizacao timestamp(6) not null,
+    primary key (medico_id),
+    constraint fk_medico_funcionario foreign key (funcionario_id) references tb_funcionario (funcionario_id)
+);
+
+create table tb_paciente (
+    paciente_id      uuid         not null,
+    nome_completo    varchar(50)  not null unique,
+    cpf              varchar(11)  not null unique,
+    rg               varchar(10)  not null unique,
+    cns              varchar(12)  not null unique,
+    telefone_celular varchar(14)  unique,
+    nacionalidade    varchar(30),
+    data_nascimento  date         not null,
+    genero           varchar(255) not null check (genero in ('MASCULINO','FEMININO')),
+    status_paciente  varchar(255) not null check (status_paciente in ('ATIVO','INATIVO','FALECIDO')),
+    tipo_sanguineo   varchar(255) not null check (tipo_sanguineo in ('A_POSITIVO','A_NEGATIVO','B_POSITIVO','B_NEGATIVO',
+                                                                     'AB_POSITIVO','AB_NEGATIVO','O_POSITIVO','O_NEGATIVO')),
+    data_cadastro    timestamp(6) not null,
+    data_atualizacao timestamp(6) not null,
+    primary key (paciente_id)
+);
+
+create table tb_clinica_hospitalar (
+    clinica_hospitlar_id uuid         not null,
+    nome                 varchar(50)  not null,
+    cnpj                 varchar(14)  not null unique,
+    email                varchar(255) not null unique,
+    telefone_celular     varchar(10)  not null,
+    data_cadastro        timestamp(6) not null,
+    data_atualizacao     timestamp(6) not null,
+    primary key (clinica_hospitlar_id)
+);
+
+create table tb_endereco (
+    endereco_id      uuid         not null,
+    cep              varchar(10),
+    logradouro       varchar(30)  not null,
+    complemento      varchar(30),
+    bairro           varchar(30)  not null,
+    localidade       varchar(30)  not null,
+    uf               varchar(30)  not null,
+    numero_casa      varchar(30),
+    funcionario_id   uuid         unique,
+    paciente_id      uuid         unique,
+    clinica_id       uuid         unique,
+    data_cadastro    timestamp(6) not null,
+    data_atualizacao timestamp(6) not null,
+    primary key (endereco_id),
+    constraint fk_endereco_funcionario foreign key (funcionario_id) references tb_funcionario (funcionario_id),
+    constraint fk_endereco_paciente foreign key (paciente_id) references tb_paciente (paciente_id),
+    constraint fk_endereco_clinica foreign key (clinica_id) references tb_clinica_hospitalar (clinica_hospitlar_id)
+);
+
+create table tb_consulta_medica (
+    consulta_id         uuid         not null,
+    tipo_atendimento    varchar(255) not null check (tipo_atendimento in ('CONSULTA','CIRURGIA')),
+    status_atendimento  varchar(255) not null check (status_atendimento in ('MARCADO','CANCELADO','REALIZADO')),
+    valor_consulta      real         not null,
+    data_consulta       timestamp(6) not null,
+    data_cadastro       timestamp(6) not null,
+    data_atualizacao    timestamp(6) not null,
+    local               varchar(10)  not null,
+    motivo_cancelamento varchar(255) check (motivo_cancelamento in ('PACIENTE_DESISTIU','MEDICO_CANCELOU','OUTROS')),
+    resultado_consulta  varchar(255),
+    observacao          varchar(255),
+    medico_id           uuid,
+    paciente_id         uuid,
+    clinica_id          uuid,
+    primary key (consulta_id)
+);
+
+create table tb_lista_espera (
+    lista_espera_id      uuid         not null,
+    paciente_id          uuid         not null,
+    medico_id            uuid,
+    especialidade        varchar(50)  not null check (especialidade in ('CARDIOLOGIA','PEDIATRIA','ORTOPEDISTA','OFTALMOLOGIA','ADMISTRACAO')),
+    dia                  date         not null,
+    status_lista_espera  varchar(20)  not null check (status_lista_espera in ('AGUARDANDO','OFERTADA','ATENDIDA','EXPIRADA','DESISTIU')),
+    consulta_ofertada_id uuid,
+    validade_oferta      timestamp(6),
+    consulta_agendada_id uuid,
+    data_cadastro        timestamp(6) not null,
+    data_atualizacao     timestamp(6) not null,
+    primary key (lista_espera_id),
+    constraint fk_lista_espera_paciente foreign key (paciente_id) references tb_paciente (paciente_id),
+    constraint fk_lista_espera_medico foreign key (medico_id) references tb_medico (medico_id)
+);
+
+create index idx_lista_espera_status_dia on tb_lista_espera (status_lista_espera, dia);
+
+create table tb_role (
+    role_id   uuid        not null,
+    role_nome varchar(30) not null unique check (role_nome in ('ROLE_USUARIO','ROLE_MEDICO','ROLE_SECRETARIA','ROLE_ADMIN')),
+    primary key (role_id)
+);
+
+create table tb_usuario (
+    usuario_id       uuid         not null,
+    codigo_usuario   varchar(10)  not null unique,
+    nome             varchar(150) not null unique,
+    senha            varchar(255) not null unique,
+    status_usuario   varchar(255) not null check (status_usuario in ('ATIVO','INATIVO')),
+    usuario_type     varchar(255) not null check (usuario_type in ('USUARIO','MEDICO','SECRETARIA','ADMIN')),
+    funcionario_id   uuid         unique,
+    data_criacao     timestamp(6) not null,
+    data_atualizacao timestamp(6) not null,
+    primary key (usuario_id),
+    constraint fk_usuario_funcionario foreign key (funcionario_id) references tb_funcionario (funcionario_id)
+);
+
+create table tb_usuario_role (
+    role_id    uuid not null,
+    usuario_id uuid not null,
+    primary key (role_id, usuario_id),
+    constraint fk_usuario_role_role foreign key (role_id) references tb_role (role_id),
+    constraint fk_usuario_role_usuario foreign key (usuario_id) references tb_usuario (usuario_id)
+);
@@ -0,0 +1,2 @@
+-- Extensão de trigramas: permite índices GIN que atendem LIKE '%termo%', usado nos filtros por nome das listagens.
+create extension if not exists pg_trgm;
@@ -0,0 +1,12 @@
+-- Índices de trigramas dos nomes de pacientes e funcionários (inclusive médicos).
+-- Os filtros nomeCompleto das listagens (LikeIgnoreCase em PacienteSpec e FuncionarioSpec) geram
+-- upper(nome_completo) LIKE '%TERMO%', que antes só podia ser resolvido com leitura sequencial das tabelas.
+-- Sem fastupdate: os cadastros são poucos e as buscas constantes, então cada inclusão já atualiza o índice em vez de
+-- acumular as linhas em uma lista pendente que toda busca teria de percorrer.
+-- Criados com CONCURRENTLY, como na V9, para não bloquear os cadastros; por isso o script contém apenas esses comandos.
+
+create index concurrently if not exists idx_paciente_nome_trgm
+    on tb_paciente using gin (upper(nome_completo) gin_trgm_ops) with (fastupdate = off);
+
+create index concurrently if not exists idx_funcionario_nome_trgm
+    on tb_funcionario using gin (upper(nome_completo) gin_trgm_ops) with (fastupdate = off);
@@ -0,0 +1,61 @@
+-- Nomes fixos para as restrições únicas dos cadastros. Os cadastros não consultam mais a duplicidade antes de gravar:
+-- a violação da restrição é traduzida pelo GlobalExceptionHandler na mensagem do campo, identificado pelo nome.
+-- Bancos criados pelo Hibernate têm essas restrições com nomes gerados (uk + hash) e os criados pela V0_1 com os nomes
+-- padrão do PostgreSQL, por isso a restrição existente na coluna é apenas renomeada (sem recriar o índice); a que
+-- não existir é criada. O nome da clínica, antes verificado só pela aplicação, passa a ter restrição também.
+-- Antes de criar uma restrição, a coluna é conferida: havendo valores repetidos (por exemplo, clínicas de mesmo nome
+-- cadastradas por requisições simultâneas), a migração é interrompida listando-os, e os registros devem ser renomeados
+-- ou unificados antes de executá-la novamente.
+
+create function pg_temp.nomear_restricao_unica(tabela text, coluna text, nome text) returns void as $$
+declare
+    atual     text;
+    repetidos text;
+begin
+    select c.conname into atual
+    from pg_constraint c
+    join pg_attribute a on a.attrelid = c.conrelid and a.attname = coluna
+    where c.conrelid = tabela::regclass
+      and c.contype = 'u'
+      and c.conkey = array[a.attnum];
+
+    if atual is null then
+        execute format('select string_agg(quote_literal(valor), '', '') from (select %I::text as valor from %I '
+                           'where %I is not null group by %I having count(*) > 1 order by 1 limit 10) r',
+                       coluna, tabela, coluna, coluna)
+            into repetidos;
+        if repetidos is not null then
+            raise exception 'Valores repetidos em %.% impedem a criacao da restricao %: %', tabela, coluna, nome, repetidos
+                using hint = 'Renomeie ou unifique os registros repetidos e execute a migracao novamente.';
+        end if;
+        execute format('alter table %I add constraint %I unique (%I)', tabela, nome, coluna);
+    elsif atual <> nome then
+        execute format('alter table %I rename constraint %I to %I', tabela, atual, nome);
+    end if;
+end;
+$$ language plpgsql;
+
+select pg_temp.nomear_restricao_unica('tb_paciente', 'nome_completo', 'uk_paciente_nome_completo');
+select pg_temp.nomear_restricao_unica('tb_paciente', 'cpf', 'uk_paciente_cpf');
+select pg_temp.nomear_restricao_unica('tb_paciente', 'rg', 'uk_paciente_rg');
+select pg_temp.nomear_restricao_unica('tb_paciente', 'cns', 'uk_paciente_cns');
+select pg_temp.nomear_restricao_unica('tb_paciente', 'telefone_celular', 'uk_paciente_telefone_celular');
+
+select pg_temp.nomear_restricao_unica('tb_funcionario', 'nome_completo', 'uk_funcionario_nome_completo');
+select pg_temp.nomear_restricao_unica('tb_funcionario', 'cpf', 'uk_funcionario_cpf');
+select pg_temp.nomear_restricao_unica('tb_funcionario', 'rg', 'uk_funcionario_rg');
+
+select pg_temp.nomear_restricao_unica('tb_medico', 'crm', 'uk_medico_crm');
+select pg_temp.nomear_restricao_unica('tb_medico', 'cns', 'uk_medico_cns');
+select pg_temp.nomear_restricao_unica('tb_medico', 'funcionario_id', 'uk_medico_funcionario');
+
+select pg_temp.nomear_restricao_unica('tb_clinica_hospitalar', 'nome', 'uk_clinica_nome');
+select pg_temp.nomear_restricao_unica('tb_clinica_hospitalar', 'cnpj', 'uk_clinica_cnpj');
+select pg_temp.nomear_restricao_unica('tb_clinica_hospitalar', 'email', 'uk_clinica_email');
+
+select pg_temp.nomear_restricao_unica('tb_usuario', 'nome', 'uk_usuario_nome');
+select pg_temp.nomear_restricao_unica('tb_usuario', 'codigo_usuario', 'uk_usuario_codigo_usuario');
+select pg_temp.nomear_restricao_unica('tb_usuario', 'senha', 'uk_usuario_senha');
+select pg_temp.nomear_restricao_unica('tb_usuario', 'funcionario_id', 'uk_usuario_funcionario');
+
+drop function pg_temp.nomear_restricao_unica(text, text, text);
@@ -0,0 +1,4 @@
+-- Token de assinatura do calendário (agenda.ics) de cada médico. Aplicativos de calendário não enviam o token JWT, então
+-- a assinatura usa uma URL com um token próprio do médico, que pode ser trocado ou revogado a qualquer momento.
+-- Apenas o hash SHA-256 do token é gravado; sem token (nulo), o calendário só é acessível com autenticação JWT.
+alter table tb_medico add column if not exists token_calendario varchar(64);
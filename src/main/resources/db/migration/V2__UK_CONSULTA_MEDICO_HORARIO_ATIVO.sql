@@ -0,0 +1,5 @@
+-- Garante no banco que um médico não tenha duas consultas ativas (não canceladas) no mesmo horário.
+-- Por ser um índice parcial, consultas canceladas liberam o horário para um novo agendamento.
+create unique index if not exists uk_consulta_medico_horario_ativo
+    on tb_consulta_medica (medico_id, data_consulta)
+    where motivo_cancelamento is null;
@@ -0,0 +1,27 @@
+-- Registro (outbox) das transições do ciclo de vida das consultas.
+-- Cada linha é gravada na mesma transação da alteração da consulta e publicada posteriormente pelo relay,
+-- que preenche publicado_em. As linhas publicadas são mantidas como histórico da consulta.
+create table if not exists tb_consulta_evento (
+    evento_id              bigserial primary key,
+    tipo                   varchar(20)  not null,
+    consulta_id            uuid         not null,
+    medico_id              uuid,
+    paciente_id            uuid,
+    clinica_id             uuid,
+    data_consulta_anterior timestamp(6),
+    data_consulta          timestamp(6),
+    status_anterior        varchar(20),
+    status_atendimento     varchar(20),
+    motivo_cancelamento    varchar(30),
+    valor_consulta         real,
+    ocorrido_em            timestamp(6) not null,
+    publicado_em           timestamp(6)
+);
+
+-- Apenas os eventos pendentes são percorridos pelo relay
+create index if not exists idx_consulta_evento_pendente
+    on tb_consulta_evento (evento_id)
+    where publicado_em is null;
+
+create index if not exists idx_consulta_evento_consulta
+    on tb_consulta_evento (consulta_id, evento_id);
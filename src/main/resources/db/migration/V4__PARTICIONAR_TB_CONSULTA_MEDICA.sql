@@ -0,0 +1,129 @@
+-- Particiona a TB_CONSULTA_MEDICA por intervalo mensal de data_consulta.
+-- As verificações de conflito, a agenda do dia e os relatórios filtram sempre por data_consulta, de modo que o
+-- PostgreSQL percorre apenas as partições do período (partition pruning) em vez de todo o histórico.
+--
+-- Cada mês fica em uma partição tb_consulta_medica_AAAA_MM. Consultas fora dos meses já criados caem na partição
+-- padrão (tb_consulta_medica_padrao) e são movidas para a partição do mês quando ela é criada pela função
+-- criar_particoes_consulta, executada periodicamente pela aplicação para manter os meses seguintes criados.
+
+-- 1. Renomeia a tabela existente (criada pela V0_1 ou, em um banco com baseline, pelo antigo ddl-auto) para
+-- particioná-la; se ela não existir, cria a tabela particionada
+do $$
+declare
+    nome_pk text;
+begin
+    if to_regclass('tb_consulta_medica') is null then
+        create table tb_consulta_medica (
+            consulta_id         uuid         not null,
+            tipo_atendimento    varchar(255) not null,
+            status_atendimento  varchar(255) not null,
+            valor_consulta      real         not null,
+            data_consulta       timestamp(6) not null,
+            data_cadastro       timestamp(6) not null,
+            data_atualizacao    timestamp(6) not null,
+            local               varchar(10)  not null,
+            motivo_cancelamento varchar(255),
+            resultado_consulta  varchar(255),
+            observacao          varchar(255),
+            medico_id           uuid,
+            paciente_id         uuid,
+            clinica_id          uuid
+        ) partition by range (data_consulta);
+    elsif not exists (select 1 from pg_partitioned_table where partrelid = 'tb_consulta_medica'::regclass) then
+        alter table tb_consulta_medica rename to tb_consulta_medica_legado;
+
+        -- Libera os nomes da chave primária e do índice único para a nova tabela
+        select conname into nome_pk from pg_constraint
+        where conrelid = 'tb_consulta_medica_legado'::regclass and contype = 'p';
+        if nome_pk is not null then
+            execute format('alter table tb_consulta_medica_legado rename constraint %I to %I', nome_pk, 'tb_consulta_medica_legado_pkey');
+        end if;
+        drop index if exists uk_consulta_medico_horario_ativo;
+
+        update tb_consulta_medica_legado set data_consulta = data_cadastro where data_consulta is null;
+
+        create table tb_consulta_medica (like tb_consulta_medica_legado including defaults including constraints)
+            partition by range (data_consulta);
+        alter table tb_consulta_medica alter column data_consulta set not null;
+    end if;
+end $$;
+
+-- 2. A chave primária de uma tabela particionada precisa conter a coluna de particionamento
+do $$
+begin
+    if not exists (select 1 from pg_constraint where conrelid = 'tb_consulta_medica'::regclass and contype = 'p') then
+        alter table tb_consulta_medica add constraint tb_consulta_medica_pkey primary key (consulta_id, data_consulta);
+    end if;
+end $$;
+
+create table if not exists tb_consulta_medica_padrao partition of tb_consulta_medica default;
+
+-- Índices definidos na tabela particionada são criados automaticamente em cada partição
+create unique index if not exists uk_consulta_medico_horario_ativo
+    on tb_consulta_medica (medico_id, data_consulta)
+    where motivo_cancelamento is null;
+
+create index if not exists idx_consulta_paciente_data
+    on tb_consulta_medica (paciente_id, data_consulta);
+
+-- 3. Cria as partições mensais do intervalo [inicio, fim), movendo para elas as consultas que estiverem na partição padrão
+create or replace function criar_particoes_consulta(inicio date, fim date) returns integer
+    language plpgsql as $$
+declare
+    mes           date := date_trunc('month', inicio)::date;
+    proximo_mes   date;
+    nome_particao text;
+    criadas       integer := 0;
+begin
+    while mes < fim loop
+        proximo_mes := (mes + interval '1 month')::date;
+        nome_particao := 'tb_consulta_medica_' || to_char(mes, 'YYYY_MM');
+        if to_regclass(nome_particao) is null then
+            execute format('create table %I (like tb_consulta_medica including defaults including constraints)', nome_particao);
+            execute format('insert into %I select * from tb_consulta_medica_padrao where data_consulta >= %L and data_consulta < %L',
+                           nome_particao, mes, proximo_mes);
+            execute format('delete from tb_consulta_medica_padrao where data_consulta >= %L and data_consulta < %L', mes, proximo_mes);
+            execute format('alter table tb_consulta_medica attach partition %I for values from (%L) to (%L)',
+                           nome_particao, mes, proximo_mes);
+            criadas := criadas + 1;
+        end if;
+        mes := proximo_mes;
+    end loop;
+    return criadas;
+end $$;
+
+-- 4. Cria as partições do histórico existente e dos próximos 12 meses e copia as consultas da tabela antiga
+do $$
+declare
+    inicio date := date_trunc('month', current_date)::date;
+begin
+    if to_regclass('tb_consulta_medica_legado') is not null then
+        select least(inicio, coalesce(date_trunc('month', min(data_consulta))::date, inicio)) into inicio
+        from tb_consulta_medica_legado;
+    end if;
+
+    perform criar_particoes_consulta(inicio, (date_trunc('month', current_date) + interval '13 months')::date);
+
+    if to_regclass('tb_consulta_medica_legado') is not null then
+        insert into tb_consulta_medica select * from tb_consulta_medica_legado;
+        drop table tb_consulta_medica_legado;
+    end if;
+end $$;
+
+-- 5. Chaves estrangeiras (as tabelas referenciadas já existem, criadas pela V0_1 ou, em um banco com baseline, pelo
+-- antigo ddl-auto; a verificação só evita recriar as restrições)
+do $$
+begin
+    if to_regclass('tb_medico') is not null
+        and not exists (select 1 from pg_constraint where conname = 'fk_consulta_medico') then
+        alter table tb_consulta_medica add constraint fk_consulta_medico foreign key (medico_id) references tb_medico (medico_id);
+    end if;
+    if to_regclass('tb_paciente') is not null
+        and not exists (select 1 from pg_constraint where conname = 'fk_consulta_paciente') then
+        alter table tb_consulta_medica add constraint fk_consulta_paciente foreign key (paciente_id) references tb_paciente (paciente_id);
+    end if;
+    if to_regclass('tb_clinica_hospitalar') is not null
+        and not exists (select 1 from pg_constraint where conname = 'fk_consulta_clinica') then
+        alter table tb_consulta_medica add constraint fk_consulta_clinica foreign key (clinica_id) references tb_clinica_hospitalar (clinica_hospitlar_id);
+    end if;
+end $$;
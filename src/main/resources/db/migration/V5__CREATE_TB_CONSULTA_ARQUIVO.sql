@@ -0,0 +1,28 @@
+-- Arquivo frio das consultas finalizadas (realizadas ou canceladas) há mais de um ano.
+-- As consultas são movidas em lotes: cada lote vira um segmento com as linhas serializadas e comprimidas (gzip),
+-- e tb_consulta_arquivo guarda apenas o índice estreito usado para localizar o segmento de cada consulta.
+
+create table if not exists tb_consulta_arquivo_segmento (
+    segmento_id   bigserial    primary key,
+    quantidade    integer      not null,
+    primeira_data timestamp(6) not null,
+    ultima_data   timestamp(6) not null,
+    arquivado_em  timestamp(6) not null,
+    dados         bytea        not null
+);
+
+-- Os dados já chegam comprimidos; evita que o TOAST tente comprimi-los novamente
+alter table tb_consulta_arquivo_segmento alter column dados set storage external;
+
+create table if not exists tb_consulta_arquivo (
+    consulta_id   uuid         primary key,
+    data_consulta timestamp(6) not null,
+    medico_id     uuid,
+    paciente_id   uuid,
+    clinica_id    uuid,
+    segmento_id   bigint       not null references tb_consulta_arquivo_segmento (segmento_id)
+);
+
+create index if not exists idx_consulta_arquivo_paciente on tb_consulta_arquivo (paciente_id, data_consulta);
+create index if not exists idx_consulta_arquivo_medico on tb_consulta_arquivo (medico_id);
+create index if not exists idx_consulta_arquivo_clinica on tb_consulta_arquivo (clinica_id);
@@ -0,0 +1,14 @@
+-- Consolidado mensal de consultas e valores por clínica, médico e status do atendimento.
+-- Atualizado de forma incremental na mesma transação de cada alteração de consulta (a linha do estado anterior é
+-- decrementada e a do novo estado incrementada), de modo que os relatórios leem poucas linhas em vez de somar as consultas.
+create table if not exists tb_faturamento_mensal (
+    clinica_id         uuid          not null,
+    medico_id          uuid          not null,
+    mes                date          not null,
+    status_atendimento varchar(20)   not null,
+    quantidade         bigint        not null default 0,
+    valor_total        numeric(14,2) not null default 0,
+    primary key (clinica_id, mes, medico_id, status_atendimento)
+);
+
+create index if not exists idx_faturamento_mensal_mes on tb_faturamento_mensal (mes);
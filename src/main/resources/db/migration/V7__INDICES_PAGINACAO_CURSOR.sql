@@ -0,0 +1,25 @@
+-- Índices da paginação por cursor: cada listagem é ordenada por (data de cadastro, id) e continua a partir da
+-- última chave lida, então o índice composto permite ler só a próxima página em vez de ordenar a tabela inteira.
+-- As tabelas já existem (criadas pela V0_1 ou, em um banco com baseline, pelo antigo ddl-auto); a verificação só
+-- evita falhar caso alguma delas falte.
+do $$
+declare
+    indice record;
+begin
+    for indice in
+        select * from (values
+            ('idx_consulta_cursor',    'tb_consulta_medica',     'data_cadastro', 'consulta_id'),
+            ('idx_medico_cursor',      'tb_medico',              'data_cadastro', 'medico_id'),
+            ('idx_paciente_cursor',    'tb_paciente',            'data_cadastro', 'paciente_id'),
+            ('idx_funcionario_cursor', 'tb_funcionario',         'data_cadastro', 'funcionario_id'),
+            ('idx_endereco_cursor',    'tb_endereco',            'data_cadastro', 'endereco_id'),
+            ('idx_clinica_cursor',     'tb_clinica_hospitalar',  'data_cadastro', 'clinica_hospitlar_id'),
+            ('idx_usuario_cursor',     'tb_usuario',             'data_criacao',  'usuario_id')
+        ) as i(nome, tabela, coluna_data, coluna_id)
+    loop
+        if to_regclass(indice.tabela) is not null then
+            execute format('create index if not exists %I on %I (%I, %I)',
+                           indice.nome, indice.tabela, indice.coluna_data, indice.coluna_id);
+        end if;
+    end loop;
+end $$;
@@ -0,0 +1,20 @@
+-- Lista de espera por vaga. Em um banco novo a tabela já foi criada pela V0_1; os bancos com baseline na versão 1 não
+-- executam a V0_1 e a recebem aqui, antes dos índices da V9.
+create table if not exists tb_lista_espera (
+    lista_espera_id      uuid         not null,
+    paciente_id          uuid         not null,
+    medico_id            uuid,
+    especialidade        varchar(50)  not null check (especialidade in ('CARDIOLOGIA','PEDIATRIA','ORTOPEDISTA','OFTALMOLOGIA','ADMISTRACAO')),
+    dia                  date         not null,
+    status_lista_espera  varchar(20)  not null check (status_lista_espera in ('AGUARDANDO','OFERTADA','ATENDIDA','EXPIRADA','DESISTIU')),
+    consulta_ofertada_id uuid,
+    validade_oferta      timestamp(6),
+    consulta_agendada_id uuid,
+    data_cadastro        timestamp(6) not null,
+    data_atualizacao     timestamp(6) not null,
+    primary key (lista_espera_id),
+    constraint fk_lista_espera_paciente foreign key (paciente_id) references tb_paciente (paciente_id),
+    constraint fk_lista_espera_medico foreign key (medico_id) references tb_medico (medico_id)
+);
+
+create index if not exists idx_lista_espera_status_dia on tb_lista_espera (status_lista_espera, dia);
@@ -0,0 +1,25 @@
+-- Índices dos filtros da listagem de consultas (SpecificationsTemplate.ConsultaSpec).
+-- Cada filtro por igualdade vem antes de data_consulta, então "filtro + período" lê só o trecho do índice do período.
+-- O índice (paciente_id, data_consulta) já existe desde a V4 (idx_consulta_paciente_data).
+-- Por ser a tabela particionada, cada índice é criado também em todas as partições.
+
+-- Período sem outros filtros: as partições mensais cortam os meses fora do período e o índice localiza os dias
+create index if not exists idx_consulta_data
+    on tb_consulta_medica (data_consulta);
+
+-- medicoId (+ período). O índice único parcial da V2 só cobre consultas não canceladas
+create index if not exists idx_consulta_medico_data
+    on tb_consulta_medica (medico_id, data_consulta);
+
+-- clinicaId (+ período)
+create index if not exists idx_consulta_clinica_data
+    on tb_consulta_medica (clinica_id, data_consulta);
+
+-- statusAtendimento (+ período)
+create index if not exists idx_consulta_status_data
+    on tb_consulta_medica (status_atendimento, data_consulta);
+
+-- cancelada=true (+ período): as canceladas são poucas, então o índice parcial fica pequeno
+create index if not exists idx_consulta_cancelada_data
+    on tb_consulta_medica (data_consulta)
+    where motivo_cancelamento is not null;
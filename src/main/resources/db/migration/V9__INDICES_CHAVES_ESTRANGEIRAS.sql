@@ -0,0 +1,26 @@
+-- Índices das chaves estrangeiras e das consultas derivadas que ainda não tinham índice.
+-- São criados com CONCURRENTLY para não bloquear as escritas nas tabelas de um banco em produção; por isso este
+-- script contém apenas esses comandos, e o Flyway o executa fora de uma transação.
+--
+-- Já cobertos por outras migrações ou restrições:
+--   * tb_consulta_medica (medico_id, paciente_id, clinica_id): V4 e V8. A tabela é particionada e não aceita
+--     CONCURRENTLY na tabela pai.
+--   * tb_endereco, tb_medico e tb_usuario (funcionario_id etc.): as relações um-para-um são únicas, e a restrição
+--     única já cria o índice usado pelas consultas nativas de EnderecoRepository e MedicoRepository.
+--   * existsBy* de CPF, RG, CNS, CRM, nome etc.: colunas únicas.
+
+-- Carregamento das roles do usuário no login: a chave primária (role_id, usuario_id) não serve para buscar por usuario_id
+create index concurrently if not exists idx_usuario_role_usuario
+    on tb_usuario_role (usuario_id);
+
+-- ListaEsperaRepository.existsByPacienteEsperaPacienteIdAndEspecialidadeAndDiaAndStatusListaEsperaIn
+create index concurrently if not exists idx_lista_espera_paciente
+    on tb_lista_espera (paciente_id, especialidade, dia);
+
+-- Chave estrangeira para tb_medico (exclusão de médico)
+create index concurrently if not exists idx_lista_espera_medico
+    on tb_lista_espera (medico_id);
+
+-- ListaEsperaRepository.findByStatusListaEsperaAndValidadeOfertaBefore (verificação periódica das ofertas vencidas)
+create index concurrently if not exists idx_lista_espera_status_validade
+    on tb_lista_espera (status_lista_espera, validade_oferta);
@@ -0,0 +1,33 @@
+package com.sistema.gerenciamento.hospitalar;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registra os comandos SQL preparados pelo Hibernate na thread do teste, entre iniciar() e parar().
+ */
+public class ComandosSql implements StatementInspector {
+
+	private static final ThreadLocal<List<String>> COMANDOS = new ThreadLocal<>();
+
+	public static void iniciar() {
+		COMANDOS.set(new ArrayList<>());
+	}
+
+	public static List<String> parar() {
+		var comandos = COMANDOS.get();
+		COMANDOS.remove();
+		return comandos;
+	}
+
+	@Override
+	public String inspect(String sql) {
+		var comandos = COMANDOS.get();
+		if (comandos != null) {
+			comandos.add(sql);
+		}
+		return sql;
+	}
+}
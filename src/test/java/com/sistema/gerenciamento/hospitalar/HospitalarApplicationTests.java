@@ -1,10 +1,8 @@
 package com.sistema.gerenciamento.hospitalar;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
-class HospitalarApplicationTests {
+class HospitalarApplicationTests extends PostgresEmbarcadoTest {
 
 	@Test
 	void contextLoads() {
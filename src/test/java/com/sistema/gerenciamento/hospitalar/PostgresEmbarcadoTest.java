@@ -0,0 +1,141 @@
+package com.sistema.gerenciamento.hospitalar;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Base dos testes que sobem a aplicação contra um PostgreSQL embarcado, com o esquema criado pelas migrações do
+ * Flyway. O banco e o contexto do Spring são compartilhados pelas classes de teste; cada teste cria os próprios
+ * médicos, pacientes e clínicas com os métodos abaixo, então os dados não colidem entre eles.
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.properties.hibernate.show_sql=false",
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector=com.sistema.gerenciamento.hospitalar.ComandosSql",
+		"logging.level.org.springframework.web=INFO",
+		"logging.level.org.springframework.security=INFO",
+		// A verificação periódica das ofertas vencidas e o relay do outbox são chamados pelos próprios testes
+		"lista-espera.verificacao-ofertas-ms=3600000",
+		"consulta.outbox.intervalo-ms=3600000"
+})
+public abstract class PostgresEmbarcadoTest {
+
+	private static final EmbeddedPostgres POSTGRES = iniciar();
+
+	@Autowired
+	protected JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	protected DataSource dataSource;
+
+	@DynamicPropertySource
+	static void banco(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+		registry.add("spring.datasource.username", () -> "postgres");
+		registry.add("spring.datasource.password", () -> "postgres");
+	}
+
+	private static EmbeddedPostgres iniciar() {
+		try {
+			var postgres = EmbeddedPostgres.start();
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				try {
+					postgres.close();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}));
+			return postgres;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	protected UUID inserirMedico(String especialidade) {
+		var funcionarioId = UUID.randomUUID();
+		var medicoId = UUID.randomUUID();
+		var sufixo = sufixo(funcionarioId);
+		jdbcTemplate.update("""
+				insert into tb_funcionario (funcionario_id, nome_completo, cpf, rg, data_nascimento, genero, funcao,
+				                            status_funcionario, data_cadastro, data_atualizacao)
+				values (?, ?, ?, ?, date '1980-01-01', 'FEMININO', 'MEDICO', 'ATIVO', now(), now())
+				""", funcionarioId, "Médica " + sufixo, digitos(sufixo, 11), digitos(sufixo, 10));
+		jdbcTemplate.update("""
+				insert into tb_medico (medico_id, crm, cns, especialidade, funcionario_id, data_cadastro, data_atualizacao)
+				values (?, ?, ?, ?, ?, now(), now())
+				""", medicoId, digitos(sufixo, 12), digitos(sufixo, 10), especialidade, funcionarioId);
+		return medicoId;
+	}
+
+	protected UUID inserirPaciente() {
+		var pacienteId = UUID.randomUUID();
+		var sufixo = sufixo(pacienteId);
+		jdbcTemplate.update("""
+				insert into tb_paciente (paciente_id, nome_completo, cpf, rg, cns, data_nascimento, genero, status_paciente,
+				                         tipo_sanguineo, data_cadastro, data_atualizacao)
+				values (?, ?, ?, ?, ?, date '1990-01-01', 'MASCULINO', 'ATIVO', 'O_POSITIVO', now(), now())
+				""", pacienteId, "Paciente " + sufixo, digitos(sufixo, 11), digitos(sufixo, 10), digitos(sufixo, 12));
+		return pacienteId;
+	}
+
+	protected UUID inserirClinica() {
+		var clinicaId = UUID.randomUUID();
+		var sufixo = sufixo(clinicaId);
+		jdbcTemplate.update("""
+				insert into tb_clinica_hospitalar (clinica_hospitlar_id, nome, cnpj, email, telefone_celular, data_cadastro,
+				                                   data_atualizacao)
+				values (?, ?, ?, ?, '8199999999', now(), now())
+				""", clinicaId, "Clínica " + sufixo, digitos(sufixo, 14), sufixo + "@clinica.com");
+		return clinicaId;
+	}
+
+	// Agendamento concorrente: insere a consulta em outra conexão e não confirma a transação, que fica com o horário
+	// do médico reservado até o commit ou rollback de quem chamou (que também fecha a conexão)
+	protected Connection agendarSemCommit(UUID medicoId, UUID pacienteId, UUID clinicaId, LocalDateTime dataConsulta) throws SQLException {
+		var conexao = dataSource.getConnection();
+		conexao.setAutoCommit(false);
+		try (var ps = conexao.prepareStatement("""
+				insert into tb_consulta_medica (consulta_id, tipo_atendimento, status_atendimento, valor_consulta, data_consulta,
+				                                data_cadastro, data_atualizacao, local, medico_id, paciente_id, clinica_id)
+				values (gen_random_uuid(), 'CONSULTA', 'MARCADO', 150, ?, now(), now(), 'Sala 9', ?, ?, ?)
+				""")) {
+			ps.setObject(1, dataConsulta);
+			ps.setObject(2, medicoId);
+			ps.setObject(3, pacienteId);
+			ps.setObject(4, clinicaId);
+			ps.executeUpdate();
+		}
+		return conexao;
+	}
+
+	// Espera até que algum comando esteja bloqueado aguardando um lock de outra transação
+	protected void aguardarComandoBloqueado() throws InterruptedException {
+		for (int tentativa = 0; tentativa < 200; tentativa++) {
+			if (jdbcTemplate.queryForObject("select count(*) from pg_stat_activity where wait_event_type = 'Lock'", Integer.class) > 0) {
+				return;
+			}
+			Thread.sleep(50);
+		}
+		throw new AssertionError("Nenhum comando ficou aguardando o lock");
+	}
+
+	// Dígitos derivados do ID, para preencher as colunas únicas (CPF, RG, CRM...) sem colisão entre os testes
+	private static String sufixo(UUID id) {
+		return String.format("%018d", Math.abs(id.getMostSignificantBits() % 1_000_000_000_000_000_000L));
+	}
+
+	private static String digitos(String sufixo, int quantidade) {
+		return sufixo.substring(sufixo.length() - quantidade);
+	}
+}
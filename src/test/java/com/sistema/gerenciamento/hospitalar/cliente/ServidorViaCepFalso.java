@@ -0,0 +1,105 @@
+package com.sistema.gerenciamento.hospitalar.cliente;
+
+import com.sistema.gerenciamento.hospitalar.configs.ViaCepConfig;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor HTTP local no lugar do ViaCEP, com latência e erros configuráveis durante o teste. CEPs começando com 9
+ * recebem {"erro": true} (CEP inexistente); os demais, um endereço de São Paulo.
+ */
+public class ServidorViaCepFalso implements AutoCloseable {
+
+	private final HttpServer servidor;
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+	private final Map<String, AtomicInteger> chamadas = new ConcurrentHashMap<>();
+	private final AtomicInteger emAndamento = new AtomicInteger();
+	private final AtomicInteger maiorConcorrencia = new AtomicInteger();
+	private final ViaCepConfig config = new ViaCepConfig();
+	private ConnectionProvider conexoes;
+
+	private volatile long latenciaMs;
+	private volatile int statusErro;
+
+	public ServidorViaCepFalso() throws IOException {
+		servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		servidor.createContext("/ws", troca -> {
+			var cep = troca.getRequestURI().getPath().split("/")[2];
+			chamadas.computeIfAbsent(cep, c -> new AtomicInteger()).incrementAndGet();
+			maiorConcorrencia.accumulateAndGet(emAndamento.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(latenciaMs);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				emAndamento.decrementAndGet();
+			}
+			var status = statusErro;
+			var corpo = status != 0 ? "<html>erro</html>"
+					: cep.startsWith("9") ? "{\"erro\": true}"
+					: "{\"cep\": \"" + cep.substring(0, 5) + "-" + cep.substring(5) + "\", \"logradouro\": \"Praça da Sé\", "
+					+ "\"bairro\": \"Sé\", \"localidade\": \"São Paulo\", \"uf\": \"SP\", \"ibge\": \"3550308\"}";
+			var bytes = corpo.getBytes(StandardCharsets.UTF_8);
+			troca.getResponseHeaders().add("Content-Type", status != 0 ? "text/html" : "application/json");
+			troca.sendResponseHeaders(status != 0 ? status : 200, bytes.length);
+			troca.getResponseBody().write(bytes);
+			troca.close();
+		});
+		servidor.setExecutor(executor);
+		servidor.start();
+	}
+
+	// Cliente do ViaCEP apontado para este servidor, com o pool de conexões e os timeouts da aplicação
+	public ViaCepService cliente(Clock clock, MeterRegistry meterRegistry, long timeoutRespostaMs, int maxChamadasSimultaneas,
+								 int falhasParaAbrir, long esperaDisjuntorMs) {
+		conexoes = config.viaCepConexoes(maxChamadasSimultaneas, 500, 20000);
+		var webClient = config.viaCepWebClient(WebClient.builder(), conexoes,
+				"http://localhost:" + servidor.getAddress().getPort() + "/ws", 1000, timeoutRespostaMs);
+		return new ViaCepService(webClient, clock, meterRegistry, maxChamadasSimultaneas, falhasParaAbrir, esperaDisjuntorMs);
+	}
+
+	public void latencia(Duration latencia) {
+		latenciaMs = latencia.toMillis();
+	}
+
+	// Responde todas as consultas com o status informado; 0 volta a responder normalmente
+	public void responderComErro(int status) {
+		statusErro = status;
+	}
+
+	public int chamadas(String cep) {
+		var contador = chamadas.get(cep);
+		return contador == null ? 0 : contador.get();
+	}
+
+	public int totalChamadas() {
+		return chamadas.values().stream().mapToInt(AtomicInteger::get).sum();
+	}
+
+	// Maior número de consultas atendidas ao mesmo tempo
+	public int maiorConcorrencia() {
+		return maiorConcorrencia.get();
+	}
+
+	@Override
+	public void close() {
+		if (conexoes != null) {
+			conexoes.dispose();
+		}
+		servidor.stop(0);
+		executor.shutdownNow();
+	}
+}
@@ -0,0 +1,104 @@
+package com.sistema.gerenciamento.hospitalar.cliente;
+
+import com.sistema.gerenciamento.hospitalar.exceptions.NotFoundException;
+import com.sistema.gerenciamento.hospitalar.exceptions.ServicoIndisponivelException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifica os limites do cliente do ViaCEP contra um servidor local com latência e erros injetados: timeout da
+ * resposta, disjuntor e limite de consultas simultâneas.
+ */
+class ViaCepServiceTest {
+
+	private ServidorViaCepFalso servidor;
+	private SimpleMeterRegistry meterRegistry;
+
+	@BeforeEach
+	void iniciarServidor() throws IOException {
+		servidor = new ServidorViaCepFalso();
+		meterRegistry = new SimpleMeterRegistry();
+	}
+
+	@AfterEach
+	void encerrarServidor() {
+		servidor.close();
+	}
+
+	@Test
+	void respostaLentaFalhaNoTimeout() {
+		var viaCepService = servidor.cliente(Clock.systemUTC(), meterRegistry, 300, 20, 5, 30000);
+		servidor.latencia(Duration.ofSeconds(2));
+
+		var inicio = System.nanoTime();
+		assertThatThrownBy(() -> viaCepService.consultarCep("01001000").block())
+				.isInstanceOf(ServicoIndisponivelException.class);
+		assertThat(Duration.ofNanos(System.nanoTime() - inicio)).isLessThan(Duration.ofSeconds(1));
+	}
+
+	@Test
+	void disjuntorAbreDepoisDeFalhasSeguidasEFechaQuandoAApiVolta() throws InterruptedException {
+		var viaCepService = servidor.cliente(Clock.systemUTC(), meterRegistry, 2000, 20, 3, 300);
+		servidor.responderComErro(500);
+		for (int i = 0; i < 3; i++) {
+			assertThatThrownBy(() -> viaCepService.consultarCep("01001000").block())
+					.isInstanceOf(ServicoIndisponivelException.class);
+		}
+
+		// Aberto: falha sem chamar a API
+		assertThatThrownBy(() -> viaCepService.consultarCep("01001000").block())
+				.isInstanceOf(ServicoIndisponivelException.class);
+		assertThat(servidor.chamadas("01001000")).isEqualTo(3);
+		assertThat(meterRegistry.get("cep.viacep.recusadas").tag("motivo", "disjuntor").counter().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("cep.viacep.disjuntor.aberto").gauge().value()).isEqualTo(1);
+
+		// Passada a espera, a chamada de teste vai à API e, com sucesso, fecha o disjuntor
+		servidor.responderComErro(0);
+		Thread.sleep(350);
+		assertThat(viaCepService.consultarCep("01001000").block().localidade()).isEqualTo("São Paulo");
+		assertThat(servidor.chamadas("01001000")).isEqualTo(4);
+		assertThat(meterRegistry.get("cep.viacep.disjuntor.aberto").gauge().value()).isZero();
+	}
+
+	@Test
+	void cepInexistenteNaoContaComoFalha() {
+		var viaCepService = servidor.cliente(Clock.systemUTC(), meterRegistry, 2000, 20, 3, 30000);
+		for (int i = 0; i < 5; i++) {
+			assertThatThrownBy(() -> viaCepService.consultarCep("99999999").block()).isInstanceOf(NotFoundException.class);
+		}
+
+		assertThat(viaCepService.consultarCep("01001000").block()).isNotNull();
+		assertThat(meterRegistry.get("cep.viacep.disjuntor.aberto").gauge().value()).isZero();
+	}
+
+	@Test
+	void consultasAlemDoLimiteSaoRecusadasNaHora() {
+		var viaCepService = servidor.cliente(Clock.systemUTC(), meterRegistry, 2000, 2, 5, 30000);
+		servidor.latencia(Duration.ofMillis(300));
+
+		var resultados = Flux.range(0, 5)
+				.flatMap(i -> viaCepService.consultarCep("0100100" + i)
+						.map(endereco -> "respondida")
+						.onErrorResume(ServicoIndisponivelException.class, e -> Mono.just("recusada")), 5)
+				.collectList()
+				.block();
+
+		assertThat(resultados).containsOnly("respondida", "recusada");
+		assertThat(resultados).filteredOn("respondida"::equals).hasSize(2);
+		assertThat(servidor.totalChamadas()).isEqualTo(2);
+		assertThat(meterRegistry.get("cep.viacep.recusadas").tag("motivo", "limite").counter().count()).isEqualTo(3);
+		// As recusas pelo limite não abrem o disjuntor
+		assertThat(meterRegistry.get("cep.viacep.disjuntor.aberto").gauge().value()).isZero();
+	}
+}
@@ -0,0 +1,109 @@
+package com.sistema.gerenciamento.hospitalar.configs.security;
+
+import com.sistema.gerenciamento.hospitalar.PostgresEmbarcadoTest;
+import com.sistema.gerenciamento.hospitalar.services.CalendarioMedicoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que um médico acessa apenas a própria agenda, e que ADMIN e SECRETARIA acessam a de qualquer médico.
+ * O calendário também é acessível sem autenticação pelo token de assinatura atual do médico.
+ */
+class AcessoAgendaMedicoTest extends PostgresEmbarcadoTest {
+
+	@Autowired
+	AcessoAgendaMedico acessoAgendaMedico;
+
+	@Autowired
+	CalendarioMedicoService calendarioMedicoService;
+
+	@Test
+	void medicoAcessaApenasAPropriaAgenda() {
+		var medicoId = inserirMedico("CARDIOLOGIA");
+		var outroMedicoId = inserirMedico("CARDIOLOGIA");
+		var medico = usuario(medicoId, "ROLE_MEDICO");
+
+		assertThat(agenda(medico, medicoId.toString())).isTrue();
+		assertThat(agenda(medico, outroMedicoId.toString())).isFalse();
+		assertThat(agenda(medico, "nao-e-um-uuid")).isFalse();
+	}
+
+	@Test
+	void gestaoAcessaQualquerAgenda() {
+		var medicoId = inserirMedico("PEDIATRIA");
+
+		assertThat(agenda(usuario(null, "ROLE_SECRETARIA"), medicoId.toString())).isTrue();
+		assertThat(agenda(usuario(null, "ROLE_ADMIN"), medicoId.toString())).isTrue();
+		assertThat(agenda(usuario(null, "ROLE_USUARIO"), medicoId.toString())).isFalse();
+		assertThat(agenda(new AnonymousAuthenticationToken("anonimo", "anonimo", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")),
+				medicoId.toString())).isFalse();
+	}
+
+	@Test
+	void calendarioAceitaApenasOTokenAtualDoMedico() {
+		var medicoId = inserirMedico("ORTOPEDISTA");
+		var outroMedicoId = inserirMedico("ORTOPEDISTA");
+		var anonimo = new AnonymousAuthenticationToken("anonimo", "anonimo", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+		assertThat(calendario(anonimo, medicoId, null)).isFalse();
+		assertThat(calendario(anonimo, medicoId, "")).isFalse();
+
+		var primeiroToken = calendarioMedicoService.gerarTokenAssinatura(medicoId);
+		assertThat(calendario(anonimo, medicoId, primeiroToken)).isTrue();
+		assertThat(calendario(anonimo, outroMedicoId, primeiroToken)).isFalse();
+		// Apenas o hash do token é gravado
+		assertThat(jdbcTemplate.queryForObject("select token_calendario from tb_medico where medico_id = ?", String.class, medicoId))
+				.hasSize(64)
+				.isNotEqualTo(primeiroToken);
+
+		var segundoToken = calendarioMedicoService.gerarTokenAssinatura(medicoId);
+		assertThat(calendario(anonimo, medicoId, primeiroToken)).isFalse();
+		assertThat(calendario(anonimo, medicoId, segundoToken)).isTrue();
+
+		calendarioMedicoService.revogarTokenAssinatura(medicoId);
+		assertThat(calendario(anonimo, medicoId, segundoToken)).isFalse();
+		// Sem token, valem as regras da agenda
+		assertThat(calendario(usuario(medicoId, "ROLE_MEDICO"), medicoId, null)).isTrue();
+		assertThat(calendario(usuario(outroMedicoId, "ROLE_MEDICO"), medicoId, null)).isFalse();
+	}
+
+	private boolean calendario(Authentication autenticacao, UUID medicoId, String token) {
+		var requisicao = new MockHttpServletRequest();
+		if (token != null) {
+			requisicao.setParameter("token", token);
+		}
+		var contexto = new RequestAuthorizationContext(requisicao, Map.of("medicoId", medicoId.toString()));
+		return acessoAgendaMedico.verificarCalendario(() -> autenticacao, contexto).isGranted();
+	}
+
+	private boolean agenda(Authentication autenticacao, String medicoId) {
+		var contexto = new RequestAuthorizationContext(new MockHttpServletRequest(), Map.of("medicoId", medicoId));
+		return acessoAgendaMedico.verificarAgenda(() -> autenticacao, contexto).isGranted();
+	}
+
+	// Usuário autenticado com o perfil informado, vinculado ao funcionário do médico quando houver
+	private Authentication usuario(UUID medicoId, String perfil) {
+		var usuarioId = UUID.randomUUID();
+		var funcionarioId = medicoId == null ? null
+				: jdbcTemplate.queryForObject("select funcionario_id from tb_medico where medico_id = ?", UUID.class, medicoId);
+		var codigo = usuarioId.toString().substring(0, 10);
+		jdbcTemplate.update("""
+				insert into tb_usuario (usuario_id, codigo_usuario, nome, senha, status_usuario, usuario_type, funcionario_id,
+				                        data_criacao, data_atualizacao)
+				values (?, ?, ?, ?, 'ATIVO', 'MEDICO', ?, now(), now())
+				""", usuarioId, codigo, "usuario-" + codigo, "senha-" + codigo, funcionarioId);
+		var detalhes = new UsuarioDetailsImpl(usuarioId, codigo, "usuario-" + codigo, null, AuthorityUtils.createAuthorityList(perfil));
+		return new UsernamePasswordAuthenticationToken(detalhes, null, detalhes.getAuthorities());
+	}
+}
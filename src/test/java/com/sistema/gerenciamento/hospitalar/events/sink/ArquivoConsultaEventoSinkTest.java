@@ -0,0 +1,45 @@
+package com.sistema.gerenciamento.hospitalar.events.sink;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sistema.gerenciamento.hospitalar.enums.StatusAtendimento;
+import com.sistema.gerenciamento.hospitalar.enums.TipoEventoConsulta;
+import com.sistema.gerenciamento.hospitalar.events.ConsultaEvento;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArquivoConsultaEventoSinkTest {
+
+	@TempDir
+	Path diretorio;
+
+	@Test
+	void acrescentaUmEventoJsonPorLinha() throws Exception {
+		var objectMapper = new ObjectMapper().findAndRegisterModules();
+		var arquivo = diretorio.resolve("eventos").resolve("consulta-eventos.ndjson");
+		var sink = new ArquivoConsultaEventoSink(objectMapper, arquivo);
+
+		sink.publicar(List.of(evento(1L, TipoEventoConsulta.AGENDADA), evento(2L, TipoEventoConsulta.REALIZADA)));
+		sink.publicar(List.of(evento(3L, TipoEventoConsulta.CANCELADA)));
+
+		var linhas = Files.readAllLines(arquivo);
+		assertThat(linhas).hasSize(3);
+		assertThat(objectMapper.readTree(linhas.get(0)).get("tipo").asText()).isEqualTo("AGENDADA");
+		assertThat(objectMapper.readTree(linhas.get(1)).get("tipo").asText()).isEqualTo("REALIZADA");
+		assertThat(objectMapper.readTree(linhas.get(2)).get("tipo").asText()).isEqualTo("CANCELADA");
+		assertThat(objectMapper.readTree(linhas.get(2)).get("eventoId").asLong()).isEqualTo(3L);
+	}
+
+	private static ConsultaEvento evento(long eventoId, TipoEventoConsulta tipo) {
+		var dataConsulta = LocalDateTime.of(2026, 3, 10, 9, 30);
+		return new ConsultaEvento(eventoId, tipo, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+				null, dataConsulta, null, StatusAtendimento.MARCADO, null, 150f, dataConsulta.minusDays(1));
+	}
+}
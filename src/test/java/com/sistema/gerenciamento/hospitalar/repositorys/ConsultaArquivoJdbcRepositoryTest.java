@@ -0,0 +1,32 @@
+package com.sistema.gerenciamento.hospitalar.repositorys;
+
+import com.sistema.gerenciamento.hospitalar.repositorys.ConsultaArquivoJdbcRepository.ConsultaArquivada;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsultaArquivoJdbcRepositoryTest {
+
+	@Test
+	void segmentoComprimidoPreservaTodasAsColunas() {
+		var consultas = new ArrayList<ConsultaArquivada>();
+		for (int i = 0; i < 500; i++) {
+			var data = LocalDateTime.of(2023, 3, 1, 8, 0).plusDays(i).withNano(123_456_000);
+			consultas.add(new ConsultaArquivada(UUID.randomUUID(), "CONSULTA", "REALIZADO", 150.5f, data, data.minusDays(7),
+					data.plusHours(1), "Sala 3", null, "Paciente estável", i % 2 == 0 ? null : "Retorno em 30 dias",
+					UUID.randomUUID(), UUID.randomUUID(), null));
+		}
+		consultas.add(new ConsultaArquivada(UUID.randomUUID(), "EXAME", "CANCELADO", 0f, LocalDateTime.of(2023, 1, 1, 7, 0),
+				LocalDateTime.of(2022, 12, 1, 9, 30), LocalDateTime.of(2022, 12, 20, 10, 0), "Sala 1", "PACIENTE_DESISTIU",
+				null, "Observação com acentuação: ç, ã, é", null, UUID.randomUUID(), UUID.randomUUID()));
+
+		var dados = ConsultaArquivoJdbcRepository.comprimir(consultas);
+
+		assertThat(ConsultaArquivoJdbcRepository.descomprimir(dados)).containsExactlyElementsOf(consultas);
+		assertThat(dados.length).isLessThan(consultas.size() * 100);
+	}
+}
@@ -0,0 +1,96 @@
+package com.sistema.gerenciamento.hospitalar.repositorys;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica com EXPLAIN que as combinações comuns de filtros da listagem de consultas (ConsultaSpec) são atendidas
+ * pelos índices das migrações, e não por leitura sequencial das partições.
+ */
+class ConsultaIndicesFiltrosTest {
+
+	private static EmbeddedPostgres postgres;
+	private static Connection conexao;
+
+	@BeforeAll
+	static void criarBanco() throws Exception {
+		postgres = EmbeddedPostgres.start();
+		conexao = postgres.getPostgresDatabase().getConnection();
+		executar(migracao("V4__PARTICIONAR_TB_CONSULTA_MEDICA.sql"));
+		executar("select criar_particoes_consulta(date '2025-01-01', date '2026-01-01')");
+		executar(migracao("V8__INDICES_FILTROS_CONSULTA.sql"));
+
+		// Um ano de consultas: 200 médicos, 5000 pacientes, 20 clínicas e cerca de 3% de cancelamentos
+		executar("""
+				insert into tb_consulta_medica (consulta_id, valor_consulta, clinica_id, data_atualizacao, data_cadastro, data_consulta,
+				                                medico_id, paciente_id, local, motivo_cancelamento, status_atendimento, tipo_atendimento)
+				select gen_random_uuid(), 150, md5('clinica' || i % 20)::uuid, now(), now(),
+				       timestamp '2025-01-01 07:00' + (i % 365) * interval '1 day' + (i % 11) * interval '1 hour',
+				       md5('medico' || i % 200)::uuid, md5('paciente' || i % 5000)::uuid, 'Sala 1',
+				       case when i % 33 = 0 then 'PACIENTE_DESISTIU' end,
+				       case when i % 33 = 0 then 'CANCELADO' when i % 3 = 0 then 'MARCADO' else 'REALIZADO' end, 'CONSULTA'
+				from generate_series(1, 150000) i
+				""");
+		executar("analyze tb_consulta_medica");
+	}
+
+	@AfterAll
+	static void encerrarBanco() throws Exception {
+		conexao.close();
+		postgres.close();
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@CsvSource(delimiter = '|', value = {
+			"médico e período    | medico_id = md5('medico7')::uuid and data_consulta >= '2025-03-01' and data_consulta < '2025-04-01'",
+			"paciente e período  | paciente_id = md5('paciente42')::uuid and data_consulta >= '2025-01-01' and data_consulta < '2026-01-01'",
+			"clínica e período   | clinica_id = md5('clinica3')::uuid and data_consulta >= '2025-06-01' and data_consulta < '2025-06-08'",
+			"status e período    | status_atendimento = 'MARCADO' and data_consulta >= '2025-09-01' and data_consulta < '2025-09-03'",
+			"canceladas          | motivo_cancelamento is not null and data_consulta >= '2025-05-01' and data_consulta < '2025-06-01'",
+			"só período          | data_consulta >= '2025-10-10' and data_consulta < '2025-10-11'",
+			"médico e canceladas | medico_id = md5('medico7')::uuid and motivo_cancelamento is not null"
+	})
+	void filtroUsaIndice(String filtro, String condicao) throws SQLException {
+		var plano = explicar("select consulta_id, data_consulta, status_atendimento from tb_consulta_medica where " + condicao);
+
+		assertThat(plano).as(filtro).contains("Index");
+		// Partições vazias (meses sem consultas) têm custo zero e podem ser lidas sequencialmente
+		assertThat(plano.lines().filter(linha -> linha.contains("Seq Scan") && !linha.contains("cost=0.00..0.00")))
+				.as(filtro).isEmpty();
+	}
+
+	private static String explicar(String sql) throws SQLException {
+		List<String> linhas = new ArrayList<>();
+		try (var st = conexao.createStatement(); var rs = st.executeQuery("explain " + sql)) {
+			while (rs.next()) {
+				linhas.add(rs.getString(1));
+			}
+		}
+		return String.join("\n", linhas);
+	}
+
+	private static void executar(String sql) throws SQLException {
+		try (var st = conexao.createStatement()) {
+			st.execute(sql);
+		}
+	}
+
+	private static String migracao(String arquivo) throws IOException {
+		try (InputStream in = ConsultaIndicesFiltrosTest.class.getResourceAsStream("/db/migration/" + arquivo)) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+}
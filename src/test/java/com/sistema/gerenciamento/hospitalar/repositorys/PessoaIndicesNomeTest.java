@@ -0,0 +1,86 @@
+package com.sistema.gerenciamento.hospitalar.repositorys;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica, sobre as migrações reais, que os filtros por nome das listagens (LikeIgnoreCase, que gera
+ * upper(nome_completo) like '%TERMO%') usam os índices de trigramas em vez de leitura sequencial.
+ */
+class PessoaIndicesNomeTest {
+
+	private static EmbeddedPostgres postgres;
+	private static JdbcTemplate jdbcTemplate;
+
+	@BeforeAll
+	static void criarBanco() throws Exception {
+		postgres = EmbeddedPostgres.start();
+		var dataSource = postgres.getPostgresDatabase();
+		jdbcTemplate = new JdbcTemplate(dataSource);
+
+		jdbcTemplate.execute(migracao("V0_1__SCHEMA_BASE.sql"));
+		jdbcTemplate.execute(migracao("V10__EXTENSAO_PG_TRGM.sql"));
+
+		// Cerca de 62 mil pacientes com combinações de nomes e sobrenomes comuns
+		jdbcTemplate.execute("""
+				insert into tb_paciente (paciente_id, nome_completo, cpf, rg, cns, data_nascimento, genero, status_paciente,
+				                         tipo_sanguineo, data_cadastro, data_atualizacao)
+				with nomes(nome) as (
+				         select unnest(array['Ana', 'Bruno', 'Carla', 'Daniel', 'Eduarda', 'Felipe', 'Gabriela', 'Hugo', 'Isabela', 'Jorge',
+				                             'Karina', 'Lucas', 'Mariana', 'Nicolas', 'Olivia', 'Paulo', 'Queila', 'Rafael', 'Sabrina', 'Tiago',
+				                             'Ursula', 'Vitor', 'Wesley', 'Yasmin', 'Zeca', 'Beatriz', 'Caio', 'Debora', 'Enzo', 'Fabiana',
+				                             'Gustavo', 'Heloisa', 'Igor', 'Julia', 'Leandro', 'Monica', 'Natalia', 'Otavio', 'Priscila', 'Renato'])),
+				     sobrenomes(sobrenome) as (
+				         select unnest(array['Almeida', 'Barbosa', 'Cardoso', 'Dias', 'Esteves', 'Ferreira', 'Gomes', 'Honorato', 'Izidoro', 'Jesus',
+				                             'Lima', 'Macedo', 'Nogueira', 'Oliveira', 'Pinto', 'Queiroz', 'Ramos', 'Santos', 'Teixeira', 'Uchoa',
+				                             'Vieira', 'Xavier', 'Araujo', 'Batista', 'Campos', 'Duarte', 'Freitas', 'Guimaraes', 'Lopes', 'Martins',
+				                             'Nunes', 'Pacheco', 'Rezende', 'Siqueira', 'Tavares', 'Vasconcelos', 'Moura', 'Rocha', 'Correia', 'Azevedo'])),
+				     combinacoes as (
+				         select row_number() over () as i, n.nome || ' ' || s1.sobrenome || ' ' || s2.sobrenome as nome
+				         from nomes n, sobrenomes s1, sobrenomes s2
+				         where s1.sobrenome <> s2.sobrenome)
+				select gen_random_uuid(), c.nome, lpad(c.i::text, 11, '0'), lpad(c.i::text, 10, '0'), lpad(c.i::text, 12, '0'),
+				       date '1990-01-01', 'FEMININO', 'ATIVO', 'O_POSITIVO', now(), now()
+				from combinacoes c
+				""");
+
+		// CREATE INDEX CONCURRENTLY precisa ser executado um comando por vez, fora de transação
+		var indices = migracao("V11__INDICES_BUSCA_NOME.sql").replaceAll("(?m)^--.*$", "");
+		for (var comando : indices.split(";")) {
+			if (!comando.isBlank()) {
+				jdbcTemplate.execute(comando);
+			}
+		}
+		jdbcTemplate.execute("analyze");
+	}
+
+	@AfterAll
+	static void encerrarBanco() throws Exception {
+		postgres.close();
+	}
+
+	@Test
+	void filtroPorNomeUsaIndiceDeTrigramas() {
+		assertThat(plano("select paciente_id from tb_paciente p where upper(p.nome_completo) like '%REZEN%'"))
+				.contains("idx_paciente_nome_trgm").doesNotContain("Seq Scan");
+	}
+
+	private static String plano(String consulta) {
+		return String.join("\n", jdbcTemplate.queryForList("explain " + consulta, String.class));
+	}
+
+	private static String migracao(String arquivo) throws IOException {
+		try (InputStream in = PessoaIndicesNomeTest.class.getResourceAsStream("/db/migration/" + arquivo)) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+}
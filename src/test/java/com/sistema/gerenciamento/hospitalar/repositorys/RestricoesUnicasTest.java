@@ -0,0 +1,126 @@
+package com.sistema.gerenciamento.hospitalar.repositorys;
+
+import com.sistema.gerenciamento.hospitalar.exceptions.ViolacaoRestricao;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+/**
+ * Verifica que a V12 dá os nomes esperados pelo GlobalExceptionHandler às restrições únicas, inclusive em bancos
+ * criados pelo Hibernate (restrições com nome gerado), e que a violação é identificada pelo nome.
+ */
+class RestricoesUnicasTest {
+
+	private static EmbeddedPostgres postgres;
+	private static JdbcTemplate jdbcTemplate;
+
+	@BeforeAll
+	static void criarBanco() throws Exception {
+		postgres = EmbeddedPostgres.start();
+		jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+
+		jdbcTemplate.execute(migracao("V0_1__SCHEMA_BASE.sql"));
+		// Nome gerado pelo Hibernate em um banco criado antes do Flyway
+		jdbcTemplate.execute("alter table tb_paciente rename constraint tb_paciente_cpf_key to uk6x5bsk3ywdbijwv8yrd0sxkb7");
+		jdbcTemplate.execute(migracao("V12__RESTRICOES_UNICAS_NOMEADAS.sql"));
+	}
+
+	@AfterAll
+	static void encerrarBanco() throws Exception {
+		postgres.close();
+	}
+
+	@Test
+	void restricoesTemOsNomesUsadosPelaAplicacao() {
+		var nomes = jdbcTemplate.queryForList("select conname from pg_constraint where contype = 'u'", String.class);
+
+		assertThat(nomes).contains(PacienteRepository.UK_CPF, PacienteRepository.UK_TELEFONE_CELULAR,
+						FuncionarioRepository.UK_RG, MedicoRepository.UK_FUNCIONARIO, ClinicaHospitalarRepository.UK_NOME,
+						UsuarioRepository.UK_CODIGO_USUARIO)
+				.doesNotContain("uk6x5bsk3ywdbijwv8yrd0sxkb7", "tb_paciente_cpf_key");
+	}
+
+	@Test
+	void violacaoEIdentificadaPeloNomeDaRestricao() {
+		var insert = """
+				insert into tb_paciente (paciente_id, nome_completo, cpf, rg, cns, data_nascimento, genero, status_paciente,
+				                         tipo_sanguineo, data_cadastro, data_atualizacao)
+				values (gen_random_uuid(), ?, '12345678901', ?, ?, date '1990-01-01', 'FEMININO', 'ATIVO', 'O_POSITIVO', now(), now())
+				""";
+		jdbcTemplate.update(insert, "Maria Silva", "1111111111", "111111111111");
+
+		var erro = catchThrowableOfType(() -> jdbcTemplate.update(insert, "Maria Souza", "2222222222", "222222222222"),
+				DataIntegrityViolationException.class);
+
+		assertThat(ViolacaoRestricao.envolve(erro, PacienteRepository.UK_CPF)).isTrue();
+		assertThat(ViolacaoRestricao.envolve(erro, PacienteRepository.UK_RG)).isFalse();
+	}
+
+	@Test
+	void violacaoNaoEConfundidaComOValorGravado() {
+		var insert = """
+				insert into tb_paciente (paciente_id, nome_completo, cpf, rg, cns, data_nascimento, genero, status_paciente,
+				                         tipo_sanguineo, data_cadastro, data_atualizacao)
+				values (gen_random_uuid(), 'Ana uk_paciente_cpf', ?, ?, ?, date '1990-01-01', 'FEMININO', 'ATIVO', 'O_POSITIVO',
+				        now(), now())
+				""";
+		jdbcTemplate.update(insert, "33333333333", "3333333333", "333333333333");
+
+		// O detalhe da mensagem traz o nome repetido, que contém o nome de outra restrição
+		var erro = catchThrowableOfType(() -> jdbcTemplate.update(insert, "44444444444", "4444444444", "444444444444"),
+				DataIntegrityViolationException.class);
+
+		assertThat(erro.getMostSpecificCause().getMessage()).contains(PacienteRepository.UK_CPF);
+		assertThat(ViolacaoRestricao.envolve(erro, PacienteRepository.UK_NOME_COMPLETO)).isTrue();
+		assertThat(ViolacaoRestricao.envolve(erro, PacienteRepository.UK_CPF)).isFalse();
+	}
+
+	@Test
+	void nomesDeClinicaRepetidosInterrompemAMigracao() throws IOException {
+		jdbcTemplate.execute("alter table tb_clinica_hospitalar drop constraint " + ClinicaHospitalarRepository.UK_NOME);
+		var insert = """
+				insert into tb_clinica_hospitalar (clinica_hospitlar_id, nome, cnpj, email, telefone_celular, data_cadastro,
+				                                   data_atualizacao)
+				values (gen_random_uuid(), 'Clínica Central', ?, ?, '8199999999', now(), now())
+				""";
+		jdbcTemplate.update(insert, "11111111111111", "central1@clinica.com");
+		jdbcTemplate.update(insert, "22222222222222", "central2@clinica.com");
+		try {
+			var v12 = migracao("V12__RESTRICOES_UNICAS_NOMEADAS.sql");
+			var erro = catchThrowableOfType(() -> jdbcTemplate.execute(v12), DataAccessException.class);
+
+			assertThat(erro.getMostSpecificCause().getMessage()).contains("tb_clinica_hospitalar.nome", "'Clínica Central'");
+		} finally {
+			jdbcTemplate.update("delete from tb_clinica_hospitalar where nome = 'Clínica Central'");
+			jdbcTemplate.execute(migracao("V12__RESTRICOES_UNICAS_NOMEADAS.sql"));
+		}
+		assertThat(jdbcTemplate.queryForList("select conname from pg_constraint where contype = 'u'", String.class))
+				.contains(ClinicaHospitalarRepository.UK_NOME);
+	}
+
+	@Test
+	void migracaoPodeSerReaplicada() throws IOException {
+		jdbcTemplate.execute(migracao("V12__RESTRICOES_UNICAS_NOMEADAS.sql"));
+
+		assertThat(jdbcTemplate.queryForObject(
+				"select count(*) from pg_constraint where conrelid = 'tb_clinica_hospitalar'::regclass and contype = 'u'",
+				Integer.class)).isEqualTo(3);
+	}
+
+	private static String migracao(String arquivo) throws IOException {
+		try (InputStream in = RestricoesUnicasTest.class.getResourceAsStream("/db/migration/" + arquivo)) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+}
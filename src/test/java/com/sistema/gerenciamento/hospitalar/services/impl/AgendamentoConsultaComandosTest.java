@@ -0,0 +1,69 @@
+package com.sistema.gerenciamento.hospitalar.services.impl;
+
+import com.sistema.gerenciamento.hospitalar.ComandosSql;
+import com.sistema.gerenciamento.hospitalar.PostgresEmbarcadoTest;
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaRecordDto;
+import com.sistema.gerenciamento.hospitalar.enums.TipoAtendimento;
+import com.sistema.gerenciamento.hospitalar.exceptions.NotFoundException;
+import com.sistema.gerenciamento.hospitalar.services.ConsultaService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifica que o agendamento de uma consulta custa um único comando de verificação (médico, paciente, clínica e
+ * conflitos de agenda) e um INSERT, sem carregar as entidades relacionadas.
+ */
+class AgendamentoConsultaComandosTest extends PostgresEmbarcadoTest {
+
+	@Autowired
+	ConsultaService consultaService;
+
+	@Test
+	void agendamentoFazUmaVerificacaoEUmInsert() {
+		var medicoId = inserirMedico("CARDIOLOGIA");
+		var pacienteId = inserirPaciente();
+		var clinicaId = inserirClinica();
+
+		ComandosSql.iniciar();
+		var consulta = consultaService.saveConsulta(consulta(proximaTercaAs(10)), medicoId, pacienteId, clinicaId);
+		var comandos = ComandosSql.parar();
+
+		assertThat(comandos).hasSize(2);
+		assertThat(comandos.get(0)).startsWith("WITH medico AS").contains("tb_paciente", "tb_clinica_hospitalar", "tb_consulta_medica");
+		assertThat(comandos.get(1)).startsWith("insert into tb_consulta_medica");
+		assertThat(jdbcTemplate.queryForObject("select medico_id from tb_consulta_medica where consulta_id = ?", UUID.class,
+				consulta.getConsultaId())).isEqualTo(medicoId);
+	}
+
+	@Test
+	void recusaPelaVerificacaoNaoFazInsert() {
+		var medicoId = inserirMedico("CARDIOLOGIA");
+		var clinicaId = inserirClinica();
+
+		ComandosSql.iniciar();
+		assertThatThrownBy(() -> consultaService.saveConsulta(consulta(proximaTercaAs(11)), medicoId, UUID.randomUUID(), clinicaId))
+				.isInstanceOf(NotFoundException.class)
+				.hasMessage("Paciente não encontrado!");
+		var comandos = ComandosSql.parar();
+
+		assertThat(comandos).hasSize(1);
+		assertThat(comandos.get(0)).startsWith("WITH medico AS");
+	}
+
+	private static ConsultaRecordDto consulta(LocalDateTime dataConsulta) {
+		return new ConsultaRecordDto(dataConsulta, TipoAtendimento.CONSULTA, 150, "Sala 1", null, null, null, null);
+	}
+
+	private static LocalDateTime proximaTercaAs(int hora) {
+		return LocalDate.now().plusWeeks(1).with(TemporalAdjusters.nextOrSame(DayOfWeek.TUESDAY)).atTime(hora, 0);
+	}
+}
@@ -0,0 +1,119 @@
+package com.sistema.gerenciamento.hospitalar.services.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BaseCepLocalTest {
+
+	@TempDir
+	Path diretorio;
+
+	@Test
+	void importaCsvForaDeOrdemEBuscaPorCep() throws IOException {
+		var csv = Files.writeString(diretorio.resolve("ceps.csv"), """
+				cep;logradouro;complemento;bairro;localidade;uf;ibge
+				50050-000;Rua da Aurora;;Boa Vista;Recife;PE;2611606
+				01001-000;Praça da Sé;"lado ímpar; até 999";Sé;São Paulo;SP;3550308
+				abc;Linha sem CEP;;;;;
+				50050000;"Rua da Aurora, ""nova""\";;Boa Vista;Recife;PE;2611606
+				69900-062;Rua Epaminondas Jácome;;Centro;Rio Branco;AC;1200401
+				""");
+		var arquivo = diretorio.resolve("ceps.bin");
+
+		assertThat(BaseCepLocal.importar(csv, arquivo)).isEqualTo(3);
+		var base = BaseCepLocal.abrir(arquivo);
+
+		var se = base.buscar("01001000");
+		assertThat(se.cep()).isEqualTo("01001-000");
+		assertThat(se.logradouro()).isEqualTo("Praça da Sé");
+		assertThat(se.complemento()).isEqualTo("lado ímpar; até 999");
+		assertThat(se.uf()).isEqualTo("SP");
+		assertThat(se.ibge()).isEqualTo("3550308");
+		// CEP repetido: vale a última linha
+		assertThat(base.buscar("50050000").logradouro()).isEqualTo("Rua da Aurora, \"nova\"");
+		assertThat(base.buscar("69900062").localidade()).isEqualTo("Rio Branco");
+		assertThat(base.buscar("00000000")).isNull();
+		assertThat(base.buscar("99999999")).isNull();
+		assertThat(base.buscar("50050001")).isNull();
+	}
+
+	@Test
+	void aceitaOutrosNomesDeColunaESeparadorVirgula() throws IOException {
+		var csv = Files.writeString(diretorio.resolve("ceps.csv"), """
+				CEP,Endereco,Cidade,Estado,Bairro
+				64000-020,Rua Areolino de Abreu,Teresina,PI,Centro
+				""");
+		var arquivo = diretorio.resolve("ceps.bin");
+		BaseCepLocal.importar(csv, arquivo);
+
+		var endereco = BaseCepLocal.abrir(arquivo).buscar("64000020");
+		assertThat(endereco.logradouro()).isEqualTo("Rua Areolino de Abreu");
+		assertThat(endereco.localidade()).isEqualTo("Teresina");
+		assertThat(endereco.uf()).isEqualTo("PI");
+		assertThat(endereco.bairro()).isEqualTo("Centro");
+		assertThat(endereco.ibge()).isEmpty();
+	}
+
+	@Test
+	void recusaArquivoQueNaoEBaseDeCeps() throws IOException {
+		var arquivo = Files.writeString(diretorio.resolve("ceps.bin"), "cep;logradouro\n");
+
+		assertThatThrownBy(() -> BaseCepLocal.abrir(arquivo)).isInstanceOf(IOException.class);
+	}
+
+	// Mede a importação, a abertura e as buscas em uma base do tamanho da nacional:
+	// mvn test -Dtest=BaseCepLocalTest -Dbenchmark=true
+	@Test
+	@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+	void benchmarkImportacaoEBusca() throws IOException {
+		var quantidade = Integer.getInteger("benchmark.ceps", 1_000_000);
+		var aleatorio = new Random(42);
+		var ceps = new int[quantidade];
+		var csv = diretorio.resolve("ceps.csv");
+		try (BufferedWriter escritor = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+			escritor.write("cep;logradouro;complemento;bairro;localidade;uf;ibge\n");
+			for (int i = 0; i < quantidade; i++) {
+				ceps[i] = 1_000_000 + aleatorio.nextInt(98_000_000);
+				escritor.write("%08d;Rua %d;;Bairro %d;Cidade %d;PE;26%05d%n".formatted(ceps[i], i, i % 5000, i % 500, i % 100_000));
+			}
+		}
+		var arquivo = diretorio.resolve("ceps.bin");
+
+		var inicio = System.nanoTime();
+		var importados = BaseCepLocal.importar(csv, arquivo);
+		var importacaoMs = (System.nanoTime() - inicio) / 1_000_000;
+
+		inicio = System.nanoTime();
+		var base = BaseCepLocal.abrir(arquivo);
+		var aberturaMs = (System.nanoTime() - inicio) / 1_000_000;
+
+		// Metade dos CEPs buscados está na base
+		var buscas = new String[2_000_000];
+		for (int i = 0; i < buscas.length; i++) {
+			buscas[i] = "%08d".formatted(i % 2 == 0 ? ceps[aleatorio.nextInt(quantidade)] : 1_000_000 + aleatorio.nextInt(98_000_000));
+		}
+		var encontrados = 0;
+		inicio = System.nanoTime();
+		for (var cep : buscas) {
+			if (base.buscar(cep) != null) {
+				encontrados++;
+			}
+		}
+		var nanosPorBusca = (System.nanoTime() - inicio) / (double) buscas.length;
+
+		System.out.printf("%d CEPs (%d MB): importação %d ms, abertura %d ms, %.0f ns por busca (%d encontrados)%n", importados,
+				Files.size(arquivo) >> 20, importacaoMs, aberturaMs, nanosPorBusca, encontrados);
+		assertThat(encontrados).isGreaterThanOrEqualTo(buscas.length / 2);
+	}
+}
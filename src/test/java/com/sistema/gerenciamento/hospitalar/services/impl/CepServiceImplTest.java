@@ -0,0 +1,181 @@
+package com.sistema.gerenciamento.hospitalar.services.impl;
+
+import com.sistema.gerenciamento.hospitalar.cliente.ServidorViaCepFalso;
+import com.sistema.gerenciamento.hospitalar.dtos.CepLoteResultadoRecordDto;
+import com.sistema.gerenciamento.hospitalar.exceptions.NotFoundException;
+import com.sistema.gerenciamento.hospitalar.exceptions.ServicoIndisponivelException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifica o cache de CEPs contra um servidor HTTP local no lugar do ViaCEP: acertos, cache negativo com validade,
+ * compartilhamento da chamada entre consultas simultâneas do mesmo CEP, resposta degradada com o ViaCEP indisponível,
+ * consulta à base local antes do ViaCEP e consulta em lote.
+ */
+class CepServiceImplTest {
+
+	private ServidorViaCepFalso servidor;
+	private final RelogioAjustavel relogio = new RelogioAjustavel();
+	private SimpleMeterRegistry meterRegistry;
+	private CepServiceImpl cepService;
+
+	@BeforeEach
+	void iniciarServidor() throws IOException {
+		servidor = new ServidorViaCepFalso();
+		// Latência do serviço externo, para que as consultas simultâneas se sobreponham
+		servidor.latencia(Duration.ofMillis(200));
+		meterRegistry = new SimpleMeterRegistry();
+		var viaCepService = servidor.cliente(relogio, meterRegistry, 2000, 20, 5, 30000);
+		cepService = new CepServiceImpl(viaCepService, relogio, meterRegistry, 100, 60, 10, "", "", 4);
+	}
+
+	@AfterEach
+	void encerrarServidor() {
+		servidor.close();
+	}
+
+	@Test
+	void cepConsultadoVemDoCache() {
+		var endereco = cepService.consultarCep("01001-000").block();
+		assertThat(endereco.localidade()).isEqualTo("São Paulo");
+
+		assertThat(cepService.consultarCep("01001000").block()).isEqualTo(endereco);
+		assertThat(servidor.chamadas("01001000")).isEqualTo(1);
+		assertThat(meterRegistry.get("cep.cache").tag("resultado", "acerto").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void cepInexistenteFicaNoCacheNegativoAteVencer() {
+		for (int i = 0; i < 3; i++) {
+			assertThatThrownBy(() -> cepService.consultarCep("99999999").block()).isInstanceOf(NotFoundException.class);
+		}
+		assertThat(servidor.chamadas("99999999")).isEqualTo(1);
+
+		relogio.avancar(Duration.ofMinutes(11));
+		assertThatThrownBy(() -> cepService.consultarCep("99999999").block()).isInstanceOf(NotFoundException.class);
+		assertThat(servidor.chamadas("99999999")).isEqualTo(2);
+	}
+
+	@Test
+	void cepComFormatoInvalidoNaoChamaViaCep() {
+		assertThatThrownBy(() -> cepService.consultarCep("123").block()).isInstanceOf(NotFoundException.class);
+		assertThat(servidor.totalChamadas()).isZero();
+	}
+
+	@Test
+	void viaCepIndisponivelRespondeComEnderecoVencido() {
+		var endereco = cepService.consultarCep("01001000").block();
+
+		relogio.avancar(Duration.ofMinutes(61));
+		servidor.responderComErro(503);
+		assertThat(cepService.consultarCep("01001000").block()).isEqualTo(endereco);
+		assertThat(servidor.chamadas("01001000")).isEqualTo(2);
+		assertThat(meterRegistry.get("cep.cache").tag("resultado", "degradado").counter().count()).isEqualTo(1);
+
+		// Sem endereço anterior, a indisponibilidade chega a quem consultou
+		assertThatThrownBy(() -> cepService.consultarCep("02002000").block()).isInstanceOf(ServicoIndisponivelException.class);
+	}
+
+	@Test
+	void cepDaBaseLocalNaoChamaViaCep(@TempDir Path diretorio) throws IOException {
+		var csv = Files.writeString(diretorio.resolve("ceps.csv"), """
+				cep;logradouro;complemento;bairro;localidade;uf;ibge
+				50050-000;Rua da Aurora;;Boa Vista;Recife;PE;2611606
+				""");
+		cepService = new CepServiceImpl(cepService.viaCepService, relogio, meterRegistry, 100, 60, 10, csv.toString(),
+				diretorio.resolve("ceps.bin").toString(), 4);
+		cepService.carregarBaseLocal();
+
+		assertThat(cepService.consultarCep("50050000").block().localidade()).isEqualTo("Recife");
+		assertThat(servidor.totalChamadas()).isZero();
+		assertThat(meterRegistry.get("cep.cache").tag("resultado", "base_local").counter().count()).isEqualTo(1);
+
+		// Fora da base, o CEP ainda é consultado no ViaCEP
+		assertThat(cepService.consultarCep("01001000").block().localidade()).isEqualTo("São Paulo");
+		assertThat(servidor.chamadas("01001000")).isEqualTo(1);
+	}
+
+	@Test
+	void consultasSimultaneasDoMesmoCepCompartilhamUmaChamada() {
+		var enderecos = Flux.range(0, 20)
+				.flatMap(i -> cepService.consultarCep("01310100"), 20)
+				.collectList()
+				.block();
+
+		assertThat(enderecos).hasSize(20);
+		assertThat(servidor.chamadas("01310100")).isEqualTo(1);
+		assertThat(meterRegistry.get("cep.viacep.compartilhadas").counter().count()).isEqualTo(19);
+	}
+
+	@Test
+	void loteConsultaCadaCepUmaVezComOsJaConhecidosPrimeiro() {
+		cepService.consultarCep("01001000").block();
+
+		var resultados = cepService.consultarCeps(List.of("02002000", "01001-000", "02002-000", "03003000", "99999999", "123",
+				"01001000")).collectList().block();
+
+		assertThat(resultados).extracting(CepLoteResultadoRecordDto::cep)
+				.containsExactlyInAnyOrder("123", "01001000", "02002000", "03003000", "99999999");
+		assertThat(resultados.subList(0, 2)).extracting(CepLoteResultadoRecordDto::cep).containsExactly("123", "01001000");
+		assertThat(resultados).filteredOn(CepLoteResultadoRecordDto::encontrado).extracting(CepLoteResultadoRecordDto::cep)
+				.containsExactlyInAnyOrder("01001000", "02002000", "03003000");
+		assertThat(resultados).filteredOn(resultado -> resultado.cep().equals("99999999")).singleElement()
+				.extracting(CepLoteResultadoRecordDto::mensagem).isEqualTo("CEP NÃO ENCONTRADO");
+		assertThat(servidor.chamadas("01001000")).isEqualTo(1);
+		assertThat(servidor.chamadas("02002000")).isEqualTo(1);
+	}
+
+	@Test
+	void loteLimitaAsConsultasSimultaneasAoViaCep() {
+		var ceps = IntStream.range(0, 12).mapToObj(i -> "0%07d".formatted(1001000 + i)).toList();
+
+		var resultados = cepService.consultarCeps(ceps).collectList().block();
+
+		assertThat(resultados).hasSize(12).allMatch(CepLoteResultadoRecordDto::encontrado);
+		assertThat(servidor.totalChamadas()).isEqualTo(12);
+		assertThat(servidor.maiorConcorrencia()).isEqualTo(4);
+	}
+
+	// Relógio controlado pelo teste para verificar a validade das entradas
+	private static final class RelogioAjustavel extends Clock {
+		private final AtomicLong agora = new AtomicLong(Instant.parse("2025-01-01T12:00:00Z").toEpochMilli());
+
+		void avancar(Duration duracao) {
+			agora.addAndGet(duracao.toMillis());
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return Instant.ofEpochMilli(agora.get());
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package com.sistema.gerenciamento.hospitalar.services.impl;
+
+import com.sistema.gerenciamento.hospitalar.PostgresEmbarcadoTest;
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaRecordDto;
+import com.sistema.gerenciamento.hospitalar.enums.TipoAtendimento;
+import com.sistema.gerenciamento.hospitalar.enums.TipoEventoConsulta;
+import com.sistema.gerenciamento.hospitalar.events.ConsultaEvento;
+import com.sistema.gerenciamento.hospitalar.models.ConsultaModel;
+import com.sistema.gerenciamento.hospitalar.repositorys.ConsultaEventoJdbcRepository;
+import com.sistema.gerenciamento.hospitalar.services.ConsultaService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que o evento do agendamento é gravado no outbox na transação do agendamento e que o relay bloqueia os
+ * eventos pendentes (pulando os bloqueados por outra transação), entrega-os ao destino e os marca como publicados.
+ */
+class ConsultaEventoOutboxServiceImplTest extends PostgresEmbarcadoTest {
+
+	@Autowired
+	ConsultaService consultaService;
+
+	@Autowired
+	ConsultaEventoJdbcRepository consultaEventoJdbcRepository;
+
+	@Autowired
+	TransactionTemplate transactionTemplate;
+
+	@Autowired
+	Clock clock;
+
+	@Test
+	void eventoGravadoNaTransacaoDoAgendamento() {
+		var medicoId = inserirMedico("PEDIATRIA");
+		var clinicaId = inserirClinica();
+		var dia = proximaQuarta();
+
+		var agendada = agendar(medicoId, clinicaId, dia.atTime(9, 0));
+		// Agendamento desfeito: o evento gravado na mesma transação também é
+		var desfeita = transactionTemplate.execute(status -> {
+			var consulta = agendar(medicoId, clinicaId, dia.atTime(10, 0));
+			assertThat(eventos(consulta.getConsultaId())).isEqualTo(1);
+			status.setRollbackOnly();
+			return consulta;
+		});
+
+		assertThat(jdbcTemplate.queryForList("select tipo from tb_consulta_evento where consulta_id = ? and publicado_em is null",
+				String.class, agendada.getConsultaId())).containsExactly(TipoEventoConsulta.AGENDADA.name());
+		assertThat(eventos(desfeita.getConsultaId())).isZero();
+	}
+
+	@Test
+	void relayPulaOsEventosBloqueadosEMarcaOsPublicados() throws Exception {
+		var medicoId = inserirMedico("ORTOPEDISTA");
+		var clinicaId = inserirClinica();
+		var dia = proximaQuarta();
+		var consultas = new ArrayList<UUID>();
+		for (int hora = 8; hora < 11; hora++) {
+			consultas.add(agendar(medicoId, clinicaId, dia.atTime(hora, 0)).getConsultaId());
+		}
+		var publicados = new CopyOnWriteArrayList<ConsultaEvento>();
+		var relay = new ConsultaEventoOutboxServiceImpl(consultaEventoJdbcRepository, publicados::addAll, transactionTemplate, clock, 2);
+
+		// Outra instância do relay com o evento da primeira consulta bloqueado
+		try (var outraInstancia = dataSource.getConnection()) {
+			outraInstancia.setAutoCommit(false);
+			try (var ps = outraInstancia.prepareStatement("select evento_id from tb_consulta_evento where consulta_id = ? for update")) {
+				ps.setObject(1, consultas.get(0));
+				ps.executeQuery().close();
+			}
+
+			// Sem esperar pelo lock: a linha bloqueada é pulada e as demais são publicadas
+			CompletableFuture.supplyAsync(relay::publicarPendentes).get(30, TimeUnit.SECONDS);
+
+			assertThat(consultasPublicadas(publicados, consultas)).containsExactly(consultas.get(1), consultas.get(2));
+			assertThat(publicadoEm(consultas.get(0))).isNull();
+			assertThat(publicadoEm(consultas.get(1))).isNotNull();
+			assertThat(publicadoEm(consultas.get(2))).isNotNull();
+			outraInstancia.rollback();
+		}
+
+		publicados.clear();
+		relay.publicarPendentes();
+
+		assertThat(consultasPublicadas(publicados, consultas)).containsExactly(consultas.get(0));
+		assertThat(publicadoEm(consultas.get(0))).isNotNull();
+	}
+
+	// Cada consulta com um paciente próprio, já que o paciente só pode ter uma consulta por dia
+	private ConsultaModel agendar(UUID medicoId, UUID clinicaId, LocalDateTime dataConsulta) {
+		return consultaService.saveConsulta(new ConsultaRecordDto(dataConsulta, TipoAtendimento.CONSULTA, 150, "Sala 1",
+				null, null, null, null), medicoId, inserirPaciente(), clinicaId);
+	}
+
+	private int eventos(UUID consultaId) {
+		return jdbcTemplate.queryForObject("select count(*) from tb_consulta_evento where consulta_id = ?", Integer.class, consultaId);
+	}
+
+	private LocalDateTime publicadoEm(UUID consultaId) {
+		return jdbcTemplate.queryForObject("select publicado_em from tb_consulta_evento where consulta_id = ?",
+				LocalDateTime.class, consultaId);
+	}
+
+	// Eventos de outros testes ainda pendentes também são publicados; considera apenas os das consultas informadas
+	private static List<UUID> consultasPublicadas(List<ConsultaEvento> publicados, List<UUID> consultas) {
+		return publicados.stream().map(ConsultaEvento::consultaId).filter(consultas::contains).toList();
+	}
+
+	private static LocalDate proximaQuarta() {
+		return LocalDate.now().plusWeeks(3).with(TemporalAdjusters.nextOrSame(DayOfWeek.WEDNESDAY));
+	}
+}
@@ -0,0 +1,79 @@
+package com.sistema.gerenciamento.hospitalar.services.impl;
+
+import com.sistema.gerenciamento.hospitalar.PostgresEmbarcadoTest;
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaLoteRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaLoteResultadoRecordDto;
+import com.sistema.gerenciamento.hospitalar.enums.TipoAtendimento;
+import com.sistema.gerenciamento.hospitalar.exceptions.NotFoundException;
+import com.sistema.gerenciamento.hospitalar.repositorys.ConsultaRepository;
+import com.sistema.gerenciamento.hospitalar.services.ConsultaLoteService;
+import com.sistema.gerenciamento.hospitalar.services.ConsultaService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifica que um agendamento concorrente que ocupa o horário de um item do lote, depois da leitura das agendas,
+ * recusa apenas esse item e os demais são gravados, e que o lote recusa um item com o mesmo motivo do agendamento
+ * individual.
+ */
+class ConsultaLoteServiceImplTest extends PostgresEmbarcadoTest {
+
+	@Autowired
+	ConsultaLoteService consultaLoteService;
+
+	@Autowired
+	ConsultaService consultaService;
+
+	@Test
+	void conflitoConcorrenteRecusaApenasOItem() throws Exception {
+		var medicoId = inserirMedico("CARDIOLOGIA");
+		var clinicaId = inserirClinica();
+		var dia = LocalDate.now().plusWeeks(1).with(TemporalAdjusters.nextOrSame(DayOfWeek.FRIDAY));
+		var itens = List.of(9, 10, 11).stream()
+				.map(hora -> new ConsultaLoteRecordDto.ItemConsulta(medicoId, inserirPaciente(), clinicaId, dia.atTime(hora, 0),
+						TipoAtendimento.CONSULTA, 150, "Sala 1"))
+				.toList();
+
+		List<ConsultaLoteResultadoRecordDto> resultados;
+		try (var concorrente = agendarSemCommit(medicoId, inserirPaciente(), clinicaId, dia.atTime(10, 0))) {
+			// O lote lê as agendas sem enxergar o agendamento concorrente e fica aguardando o commit dele para inserir
+			var lote = CompletableFuture.supplyAsync(() -> consultaLoteService.agendarLote(new ConsultaLoteRecordDto(itens)));
+			aguardarComandoBloqueado();
+			concorrente.commit();
+			resultados = lote.get(30, TimeUnit.SECONDS);
+		}
+
+		assertThat(resultados).extracting(ConsultaLoteResultadoRecordDto::agendada).containsExactly(true, false, true);
+		assertThat(resultados.get(1).mensagem()).isEqualTo(ConsultaRepository.MENSAGEM_MEDICO_HORARIO_OCUPADO);
+		assertThat(jdbcTemplate.queryForList("select paciente_id from tb_consulta_medica where medico_id = ? and local = 'Sala 1'",
+				UUID.class, medicoId)).containsExactlyInAnyOrder(itens.get(0).pacienteId(), itens.get(2).pacienteId());
+	}
+
+	@Test
+	void itemInvalidoRecusadoComOMesmoMotivoDoAgendamentoIndividual() {
+		var medicoId = inserirMedico("CARDIOLOGIA");
+		var clinicaId = inserirClinica();
+		// Paciente inexistente em um domingo: o agendamento individual recusa primeiro pelos validadores de agendamento
+		var domingo = LocalDate.now().plusWeeks(1).with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY)).atTime(10, 0);
+		var item = new ConsultaLoteRecordDto.ItemConsulta(medicoId, UUID.randomUUID(), clinicaId, domingo, TipoAtendimento.CONSULTA,
+				150, "Sala 1");
+
+		var resultados = consultaLoteService.agendarLote(new ConsultaLoteRecordDto(List.of(item)));
+
+		assertThatThrownBy(() -> consultaService.saveConsulta(item.paraConsultaRecordDto(), medicoId, item.pacienteId(), clinicaId))
+				.isInstanceOf(NotFoundException.class)
+				.hasMessage(resultados.get(0).mensagem())
+				.hasMessage("Horario fora do funcionamento da clinica");
+	}
+}
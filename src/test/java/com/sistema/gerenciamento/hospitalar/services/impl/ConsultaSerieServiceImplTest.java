@@ -0,0 +1,54 @@
+package com.sistema.gerenciamento.hospitalar.services.impl;
+
+import com.sistema.gerenciamento.hospitalar.PostgresEmbarcadoTest;
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaSerieRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaSerieResultadoRecordDto;
+import com.sistema.gerenciamento.hospitalar.enums.FrequenciaSerie;
+import com.sistema.gerenciamento.hospitalar.enums.TipoAtendimento;
+import com.sistema.gerenciamento.hospitalar.repositorys.ConsultaRepository;
+import com.sistema.gerenciamento.hospitalar.services.ConsultaSerieService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que um agendamento concorrente que ocupa um dos horários da série, depois da leitura das agendas, recusa a
+ * série com a data ocupada e nenhuma consulta dela é gravada.
+ */
+class ConsultaSerieServiceImplTest extends PostgresEmbarcadoTest {
+
+	@Autowired
+	ConsultaSerieService consultaSerieService;
+
+	@Test
+	void conflitoConcorrenteRecusaASerieComAData() throws Exception {
+		var medicoId = inserirMedico("CARDIOLOGIA");
+		var pacienteId = inserirPaciente();
+		var clinicaId = inserirClinica();
+		var primeiraConsulta = LocalDate.now().plusWeeks(1).with(TemporalAdjusters.nextOrSame(DayOfWeek.FRIDAY)).atTime(10, 0);
+		var serie = new ConsultaSerieRecordDto(medicoId, pacienteId, clinicaId, primeiraConsulta, FrequenciaSerie.SEMANAL, 3,
+				TipoAtendimento.CONSULTA, 150, "Sala 1");
+
+		ConsultaSerieResultadoRecordDto resultado;
+		try (var concorrente = agendarSemCommit(medicoId, inserirPaciente(), clinicaId, primeiraConsulta.plusWeeks(1))) {
+			// A série lê as agendas sem enxergar o agendamento concorrente e fica aguardando o commit dele para inserir
+			var agendamento = CompletableFuture.supplyAsync(() -> consultaSerieService.agendarSerie(serie));
+			aguardarComandoBloqueado();
+			concorrente.commit();
+			resultado = agendamento.get(30, TimeUnit.SECONDS);
+		}
+
+		assertThat(resultado.agendada()).isFalse();
+		assertThat(resultado.conflitos()).containsExactly(new ConsultaSerieResultadoRecordDto.Conflito(primeiraConsulta.plusWeeks(1),
+				ConsultaRepository.MENSAGEM_MEDICO_HORARIO_OCUPADO));
+		assertThat(jdbcTemplate.queryForObject("select count(*) from tb_consulta_medica where paciente_id = ?", Integer.class,
+				pacienteId)).isZero();
+	}
+}
@@ -0,0 +1,86 @@
+package com.sistema.gerenciamento.hospitalar.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaExportacaoRecordDto;
+import com.sistema.gerenciamento.hospitalar.enums.Especialidade;
+import com.sistema.gerenciamento.hospitalar.enums.FormatoExportacao;
+import com.sistema.gerenciamento.hospitalar.enums.StatusAtendimento;
+import com.sistema.gerenciamento.hospitalar.enums.TipoAtendimento;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EscritorExportacaoConsultaTest {
+
+	@Test
+	void csvEscapaSeparadorAspasEQuebraDeLinha() throws Exception {
+		var saida = new ByteArrayOutputStream();
+		try (var escritor = EscritorExportacaoConsulta.para(FormatoExportacao.CSV, saida)) {
+			escritor.escrever(consulta(0, "Silva, \"Zé\"\nJúnior"));
+		}
+
+		var linhas = saida.toString(StandardCharsets.UTF_8).split("\r\n");
+		assertThat(linhas).hasSize(2);
+		assertThat(linhas[0]).startsWith("consulta_id,data_consulta,");
+		assertThat(linhas[1]).contains(",2024-05-02T08:30:00,CONSULTA,MARCADO,,150.5,Sala 3,");
+		assertThat(linhas[1]).contains(",\"Silva, \"\"Zé\"\"\nJúnior\",");
+		assertThat(linhas[1]).endsWith(",Clínica Central");
+	}
+
+	@Test
+	void ndjsonEscreveUmObjetoPorLinha() throws Exception {
+		var saida = new ByteArrayOutputStream();
+		try (var escritor = EscritorExportacaoConsulta.para(FormatoExportacao.NDJSON, saida)) {
+			escritor.escrever(consulta(0, "Maria"));
+			escritor.escrever(consulta(1, "João"));
+		}
+
+		var linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+		var objectMapper = new ObjectMapper();
+		assertThat(linhas).hasSize(2);
+		assertThat(objectMapper.readTree(linhas[0]).get("nomePaciente").asText()).isEqualTo("Maria");
+		assertThat(objectMapper.readTree(linhas[1]).get("dataConsulta").asText()).isEqualTo("2024-05-02T09:00:00");
+		assertThat(objectMapper.readTree(linhas[1]).get("motivoCancelamento").isNull()).isTrue();
+	}
+
+	// Mede a vazão e o crescimento do heap ao exportar muitas linhas: mvn test -Dtest=EscritorExportacaoConsultaTest -Dbenchmark=true
+	@Test
+	@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+	void benchmarkVazaoEMemoriaConstante() throws Exception {
+		var linhas = Integer.getInteger("benchmark.linhas", 2_000_000);
+		for (var formato : FormatoExportacao.values()) {
+			var runtime = Runtime.getRuntime();
+			System.gc();
+			var heapInicial = runtime.totalMemory() - runtime.freeMemory();
+			var maiorHeap = heapInicial;
+			var inicio = System.nanoTime();
+			try (var escritor = EscritorExportacaoConsulta.para(formato, OutputStream.nullOutputStream())) {
+				for (int i = 0; i < linhas; i++) {
+					escritor.escrever(consulta(i, "Paciente " + i));
+					if (i % 100_000 == 0) {
+						maiorHeap = Math.max(maiorHeap, runtime.totalMemory() - runtime.freeMemory());
+					}
+				}
+			}
+			var segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+			System.gc();
+			var heapFinal = runtime.totalMemory() - runtime.freeMemory();
+			System.out.printf("%s: %d linhas em %.2f s (%.0f linhas/s), heap inicial %d MB, maior %d MB, final %d MB%n", formato, linhas,
+					segundos, linhas / segundos, heapInicial >> 20, maiorHeap >> 20, heapFinal >> 20);
+			assertThat(heapFinal - heapInicial).isLessThan(32L << 20);
+		}
+	}
+
+	private static ConsultaExportacaoRecordDto consulta(int i, String nomePaciente) {
+		return new ConsultaExportacaoRecordDto(UUID.randomUUID(), LocalDateTime.of(2024, 5, 2, 8, 30).plusMinutes(30L * i),
+				TipoAtendimento.CONSULTA, StatusAtendimento.MARCADO, null, 150.5f, "Sala 3", UUID.randomUUID(), "Dra. Ana",
+				Especialidade.values()[0], UUID.randomUUID(), nomePaciente, UUID.randomUUID(), "Clínica Central");
+	}
+}
@@ -0,0 +1,68 @@
+package com.sistema.gerenciamento.hospitalar.services.impl;
+
+import com.sistema.gerenciamento.hospitalar.PostgresEmbarcadoTest;
+import com.sistema.gerenciamento.hospitalar.enums.FormatoExportacao;
+import com.sistema.gerenciamento.hospitalar.services.ArquivoConsultaService;
+import com.sistema.gerenciamento.hospitalar.services.ExportacaoConsultaService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que a exportação de um período antigo inclui as consultas já movidas ao arquivo frio, intercaladas com as
+ * que continuam na TB_CONSULTA_MEDICA na ordem de data.
+ */
+class ExportacaoConsultaServiceImplTest extends PostgresEmbarcadoTest {
+
+	@Autowired
+	ExportacaoConsultaService exportacaoConsultaService;
+
+	@Autowired
+	ArquivoConsultaService arquivoConsultaService;
+
+	@Test
+	void exportacaoIncluiAsConsultasArquivadas() {
+		var medicoId = inserirMedico("CARDIOLOGIA");
+		var clinicaId = inserirClinica();
+		var realizada = inserirConsulta(medicoId, clinicaId, LocalDateTime.of(2015, 3, 10, 9, 0), "REALIZADO");
+		// Consulta antiga que não foi finalizada: não é arquivada
+		var marcada = inserirConsulta(medicoId, clinicaId, LocalDateTime.of(2015, 3, 10, 10, 0), "MARCADO");
+		var cancelada = inserirConsulta(medicoId, clinicaId, LocalDateTime.of(2015, 3, 11, 9, 0), "CANCELADO");
+		var realizadaAbril = inserirConsulta(medicoId, clinicaId, LocalDateTime.of(2015, 4, 2, 8, 0), "REALIZADO");
+
+		arquivoConsultaService.arquivarConsultasAntigas();
+		assertThat(jdbcTemplate.queryForObject("select count(*) from tb_consulta_arquivo where medico_id = ?", Integer.class,
+				medicoId)).isEqualTo(3);
+
+		var saida = new ByteArrayOutputStream();
+		var quantidade = exportacaoConsultaService.exportar(LocalDate.of(2015, 3, 1), LocalDate.of(2015, 4, 30),
+				FormatoExportacao.CSV, saida);
+
+		var linhas = saida.toString(StandardCharsets.UTF_8).split("\r\n");
+		assertThat(quantidade).isEqualTo(4);
+		assertThat(linhas).hasSize(5);
+		assertThat(linhas[1]).startsWith(realizada + ",2015-03-10T09:00:00,CONSULTA,REALIZADO,,180.5,Sala 2," + medicoId + ",Médica ")
+				.contains(",CARDIOLOGIA,", "," + clinicaId + ",Clínica ");
+		assertThat(linhas[2]).startsWith(marcada + ",");
+		assertThat(linhas[3]).startsWith(cancelada + ",");
+		assertThat(linhas[4]).startsWith(realizadaAbril + ",");
+	}
+
+	// Consulta em data passada, gravada direto no banco (o agendamento só aceita datas futuras)
+	private UUID inserirConsulta(UUID medicoId, UUID clinicaId, LocalDateTime dataConsulta, String status) {
+		var consultaId = UUID.randomUUID();
+		jdbcTemplate.update("""
+				insert into tb_consulta_medica (consulta_id, tipo_atendimento, status_atendimento, valor_consulta, data_consulta,
+				                                data_cadastro, data_atualizacao, local, medico_id, paciente_id, clinica_id)
+				values (?, 'CONSULTA', ?, 180.5, ?, now(), now(), 'Sala 2', ?, ?, ?)
+				""", consultaId, status, dataConsulta, medicoId, inserirPaciente(), clinicaId);
+		return consultaId;
+	}
+}
@@ -0,0 +1,77 @@
+package com.sistema.gerenciamento.hospitalar.services.impl;
+
+import com.sistema.gerenciamento.hospitalar.dtos.PessoaBuscaRecordDto;
+import com.sistema.gerenciamento.hospitalar.enums.Especialidade;
+import com.sistema.gerenciamento.hospitalar.enums.TipoPessoa;
+import com.sistema.gerenciamento.hospitalar.repositorys.BuscaPessoaJdbcRepository.Pessoa;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica a ordem de relevância, a tolerância a erros de digitação e acentos e a atualização do índice de trigramas
+ * da busca de pessoas.
+ */
+class IndiceTrigramasPessoasTest {
+
+	private static final UUID CARLOS = UUID.randomUUID();
+	private static final UUID MARIA = UUID.randomUUID();
+
+	private IndiceTrigramasPessoas indice;
+
+	@BeforeEach
+	void criarIndice() {
+		indice = new IndiceTrigramasPessoas();
+		// Nomes parecidos que competem com os procurados
+		for (var nome : List.of("Mariana Silvestre", "Marina Oliveira", "Silvio Santos", "Pedro Pereira Lima", "Joana Pires")) {
+			indice.adicionar(new Pessoa(TipoPessoa.PACIENTE, UUID.randomUUID(), nome, null, null));
+		}
+		indice.adicionar(new Pessoa(TipoPessoa.PACIENTE, MARIA, "Maria Silva", null, null));
+		indice.adicionar(new Pessoa(TipoPessoa.PACIENTE, UUID.randomUUID(), "Silvana Rocha", null, null));
+		indice.adicionar(new Pessoa(TipoPessoa.PACIENTE, UUID.randomUUID(), "José Conceição", null, null));
+		indice.adicionar(new Pessoa(TipoPessoa.MEDICO, CARLOS, "Carlos Silveira", UUID.randomUUID(), Especialidade.CARDIOLOGIA));
+		indice.adicionar(new Pessoa(TipoPessoa.FUNCIONARIO, UUID.randomUUID(), "Ana Beatriz Souza", null, null));
+	}
+
+	@Test
+	void inicioDoNomeVemAntesDoInicioDePalavraEDosParecidos() {
+		assertThat(nomes("silv")).startsWith("Silvana Rocha", "Silvio Santos", "Carlos Silveira", "Maria Silva");
+	}
+
+	@Test
+	void toleraErroDeDigitacaoEAcentos() {
+		assertThat(nomes("Marai Silva")).first().isEqualTo("Maria Silva");
+		assertThat(nomes("pereria")).containsExactly("Pedro Pereira Lima");
+		assertThat(nomes("jose conceicao")).containsExactly("José Conceição");
+	}
+
+	@Test
+	void identificaMedicoEFuncionario() {
+		var medico = indice.buscar("Carlos", 0.4, 10).get(0);
+		assertThat(medico.tipo()).isEqualTo(TipoPessoa.MEDICO);
+		assertThat(medico.especialidade()).isEqualTo(Especialidade.CARDIOLOGIA);
+
+		var funcionario = indice.buscar("souza", 0.4, 10).get(0);
+		assertThat(funcionario.tipo()).isEqualTo(TipoPessoa.FUNCIONARIO);
+		assertThat(funcionario.medicoId()).isNull();
+	}
+
+	@Test
+	void alteracaoERemocaoSubstituemAEntradaAnterior() {
+		indice.adicionar(new Pessoa(TipoPessoa.PACIENTE, MARIA, "Maria Souza", null, null));
+		indice.remover(CARLOS);
+
+		assertThat(nomes("Maria Silva")).doesNotContain("Maria Silva");
+		assertThat(nomes("maria souza")).first().isEqualTo("Maria Souza");
+		assertThat(nomes("carlos")).isEmpty();
+		assertThat(indice.tamanho()).isEqualTo(9);
+	}
+
+	private List<String> nomes(String termo) {
+		return indice.buscar(termo, 0.4, 10).stream().map(PessoaBuscaRecordDto::nomeCompleto).toList();
+	}
+}
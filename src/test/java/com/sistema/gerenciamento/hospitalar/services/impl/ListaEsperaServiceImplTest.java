@@ -0,0 +1,151 @@
+package com.sistema.gerenciamento.hospitalar.services.impl;
+
+import com.sistema.gerenciamento.hospitalar.PostgresEmbarcadoTest;
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.ListaEsperaRecordDto;
+import com.sistema.gerenciamento.hospitalar.enums.MotivoCancelamento;
+import com.sistema.gerenciamento.hospitalar.enums.TipoAtendimento;
+import com.sistema.gerenciamento.hospitalar.services.ConsultaService;
+import com.sistema.gerenciamento.hospitalar.services.ListaEsperaService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que o horário liberado por um cancelamento é ofertado e gravado para o paciente da lista de espera, que
+ * pode então aceitá-lo.
+ */
+class ListaEsperaServiceImplTest extends PostgresEmbarcadoTest {
+
+	@Autowired
+	ConsultaService consultaService;
+
+	@Autowired
+	ListaEsperaService listaEsperaService;
+
+	@Autowired
+	ListaEsperaServiceImpl listaEsperaServiceImpl;
+
+	@Test
+	void cancelamentoOfertaOHorarioQueOPacienteAceita() {
+		var medicoId = inserirMedico("PEDIATRIA");
+		var clinicaId = inserirClinica();
+		var pacienteAgendado = inserirPaciente();
+		var pacienteEmEspera = inserirPaciente();
+		var horario = LocalDate.now().plusWeeks(1).with(TemporalAdjusters.nextOrSame(DayOfWeek.WEDNESDAY)).atTime(9, 0);
+
+		var consulta = consultaService.saveConsulta(new ConsultaRecordDto(horario, TipoAtendimento.CONSULTA, 200, "Sala 2",
+				null, null, null, null), medicoId, pacienteAgendado, clinicaId);
+		var espera = listaEsperaService.cadastrar(new ListaEsperaRecordDto(null, medicoId, horario.toLocalDate()), pacienteEmEspera);
+
+		cancelar(consulta.getConsultaId());
+
+		var oferta = jdbcTemplate.queryForMap("""
+				select status_lista_espera, consulta_ofertada_id, validade_oferta from tb_lista_espera where lista_espera_id = ?
+				""", espera.getListaEsperaId());
+		assertThat(oferta.get("status_lista_espera")).isEqualTo("OFERTADA");
+		assertThat(oferta.get("consulta_ofertada_id")).isEqualTo(consulta.getConsultaId());
+		assertThat(oferta.get("validade_oferta")).isNotNull();
+
+		var consultaAgendada = listaEsperaService.aceitarOferta(espera.getListaEsperaId());
+
+		assertThat(jdbcTemplate.queryForObject("select paciente_id from tb_consulta_medica where consulta_id = ?", UUID.class,
+				consultaAgendada.getConsultaId())).isEqualTo(pacienteEmEspera);
+		assertThat(jdbcTemplate.queryForMap("""
+				select status_lista_espera, consulta_agendada_id from tb_lista_espera where lista_espera_id = ?
+				""", espera.getListaEsperaId()))
+				.containsEntry("status_lista_espera", "ATENDIDA")
+				.containsEntry("consulta_agendada_id", consultaAgendada.getConsultaId());
+	}
+
+	@Test
+	void pacienteVoltaParaAFilaQuandoAOfertaNaoEGravada() {
+		var medicoId = inserirMedico("OFTALMOLOGIA");
+		var clinicaId = inserirClinica();
+		var pacienteEmEspera = inserirPaciente();
+		var dia = LocalDate.now().plusWeeks(1).with(TemporalAdjusters.nextOrSame(DayOfWeek.THURSDAY));
+		var primeira = agendar(medicoId, clinicaId, dia.atTime(9, 0));
+		var segunda = agendar(medicoId, clinicaId, dia.atTime(10, 0));
+		var espera = listaEsperaService.cadastrar(new ListaEsperaRecordDto(null, medicoId, dia), pacienteEmEspera);
+
+		// O banco recusa a gravação da primeira oferta
+		jdbcTemplate.execute("alter table tb_lista_espera add constraint ck_teste_oferta check (status_lista_espera <> 'OFERTADA')");
+		try {
+			cancelar(primeira);
+		} finally {
+			jdbcTemplate.execute("alter table tb_lista_espera drop constraint ck_teste_oferta");
+		}
+		assertThat(jdbcTemplate.queryForObject("select status_lista_espera from tb_lista_espera where lista_espera_id = ?",
+				String.class, espera.getListaEsperaId())).isEqualTo("AGUARDANDO");
+
+		cancelar(segunda);
+
+		assertThat(jdbcTemplate.queryForMap("""
+				select status_lista_espera, consulta_ofertada_id from tb_lista_espera where lista_espera_id = ?
+				""", espera.getListaEsperaId()))
+				.containsEntry("status_lista_espera", "OFERTADA")
+				.containsEntry("consulta_ofertada_id", segunda);
+	}
+
+	@Test
+	void falhaNoRepasseDeUmaOfertaVencidaNaoInterrompeAsDemais() {
+		var medicoId = inserirMedico("ORTOPEDISTA");
+		var clinicaId = inserirClinica();
+		var dia = LocalDate.now().plusWeeks(2).with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+		var primeira = agendar(medicoId, clinicaId, dia.atTime(9, 0));
+		var segunda = agendar(medicoId, clinicaId, dia.atTime(10, 0));
+		var esperaPrimeira = listaEsperaService.cadastrar(new ListaEsperaRecordDto(null, medicoId, dia), inserirPaciente());
+		var esperaSegunda = listaEsperaService.cadastrar(new ListaEsperaRecordDto(null, medicoId, dia), inserirPaciente());
+		cancelar(primeira);
+		cancelar(segunda);
+		var proximas = List.of(listaEsperaService.cadastrar(new ListaEsperaRecordDto(null, medicoId, dia), inserirPaciente()).getListaEsperaId(),
+				listaEsperaService.cadastrar(new ListaEsperaRecordDto(null, medicoId, dia), inserirPaciente()).getListaEsperaId());
+		jdbcTemplate.update("update tb_lista_espera set validade_oferta = now() - interval '1 day' where lista_espera_id in (?, ?)",
+				esperaPrimeira.getListaEsperaId(), esperaSegunda.getListaEsperaId());
+
+		// O banco recusa apenas o repasse do horário da primeira consulta (as linhas já gravadas não são verificadas)
+		jdbcTemplate.execute("alter table tb_lista_espera add constraint ck_teste_repasse check (status_lista_espera <> 'OFERTADA' "
+				+ "or consulta_ofertada_id <> '" + primeira + "') not valid");
+		try {
+			listaEsperaServiceImpl.expirarOfertas();
+		} finally {
+			jdbcTemplate.execute("alter table tb_lista_espera drop constraint ck_teste_repasse");
+		}
+
+		// A oferta cujo repasse falhou continua OFERTADA; a outra foi encerrada e repassada ao primeiro da fila
+		assertThat(status(esperaPrimeira.getListaEsperaId())).isEqualTo("OFERTADA");
+		assertThat(status(esperaSegunda.getListaEsperaId())).isEqualTo("EXPIRADA");
+		assertThat(proximas).extracting(this::status).containsExactlyInAnyOrder("OFERTADA", "AGUARDANDO");
+
+		// Na verificação seguinte o horário da primeira consulta é repassado
+		listaEsperaServiceImpl.expirarOfertas();
+
+		assertThat(status(esperaPrimeira.getListaEsperaId())).isEqualTo("EXPIRADA");
+		assertThat(jdbcTemplate.queryForList("""
+				select consulta_ofertada_id from tb_lista_espera where lista_espera_id in (?, ?) and status_lista_espera = 'OFERTADA'
+				""", UUID.class, proximas.get(0), proximas.get(1))).containsExactlyInAnyOrder(primeira, segunda);
+	}
+
+	private String status(UUID listaEsperaId) {
+		return jdbcTemplate.queryForObject("select status_lista_espera from tb_lista_espera where lista_espera_id = ?", String.class,
+				listaEsperaId);
+	}
+
+	private UUID agendar(UUID medicoId, UUID clinicaId, LocalDateTime horario) {
+		return consultaService.saveConsulta(new ConsultaRecordDto(horario, TipoAtendimento.CONSULTA, 200, "Sala 2",
+				null, null, null, null), medicoId, inserirPaciente(), clinicaId).getConsultaId();
+	}
+
+	private void cancelar(UUID consultaId) {
+		consultaService.cancelarConsultaMedica(new ConsultaRecordDto(null, null, 0, null, null, null, null,
+				MotivoCancelamento.PACIENTE_DESISTIU), consultaService.findById(consultaId).orElseThrow());
+	}
+}
@@ -0,0 +1,100 @@
+package com.sistema.gerenciamento.hospitalar.services.impl;
+
+import com.sistema.gerenciamento.hospitalar.PostgresEmbarcadoTest;
+import com.sistema.gerenciamento.hospitalar.dtos.ConsultaRecordDto;
+import com.sistema.gerenciamento.hospitalar.dtos.FaturamentoRecordDto;
+import com.sistema.gerenciamento.hospitalar.enums.MotivoCancelamento;
+import com.sistema.gerenciamento.hospitalar.enums.StatusAtendimento;
+import com.sistema.gerenciamento.hospitalar.enums.TipoAtendimento;
+import com.sistema.gerenciamento.hospitalar.models.ConsultaModel;
+import com.sistema.gerenciamento.hospitalar.services.ConsultaService;
+import com.sistema.gerenciamento.hospitalar.services.RelatorioFaturamentoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que o consolidado mantido de forma incremental pelas alterações de consulta (agendamento, finalização,
+ * cancelamento, atualização e exclusão) produz o mesmo relatório que o recálculo a partir das consultas.
+ */
+class RelatorioFaturamentoServiceImplTest extends PostgresEmbarcadoTest {
+
+	@Autowired
+	ConsultaService consultaService;
+
+	@Autowired
+	RelatorioFaturamentoService relatorioFaturamentoService;
+
+	@Test
+	void consolidadoIncrementalIgualAoRecalculo() {
+		var cardiologista = inserirMedico("CARDIOLOGIA");
+		var pediatra = inserirMedico("PEDIATRIA");
+		var ortopedista = inserirMedico("ORTOPEDISTA");
+		var clinicaId = inserirClinica();
+		var mes = YearMonth.now().plusMonths(2);
+		var mesSeguinte = mes.plusMonths(1);
+		var dia = primeiraTerca(mes);
+
+		var realizada = agendar(cardiologista, clinicaId, dia.atTime(9, 0), 200);
+		var cancelada = agendar(cardiologista, clinicaId, dia.atTime(10, 0), 150);
+		agendar(cardiologista, clinicaId, dia.atTime(11, 0), 120);
+		var atualizada = agendar(pediatra, clinicaId, dia.atTime(9, 0), 300);
+		var realizadaPediatra = agendar(pediatra, clinicaId, dia.atTime(10, 0), 80);
+		// Valor com centavos acima de 10000: o real convertido direto em numeric perderia os centavos no recálculo
+		var realizadaAlta = agendar(pediatra, clinicaId, dia.atTime(11, 0), 12345.67f);
+		var excluida = agendar(ortopedista, clinicaId, dia.atTime(9, 0), 100);
+
+		consultaService.finalizarConsultaMedica(new ConsultaRecordDto(null, null, 0, null, StatusAtendimento.REALIZADO,
+				"Sem alterações", "Normal", null), recarregar(realizada));
+		consultaService.finalizarConsultaMedica(new ConsultaRecordDto(null, null, 0, null, StatusAtendimento.REALIZADO,
+				null, null, null), recarregar(realizadaPediatra));
+		consultaService.finalizarConsultaMedica(new ConsultaRecordDto(null, null, 0, null, StatusAtendimento.REALIZADO,
+				null, null, null), recarregar(realizadaAlta));
+		consultaService.cancelarConsultaMedica(new ConsultaRecordDto(null, null, 0, null, null, null, null,
+				MotivoCancelamento.PACIENTE_DESISTIU), recarregar(cancelada));
+		// Muda o valor e o mês da consulta
+		consultaService.atualizarConsultaMedica(new ConsultaRecordDto(primeiraTerca(mesSeguinte).atTime(9, 0), null, 350, null,
+				null, null, null, null), recarregar(atualizada));
+		consultaService.deleteByConsultaId(recarregar(excluida));
+
+		var incremental = relatorioFaturamentoService.faturamento(clinicaId, mes);
+		var incrementalMesSeguinte = relatorioFaturamentoService.faturamento(clinicaId, mesSeguinte);
+
+		assertThat(incremental.total().marcadas()).isEqualTo(1);
+		assertThat(incremental.total().realizadas()).isEqualTo(3);
+		assertThat(incremental.total().canceladas()).isEqualTo(1);
+		assertThat(incremental.total().faturamento()).isEqualByComparingTo("12625.67");
+		assertThat(incremental.total().faturamentoPrevisto()).isEqualByComparingTo("120");
+		assertThat(incremental.medicos()).extracting(FaturamentoRecordDto.PorMedico::medicoId).containsExactly(pediatra, cardiologista);
+		assertThat(incrementalMesSeguinte.total().marcadas()).isEqualTo(1);
+		assertThat(incrementalMesSeguinte.total().faturamentoPrevisto()).isEqualByComparingTo(new BigDecimal("350"));
+
+		relatorioFaturamentoService.recalcular();
+
+		assertThat(relatorioFaturamentoService.faturamento(clinicaId, mes)).isEqualTo(incremental);
+		assertThat(relatorioFaturamentoService.faturamento(clinicaId, mesSeguinte)).isEqualTo(incrementalMesSeguinte);
+	}
+
+	// Cada consulta com um paciente próprio, já que o paciente só pode ter uma consulta por dia
+	private ConsultaModel agendar(UUID medicoId, UUID clinicaId, LocalDateTime dataConsulta, float valor) {
+		return consultaService.saveConsulta(new ConsultaRecordDto(dataConsulta, TipoAtendimento.CONSULTA, valor, "Sala 1",
+				null, null, null, null), medicoId, inserirPaciente(), clinicaId);
+	}
+
+	private ConsultaModel recarregar(ConsultaModel consultaModel) {
+		return consultaService.findById(consultaModel.getConsultaId()).orElseThrow();
+	}
+
+	private static LocalDate primeiraTerca(YearMonth mes) {
+		return mes.atDay(1).with(TemporalAdjusters.nextOrSame(DayOfWeek.TUESDAY));
+	}
+}
@@ -0,0 +1,34 @@
+package com.sistema.gerenciamento.hospitalar.specifications;
+
+import com.sistema.gerenciamento.hospitalar.exceptions.NotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PaginacaoCursorTest {
+
+	@Test
+	void cursorPreservaAChaveDaUltimaLinha() {
+		var data = LocalDateTime.of(2024, 5, 10, 14, 30, 0, 123_456_000);
+		var id = UUID.randomUUID();
+
+		var cursor = PaginacaoCursor.codificar(Map.of("dataCadastro", data, "pacienteId", id), "dataCadastro", "pacienteId");
+		var posicao = PaginacaoCursor.decodificar(cursor, "dataCadastro", "pacienteId");
+
+		assertThat(cursor).doesNotContain("|", "=", "+", "/");
+		assertThat(posicao.getKeys()).containsEntry("dataCadastro", data).containsEntry("pacienteId", id);
+		assertThat(posicao.scrollsForward()).isTrue();
+	}
+
+	@Test
+	void semCursorComecaDoInicioECursorInvalidoERejeitado() {
+		assertThat(PaginacaoCursor.decodificar(null, "dataCadastro", "pacienteId").isInitial()).isTrue();
+		assertThatThrownBy(() -> PaginacaoCursor.decodificar("nao-e-um-cursor", "dataCadastro", "pacienteId"))
+				.isInstanceOf(NotFoundException.class);
+	}
+}